@@ -24,7 +24,10 @@ import static com.hedera.node.app.hapi.utils.CommonUtils.productWouldOverflow;
  * that leaks a fixed number of units per nanosecond. (One unit of capacity in the bucket is
  * one-billionth of the capacity needed to perform one-thousandth of a transaction.)
  *
- * <p>This class is <b>not</b> thread-safe.
+ * <p>Capacity is used and leaked atomically, so {@link #allowInstantaneous(int)} and {@link #leakCapacity(long)}
+ * may be called by multiple threads at the same time. The last allowed use is tracked separately for each thread,
+ * so a thread may only reclaim its own last allowed use. Leaking capacity for elapsed time is <b>not</b>
+ * thread-safe by itself, see {@link DeterministicThrottle} for how elapsed time is leaked exactly once.
  *
  * <p>The {@link BucketThrottle#allow(int, long)} method answers the question of whether some
  * positive integer number of transactions can be accepted a given number of nanoseconds after the
@@ -65,7 +68,7 @@ public class BucketThrottle {
     private final long mtps;
     private final DiscreteLeakyBucket bucket;
 
-    private long lastAllowedUnits = 0L;
+    private final ThreadLocal<long[]> lastAllowedUnits = ThreadLocal.withInitial(() -> new long[1]);
 
     static BucketThrottle withTps(final int tps) {
         return new BucketThrottle(tps * MTPS_PER_TPS, DEFAULT_BURST_PERIOD * MS_PER_SEC);
@@ -139,12 +142,11 @@ public class BucketThrottle {
             return false;
         }
         final long requiredUnits = numReqs * CAPACITY_UNITS_PER_TXN;
-        if (requiredUnits > bucket.capacityFree()) {
+        if (!bucket.tryUseCapacity(requiredUnits)) {
             return false;
         }
 
-        bucket.useCapacity(requiredUnits);
-        lastAllowedUnits += requiredUnits;
+        lastAllowedUnits.get()[0] += requiredUnits;
         return true;
     }
 
@@ -174,12 +176,13 @@ public class BucketThrottle {
     }
 
     void resetLastAllowedUse() {
-        lastAllowedUnits = 0;
+        lastAllowedUnits.get()[0] = 0;
     }
 
     void reclaimLastAllowedUse() {
-        bucket.leak(lastAllowedUnits);
-        lastAllowedUnits = 0;
+        final long[] units = lastAllowedUnits.get();
+        bucket.leak(units[0]);
+        units[0] = 0;
     }
 
     public DiscreteLeakyBucket bucket() {
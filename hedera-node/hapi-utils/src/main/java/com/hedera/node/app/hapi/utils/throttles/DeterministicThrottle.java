@@ -25,9 +25,14 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A throttle with milli-TPS resolution that exists in a deterministic timeline.
+ *
+ * <p>Decisions made with {@link #allow(int, Instant)} must be made in a single thread, in a timeline that never goes
+ * backwards. Decisions made with {@link #allowConcurrently(int, Instant)} may be made by multiple threads at the same
+ * time, without locking.
  */
 public class DeterministicThrottle implements CongestibleThrottle {
     private static final long NANOS_PER_SECOND = 1_000_000_000L;
@@ -35,8 +40,7 @@ public class DeterministicThrottle implements CongestibleThrottle {
     @Nullable
     private final String name;
 
-    @Nullable
-    private Timestamp lastDecisionTime;
+    private final AtomicReference<Timestamp> lastDecisionTime = new AtomicReference<>();
 
     private final BucketThrottle delegate;
 
@@ -95,7 +99,6 @@ public class DeterministicThrottle implements CongestibleThrottle {
     private DeterministicThrottle(final BucketThrottle delegate, @Nullable final String name) {
         this.name = name;
         this.delegate = delegate;
-        lastDecisionTime = null;
     }
 
     public static long capacityRequiredFor(final int nTransactions) {
@@ -131,15 +134,42 @@ public class DeterministicThrottle implements CongestibleThrottle {
      */
     public boolean allow(final int numReqs, @NonNull final Instant now) {
         requireNonNull(now);
-        final var elapsedNanos = nanosBetween(lastDecisionTime, now);
+        final var lastTime = lastDecisionTime.get();
+        final var elapsedNanos = nanosBetween(lastTime, now);
         if (elapsedNanos < 0L) {
             throw new IllegalArgumentException("Throttle timeline must advance, but " + now + " is not after "
-                    + Instant.ofEpochSecond(lastDecisionTime.seconds(), lastDecisionTime.nanos()));
+                    + Instant.ofEpochSecond(lastTime.seconds(), lastTime.nanos()));
         }
-        lastDecisionTime = new Timestamp(now.getEpochSecond(), now.getNano());
+        lastDecisionTime.set(new Timestamp(now.getEpochSecond(), now.getNano()));
         return delegate.allow(numReqs, elapsedNanos);
     }
 
+    /**
+     * Determines whether a given number of requests can be allowed through the throttle, given the current time.
+     * Unlike {@link #allow(int, Instant)}, may be called by multiple threads at the same time. Capacity freed by the
+     * time elapsed since the last decision is leaked exactly once, by the thread that advances the last decision time.
+     * If a decision at a later time has already been made by another thread, no capacity is leaked, and the requests
+     * are allowed only if there is enough free capacity at that later time.
+     *
+     * @param numReqs the number of requests to allow
+     * @param now the time at which the requests are being made
+     * @return whether the requests can be allowed
+     */
+    public boolean allowConcurrently(final int numReqs, @NonNull final Instant now) {
+        requireNonNull(now);
+        final var nowTime = new Timestamp(now.getEpochSecond(), now.getNano());
+        while (true) {
+            final var lastTime = lastDecisionTime.get();
+            final var elapsedNanos = nanosBetween(lastTime, now);
+            if (lastTime != null && elapsedNanos <= 0L) {
+                return delegate.allowInstantaneous(numReqs);
+            }
+            if (lastDecisionTime.compareAndSet(lastTime, nowTime)) {
+                return delegate.allow(numReqs, elapsedNanos);
+            }
+        }
+    }
+
     /**
      * Leaks a given amount of capacity from the bucket. Useful for refunding capacity from an operation
      * that was allowed through a throttle; but then failed later.
@@ -190,7 +220,7 @@ public class DeterministicThrottle implements CongestibleThrottle {
 
     public ThrottleUsageSnapshot usageSnapshot() {
         final var bucket = delegate.bucket();
-        return new ThrottleUsageSnapshot(bucket.capacityUsed(), lastDecisionTime);
+        return new ThrottleUsageSnapshot(bucket.capacityUsed(), lastDecisionTime.get());
     }
 
     /**
@@ -201,10 +231,11 @@ public class DeterministicThrottle implements CongestibleThrottle {
      * @return the capacity available at this time
      */
     public double percentUsed(final Instant now) {
-        if (lastDecisionTime == null) {
+        final var lastTime = lastDecisionTime.get();
+        if (lastTime == null) {
             return 0.0;
         }
-        final var elapsedNanos = Math.max(0, nanosBetween(lastDecisionTime, now));
+        final var elapsedNanos = Math.max(0, nanosBetween(lastTime, now));
         return delegate.percentUsed(elapsedNanos);
     }
 
@@ -216,7 +247,7 @@ public class DeterministicThrottle implements CongestibleThrottle {
      */
     @Override
     public double instantaneousPercentUsed() {
-        if (lastDecisionTime == null) {
+        if (lastDecisionTime.get() == null) {
             return 0.0;
         }
         return delegate.instantaneousPercentUsed();
@@ -230,7 +261,7 @@ public class DeterministicThrottle implements CongestibleThrottle {
     public void resetUsageTo(@NonNull final ThrottleUsageSnapshot usageSnapshot) {
         requireNonNull(usageSnapshot);
         final var bucket = delegate.bucket();
-        lastDecisionTime = usageSnapshot.lastDecisionTime();
+        lastDecisionTime.set(usageSnapshot.lastDecisionTime());
         bucket.resetUsed(usageSnapshot.used());
     }
 
@@ -238,7 +269,7 @@ public class DeterministicThrottle implements CongestibleThrottle {
         resetLastAllowedUse();
         final var bucket = delegate.bucket();
         bucket.resetUsed(0L);
-        lastDecisionTime = null;
+        lastDecisionTime.set(null);
     }
 
     /* NOTE: The Object methods below are only overridden to improve readability of unit tests; instances
@@ -257,11 +288,12 @@ public class DeterministicThrottle implements CongestibleThrottle {
 
     @Override
     public int hashCode() {
-        return Objects.hash(delegate.bucket().totalCapacity(), delegate.mtps(), name, lastDecisionTime);
+        return Objects.hash(delegate.bucket().totalCapacity(), delegate.mtps(), name, lastDecisionTime.get());
     }
 
     @Override
     public String toString() {
+        final var lastTime = lastDecisionTime.get();
         final var sb = new StringBuilder("DeterministicThrottle{");
         if (name != null) {
             sb.append("name='").append(name).append("', ");
@@ -275,10 +307,9 @@ public class DeterministicThrottle implements CongestibleThrottle {
                 .append(used())
                 .append(")")
                 .append(
-                        lastDecisionTime == null
+                        lastTime == null
                                 ? ""
-                                : (", last decision @ "
-                                        + Instant.ofEpochSecond(lastDecisionTime.seconds(), lastDecisionTime.nanos())))
+                                : (", last decision @ " + Instant.ofEpochSecond(lastTime.seconds(), lastTime.nanos())))
                 .append("}")
                 .toString();
     }
@@ -288,7 +319,7 @@ public class DeterministicThrottle implements CongestibleThrottle {
     }
 
     public Timestamp lastDecisionTime() {
-        return lastDecisionTime;
+        return lastDecisionTime.get();
     }
 
     /**
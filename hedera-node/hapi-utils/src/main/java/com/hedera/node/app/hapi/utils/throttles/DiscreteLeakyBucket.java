@@ -16,30 +16,34 @@
 
 package com.hedera.node.app.hapi.utils.throttles;
 
-/** A bucket of discrete capacity. */
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bucket of discrete capacity. Updates of the used capacity are atomic, so a bucket may be used and leaked by
+ * multiple threads at the same time.
+ */
 public class DiscreteLeakyBucket {
-    private long used;
+    private final AtomicLong used = new AtomicLong();
     private final long capacity;
 
     DiscreteLeakyBucket(long capacity) {
-        used = 0L;
-        assertValidState(used, capacity);
+        assertValidState(0L, capacity);
         this.capacity = capacity;
     }
 
     /* Used only for test setup */
     DiscreteLeakyBucket(long used, long capacity) {
         assertValidState(used, capacity);
-        this.used = used;
+        this.used.set(used);
         this.capacity = capacity;
     }
 
     long capacityFree() {
-        return capacity - used;
+        return capacity - used.get();
     }
 
     long capacityUsed() {
-        return used;
+        return used.get();
     }
 
     public long totalCapacity() {
@@ -47,19 +51,43 @@ public class DiscreteLeakyBucket {
     }
 
     void useCapacity(long units) {
-        long newUsed = used + units;
-        assertValidUsage(units, newUsed);
-        used = newUsed;
+        long curUsed;
+        long newUsed;
+        do {
+            curUsed = used.get();
+            newUsed = curUsed + units;
+            assertValidUsage(units, curUsed, newUsed);
+        } while (!used.compareAndSet(curUsed, newUsed));
+    }
+
+    /**
+     * Uses the given number of units, if they are free.
+     *
+     * @param units the number of units to use
+     * @return whether the units were free and are now used
+     */
+    boolean tryUseCapacity(long units) {
+        if (units < 0) {
+            throw new IllegalArgumentException("Cannot use " + units + " units of capacity!");
+        }
+        long curUsed;
+        do {
+            curUsed = used.get();
+            if (units > capacity - curUsed) {
+                return false;
+            }
+        } while (!used.compareAndSet(curUsed, curUsed + units));
+        return true;
     }
 
     void leak(long units) {
         assertValidUnitsToFree(units);
-        used -= Math.min(used, units);
+        used.getAndUpdate(curUsed -> curUsed - Math.min(curUsed, units));
     }
 
     void resetUsed(long amount) {
         assertValidState(amount, capacity);
-        this.used = amount;
+        this.used.set(amount);
     }
 
     private void assertValidState(long candidateUsed, long candidateCapacity) {
@@ -76,7 +104,7 @@ public class DiscreteLeakyBucket {
         }
     }
 
-    private void assertValidUsage(long newUnits, long newUsage) {
+    private void assertValidUsage(long newUnits, long curUsage, long newUsage) {
         if (newUnits < 0) {
             throw new IllegalArgumentException("Cannot use " + newUnits + " units of capacity!");
         }
@@ -84,7 +112,7 @@ public class DiscreteLeakyBucket {
             throw new IllegalArgumentException("Adding "
                     + newUnits
                     + " units to "
-                    + used
+                    + curUsage
                     + " already used would exceed capacity "
                     + capacity
                     + "!");
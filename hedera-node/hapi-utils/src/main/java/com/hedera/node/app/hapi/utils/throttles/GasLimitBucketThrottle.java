@@ -24,12 +24,15 @@ import static com.swirlds.base.units.UnitConstants.SECONDS_TO_NANOSECONDS;
  * hood. Calculates the amount of gas that should be leaked from the bucket based on the amount of
  * elapsed nanoseconds since the last time {@link GasLimitBucketThrottle#allow(long, long)} was
  * called.
+ *
+ * <p>Gas is reserved atomically, so the throttle may be used by multiple threads at the same time. The
+ * last allowed use is tracked per thread, so a thread can only reclaim the gas it reserved itself.
  */
 public class GasLimitBucketThrottle {
     private static final long TIME_TO_EMPTY = SECONDS_TO_NANOSECONDS;
 
     private final DiscreteLeakyBucket bucket;
-    private long lastAllowedUnits = 0L;
+    private final ThreadLocal<long[]> lastAllowedUnits = ThreadLocal.withInitial(() -> new long[1]);
 
     /**
      * Creates an instance of the throttle with the specified capacity.
@@ -52,9 +55,20 @@ public class GasLimitBucketThrottle {
      */
     public boolean allow(final long txGasLimit, final long elapsedNanos) {
         leakFor(elapsedNanos);
-        if (bucket.capacityFree() >= txGasLimit) {
-            bucket.useCapacity(txGasLimit);
-            lastAllowedUnits += txGasLimit;
+        return allowInstantaneous(txGasLimit);
+    }
+
+    /**
+     * Verifies whether there is enough capacity to handle a transaction with the specified gas limit,
+     * without leaking any capacity first. Reserves the capacity needed for the transaction if there
+     * is enough free space.
+     *
+     * @param txGasLimit - the gas limit of the transaction
+     * @return true if there is enough capacity, false if the transaction should be throttled
+     */
+    boolean allowInstantaneous(final long txGasLimit) {
+        if (bucket.tryUseCapacity(txGasLimit)) {
+            lastAllowedUnits.get()[0] += txGasLimit;
             return true;
         } else {
             return false;
@@ -98,12 +112,13 @@ public class GasLimitBucketThrottle {
     }
 
     void resetLastAllowedUse() {
-        lastAllowedUnits = 0;
+        lastAllowedUnits.get()[0] = 0;
     }
 
     void reclaimLastAllowedUse() {
-        bucket.leak(lastAllowedUnits);
-        lastAllowedUnits = 0;
+        final long[] units = lastAllowedUnits.get();
+        bucket.leak(units[0]);
+        units[0] = 0;
     }
 
     /**
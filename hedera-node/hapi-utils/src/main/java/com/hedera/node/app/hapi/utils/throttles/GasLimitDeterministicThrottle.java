@@ -23,16 +23,21 @@ import com.hedera.hapi.node.base.Timestamp;
 import com.hedera.hapi.node.state.throttles.ThrottleUsageSnapshot;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Main class responsible for throttling transactions by gasLimit. Keeps track of the instance the
  * last decision was made and calculates the time elapsed since then. Uses a {@link
  * GasLimitBucketThrottle} under the hood.
+ *
+ * <p>Decisions made with {@link #allow(Instant, long)} must be made in a single thread, in a timeline
+ * that never goes backwards. Decisions made with {@link #allowConcurrently(Instant, long)} may be made
+ * by multiple threads at the same time, without locking.
  */
 public class GasLimitDeterministicThrottle implements CongestibleThrottle {
     private static final String THROTTLE_NAME = "Gas";
     private final GasLimitBucketThrottle delegate;
-    private Timestamp lastDecisionTime;
+    private final AtomicReference<Timestamp> lastDecisionTime = new AtomicReference<>();
     private final long capacity;
 
     /**
@@ -56,15 +61,43 @@ public class GasLimitDeterministicThrottle implements CongestibleThrottle {
      * throttled.
      */
     public boolean allow(@NonNull final Instant now, final long txGasLimit) {
-        final var elapsedNanos = nanosBetween(lastDecisionTime, now);
+        final var lastTime = lastDecisionTime.get();
+        final var elapsedNanos = nanosBetween(lastTime, now);
         if (elapsedNanos < 0L) {
             throw new IllegalArgumentException("Throttle timeline must advance, but " + now + " is not after "
-                    + Instant.ofEpochSecond(lastDecisionTime.seconds(), lastDecisionTime.nanos()));
+                    + Instant.ofEpochSecond(lastTime.seconds(), lastTime.nanos()));
         }
-        lastDecisionTime = new Timestamp(now.getEpochSecond(), now.getNano());
+        lastDecisionTime.set(new Timestamp(now.getEpochSecond(), now.getNano()));
         return delegate.allow(txGasLimit, elapsedNanos);
     }
 
+    /**
+     * Same as {@link #allow(Instant, long)}, but may be called by multiple threads at the same time.
+     * Gas freed by the time elapsed since the last decision is leaked exactly once, by the thread that
+     * advances the last decision time. If a decision at a later time has already been made by another
+     * thread, no gas is leaked, and the transaction is allowed only if there is enough free capacity at
+     * that later time.
+     *
+     * @param now        - the instant against which the {@link GasLimitBucketThrottle} is tested.
+     * @param txGasLimit - the gasLimit extracted from the transaction payload.
+     * @return true if there is enough capacity to handle this transaction; false if it should be
+     * throttled.
+     */
+    public boolean allowConcurrently(@NonNull final Instant now, final long txGasLimit) {
+        requireNonNull(now);
+        final var nowTime = new Timestamp(now.getEpochSecond(), now.getNano());
+        while (true) {
+            final var lastTime = lastDecisionTime.get();
+            final var elapsedNanos = nanosBetween(lastTime, now);
+            if (lastTime != null && elapsedNanos <= 0L) {
+                return delegate.allowInstantaneous(txGasLimit);
+            }
+            if (lastDecisionTime.compareAndSet(lastTime, nowTime)) {
+                return delegate.allow(txGasLimit, elapsedNanos);
+            }
+        }
+    }
+
     /**
      * Returns the free-to-used ratio in the bucket at its last decision time.
      *
@@ -82,10 +115,11 @@ public class GasLimitDeterministicThrottle implements CongestibleThrottle {
      * @return the capacity available at this time
      */
     public double percentUsed(final Instant now) {
-        if (lastDecisionTime == null) {
+        final var lastTime = lastDecisionTime.get();
+        if (lastTime == null) {
             return 0.0;
         }
-        final var elapsedNanos = Math.max(0, nanosBetween(lastDecisionTime, now));
+        final var elapsedNanos = Math.max(0, nanosBetween(lastTime, now));
         return delegate.percentUsed(elapsedNanos);
     }
 
@@ -97,7 +131,7 @@ public class GasLimitDeterministicThrottle implements CongestibleThrottle {
      */
     @Override
     public double instantaneousPercentUsed() {
-        if (lastDecisionTime == null) {
+        if (lastDecisionTime.get() == null) {
             return 0.0;
         }
         return delegate.instantaneousPercentUsed();
@@ -157,13 +191,13 @@ public class GasLimitDeterministicThrottle implements CongestibleThrottle {
 
     public ThrottleUsageSnapshot usageSnapshot() {
         final var bucket = delegate.bucket();
-        return new ThrottleUsageSnapshot(bucket.capacityUsed(), lastDecisionTime);
+        return new ThrottleUsageSnapshot(bucket.capacityUsed(), lastDecisionTime.get());
     }
 
     public void resetUsageTo(@NonNull final ThrottleUsageSnapshot usageSnapshot) {
         requireNonNull(usageSnapshot);
         final var bucket = delegate.bucket();
-        lastDecisionTime = usageSnapshot.lastDecisionTime();
+        lastDecisionTime.set(usageSnapshot.lastDecisionTime());
         bucket.resetUsed(usageSnapshot.used());
     }
 
@@ -191,6 +191,27 @@ class DeterministicThrottleTest {
         assertDoesNotThrow(() -> subject.allow(1, now));
     }
 
+    @Test
+    void concurrentDecisionsLeakElapsedTimeOnlyOnce() {
+        final int tps = 1;
+        final int burstPeriod = 5;
+        final var now = Instant.ofEpochSecond(1_234_567L);
+        final var subject = DeterministicThrottle.withTpsAndBurstPeriod(tps, burstPeriod);
+
+        for (int i = 0; i < burstPeriod; i++) {
+            assertTrue(subject.allowConcurrently(1, now));
+        }
+        assertFalse(subject.allowConcurrently(1, now));
+
+        final var later = now.plusSeconds(1);
+        assertTrue(subject.allowConcurrently(1, later));
+        assertEquals(later, instantFrom(subject.lastDecisionTime()));
+        // A decision at the same (or an earlier) time must not leak the same second again
+        assertFalse(subject.allowConcurrently(1, later));
+        assertDoesNotThrow(() -> assertFalse(subject.allowConcurrently(1, now)));
+        assertEquals(later, instantFrom(subject.lastDecisionTime()));
+    }
+
     @Test
     void computesClampedRequiredCapacity() {
         final int tps = 10;
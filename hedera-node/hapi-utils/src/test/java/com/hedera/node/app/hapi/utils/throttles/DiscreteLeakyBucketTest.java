@@ -17,8 +17,14 @@
 package com.hedera.node.app.hapi.utils.throttles;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 
 class DiscreteLeakyBucketTest {
@@ -148,4 +154,49 @@ class DiscreteLeakyBucketTest {
         assertThrows(IllegalArgumentException.class, () -> subject.resetUsed(-1L));
         assertThrows(IllegalArgumentException.class, () -> subject.resetUsed(totalCapacity + 1L));
     }
+
+    @Test
+    void triesToUseCapacity() {
+        // given:
+        var subject = new DiscreteLeakyBucket(capacityUsed, totalCapacity);
+
+        // expect:
+        assertThrows(IllegalArgumentException.class, () -> subject.tryUseCapacity(-1));
+        assertFalse(subject.tryUseCapacity(1 + totalCapacity - capacityUsed));
+        assertFalse(subject.tryUseCapacity(Long.MAX_VALUE));
+        assertEquals(capacityUsed, subject.capacityUsed());
+        assertTrue(subject.tryUseCapacity(totalCapacity - capacityUsed));
+        assertEquals(totalCapacity, subject.capacityUsed());
+    }
+
+    @Test
+    void concurrentUseNeverExceedsCapacity() throws InterruptedException {
+        // given:
+        final int threads = 8;
+        final var subject = new DiscreteLeakyBucket(totalCapacity);
+        final var claimed = new AtomicLong();
+        final var start = new CountDownLatch(1);
+        final var exec = Executors.newFixedThreadPool(threads);
+
+        // when:
+        for (int i = 0; i < threads; i++) {
+            exec.execute(() -> {
+                try {
+                    start.await();
+                    while (subject.tryUseCapacity(7)) {
+                        claimed.addAndGet(7);
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        exec.shutdown();
+
+        // then:
+        assertTrue(exec.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(totalCapacity - totalCapacity % 7, claimed.get());
+        assertEquals(claimed.get(), subject.capacityUsed());
+    }
 }
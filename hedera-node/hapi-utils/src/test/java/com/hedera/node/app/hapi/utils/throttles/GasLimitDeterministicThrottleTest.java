@@ -20,6 +20,7 @@ import static com.hedera.node.app.hapi.utils.throttles.DeterministicThrottleTest
 import static java.util.Objects.requireNonNull;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -115,6 +116,22 @@ class GasLimitDeterministicThrottleTest {
         assertDoesNotThrow(() -> subject.allow(now, gasLimitForTX));
     }
 
+    @Test
+    void toleratesStaleTimesWhenDecidingConcurrently() {
+        // setup:
+        Instant now = Instant.ofEpochSecond(1_234_567L);
+        Instant stale = now.minusNanos(1);
+
+        // when:
+        assertTrue(subject.allowConcurrently(now, DEFAULT_CAPACITY / 2));
+
+        // then:
+        assertTrue(subject.allowConcurrently(stale, DEFAULT_CAPACITY / 2));
+        assertFalse(subject.allowConcurrently(stale, 1));
+        assertEquals(now, instantFrom(subject.usageSnapshot().lastDecisionTime()));
+        assertTrue(subject.allowConcurrently(now.plusSeconds(1), DEFAULT_CAPACITY));
+    }
+
     @Test
     void usesCorrectElapsedNanosOnSubsequentDecision() {
         // setup:
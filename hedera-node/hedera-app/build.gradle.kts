@@ -69,6 +69,7 @@ jmhModuleInfo {
     requires("com.hedera.pbj.runtime")
     requires("com.swirlds.common")
     requires("jmh.core")
+    requires("org.apache.commons.lang3")
 }
 
 // Add all the libs dependencies into the jar manifest!
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.throttle;
+
+import com.hedera.node.app.hapi.utils.throttles.DeterministicThrottle;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares ingest throttle decisions made under a single lock, as they used to be, with decisions that claim
+ * bucket capacity using atomic compare-and-set operations.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Threads(32)
+public class ThrottleReqsManagerBenchmark {
+    private static final Instant START = Instant.ofEpochSecond(1_234_567L);
+
+    public static void main(String... args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[] {"com.hedera.node.app.throttle.ThrottleReqsManagerBenchmark"});
+    }
+
+    @Param({"synchronized", "concurrent"})
+    private String mode;
+
+    @Param({"10000", "1000000"})
+    private int tps;
+
+    private boolean concurrent;
+    private ThrottleReqsManager manager;
+    private long startNanos;
+    private Instant lastDecisionTime;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // A transaction needs capacity from both a per-function and a shared bucket, like a crypto transfer does
+        final var functionThrottle = DeterministicThrottle.withTpsNamed(tps, "function");
+        final var sharedThrottle = DeterministicThrottle.withTpsNamed(2 * tps, "shared");
+        concurrent = "concurrent".equals(mode);
+        final List<Pair<DeterministicThrottle, Integer>> reqs =
+                List.of(Pair.of(functionThrottle, 1), Pair.of(sharedThrottle, 1));
+        manager = new ThrottleReqsManager(reqs, concurrent);
+        startNanos = System.nanoTime();
+        lastDecisionTime = START;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean allReqsMet() {
+        final var now = START.plusNanos(System.nanoTime() - startNanos);
+        if (concurrent) {
+            return manager.allReqsMetAt(now);
+        }
+        synchronized (this) {
+            lastDecisionTime = now.isBefore(lastDecisionTime) ? lastDecisionTime : now;
+            return manager.allReqsMetAt(lastDecisionTime);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.grpc.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.config.data.NettyConfig;
+import com.hedera.node.config.types.GrpcExecutionMode;
+import com.swirlds.common.metrics.IntegerPairAccumulator;
+import com.swirlds.metrics.api.IntegerAccumulator;
+import com.swirlds.metrics.api.LongGauge;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+
+/**
+ * Decides where and whether gRPC transaction and query calls are executed. A single instance is shared by all
+ * {@link MethodBase} instances of a server.
+ *
+ * <p>Calls are admitted on the Netty event loop thread that received them. If the service or the method already has
+ * the configured maximum number of calls queued or executing, the call is rejected right away, before the request is
+ * parsed. Admitted calls are then executed on the configured executor, or on the event loop thread itself in the
+ * {@link GrpcExecutionMode#DIRECT} mode. When calls are executed on an executor, the total number of queued and
+ * executing calls is always limited, so a flood of calls can't grow the queue or the number of threads without bound.
+ *
+ * <p>The executor is shut down by {@link #stop()}, calls are then rejected as busy until {@link #start()} is called.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class GrpcCallScheduler {
+    private static final BinaryOperator<Integer> AVERAGE = (sum, count) -> count == 0 ? 0 : sum / count;
+
+    private static final LongGauge.Config QUEUED_CALLS_CONFIG = new LongGauge.Config("app", "grpcCallsQueued")
+            .withDescription("number of admitted gRPC calls waiting to be executed");
+    private static final IntegerPairAccumulator.Config<Integer> WAIT_TIME_AVG_CONFIG =
+            new IntegerPairAccumulator.Config<>("app", "grpcCallWaitAvg", Integer.class, AVERAGE)
+                    .withDescription("average time an admitted gRPC call waits to be executed in microseconds")
+                    .withUnit("us");
+    private static final IntegerAccumulator.Config WAIT_TIME_MAX_CONFIG = new IntegerAccumulator.Config(
+                    "app", "grpcCallWaitMax")
+            .withDescription("maximum time an admitted gRPC call waits to be executed in microseconds")
+            .withUnit("us");
+
+    /** How calls are executed */
+    private final GrpcExecutionMode mode;
+
+    /** The number of threads executing calls in the {@link GrpcExecutionMode#PLATFORM_THREADS} mode */
+    private final int threads;
+
+    /** The maximum number of queued or executing calls, if calls are executed on an executor */
+    private final int maxCalls;
+
+    /** The executor for admitted calls, or null if calls are executed on the thread that received them */
+    @Nullable
+    private volatile ExecutorService executor;
+
+    /** The permits for all calls, or null if calls are executed on the thread that received them */
+    @Nullable
+    private final Semaphore callPermits;
+
+    /** The maximum number of calls per service, or zero if there is no limit */
+    private final int maxCallsPerService;
+
+    /** The maximum number of calls per method, or zero if there is no limit */
+    private final int maxCallsPerMethod;
+
+    /** The permits for calls to each service, by service name */
+    private final Map<String, Semaphore> servicePermits = new ConcurrentHashMap<>();
+
+    /** The number of admitted calls waiting to be executed */
+    private final AtomicLong queuedCalls = new AtomicLong();
+
+    @Nullable
+    private final LongGauge queuedCallsGauge;
+
+    @Nullable
+    private final IntegerPairAccumulator<Integer> waitTimeAvg;
+
+    @Nullable
+    private final IntegerAccumulator waitTimeMax;
+
+    /**
+     * Create a new instance.
+     *
+     * @param config the Netty configuration with the execution mode and the concurrency limits
+     * @param metrics used to export the number of queued calls and their wait times
+     */
+    public GrpcCallScheduler(@NonNull final NettyConfig config, @NonNull final Metrics metrics) {
+        requireNonNull(config);
+        requireNonNull(metrics);
+        this.mode = config.executorMode();
+        this.threads = config.executorThreads();
+        this.maxCalls = config.executorMaxConcurrentCalls();
+        this.executor = newExecutor();
+        this.callPermits = executor == null ? null : new Semaphore(maxCalls);
+        this.maxCallsPerService = config.executorMaxConcurrentCallsPerService();
+        this.maxCallsPerMethod = config.executorMaxConcurrentCallsPerMethod();
+        this.queuedCallsGauge = metrics.getOrCreate(QUEUED_CALLS_CONFIG);
+        this.waitTimeAvg = metrics.getOrCreate(WAIT_TIME_AVG_CONFIG);
+        this.waitTimeMax = metrics.getOrCreate(WAIT_TIME_MAX_CONFIG);
+    }
+
+    private GrpcCallScheduler() {
+        this.mode = GrpcExecutionMode.DIRECT;
+        this.threads = 0;
+        this.maxCalls = 0;
+        this.executor = null;
+        this.callPermits = null;
+        this.maxCallsPerService = 0;
+        this.maxCallsPerMethod = 0;
+        this.queuedCallsGauge = null;
+        this.waitTimeAvg = null;
+        this.waitTimeMax = null;
+    }
+
+    /**
+     * Creates a scheduler that executes all calls on the thread that received them, without any limits.
+     *
+     * @return the scheduler
+     */
+    @NonNull
+    public static GrpcCallScheduler direct() {
+        return new GrpcCallScheduler();
+    }
+
+    /**
+     * Indicates whether calls are executed on the thread that received them, without any limits. If so, there is no
+     * need to ever call {@link #tryAdmit(Semaphore, Semaphore)} or {@link #execute(Runnable)}.
+     *
+     * @return true if calls are executed directly and never rejected
+     */
+    public boolean isUnbounded() {
+        return isDirect() && maxCallsPerService == 0 && maxCallsPerMethod == 0;
+    }
+
+    /**
+     * Indicates whether calls are executed on the thread that received them.
+     *
+     * @return true if calls are executed directly
+     */
+    public boolean isDirect() {
+        return mode == GrpcExecutionMode.DIRECT;
+    }
+
+    /**
+     * Starts a new executor, if the previous one was shut down by {@link #stop()}.
+     */
+    public synchronized void start() {
+        final var current = executor;
+        if (current != null && current.isShutdown()) {
+            executor = newExecutor();
+        }
+    }
+
+    /**
+     * Shuts down the executor. Calls that are already queued are still executed, new calls are rejected as busy.
+     */
+    public synchronized void stop() {
+        final var current = executor;
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+
+    @Nullable
+    private ExecutorService newExecutor() {
+        return switch (mode) {
+            case DIRECT -> null;
+            case PLATFORM_THREADS -> new ThreadPoolExecutor(
+                    threads,
+                    threads,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(maxCalls),
+                    Thread.ofPlatform().name("grpc-call-", 0).daemon(true).factory());
+            case VIRTUAL_THREADS -> Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("grpc-call-", 0).factory());
+        };
+    }
+
+    /**
+     * Gets the permits shared by all methods of the given service.
+     *
+     * @param serviceName the name of the service
+     * @return the permits, or null if the number of calls per service is not limited
+     */
+    @Nullable
+    public Semaphore servicePermits(@NonNull final String serviceName) {
+        requireNonNull(serviceName);
+        return maxCallsPerService == 0
+                ? null
+                : servicePermits.computeIfAbsent(serviceName, name -> new Semaphore(maxCallsPerService));
+    }
+
+    /**
+     * Creates the permits for a single method.
+     *
+     * @return the permits, or null if the number of calls per method is not limited
+     */
+    @Nullable
+    public Semaphore newMethodPermits() {
+        return maxCallsPerMethod == 0 ? null : new Semaphore(maxCallsPerMethod);
+    }
+
+    /**
+     * Tries to admit a call. If the call is admitted, {@link #release(Semaphore, Semaphore)} must be called once the
+     * call is completed.
+     *
+     * @param service the permits of the service, or null if not limited
+     * @param method the permits of the method, or null if not limited
+     * @return true if the call is admitted, false if it must be rejected as busy
+     */
+    public boolean tryAdmit(@Nullable final Semaphore service, @Nullable final Semaphore method) {
+        if (method != null && !method.tryAcquire()) {
+            return false;
+        }
+        if (service != null && !service.tryAcquire()) {
+            if (method != null) {
+                method.release();
+            }
+            return false;
+        }
+        if (callPermits != null && !callPermits.tryAcquire()) {
+            if (service != null) {
+                service.release();
+            }
+            if (method != null) {
+                method.release();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases the permits of a call admitted by {@link #tryAdmit(Semaphore, Semaphore)}.
+     *
+     * @param service the permits of the service, or null if not limited
+     * @param method the permits of the method, or null if not limited
+     */
+    public void release(@Nullable final Semaphore service, @Nullable final Semaphore method) {
+        if (callPermits != null) {
+            callPermits.release();
+        }
+        if (service != null) {
+            service.release();
+        }
+        if (method != null) {
+            method.release();
+        }
+    }
+
+    /**
+     * Executes an admitted call.
+     *
+     * @param call the call to execute
+     * @return true if the call is executed or will be executed, false if the executor rejected it because its queue
+     * is full or it has been stopped
+     */
+    public boolean execute(@NonNull final Runnable call) {
+        requireNonNull(call);
+        final var current = executor;
+        if (current == null) {
+            call.run();
+            return true;
+        }
+        final long admittedAt = System.nanoTime();
+        updateQueuedCalls(queuedCalls.incrementAndGet());
+        try {
+            current.execute(() -> {
+                updateQueuedCalls(queuedCalls.decrementAndGet());
+                recordWaitTime(System.nanoTime() - admittedAt);
+                call.run();
+            });
+            return true;
+        } catch (final RejectedExecutionException e) {
+            updateQueuedCalls(queuedCalls.decrementAndGet());
+            return false;
+        }
+    }
+
+    private void updateQueuedCalls(final long value) {
+        if (queuedCallsGauge != null) {
+            queuedCallsGauge.set(value);
+        }
+    }
+
+    private void recordWaitTime(final long nanos) {
+        final int micros = (int) Math.min(Integer.MAX_VALUE, nanos / 1_000L);
+        if (waitTimeAvg != null && waitTimeMax != null) {
+            waitTimeAvg.update(micros, 1);
+            waitTimeMax.update(micros);
+        }
+    }
+}
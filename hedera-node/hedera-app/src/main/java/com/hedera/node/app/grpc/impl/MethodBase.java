@@ -25,9 +25,15 @@ import com.swirlds.common.metrics.SpeedometerMetric;
 import com.swirlds.metrics.api.Counter;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.ServerCalls;
 import io.grpc.stub.StreamObserver;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -51,6 +57,8 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
     private static final String COUNTER_RECEIVED_DESC_TPL = "number of %s received";
     private static final String COUNTER_FAILED_NAME_TPL = "%sFail";
     private static final String COUNTER_FAILED_DESC_TPL = "number of %s failed";
+    private static final String COUNTER_BUSY_NAME_TPL = "%sBusy";
+    private static final String COUNTER_BUSY_DESC_TPL = "number of %s rejected as busy";
     private static final String SPEEDOMETER_HANDLED_NAME_TPL = "%sHdl_per_sec";
     private static final String SPEEDOMETER_HANDLED_DESC_TPL = "number of %s handled per second";
     private static final String SPEEDOMETER_RECEIVED_NAME_TPL = "%sRcv_per_sec";
@@ -67,6 +75,20 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
     private static final ThreadLocal<BufferedData> BUFFER_THREAD_LOCAL =
             ThreadLocal.withInitial(() -> BufferedData.allocate(MAX_RESPONSE_SIZE));
 
+    /**
+     * Shared {@link BufferedData}s for responses written by virtual threads. Every call gets a new virtual thread, so
+     * the buffers are pooled instead. The pool holds at most {@link #MAX_POOLED_BUFFERS} buffers, buffers used by
+     * more concurrent calls than that are left to the garbage collector. The number of buffers in use at any time is
+     * bounded by the maximum number of concurrent calls of the {@link GrpcCallScheduler}.
+     */
+    private static final Queue<BufferedData> VIRTUAL_THREAD_BUFFERS = new ConcurrentLinkedQueue<>();
+
+    /** The maximum number of buffers kept in {@link #VIRTUAL_THREAD_BUFFERS}. */
+    private static final int MAX_POOLED_BUFFERS = 64;
+
+    /** The number of buffers in {@link #VIRTUAL_THREAD_BUFFERS}, tracked separately as its size is not O(1). */
+    private static final AtomicInteger POOLED_BUFFERS = new AtomicInteger();
+
     /** The name of the service associated with this method. */
     protected final String serviceName;
 
@@ -82,12 +104,26 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
     /** A metric for the number of times this method failed to handle an invocation */
     private final Counter callsFailedCounter;
 
+    /** A metric for the number of times this method was rejected as busy */
+    private final Counter callsBusyCounter;
+
     /** A metric for the calls per second successfully this method was invoked */
     private final SpeedometerMetric callsReceivedSpeedometer;
 
     /** A metric for the calls per second successfully handled by this method */
     private final SpeedometerMetric callsHandledSpeedometer;
 
+    /** Decides where and whether calls to this method are executed */
+    private final GrpcCallScheduler scheduler;
+
+    /** The permits shared by all methods of the service, or null if not limited */
+    @Nullable
+    private final Semaphore servicePermits;
+
+    /** The permits of this method, or null if not limited */
+    @Nullable
+    private final Semaphore methodPermits;
+
     /**
      * Create a new instance.
      *
@@ -95,13 +131,32 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
      * @param methodName a non-null reference to the method name
      */
     MethodBase(@NonNull final String serviceName, @NonNull final String methodName, @NonNull final Metrics metrics) {
+        this(serviceName, methodName, metrics, GrpcCallScheduler.direct());
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param serviceName a non-null reference to the service name
+     * @param methodName a non-null reference to the method name
+     * @param scheduler a non-null reference to the scheduler deciding where and whether calls are executed
+     */
+    MethodBase(
+            @NonNull final String serviceName,
+            @NonNull final String methodName,
+            @NonNull final Metrics metrics,
+            @NonNull final GrpcCallScheduler scheduler) {
 
         this.serviceName = requireNonNull(serviceName);
         this.methodName = requireNonNull(methodName);
+        this.scheduler = requireNonNull(scheduler);
+        this.servicePermits = scheduler.servicePermits(serviceName);
+        this.methodPermits = scheduler.newMethodPermits();
 
         this.callsHandledCounter = counter(metrics, COUNTER_HANDLED_NAME_TPL, COUNTER_HANDLED_DESC_TPL);
         this.callsReceivedCounter = counter(metrics, COUNTER_RECEIVED_NAME_TPL, COUNTER_RECEIVED_DESC_TPL);
         this.callsFailedCounter = counter(metrics, COUNTER_FAILED_NAME_TPL, COUNTER_FAILED_DESC_TPL);
+        this.callsBusyCounter = counter(metrics, COUNTER_BUSY_NAME_TPL, COUNTER_BUSY_DESC_TPL);
         this.callsHandledSpeedometer = speedometer(metrics, SPEEDOMETER_HANDLED_NAME_TPL, SPEEDOMETER_HANDLED_DESC_TPL);
         this.callsReceivedSpeedometer =
                 speedometer(metrics, SPEEDOMETER_RECEIVED_NAME_TPL, SPEEDOMETER_RECEIVED_DESC_TPL);
@@ -123,14 +178,40 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
             return;
         }
 
+        // Convert the request BufferedData to a Bytes instance without copying the bytes
+        final var requestBytes = requestBuffer.getBytes(0, requestBuffer.length());
+        if (scheduler.isUnbounded()) {
+            handleAndRespond(requestBytes, responseObserver);
+            return;
+        }
+
+        // Shed excess calls before doing any work on them
+        if (!scheduler.tryAdmit(servicePermits, methodPermits)) {
+            respondBusy(responseObserver);
+            return;
+        }
+        // The request buffer is reused by the receiving thread, so it must be copied if another thread handles it
+        final var callBytes = scheduler.isDirect() ? requestBytes : Bytes.wrap(requestBytes.toByteArray());
+        final var executed = scheduler.execute(() -> {
+            try {
+                handleAndRespond(callBytes, responseObserver);
+            } finally {
+                scheduler.release(servicePermits, methodPermits);
+            }
+        });
+        if (!executed) {
+            scheduler.release(servicePermits, methodPermits);
+            respondBusy(responseObserver);
+        }
+    }
+
+    private void handleAndRespond(
+            @NonNull final Bytes requestBytes, @NonNull final StreamObserver<BufferedData> responseObserver) {
+        // Prepare the response buffer
+        final var responseBuffer = acquireResponseBuffer();
         try {
-            // Prepare the response buffer
-            final var responseBuffer = BUFFER_THREAD_LOCAL.get();
             responseBuffer.reset();
 
-            // Convert the request BufferedData to a Bytes instance without copying the bytes
-            final var requestBytes = requestBuffer.getBytes(0, requestBuffer.length());
-
             // Call the workflow
             handle(requestBytes, responseBuffer);
 
@@ -149,6 +230,51 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
             }
             callsFailedCounter.increment();
             responseObserver.onError(e);
+        } finally {
+            releaseResponseBuffer(responseBuffer);
+        }
+    }
+
+    private void respondBusy(@NonNull final StreamObserver<BufferedData> responseObserver) {
+        callsBusyCounter.increment();
+        final var responseBuffer = acquireResponseBuffer();
+        try {
+            responseBuffer.reset();
+            if (writeBusyResponse(responseBuffer)) {
+                responseBuffer.flip();
+                responseObserver.onNext(responseBuffer);
+                responseObserver.onCompleted();
+            } else {
+                responseObserver.onError(new StatusRuntimeException(Status.RESOURCE_EXHAUSTED));
+            }
+        } catch (final Exception e) {
+            logger.error("Unexpected exception while rejecting a GRPC message as busy", e);
+            responseObserver.onError(e);
+        } finally {
+            releaseResponseBuffer(responseBuffer);
+        }
+    }
+
+    private static BufferedData acquireResponseBuffer() {
+        if (!Thread.currentThread().isVirtual()) {
+            return BUFFER_THREAD_LOCAL.get();
+        }
+        final var buffer = VIRTUAL_THREAD_BUFFERS.poll();
+        if (buffer == null) {
+            return BufferedData.allocate(MAX_RESPONSE_SIZE);
+        }
+        POOLED_BUFFERS.decrementAndGet();
+        return buffer;
+    }
+
+    private static void releaseResponseBuffer(@NonNull final BufferedData buffer) {
+        if (!Thread.currentThread().isVirtual()) {
+            return;
+        }
+        if (POOLED_BUFFERS.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            VIRTUAL_THREAD_BUFFERS.offer(buffer);
+        } else {
+            POOLED_BUFFERS.decrementAndGet();
         }
     }
 
@@ -161,6 +287,18 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
      */
     protected abstract void handle(@NonNull final Bytes requestBuffer, @NonNull final BufferedData responseBuffer);
 
+    /**
+     * Called when a call is rejected because too many calls are already queued or executing. The request has not been
+     * parsed. Implementations that can answer without parsing the request write a BUSY response and return true.
+     * Otherwise, the call fails with a gRPC {@code RESOURCE_EXHAUSTED} status.
+     *
+     * @param responseBuffer A {@link BufferedData} into which the response protobuf bytes may be written
+     * @return true if a response was written
+     */
+    protected boolean writeBusyResponse(@NonNull final BufferedData responseBuffer) {
+        return false;
+    }
+
     /**
      * Helper method for creating a {@link Counter} metric.
      *
@@ -63,7 +63,25 @@ public final class QueryMethod extends MethodBase {
             @NonNull final String methodName,
             @NonNull final QueryWorkflow workflow,
             @NonNull final Metrics metrics) {
-        super(serviceName, methodName, metrics);
+        this(serviceName, methodName, workflow, metrics, GrpcCallScheduler.direct());
+    }
+
+    /**
+     * Create a new QueryMethod. Queries rejected as busy fail with a gRPC {@code RESOURCE_EXHAUSTED} status, because
+     * the type of the response depends on the query, which is not parsed before the query is rejected.
+     *
+     * @param serviceName a non-null reference to the service name
+     * @param methodName a non-null reference to the method name
+     * @param workflow a non-null {@link QueryWorkflow}
+     * @param scheduler a non-null {@link GrpcCallScheduler} deciding where and whether calls are executed
+     */
+    public QueryMethod(
+            @NonNull final String serviceName,
+            @NonNull final String methodName,
+            @NonNull final QueryWorkflow workflow,
+            @NonNull final Metrics metrics,
+            @NonNull final GrpcCallScheduler scheduler) {
+        super(serviceName, methodName, metrics, scheduler);
         this.workflow = requireNonNull(workflow);
         this.queriesAnsweredCounter = counter(metrics, COUNTER_ANSWERED_NAME_TPL, COUNTER_ANSWERED_DESC_TPL);
         this.queriesAnsweredSpeedometer =
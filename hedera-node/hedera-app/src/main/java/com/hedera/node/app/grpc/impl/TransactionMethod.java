@@ -16,12 +16,17 @@
 
 package com.hedera.node.app.grpc.impl;
 
+import static com.hedera.hapi.node.base.ResponseCodeEnum.BUSY;
+
 import com.hedera.hapi.node.base.Transaction;
+import com.hedera.hapi.node.transaction.TransactionResponse;
 import com.hedera.node.app.workflows.ingest.IngestWorkflow;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Objects;
 
 /**
@@ -33,6 +38,10 @@ import java.util.Objects;
  */
 /*@ThreadSafe*/
 public final class TransactionMethod extends MethodBase {
+    /** The response to all transactions rejected as busy before they are parsed */
+    private static final TransactionResponse BUSY_RESPONSE =
+            TransactionResponse.newBuilder().nodeTransactionPrecheckCode(BUSY).build();
+
     /** The pipeline contains all the steps needed for handling the ingestion of a transaction. */
     private final IngestWorkflow workflow;
 
@@ -50,9 +59,36 @@ public final class TransactionMethod extends MethodBase {
         this.workflow = Objects.requireNonNull(workflow);
     }
 
+    /**
+     * @param serviceName a non-null reference to the service name
+     * @param methodName a non-null reference to the method name
+     * @param workflow a non-null {@link IngestWorkflow}
+     * @param scheduler a non-null {@link GrpcCallScheduler} deciding where and whether calls are executed
+     */
+    public TransactionMethod(
+            @NonNull final String serviceName,
+            @NonNull final String methodName,
+            @NonNull final IngestWorkflow workflow,
+            @NonNull final Metrics metrics,
+            @NonNull final GrpcCallScheduler scheduler) {
+        super(serviceName, methodName, metrics, scheduler);
+        this.workflow = Objects.requireNonNull(workflow);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void handle(@NonNull final Bytes requestBuffer, @NonNull final BufferedData responseBuffer) {
         workflow.submitTransaction(requestBuffer, responseBuffer);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean writeBusyResponse(@NonNull final BufferedData responseBuffer) {
+        try {
+            TransactionResponse.PROTOBUF.write(BUSY_RESPONSE, responseBuffer);
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write bytes to response buffer", ex);
+        }
+    }
 }
@@ -20,6 +20,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.hedera.hapi.node.base.Transaction;
 import com.hedera.hapi.node.transaction.Query;
+import com.hedera.node.app.grpc.impl.GrpcCallScheduler;
 import com.hedera.node.app.grpc.impl.MethodBase;
 import com.hedera.node.app.grpc.impl.QueryMethod;
 import com.hedera.node.app.grpc.impl.TransactionMethod;
@@ -169,15 +170,28 @@ final class GrpcServiceBuilder {
      */
     @NonNull
     public ServerServiceDefinition build(@NonNull final Metrics metrics) {
+        return build(metrics, GrpcCallScheduler.direct());
+    }
+
+    /**
+     * Build a grpc {@link ServerServiceDefinition} for each transaction and query method registered with this builder.
+     *
+     * @param metrics Used for recording metrics for the transaction or query methods
+     * @param scheduler Decides where and whether calls to the transaction and query methods are executed
+     * @return A {@link ServerServiceDefinition} that can be registered with a gRPC server
+     */
+    @NonNull
+    public ServerServiceDefinition build(@NonNull final Metrics metrics, @NonNull final GrpcCallScheduler scheduler) {
+        requireNonNull(scheduler);
         final var builder = ServerServiceDefinition.builder(serviceName);
         txMethodNames.forEach(methodName -> {
             logger.debug("Registering gRPC transaction method {}.{}", serviceName, methodName);
-            final var method = new TransactionMethod(serviceName, methodName, ingestWorkflow, metrics);
+            final var method = new TransactionMethod(serviceName, methodName, ingestWorkflow, metrics, scheduler);
             addMethod(builder, serviceName, methodName, method);
         });
         queryMethodNames.forEach(methodName -> {
             logger.debug("Registering gRPC query method {}.{}", serviceName, methodName);
-            final var method = new QueryMethod(serviceName, methodName, queryWorkflow, metrics);
+            final var method = new QueryMethod(serviceName, methodName, queryWorkflow, metrics, scheduler);
             addMethod(builder, serviceName, methodName, method);
         });
         return builder.build();
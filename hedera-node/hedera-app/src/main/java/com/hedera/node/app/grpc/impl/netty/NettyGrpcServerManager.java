@@ -21,6 +21,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.hedera.hapi.node.base.Transaction;
 import com.hedera.node.app.grpc.GrpcServerManager;
+import com.hedera.node.app.grpc.impl.GrpcCallScheduler;
 import com.hedera.node.app.services.ServicesRegistry;
 import com.hedera.node.app.spi.RpcService;
 import com.hedera.node.app.workflows.ingest.IngestWorkflow;
@@ -85,6 +86,10 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
      * The configuration provider, so we can figure out ports and other information.
      */
     private final ConfigProvider configProvider;
+    /**
+     * Admits calls and executes them on the configured executor, shared by all services
+     */
+    private final GrpcCallScheduler callScheduler;
     /**
      * The gRPC server listening on the plain (non-tls) port
      */
@@ -115,6 +120,11 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
         requireNonNull(queryWorkflow);
         requireNonNull(metrics);
 
+        // Calls are admitted or rejected as busy on the Netty event loop, and then executed as configured
+        final var nettyConfig = configProvider.getConfiguration().getConfigData(NettyConfig.class);
+        callScheduler = new GrpcCallScheduler(nettyConfig, metrics);
+        logger.info("Executing gRPC calls in {} mode", nettyConfig.executorMode());
+
         // Convert the various RPC service definitions into transaction or query endpoints using the
         // GrpcServiceBuilder.
         services = servicesRegistry.registrations().stream()
@@ -133,7 +143,7 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
                             builder.query(m.path());
                         }
                     });
-                    return builder.build(metrics);
+                    return builder.build(metrics, callScheduler);
                 })
                 .collect(Collectors.toUnmodifiableSet());
     }
@@ -161,6 +171,7 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
         }
 
         logger.info("Starting gRPC servers");
+        callScheduler.start();
         final var nettyConfig = configProvider.getConfiguration().getConfigData(NettyConfig.class);
         final var startRetries = nettyConfig.startRetries();
         final var startRetryIntervalMs = nettyConfig.startRetryIntervalMs();
@@ -210,6 +221,9 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
         } else {
             logger.info("Cannot shut down an already stopped gRPC server");
         }
+
+        // The servers no longer admit calls, the executor threads can be released
+        callScheduler.stop();
     }
 
     /**
@@ -317,6 +331,7 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
                     .maxConcurrentCallsPerConnection(config.prodMaxConcurrentCalls())
                     .flowControlWindow(config.prodFlowControlWindow());
         }
+        // The event loop only admits or rejects calls, the GrpcCallScheduler decides where admitted calls are executed
         return builder.directExecutor();
     }
 
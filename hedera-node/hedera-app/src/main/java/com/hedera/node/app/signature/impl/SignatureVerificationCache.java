@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.signature.impl;
+
+import static com.swirlds.common.crypto.VerificationStatus.INVALID;
+import static com.swirlds.common.crypto.VerificationStatus.VALID;
+import static com.swirlds.common.metrics.IntegerPairAccumulator.AVERAGE;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.app.spi.signatures.SignatureVerifier.MessageType;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.HederaConfig;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.crypto.SignatureType;
+import com.swirlds.common.crypto.VerificationStatus;
+import com.swirlds.common.metrics.IntegerPairAccumulator;
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A bounded cache of signature verification results, shared by every caller of {@link SignatureVerifierImpl}. The
+ * same transaction is verified when it is ingested, when it is pre-handled, and again whenever it is resubmitted or
+ * pre-handled a second time, so the result of each (public key, signature, signed bytes) check is remembered and
+ * reused instead of repeating the Ed25519 or ECDSA computation.
+ *
+ * <p>Entries are kept in two generations, each holding at most half of the configured maximum size. When the current
+ * generation is full it becomes the previous one, and the old previous generation is discarded. An entry found in the
+ * previous generation is moved back to the current one, so results that are still in use survive a rotation. This
+ * keeps the cache size bounded without tracking access order, and never blocks readers.
+ *
+ * <p>A maximum size of zero disables the cache.
+ */
+@Singleton
+public final class SignatureVerificationCache {
+    private static final Counter.Config HITS_CONFIG = new Counter.Config("app", "sigVerifyCacheHits")
+            .withDescription("number of signature verifications answered from the verification cache");
+    private static final Counter.Config MISSES_CONFIG = new Counter.Config("app", "sigVerifyCacheMisses")
+            .withDescription("number of signature verifications not found in the verification cache");
+    private static final IntegerPairAccumulator.Config<Double> HIT_RATIO_CONFIG =
+            new IntegerPairAccumulator.Config<>("app", "sigVerifyCacheHitRatio", Double.class, AVERAGE)
+                    .withDescription("ratio of signature verifications answered from the verification cache")
+                    .withFormat("%,13.6f");
+
+    /** The cache used when caching is disabled. */
+    private static final SignatureVerificationCache DISABLED = new SignatureVerificationCache();
+
+    /**
+     * The key of a cached verification result. The signed bytes are identified by their SHA-384 digest, the
+     * message type is part of the key because ECDSA_SECP256K1 signatures over RAW messages are checked against
+     * the keccak256 hash of the signed bytes.
+     *
+     * @param signatureType the type of the signature
+     * @param messageType the type of the signed message
+     * @param keyBytes the public key
+     * @param signature the signature
+     * @param digest the SHA-384 digest of the signed bytes
+     */
+    public record Key(
+            @NonNull SignatureType signatureType,
+            @NonNull MessageType messageType,
+            @NonNull Bytes keyBytes,
+            @NonNull Bytes signature,
+            @NonNull Bytes digest) {
+        public Key {
+            requireNonNull(signatureType);
+            requireNonNull(messageType);
+            requireNonNull(keyBytes);
+            requireNonNull(signature);
+            requireNonNull(digest);
+        }
+
+        /**
+         * Returns a copy of this key that does not share any buffers with the transaction it was created from, so
+         * that a cached entry does not keep the whole transaction reachable.
+         */
+        @NonNull
+        private Key detached() {
+            return new Key(
+                    signatureType,
+                    messageType,
+                    Bytes.wrap(keyBytes.toByteArray()),
+                    Bytes.wrap(signature.toByteArray()),
+                    digest);
+        }
+    }
+
+    /** The maximum number of entries in one generation. */
+    private final int generationSize;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final IntegerPairAccumulator<Double> hitRatio;
+
+    /** The generation new entries are added to. */
+    private volatile Map<Key, VerificationStatus> current;
+    /** The generation that was current before the last rotation. */
+    private volatile Map<Key, VerificationStatus> previous;
+
+    /**
+     * Creates a new cache with the maximum size configured in {@link HederaConfig}.
+     *
+     * @param configProvider the configuration provider
+     * @param metrics the metrics used to report the hit rate
+     */
+    @Inject
+    public SignatureVerificationCache(@NonNull final ConfigProvider configProvider, @NonNull final Metrics metrics) {
+        this(
+                configProvider
+                        .getConfiguration()
+                        .getConfigData(HederaConfig.class)
+                        .signatureVerificationCacheMaxSize(),
+                metrics);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of cached results, or zero to disable caching
+     * @param metrics the metrics used to report the hit rate
+     */
+    public SignatureVerificationCache(final int maxSize, @NonNull final Metrics metrics) {
+        requireNonNull(metrics);
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative, got " + maxSize);
+        }
+        this.generationSize = maxSize / 2;
+        if (isEnabled()) {
+            this.hits = metrics.getOrCreate(HITS_CONFIG);
+            this.misses = metrics.getOrCreate(MISSES_CONFIG);
+            this.hitRatio = metrics.getOrCreate(HIT_RATIO_CONFIG);
+            this.current = new ConcurrentHashMap<>();
+            this.previous = new ConcurrentHashMap<>();
+        } else {
+            this.hits = null;
+            this.misses = null;
+            this.hitRatio = null;
+            this.current = Map.of();
+            this.previous = Map.of();
+        }
+    }
+
+    private SignatureVerificationCache() {
+        this.generationSize = 0;
+        this.hits = null;
+        this.misses = null;
+        this.hitRatio = null;
+        this.current = Map.of();
+        this.previous = Map.of();
+    }
+
+    /**
+     * Returns a cache that never caches anything.
+     *
+     * @return the disabled cache
+     */
+    @NonNull
+    public static SignatureVerificationCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Indicates whether verification results are cached.
+     *
+     * @return true if results are cached, false otherwise
+     */
+    public boolean isEnabled() {
+        return generationSize > 0;
+    }
+
+    /**
+     * Returns the cached result for the given key, if any.
+     *
+     * @param key the key
+     * @return the cached {@link VerificationStatus}, or null if the result is not cached
+     */
+    @Nullable
+    public VerificationStatus get(@NonNull final Key key) {
+        requireNonNull(key);
+        if (!isEnabled()) {
+            return null;
+        }
+        VerificationStatus status = current.get(key);
+        if (status == null) {
+            status = previous.get(key);
+            if (status != null) {
+                add(key.detached(), status);
+            }
+        }
+        if (status != null) {
+            hits.increment();
+            hitRatio.update(1, 1);
+        } else {
+            misses.increment();
+            hitRatio.update(0, 1);
+        }
+        return status;
+    }
+
+    /**
+     * Caches the result of a signature verification. Results other than {@link VerificationStatus#VALID} and
+     * {@link VerificationStatus#INVALID} are ignored.
+     *
+     * @param key the key
+     * @param status the result of the verification
+     */
+    public void put(@NonNull final Key key, @NonNull final VerificationStatus status) {
+        requireNonNull(key);
+        requireNonNull(status);
+        if (isEnabled() && (status == VALID || status == INVALID)) {
+            add(key.detached(), status);
+        }
+    }
+
+    /**
+     * Returns the number of cached results. The result may include entries that are present in both generations.
+     *
+     * @return the number of cached results
+     */
+    public long size() {
+        return current.size() + previous.size();
+    }
+
+    private void add(@NonNull final Key key, @NonNull final VerificationStatus status) {
+        final Map<Key, VerificationStatus> generation = current;
+        generation.put(key, status);
+        if (generation.size() >= generationSize) {
+            rotate(generation);
+        }
+    }
+
+    private synchronized void rotate(@NonNull final Map<Key, VerificationStatus> full) {
+        // Another thread may have rotated the generations already
+        if (current == full) {
+            previous = full;
+            current = new ConcurrentHashMap<>();
+        }
+    }
+}
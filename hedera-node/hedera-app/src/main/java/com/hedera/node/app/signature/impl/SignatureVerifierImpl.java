@@ -18,8 +18,10 @@ package com.hedera.node.app.signature.impl;
 
 import static com.hedera.hapi.node.base.SignaturePair.SignatureOneOfType.ECDSA_SECP256K1;
 import static com.hedera.hapi.node.base.SignaturePair.SignatureOneOfType.ED25519;
+import static com.hedera.node.app.hapi.utils.CommonUtils.noThrowSha384HashOf;
 import static com.hedera.node.app.spi.signatures.SignatureVerifier.MessageType.KECCAK_256_HASH;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
 import com.hedera.hapi.node.base.Key;
 import com.hedera.node.app.hapi.utils.MiscCryptoUtils;
@@ -31,7 +33,9 @@ import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.crypto.SignatureType;
 import com.swirlds.common.crypto.TransactionSignature;
+import com.swirlds.common.crypto.VerificationStatus;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -40,18 +44,28 @@ import javax.inject.Singleton;
 
 /**
  * A concrete implementation of {@link SignatureVerifier} that uses the {@link Cryptography} engine to verify the
- * signatures.
+ * signatures. Results of previous verifications are looked up in the {@link SignatureVerificationCache} first, so
+ * the same signature is not checked again when a transaction is ingested, pre-handled or resubmitted.
  */
 @Singleton
 public final class SignatureVerifierImpl implements SignatureVerifier {
 
     /** The {@link Cryptography} engine to use for signature verification. */
     private final Cryptography cryptoEngine;
+    /** The cache of previous verification results. */
+    private final SignatureVerificationCache verificationCache;
 
-    /** Create a new instance with the given {@link Cryptography} engine. */
-    @Inject
+    /** Create a new instance with the given {@link Cryptography} engine, which does not cache results. */
     public SignatureVerifierImpl(@NonNull final Cryptography cryptoEngine) {
+        this(cryptoEngine, SignatureVerificationCache.disabled());
+    }
+
+    /** Create a new instance with the given {@link Cryptography} engine and {@link SignatureVerificationCache}. */
+    @Inject
+    public SignatureVerifierImpl(
+            @NonNull final Cryptography cryptoEngine, @NonNull final SignatureVerificationCache verificationCache) {
         this.cryptoEngine = requireNonNull(cryptoEngine);
+        this.verificationCache = requireNonNull(verificationCache);
     }
 
     @NonNull
@@ -82,8 +96,15 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
             ecPreparer = createPreparerForEC(signedBytes, messageType);
         }
 
+        // The digest identifies the signed bytes in the verification cache, it is computed once for all signatures
+        final Bytes digest = verificationCache.isEnabled() && !sigs.isEmpty()
+                ? Bytes.wrap(noThrowSha384HashOf(signedBytes.toByteArray()))
+                : null;
+
         // Gather each TransactionSignature to send to the platform and the resulting SignatureVerificationFutures
         final var futures = HashMap.<Key, SignatureVerificationFuture>newHashMap(sigs.size());
+        final var toVerify = new ArrayList<TransactionSignature>(sigs.size());
+        final var toCache = new ArrayList<SignatureVerificationCache.Key>(digest == null ? 0 : sigs.size());
         for (ExpandedSignaturePair sigPair : sigs) {
             final var kind = sigPair.sigPair().signature().kind();
             final var preparer =
@@ -100,12 +121,33 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
             preparer.addSignature(sigPair.signature());
             preparer.addKey(sigPair.keyBytes());
             final TransactionSignature txSig = preparer.prepareTransactionSignature();
-            cryptoEngine.verifySync(txSig);
+            final var cacheKey = digest == null
+                    ? null
+                    : new SignatureVerificationCache.Key(
+                            txSig.getSignatureType(), messageType, sigPair.keyBytes(), sigPair.signature(), digest);
+            final VerificationStatus cachedStatus = cacheKey == null ? null : verificationCache.get(cacheKey);
+            if (cachedStatus != null) {
+                txSig.setSignatureStatus(cachedStatus);
+                txSig.setFuture(completedFuture(null));
+            } else {
+                toVerify.add(txSig);
+                if (cacheKey != null) {
+                    toCache.add(cacheKey);
+                }
+            }
             final SignatureVerificationFuture future =
                     new SignatureVerificationFutureImpl(sigPair.key(), sigPair.evmAlias(), txSig);
             futures.put(sigPair.key(), future);
         }
 
+        // All the signatures that are not cached are verified in one batch
+        if (!toVerify.isEmpty()) {
+            cryptoEngine.verifySync(toVerify);
+            for (int i = 0; i < toCache.size(); i++) {
+                verificationCache.put(toCache.get(i), toVerify.get(i).getSignatureStatus());
+            }
+        }
+
         return futures;
     }
 
@@ -19,9 +19,13 @@ package com.hedera.node.app.state;
 import com.hedera.node.app.spi.records.RecordCache;
 import com.hedera.node.app.state.recordcache.DeduplicationCacheImpl;
 import com.hedera.node.app.state.recordcache.RecordCacheImpl;
+import com.hedera.node.app.state.recordcache.RingDeduplicationCache;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.HederaConfig;
 import dagger.Binds;
 import dagger.Module;
 import dagger.Provides;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 
 @Module
@@ -32,8 +36,15 @@ public interface HederaStateInjectionModule {
     @Binds
     HederaRecordCache provideHederaRecordCache(RecordCacheImpl cache);
 
-    @Binds
-    DeduplicationCache provideDeduplicationCache(DeduplicationCacheImpl cache);
+    @Provides
+    @Singleton
+    static DeduplicationCache provideDeduplicationCache(
+            ConfigProvider configProvider,
+            Provider<DeduplicationCacheImpl> sortedCache,
+            Provider<RingDeduplicationCache> ringCache) {
+        final var hederaConfig = configProvider.getConfiguration().getConfigData(HederaConfig.class);
+        return hederaConfig.deduplicationCacheRingEnabled() ? ringCache.get() : sortedCache.get();
+    }
 
     @Provides
     @Singleton
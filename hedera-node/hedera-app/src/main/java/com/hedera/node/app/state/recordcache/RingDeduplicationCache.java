@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.recordcache;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.node.app.state.DeduplicationCache;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.HederaConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.InstantSource;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * An implementation of {@link DeduplicationCache} that keeps transaction IDs in a ring of per-second hash sets.
+ * <p>
+ * Each {@link TransactionID} is stored in the bucket of its valid start second, as a compact key made of the valid
+ * start, the payer, the nonce, and the scheduled flag. The ring has room for the whole max transaction duration
+ * window and the same number of seconds in the future, so adding and looking up an ID only costs a hash lookup. When
+ * a second falls out of the window, its whole bucket is dropped. IDs with a valid start too far in the future to fit
+ * in the ring are kept in a separate map, which is empty in practice, since the ingest workflow rejects such
+ * transactions.
+ * <p>
+ * If the max transaction duration changes, the ring is rebuilt. IDs added by other threads while the ring is being
+ * rebuilt may be lost, which is acceptable for this cache: duplicates are still detected at consensus.
+ */
+@Singleton
+public final class RingDeduplicationCache implements DeduplicationCache {
+    /**
+     * A transaction ID, encoded with fixed-width fields. Payers with an alias instead of an account number are rare,
+     * their transaction IDs are stored as is.
+     */
+    private record TxnKey(
+            long validStartSeconds,
+            int validStartNanos,
+            long payerShard,
+            long payerRealm,
+            long payerNum,
+            int nonce,
+            boolean scheduled) {}
+
+    /** The IDs of all transactions with a valid start in the given second. */
+    private static final class Bucket {
+        private final long second;
+        private final Set<Object> txnIds = ConcurrentHashMap.newKeySet();
+
+        private Bucket(final long second) {
+            this.second = second;
+        }
+    }
+
+    /** A ring of buckets, sized for the given max transaction duration window. */
+    private record Ring(long window, AtomicReferenceArray<Bucket> buckets) {
+        private Ring(final long window) {
+            this(window, new AtomicReferenceArray<>(Math.toIntExact(2 * (window + 1))));
+        }
+
+        private int length() {
+            return buckets.length();
+        }
+
+        private int indexOf(final long second) {
+            return (int) Math.floorMod(second, (long) length());
+        }
+    }
+
+    /** The current ring of buckets */
+    private volatile Ring ring;
+
+    /** Transaction IDs with a valid start too far in the future to fit in the ring, by valid start second */
+    private final ConcurrentNavigableMap<Long, Set<Object>> farFutureTxnIds = new ConcurrentSkipListMap<>();
+
+    /** All buckets for seconds before this one have been dropped */
+    private final AtomicLong expiredBefore = new AtomicLong(Long.MIN_VALUE);
+
+    /** Used for looking up the max transaction duration window. */
+    private final ConfigProvider configProvider;
+    /**
+     * Used to estimate the earliest valid start timestamp that is still within the max transaction duration
+     * window that the ingest workflow will be using to screen transactions.
+     */
+    private final InstantSource instantSource;
+
+    /** Constructs a new {@link RingDeduplicationCache}. */
+    @Inject
+    public RingDeduplicationCache(
+            @NonNull final ConfigProvider configProvider, @NonNull final InstantSource instantSource) {
+        this.configProvider = requireNonNull(configProvider);
+        this.instantSource = requireNonNull(instantSource);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(@NonNull final TransactionID transactionID) {
+        final var second = transactionID.transactionValidStartOrThrow().seconds();
+        final var currentRing = currentRing();
+        final var earliestSecond = expireOldBuckets(currentRing);
+        // If the transaction is within the max transaction duration window, then add it
+        if (second < earliestSecond) {
+            return;
+        }
+        final var key = keyOf(transactionID);
+        if (second < earliestSecond + currentRing.length()) {
+            final var bucket = bucketFor(currentRing, second);
+            if (bucket != null) {
+                bucket.txnIds.add(key);
+            }
+        } else {
+            farFutureTxnIds.computeIfAbsent(second, s -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean contains(@NonNull final TransactionID transactionID) {
+        final var second = transactionID.transactionValidStartOrThrow().seconds();
+        final var currentRing = currentRing();
+        final var earliestSecond = expireOldBuckets(currentRing);
+        // Only return true if the transaction ID is still within the window
+        if (second < earliestSecond) {
+            return false;
+        }
+        final var key = keyOf(transactionID);
+        final var bucket = currentRing.buckets().get(currentRing.indexOf(second));
+        if (bucket != null && bucket.second == second && bucket.txnIds.contains(key)) {
+            return true;
+        }
+        // An ID added when its second was too far in the future may still be in the far future map
+        if (farFutureTxnIds.isEmpty()) {
+            return false;
+        }
+        final var farFuture = farFutureTxnIds.get(second);
+        return farFuture != null && farFuture.contains(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        final var currentRing = ring;
+        if (currentRing != null) {
+            for (int i = 0; i < currentRing.length(); i++) {
+                currentRing.buckets().set(i, null);
+            }
+        }
+        farFutureTxnIds.clear();
+    }
+
+    /**
+     * Gets the bucket for the given second, replacing the bucket of an expired second at the same index if needed.
+     *
+     * @param currentRing the ring of buckets
+     * @param second the valid start second, which must fit in the ring
+     * @return the bucket, or null if another thread has already reused the bucket for a later second
+     */
+    @Nullable
+    private static Bucket bucketFor(@NonNull final Ring currentRing, final long second) {
+        final var buckets = currentRing.buckets();
+        final var index = currentRing.indexOf(second);
+        while (true) {
+            final var bucket = buckets.get(index);
+            if (bucket != null && bucket.second >= second) {
+                return bucket.second == second ? bucket : null;
+            }
+            final var newBucket = new Bucket(second);
+            if (buckets.compareAndSet(index, bucket, newBucket)) {
+                return newBucket;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets of all seconds that are no longer within the max transaction duration window, based on
+     * wall-clock time. Only one thread drops the buckets for any given second.
+     *
+     * @param currentRing the ring of buckets
+     * @return the earliest valid start second that is still within the window
+     */
+    private long expireOldBuckets(@NonNull final Ring currentRing) {
+        final var earliestSecond = instantSource.instant().getEpochSecond() - currentRing.window();
+        final var lastExpiredBefore = expiredBefore.get();
+        if (earliestSecond <= lastExpiredBefore || !expiredBefore.compareAndSet(lastExpiredBefore, earliestSecond)) {
+            return earliestSecond;
+        }
+        final var buckets = currentRing.buckets();
+        final var from = Math.max(lastExpiredBefore, earliestSecond - currentRing.length());
+        for (long second = from; second < earliestSecond; second++) {
+            final var index = currentRing.indexOf(second);
+            final var bucket = buckets.get(index);
+            if (bucket != null && bucket.second < earliestSecond) {
+                buckets.compareAndSet(index, bucket, null);
+            }
+        }
+        if (!farFutureTxnIds.isEmpty()) {
+            farFutureTxnIds.headMap(earliestSecond).clear();
+        }
+        return earliestSecond;
+    }
+
+    /**
+     * Gets the ring of buckets for the current max transaction duration window, rebuilding it if the window has
+     * changed.
+     */
+    private Ring currentRing() {
+        final var window = configProvider
+                .getConfiguration()
+                .getConfigData(HederaConfig.class)
+                .transactionMaxValidDuration();
+        final var currentRing = ring;
+        return (currentRing != null && currentRing.window() == window) ? currentRing : rebuildRing(window);
+    }
+
+    private synchronized Ring rebuildRing(final long window) {
+        final var oldRing = ring;
+        if (oldRing != null && oldRing.window() == window) {
+            return oldRing;
+        }
+        final var newRing = new Ring(window);
+        if (oldRing != null) {
+            // Move all buckets still in the window to the new ring, buckets that don't fit go to the far future map
+            final var earliestSecond = instantSource.instant().getEpochSecond() - window;
+            for (int i = 0; i < oldRing.length(); i++) {
+                final var bucket = oldRing.buckets().get(i);
+                if (bucket == null || bucket.second < earliestSecond) {
+                    continue;
+                }
+                final var fits = bucket.second < earliestSecond + newRing.length();
+                if (!fits || !newRing.buckets().compareAndSet(newRing.indexOf(bucket.second), null, bucket)) {
+                    farFutureTxnIds
+                            .computeIfAbsent(bucket.second, s -> ConcurrentHashMap.newKeySet())
+                            .addAll(bucket.txnIds);
+                }
+            }
+        }
+        // Buckets in the new ring may need to be dropped again, if the window got shorter
+        expiredBefore.set(Long.MIN_VALUE);
+        ring = newRing;
+        return newRing;
+    }
+
+    private static Object keyOf(@NonNull final TransactionID transactionID) {
+        final var payer = transactionID.accountIDOrElse(AccountID.DEFAULT);
+        if (payer.hasAlias()) {
+            return transactionID;
+        }
+        final var validStart = transactionID.transactionValidStartOrThrow();
+        return new TxnKey(
+                validStart.seconds(),
+                validStart.nanos(),
+                payer.shardNum(),
+                payer.realmNum(),
+                payer.accountNumOrElse(0L),
+                transactionID.nonce(),
+                transactionID.scheduled());
+    }
+}
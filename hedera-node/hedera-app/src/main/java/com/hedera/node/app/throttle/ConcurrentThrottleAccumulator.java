@@ -26,7 +26,6 @@ import com.hedera.node.app.workflows.TransactionInfo;
 import com.swirlds.state.State;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
-import java.time.Instant;
 import java.time.InstantSource;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -34,19 +33,19 @@ import javax.inject.Singleton;
 /**
  * Keeps track of the amount of usage of different TPS throttle categories and gas, and returns whether a given
  * transaction or query should be throttled based on that.
- * Meant to be used in multithreaded context
+ *
+ * <p>Meant to be used in multithreaded context. Decisions are not serialized: the frontend throttle claims bucket
+ * capacity with atomic compare-and-set operations, so ingest threads never wait for each other, and decision times
+ * from different threads don't need to be ordered.
  */
 @Singleton
-public class SynchronizedThrottleAccumulator {
+public class ConcurrentThrottleAccumulator {
 
     private final InstantSource instantSource;
     private final ThrottleAccumulator frontendThrottle;
 
-    @NonNull
-    private Instant lastDecisionTime = Instant.EPOCH;
-
     @Inject
-    public SynchronizedThrottleAccumulator(
+    public ConcurrentThrottleAccumulator(
             @NonNull final InstantSource instantSource,
             @NonNull @IngestThrottle final ThrottleAccumulator frontendThrottle) {
         this.instantSource = requireNonNull(instantSource);
@@ -61,9 +60,8 @@ public class SynchronizedThrottleAccumulator {
      * @param state the current state of the node
      * @return whether the transaction should be throttled
      */
-    public synchronized boolean shouldThrottle(@NonNull TransactionInfo txnInfo, State state) {
-        setDecisionTime(instantSource.instant());
-        return frontendThrottle.checkAndEnforceThrottle(txnInfo, lastDecisionTime, state);
+    public boolean shouldThrottle(@NonNull TransactionInfo txnInfo, State state) {
+        return frontendThrottle.checkAndEnforceThrottle(txnInfo, instantSource.instant(), state);
     }
 
     /**
@@ -75,17 +73,12 @@ public class SynchronizedThrottleAccumulator {
      * @param queryPayerId the payer id of the query
      * @return whether the query should be throttled
      */
-    public synchronized boolean shouldThrottle(
+    public boolean shouldThrottle(
             @NonNull final HederaFunctionality queryFunction,
             @NonNull final Query query,
             @Nullable AccountID queryPayerId) {
         requireNonNull(query);
         requireNonNull(queryFunction);
-        setDecisionTime(instantSource.instant());
-        return frontendThrottle.checkAndEnforceThrottle(queryFunction, lastDecisionTime, query, queryPayerId);
-    }
-
-    private void setDecisionTime(@NonNull final Instant time) {
-        lastDecisionTime = time.isBefore(lastDecisionTime) ? lastDecisionTime : time;
+        return frontendThrottle.checkAndEnforceThrottle(queryFunction, instantSource.instant(), query, queryPayerId);
     }
 }
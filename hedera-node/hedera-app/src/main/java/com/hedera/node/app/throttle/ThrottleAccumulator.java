@@ -105,10 +105,12 @@ public class ThrottleAccumulator {
             EnumSet.of(CRYPTO_TRANSFER, ETHEREUM_TRANSACTION);
     private static final int UNKNOWN_NUM_IMPLICIT_CREATIONS = -1;
 
-    private EnumMap<HederaFunctionality, ThrottleReqsManager> functionReqs = new EnumMap<>(HederaFunctionality.class);
+    // Frontend throttles are checked by many ingest threads at once, so these are published with volatile writes
+    private volatile EnumMap<HederaFunctionality, ThrottleReqsManager> functionReqs =
+            new EnumMap<>(HederaFunctionality.class);
     private boolean lastTxnWasGasThrottled;
-    private GasLimitDeterministicThrottle gasThrottle;
-    private List<DeterministicThrottle> activeThrottles = emptyList();
+    private volatile GasLimitDeterministicThrottle gasThrottle;
+    private volatile List<DeterministicThrottle> activeThrottles = emptyList();
     private final ThrottleMetrics throttleMetrics;
 
     private final ConfigProvider configProvider;
@@ -187,7 +189,7 @@ public class ThrottleAccumulator {
             final var enforceGasThrottle =
                     configuration.getConfigData(ContractsConfig.class).throttleThrottleByGas();
             return enforceGasThrottle
-                    && !gasThrottle.allow(
+                    && !allowGas(
                             now,
                             query.contractCallLocalOrElse(ContractCallLocalQuery.DEFAULT)
                                     .gas());
@@ -567,7 +569,13 @@ public class ThrottleAccumulator {
                 configuration.getConfigData(ContractsConfig.class).throttleThrottleByGas();
         return shouldThrottleByGas
                 && isGasThrottled(txnInfo.functionality())
-                && !gasThrottle.allow(now, getGasLimitForContractTx(txnInfo.txBody(), txnInfo.functionality()));
+                && !allowGas(now, getGasLimitForContractTx(txnInfo.txBody(), txnInfo.functionality()));
+    }
+
+    private boolean allowGas(@NonNull final Instant now, final long gasLimit) {
+        return throttleType == FRONTEND_THROTTLE
+                ? gasThrottle.allowConcurrently(now, gasLimit)
+                : gasThrottle.allow(now, gasLimit);
     }
 
     private boolean shouldThrottleMint(
@@ -835,7 +843,9 @@ public class ThrottleAccumulator {
             }
         }
         EnumMap<HederaFunctionality, ThrottleReqsManager> newFunctionReqs = new EnumMap<>(HederaFunctionality.class);
-        reqLists.forEach((function, reqs) -> newFunctionReqs.put(function, new ThrottleReqsManager(reqs)));
+        final var concurrent = throttleType == FRONTEND_THROTTLE;
+        reqLists.forEach(
+                (function, reqs) -> newFunctionReqs.put(function, new ThrottleReqsManager(reqs, concurrent)));
 
         functionReqs = newFunctionReqs;
         activeThrottles = newActiveThrottles;
@@ -25,12 +25,23 @@ import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 
 public class ThrottleReqsManager {
-    private final boolean[] passedReq;
     private final List<Pair<DeterministicThrottle, Integer>> allReqs;
+    private final boolean concurrent;
 
     public ThrottleReqsManager(List<Pair<DeterministicThrottle, Integer>> allReqs) {
+        this(allReqs, false);
+    }
+
+    /**
+     * Creates a manager for the given requirements.
+     *
+     * @param allReqs the throttles and the number of operations each transaction needs from them
+     * @param concurrent whether requirements may be checked by multiple threads at the same time, in which case
+     *                   the throttles are claimed with {@link DeterministicThrottle#allowConcurrently(int, Instant)}
+     */
+    public ThrottleReqsManager(List<Pair<DeterministicThrottle, Integer>> allReqs, boolean concurrent) {
         this.allReqs = allReqs;
-        passedReq = new boolean[allReqs.size()];
+        this.concurrent = concurrent;
     }
 
     public boolean allReqsMetAt(Instant now) {
@@ -56,7 +67,7 @@ public class ThrottleReqsManager {
      * @param nTransactions the number of transactions to undo
      */
     public void undoClaimedReqsFor(int nTransactions) {
-        for (int i = 0; i < passedReq.length; i++) {
+        for (int i = 0, n = allReqs.size(); i < n; i++) {
             final var req = allReqs.get(i);
             final var opsRequired = req.getRight();
             final var bucket = req.getLeft();
@@ -66,14 +77,14 @@ public class ThrottleReqsManager {
 
     private boolean allVerboseReqsMetAt(Instant now, int nTransactions, ScaleFactor scaleFactor) {
         var allPassed = true;
-        for (int i = 0; i < passedReq.length; i++) {
+        for (int i = 0, n = allReqs.size(); i < n; i++) {
             var req = allReqs.get(i);
             var opsRequired = req.getRight();
             if (scaleFactor != null) {
                 opsRequired = scaleFactor.scaling(nTransactions * opsRequired);
             }
-            passedReq[i] = req.getLeft().allow(opsRequired, now);
-            allPassed &= passedReq[i];
+            final var throttle = req.getLeft();
+            allPassed &= concurrent ? throttle.allowConcurrently(opsRequired, now) : throttle.allow(opsRequired, now);
         }
 
         return allPassed;
@@ -54,7 +54,7 @@ import com.hedera.node.app.spi.signatures.SignatureVerification;
 import com.hedera.node.app.spi.workflows.PreCheckException;
 import com.hedera.node.app.state.DeduplicationCache;
 import com.hedera.node.app.store.ReadableStoreFactory;
-import com.hedera.node.app.throttle.SynchronizedThrottleAccumulator;
+import com.hedera.node.app.throttle.ConcurrentThrottleAccumulator;
 import com.hedera.node.app.workflows.SolvencyPreCheck;
 import com.hedera.node.app.workflows.TransactionChecker;
 import com.hedera.node.app.workflows.TransactionChecker.RequireMinValidLifetimeBuffer;
@@ -95,7 +95,7 @@ public final class IngestChecker {
     private final FeeManager feeManager;
     private final AccountID nodeAccount;
     private final Authorizer authorizer;
-    private final SynchronizedThrottleAccumulator synchronizedThrottleAccumulator;
+    private final ConcurrentThrottleAccumulator concurrentThrottleAccumulator;
     private final InstantSource instantSource;
 
     /**
@@ -109,7 +109,7 @@ public final class IngestChecker {
      * @param signatureVerifier the {@link SignatureVerifier} that verifies signature data
      * @param dispatcher the {@link TransactionDispatcher} that dispatches transactions
      * @param feeManager the {@link FeeManager} that manages {@link com.hedera.node.app.spi.fees.FeeCalculator}s
-     * @param synchronizedThrottleAccumulator the {@link SynchronizedThrottleAccumulator} that checks transaction should be throttled
+     * @param concurrentThrottleAccumulator the {@link ConcurrentThrottleAccumulator} that checks transaction should be throttled
      * @param instantSource the {@link InstantSource} that provides the current time
      * @throws NullPointerException if one of the arguments is {@code null}
      */
@@ -125,7 +125,7 @@ public final class IngestChecker {
             @NonNull final TransactionDispatcher dispatcher,
             @NonNull final FeeManager feeManager,
             @NonNull final Authorizer authorizer,
-            @NonNull final SynchronizedThrottleAccumulator synchronizedThrottleAccumulator,
+            @NonNull final ConcurrentThrottleAccumulator concurrentThrottleAccumulator,
             @NonNull final InstantSource instantSource) {
         this.nodeAccount = requireNonNull(nodeAccount, "nodeAccount must not be null");
         this.currentPlatformStatus = requireNonNull(currentPlatformStatus, "currentPlatformStatus must not be null");
@@ -137,7 +137,7 @@ public final class IngestChecker {
         this.dispatcher = requireNonNull(dispatcher, "dispatcher must not be null");
         this.feeManager = requireNonNull(feeManager, "feeManager must not be null");
         this.authorizer = requireNonNull(authorizer, "authorizer must not be null");
-        this.synchronizedThrottleAccumulator = requireNonNull(synchronizedThrottleAccumulator);
+        this.concurrentThrottleAccumulator = requireNonNull(concurrentThrottleAccumulator);
         this.instantSource = requireNonNull(instantSource);
     }
 
@@ -194,7 +194,7 @@ public final class IngestChecker {
         assertThrottlingPreconditions(txInfo, configuration);
         final var hederaConfig = configuration.getConfigData(HederaConfig.class);
         if (hederaConfig.ingestThrottleEnabled()) {
-            if (synchronizedThrottleAccumulator.shouldThrottle(txInfo, state)) {
+            if (concurrentThrottleAccumulator.shouldThrottle(txInfo, state)) {
                 throw new PreCheckException(BUSY);
             }
         }
@@ -51,7 +51,7 @@ import com.hedera.node.app.spi.workflows.PreCheckException;
 import com.hedera.node.app.spi.workflows.QueryContext;
 import com.hedera.node.app.spi.workflows.QueryHandler;
 import com.hedera.node.app.store.ReadableStoreFactory;
-import com.hedera.node.app.throttle.SynchronizedThrottleAccumulator;
+import com.hedera.node.app.throttle.ConcurrentThrottleAccumulator;
 import com.hedera.node.app.workflows.ingest.IngestChecker;
 import com.hedera.node.app.workflows.ingest.SubmissionManager;
 import com.hedera.node.config.ConfigProvider;
@@ -99,7 +99,7 @@ public final class QueryWorkflowImpl implements QueryWorkflow {
     private final Authorizer authorizer;
     private final ExchangeRateManager exchangeRateManager;
     private final FeeManager feeManager;
-    private final SynchronizedThrottleAccumulator synchronizedThrottleAccumulator;
+    private final ConcurrentThrottleAccumulator concurrentThrottleAccumulator;
     private final InstantSource instantSource;
 
     /**
@@ -117,7 +117,7 @@ public final class QueryWorkflowImpl implements QueryWorkflow {
      * @param authorizer the {@link Authorizer} to check permissions and special privileges
      * @param exchangeRateManager the {@link ExchangeRateManager} to get the {@link ExchangeRateInfo}
      * @param feeManager the {@link FeeManager} to calculate the fees
-     * @param synchronizedThrottleAccumulator the {@link SynchronizedThrottleAccumulator} that checks transaction should be throttled
+     * @param concurrentThrottleAccumulator the {@link ConcurrentThrottleAccumulator} that checks transaction should be throttled
      * @param instantSource the {@link InstantSource} to get the current time
      * @throws NullPointerException if one of the arguments is {@code null}
      */
@@ -134,7 +134,7 @@ public final class QueryWorkflowImpl implements QueryWorkflow {
             @NonNull final Authorizer authorizer,
             @NonNull final ExchangeRateManager exchangeRateManager,
             @NonNull final FeeManager feeManager,
-            @NonNull final SynchronizedThrottleAccumulator synchronizedThrottleAccumulator,
+            @NonNull final ConcurrentThrottleAccumulator concurrentThrottleAccumulator,
             @NonNull final InstantSource instantSource) {
         this.stateAccessor = requireNonNull(stateAccessor, "stateAccessor must not be null");
         this.submissionManager = requireNonNull(submissionManager, "submissionManager must not be null");
@@ -147,8 +147,8 @@ public final class QueryWorkflowImpl implements QueryWorkflow {
         this.exchangeRateManager = requireNonNull(exchangeRateManager, "exchangeRateManager must not be null");
         this.authorizer = requireNonNull(authorizer, "authorizer must not be null");
         this.feeManager = requireNonNull(feeManager, "feeManager must not be null");
-        this.synchronizedThrottleAccumulator =
-                requireNonNull(synchronizedThrottleAccumulator, "hapiThrottling must not be null");
+        this.concurrentThrottleAccumulator =
+                requireNonNull(concurrentThrottleAccumulator, "hapiThrottling must not be null");
         this.instantSource = requireNonNull(instantSource);
     }
 
@@ -257,7 +257,7 @@ public final class QueryWorkflowImpl implements QueryWorkflow {
                 handler.validate(context);
 
                 // 5. Check query throttles
-                if (synchronizedThrottleAccumulator.shouldThrottle(function, query, payerID)) {
+                if (concurrentThrottleAccumulator.shouldThrottle(function, query, payerID)) {
                     throw new PreCheckException(BUSY);
                 }
 
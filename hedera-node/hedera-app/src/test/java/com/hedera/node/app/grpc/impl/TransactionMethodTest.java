@@ -21,8 +21,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import com.hedera.hapi.node.base.ResponseCodeEnum;
+import com.hedera.hapi.node.transaction.TransactionResponse;
 import com.hedera.node.app.utils.TestUtils;
 import com.hedera.node.app.workflows.ingest.IngestWorkflow;
+import com.hedera.node.config.data.NettyConfig;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.metrics.api.Counter;
@@ -30,8 +34,10 @@ import com.swirlds.metrics.api.Metrics;
 import io.grpc.stub.StreamObserver;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -155,6 +161,153 @@ final class TransactionMethodTest {
         verify(streamObserver).onError(Mockito.any());
     }
 
+    @Test
+    void excessCallsAreRejectedAsBusy() throws Exception {
+        // Given a method that allows a single call at a time, and a workflow that calls the method again once
+        final var scheduler = new GrpcCallScheduler(
+                nettyConfig("netty.executor.maxConcurrentCallsPerMethod", "1"), metrics);
+        final var nestedObserver = new StubbedStreamObserver();
+        final var nested = new AtomicBoolean(false);
+        final var methodHolder = new TransactionMethod[1];
+        final IngestWorkflow w = (req, res) -> {
+            if (nested.compareAndSet(false, true)) {
+                methodHolder[0].invoke(BufferedData.allocate(10), nestedObserver);
+            }
+        };
+        methodHolder[0] = new TransactionMethod(SERVICE_NAME, METHOD_NAME, w, metrics, scheduler);
+
+        // When we invoke the method
+        methodHolder[0].invoke(BufferedData.allocate(100), new StubbedStreamObserver());
+
+        // Then the nested call was rejected with a BUSY response, without calling the workflow
+        final var response = TransactionResponse.PROTOBUF.parse(nestedObserver.response.toReadableSequentialData());
+        assertThat(response.nodeTransactionPrecheckCode()).isEqualTo(ResponseCodeEnum.BUSY);
+        assertThat(counter("Rcv").get()).isEqualTo(2L);
+        assertThat(counter("Hdl").get()).isEqualTo(1L);
+        assertThat(counter("Busy").get()).isEqualTo(1L);
+
+        // And the permit was released once the first call completed
+        methodHolder[0].invoke(BufferedData.allocate(100), new StubbedStreamObserver());
+        assertThat(counter("Hdl").get()).isEqualTo(2L);
+        assertThat(counter("Busy").get()).isEqualTo(1L);
+    }
+
+    @ParameterizedTest(name = "In {0} mode")
+    @ValueSource(strings = {"PLATFORM_THREADS", "VIRTUAL_THREADS"})
+    void callsAreExecutedOffTheReceivingThread(final String mode) throws InterruptedException {
+        // Given a scheduler that executes calls on other threads, and a workflow that echoes the request
+        final var scheduler = new GrpcCallScheduler(nettyConfig("netty.executor.mode", mode), metrics);
+        final var receivingThread = Thread.currentThread();
+        final var handlingThread = new Thread[1];
+        final IngestWorkflow w = (req, res) -> {
+            handlingThread[0] = Thread.currentThread();
+            res.writeBytes(req);
+        };
+        final var method = new TransactionMethod(SERVICE_NAME, METHOD_NAME, w, metrics, scheduler);
+
+        // When we invoke the method, and the receiving thread reuses the request buffer right away
+        final var done = new CountDownLatch(1);
+        final var observer = new StubbedStreamObserver() {
+            @Override
+            public void onCompleted() {
+                done.countDown();
+            }
+        };
+        final var requestBuffer = BufferedData.wrap("Request".getBytes(StandardCharsets.UTF_8));
+        method.invoke(requestBuffer, observer);
+        requestBuffer.reset();
+        requestBuffer.writeBytes("Garbage".getBytes(StandardCharsets.UTF_8));
+
+        // Then the workflow was called on another thread with the original request
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(handlingThread[0]).isNotSameAs(receivingThread);
+        assertThat(handlingThread[0].isVirtual()).isEqualTo("VIRTUAL_THREADS".equals(mode));
+        assertThat(observer.responseData).isEqualTo("Request");
+        assertThat(counter("Hdl").get()).isEqualTo(1L);
+    }
+
+    @ParameterizedTest(name = "In {0} mode")
+    @ValueSource(strings = {"PLATFORM_THREADS", "VIRTUAL_THREADS"})
+    void callsBeyondTheExecutorLimitAreRejectedAsBusy(final String mode) throws InterruptedException {
+        // Given a scheduler that allows a single queued or executing call, and a workflow that blocks
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("netty.executor.mode", mode)
+                .withValue("netty.executor.maxConcurrentCalls", "1")
+                .getOrCreateConfig()
+                .getConfigData(NettyConfig.class);
+        final var scheduler = new GrpcCallScheduler(config, metrics);
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final IngestWorkflow w = (req, res) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        final var method = new TransactionMethod(SERVICE_NAME, METHOD_NAME, w, metrics, scheduler);
+        final var done = new CountDownLatch(1);
+        final var observer = new StubbedStreamObserver() {
+            @Override
+            public void onCompleted() {
+                done.countDown();
+            }
+        };
+        method.invoke(BufferedData.allocate(100), observer);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When another call arrives while the first one is executing
+        final var busyObserver = new StubbedStreamObserver();
+        method.invoke(BufferedData.allocate(100), busyObserver);
+
+        // Then it is rejected as BUSY, without being queued
+        final var response = TransactionResponse.PROTOBUF.parse(busyObserver.response.toReadableSequentialData());
+        assertThat(response.nodeTransactionPrecheckCode()).isEqualTo(ResponseCodeEnum.BUSY);
+        assertThat(counter("Busy").get()).isEqualTo(1L);
+
+        // And the first call completes once the workflow is released
+        release.countDown();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        scheduler.stop();
+    }
+
+    @Test
+    void callsAreRejectedAsBusyWhileTheSchedulerIsStopped() throws InterruptedException {
+        // Given a scheduler that executes calls on platform threads, and has been stopped
+        final var scheduler = new GrpcCallScheduler(nettyConfig("netty.executor.mode", "PLATFORM_THREADS"), metrics);
+        final IngestWorkflow w = (req, res) -> res.writeBytes(req);
+        final var method = new TransactionMethod(SERVICE_NAME, METHOD_NAME, w, metrics, scheduler);
+        scheduler.stop();
+
+        // When a call arrives, then it is rejected as BUSY
+        final var busyObserver = new StubbedStreamObserver();
+        method.invoke(BufferedData.allocate(100), busyObserver);
+        final var response = TransactionResponse.PROTOBUF.parse(busyObserver.response.toReadableSequentialData());
+        assertThat(response.nodeTransactionPrecheckCode()).isEqualTo(ResponseCodeEnum.BUSY);
+
+        // And once the scheduler is started again, calls are executed
+        scheduler.start();
+        final var done = new CountDownLatch(1);
+        final var observer = new StubbedStreamObserver() {
+            @Override
+            public void onCompleted() {
+                done.countDown();
+            }
+        };
+        method.invoke(BufferedData.wrap("Request".getBytes(StandardCharsets.UTF_8)), observer);
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(observer.responseData).isEqualTo("Request");
+        scheduler.stop();
+    }
+
+    private static NettyConfig nettyConfig(final String name, final String value) {
+        return HederaTestConfigBuilder.create()
+                .withValue(name, value)
+                .getOrCreateConfig()
+                .getConfigData(NettyConfig.class);
+    }
+
     private Counter counter(String suffix) {
         return (Counter)
                 metrics.getMetric("app", SERVICE_NAME.substring("proto.".length()) + ":" + METHOD_NAME + suffix);
@@ -193,11 +346,13 @@ final class TransactionMethodTest {
         assertThat(counter("Fail").get()).isZero();
     }
 
-    private static final class StubbedStreamObserver implements StreamObserver<BufferedData> {
+    private static class StubbedStreamObserver implements StreamObserver<BufferedData> {
         private String responseData;
+        private Bytes response;
 
         @Override
         public void onNext(BufferedData value) {
+            response = Bytes.wrap(value.getBytes(0, value.length()).toByteArray());
             responseData = value.asUtf8String();
         }
 
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.signature.impl;
+
+import static com.hedera.node.app.spi.signatures.SignatureVerifier.MessageType.KECCAK_256_HASH;
+import static com.hedera.node.app.spi.signatures.SignatureVerifier.MessageType.RAW;
+import static com.swirlds.common.crypto.VerificationStatus.INVALID;
+import static com.swirlds.common.crypto.VerificationStatus.UNKNOWN;
+import static com.swirlds.common.crypto.VerificationStatus.VALID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.node.app.signature.impl.SignatureVerificationCache.Key;
+import com.hedera.node.app.utils.TestUtils;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.crypto.SignatureType;
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+final class SignatureVerificationCacheTest {
+    private Metrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = TestUtils.metrics();
+    }
+
+    @Test
+    @DisplayName("Negative sizes are not permitted")
+    void negativeSizesAreNotPermitted() {
+        assertThatThrownBy(() -> new SignatureVerificationCache(-1, metrics))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("The cache is disabled by default")
+    void disabledByDefault() {
+        final ConfigProvider configProvider = () -> new VersionedConfigImpl(HederaTestConfigBuilder.createConfig(), 1);
+        final var subject = new SignatureVerificationCache(configProvider, metrics);
+
+        subject.put(key(1), VALID);
+
+        assertThat(subject.isEnabled()).isFalse();
+        assertThat(subject.get(key(1))).isNull();
+        assertThat(subject.size()).isZero();
+        assertThat(SignatureVerificationCache.disabled().isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Verification results are cached")
+    void resultsAreCached() {
+        final var subject = new SignatureVerificationCache(10, metrics);
+
+        subject.put(key(1), VALID);
+        subject.put(key(2), INVALID);
+        subject.put(key(3), UNKNOWN);
+
+        assertThat(subject.get(key(1))).isEqualTo(VALID);
+        assertThat(subject.get(key(2))).isEqualTo(INVALID);
+        assertThat(subject.get(key(3))).isNull();
+        assertThat(subject.get(new Key(SignatureType.ED25519, KECCAK_256_HASH, bytes(1), bytes(1), bytes(1))))
+                .isNull();
+        assertThat(counter("sigVerifyCacheHits").get()).isEqualTo(2);
+        assertThat(counter("sigVerifyCacheMisses").get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Cached keys do not share buffers with the keys they are created from")
+    void cachedKeysAreDetached() {
+        final var subject = new SignatureVerificationCache(10, metrics);
+        final var keyBytes = new byte[] {1, 2, 3};
+        final var key = new Key(SignatureType.ED25519, RAW, Bytes.wrap(keyBytes), bytes(1), bytes(1));
+
+        subject.put(key, VALID);
+        keyBytes[0] = 0;
+
+        assertThat(subject.get(key)).isNull();
+        final var copy = new Key(SignatureType.ED25519, RAW, Bytes.wrap(new byte[] {1, 2, 3}), bytes(1), bytes(1));
+        assertThat(subject.get(copy)).isEqualTo(VALID);
+    }
+
+    @Test
+    @DisplayName("The number of cached results is bounded")
+    void sizeIsBounded() {
+        final var subject = new SignatureVerificationCache(10, metrics);
+
+        for (int i = 0; i < 100; i++) {
+            subject.put(key(i), VALID);
+            assertThat(subject.size()).isLessThanOrEqualTo(10);
+        }
+
+        // The oldest results are evicted, the latest are kept
+        assertThat(subject.get(key(0))).isNull();
+        assertThat(subject.get(key(99))).isEqualTo(VALID);
+    }
+
+    @Test
+    @DisplayName("Results in use survive a rotation")
+    void resultsInUseSurviveRotation() {
+        final var subject = new SignatureVerificationCache(4, metrics);
+        subject.put(key(1), VALID);
+        subject.put(key(2), VALID);
+
+        // key(1) is moved to the current generation when it's read after the first rotation
+        subject.put(key(3), VALID);
+        assertThat(subject.get(key(1))).isEqualTo(VALID);
+        subject.put(key(4), VALID);
+
+        assertThat(subject.get(key(1))).isEqualTo(VALID);
+        assertThat(subject.get(key(2))).isNull();
+    }
+
+    private Counter counter(final String name) {
+        return (Counter) metrics.getMetric("app", name);
+    }
+
+    private static Key key(final int i) {
+        return new Key(SignatureType.ED25519, RAW, bytes(i), bytes(i), bytes(i));
+    }
+
+    private static Bytes bytes(final int i) {
+        return Bytes.wrap(new byte[] {(byte) (i >> 8), (byte) i});
+    }
+}
@@ -26,7 +26,9 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -35,11 +37,14 @@ import com.hedera.node.app.hapi.utils.MiscCryptoUtils;
 import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.signature.SignatureVerifier;
 import com.hedera.node.app.spi.fixtures.Scenarios;
+import com.hedera.node.app.utils.TestUtils;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.crypto.Cryptography;
+import com.swirlds.common.crypto.SignatureType;
 import com.swirlds.common.crypto.TransactionSignature;
 import com.swirlds.common.crypto.VerificationStatus;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,7 +71,7 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
     private Cryptography cryptoEngine;
     /** Captures the args sent to the crypto engine. */
     @Captor
-    ArgumentCaptor<TransactionSignature> sigsCaptor;
+    ArgumentCaptor<List<TransactionSignature>> sigsCaptor;
     /** The verifier under test. */
     private SignatureVerifierImpl verifier;
 
@@ -127,13 +132,15 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
 
         //noinspection unchecked
         doAnswer((Answer<Void>) invocation -> {
-                    final TransactionSignature signature = invocation.getArgument(0);
-                    signature.setSignatureStatus(VerificationStatus.VALID);
-                    signature.setFuture(completedFuture(null));
+                    final List<TransactionSignature> signatures = invocation.getArgument(0);
+                    for (final TransactionSignature signature : signatures) {
+                        signature.setSignatureStatus(VerificationStatus.VALID);
+                        signature.setFuture(completedFuture(null));
+                    }
                     return null;
                 })
                 .when(cryptoEngine)
-                .verifySync(any(TransactionSignature.class));
+                .verifySync(anyList());
 
         // When we verify them
         final var map = verifier.verify(signedBytes, sigs);
@@ -149,6 +156,49 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
                 .isEqualTo(true);
     }
 
+    @Test
+    @DisplayName("Cached results are not verified again")
+    void cachedResultsAreNotVerifiedAgain() {
+        // Given a verifier with a verification cache, and a crypto engine that accepts only ALICE's signature
+        final var cache = new SignatureVerificationCache(100, TestUtils.metrics());
+        final var cachingVerifier = new SignatureVerifierImpl(cryptoEngine, cache);
+        final var sigs = Set.of(ecdsaPair(ALICE.keyInfo().publicKey()), ed25519Pair(BOB.keyInfo().publicKey()));
+        //noinspection unchecked
+        doAnswer((Answer<Void>) invocation -> {
+                    final List<TransactionSignature> signatures = invocation.getArgument(0);
+                    for (final TransactionSignature signature : signatures) {
+                        signature.setSignatureStatus(
+                                signature.getSignatureType() == SignatureType.ECDSA_SECP256K1
+                                        ? VerificationStatus.VALID
+                                        : VerificationStatus.INVALID);
+                        signature.setFuture(completedFuture(null));
+                    }
+                    return null;
+                })
+                .when(cryptoEngine)
+                .verifySync(anyList());
+
+        // When the same signatures are verified twice
+        cachingVerifier.verify(signedBytes, sigs);
+        final var map = cachingVerifier.verify(signedBytes, sigs);
+
+        // Then the crypto engine is only asked once, and the cached results are used
+        verify(cryptoEngine, times(1)).verifySync(anyList());
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(map.get(ALICE.keyInfo().publicKey()))
+                .succeedsWithin(1, TimeUnit.SECONDS)
+                .extracting("passed")
+                .isEqualTo(true);
+        assertThat(map.get(BOB.keyInfo().publicKey()))
+                .succeedsWithin(1, TimeUnit.SECONDS)
+                .extracting("passed")
+                .isEqualTo(false);
+
+        // And different signed bytes are verified again
+        cachingVerifier.verify(randomBytes(32), sigs);
+        verify(cryptoEngine, times(2)).verifySync(anyList());
+    }
+
     @ParameterizedTest
     @CsvSource({"RAW", "KECCAK_256_HASH"})
     @DisplayName("Crypto Engine is given array with all the required data")
@@ -167,9 +217,11 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
         // When we verify them
         verifier.verify(signedBytes, sigs, messageType);
 
-        // Then we find the crypto engine was given an array with all the data
-        verify(cryptoEngine, times(3)).verifySync(sigsCaptor.capture());
-        final var txSigs = sigsCaptor.getAllValues();
+        // Then we find the crypto engine was given a single batch with all the data
+        verify(cryptoEngine, never()).verifySync(any(TransactionSignature.class));
+        verify(cryptoEngine).verifySync(sigsCaptor.capture());
+        final var txSigs = sigsCaptor.getValue();
+        assertThat(txSigs).hasSize(3);
 
         final var itr = sigs.iterator();
         for (int i = 0; i < 3; i++) {
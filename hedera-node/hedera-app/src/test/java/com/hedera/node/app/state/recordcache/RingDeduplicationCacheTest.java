@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.recordcache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.VersionedConfiguration;
+import com.hedera.node.config.data.HederaConfig;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.time.Instant;
+import java.time.InstantSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class RingDeduplicationCacheTest {
+    private static final long MAX_TXN_DURATION = 180;
+    private static final AccountID PAYER = AccountID.newBuilder().accountNum(1234L).build();
+
+    private Instant now = Instant.ofEpochSecond(1_234_567L);
+    private final InstantSource instantSource = () -> now;
+
+    @Mock
+    private ConfigProvider props;
+
+    @Mock
+    private HederaConfig hederaConfig;
+
+    private RingDeduplicationCache cache;
+
+    @BeforeEach
+    void setUp(@Mock final VersionedConfiguration versionedConfig) {
+        cache = new RingDeduplicationCache(props, instantSource);
+        lenient().when(props.getConfiguration()).thenReturn(versionedConfig);
+        lenient().when(versionedConfig.getConfigData(HederaConfig.class)).thenReturn(hederaConfig);
+        lenient().when(hederaConfig.transactionMaxValidDuration()).thenReturn(MAX_TXN_DURATION);
+    }
+
+    @Test
+    @DisplayName("Constructor args cannot be null")
+    void constructorArgsCannotBeNull() {
+        //noinspection DataFlowIssue
+        assertThatThrownBy(() -> new RingDeduplicationCache(null, instantSource))
+                .isInstanceOf(NullPointerException.class);
+        //noinspection DataFlowIssue
+        assertThatThrownBy(() -> new RingDeduplicationCache(props, null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("Add a transaction ID that has expired")
+    void addTransactionIDThatHasExpired() {
+        final var txId = txnIdAt(now.getEpochSecond() - MAX_TXN_DURATION - 1);
+
+        cache.add(txId);
+
+        assertThat(cache.contains(txId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Add transaction IDs in the window and far in the future")
+    void addTransactionIDsInAndBeyondTheRing() {
+        final var txIds = new TransactionID[] {
+            txnIdAt(now.getEpochSecond() - MAX_TXN_DURATION),
+            txnIdAt(now.getEpochSecond()),
+            txnIdAt(now.getEpochSecond() + MAX_TXN_DURATION / 2),
+            txnIdAt(now.getEpochSecond() + 10 * MAX_TXN_DURATION)
+        };
+
+        for (final var txId : txIds) {
+            cache.add(txId);
+        }
+
+        for (final var txId : txIds) {
+            assertThat(cache.contains(txId)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Only the exact transaction ID is contained")
+    void distinguishesAllIdFields() {
+        final var txId = txnIdAt(now.getEpochSecond());
+        cache.add(txId);
+
+        assertThat(cache.contains(txId.copyBuilder().nonce(1).build())).isFalse();
+        assertThat(cache.contains(txId.copyBuilder().scheduled(true).build())).isFalse();
+        assertThat(cache.contains(txId.copyBuilder()
+                        .accountID(AccountID.newBuilder().accountNum(4321L).build())
+                        .build()))
+                .isFalse();
+        assertThat(cache.contains(txId.copyBuilder()
+                        .transactionValidStart(new Timestamp(now.getEpochSecond(), 1))
+                        .build()))
+                .isFalse();
+        assertThat(cache.contains(txId.copyBuilder().build())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Transaction IDs with an alias payer are supported")
+    void supportsAliasPayers() {
+        final var txId = txnIdAt(now.getEpochSecond())
+                .copyBuilder()
+                .accountID(AccountID.newBuilder().alias(Bytes.wrap("alias")).build())
+                .build();
+
+        cache.add(txId);
+
+        assertThat(cache.contains(txId)).isTrue();
+        assertThat(cache.contains(txnIdAt(now.getEpochSecond()))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Transaction IDs expire as time passes")
+    void expiresAsTimePasses() {
+        final var early = txnIdAt(now.getEpochSecond());
+        final var late = txnIdAt(now.getEpochSecond() + 1);
+        final var farFuture = txnIdAt(now.getEpochSecond() + 10 * MAX_TXN_DURATION);
+        cache.add(early);
+        cache.add(late);
+        cache.add(farFuture);
+
+        now = now.plusSeconds(MAX_TXN_DURATION + 1);
+
+        assertThat(cache.contains(early)).isFalse();
+        assertThat(cache.contains(late)).isTrue();
+        assertThat(cache.contains(farFuture)).isTrue();
+
+        // Reusing the bucket of an expired second must not resurrect its IDs
+        now = now.plusSeconds(3 * MAX_TXN_DURATION);
+        final var reused = txnIdAt(now.getEpochSecond());
+        cache.add(reused);
+        assertThat(cache.contains(late)).isFalse();
+        assertThat(cache.contains(reused)).isTrue();
+
+        now = now.plusSeconds(10 * MAX_TXN_DURATION);
+        assertThat(cache.contains(farFuture)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Transaction IDs are kept when the window changes")
+    void keepsIdsWhenWindowChanges() {
+        final var txIds = new TransactionID[] {
+            txnIdAt(now.getEpochSecond() - MAX_TXN_DURATION / 2),
+            txnIdAt(now.getEpochSecond()),
+            txnIdAt(now.getEpochSecond() + MAX_TXN_DURATION)
+        };
+        for (final var txId : txIds) {
+            cache.add(txId);
+        }
+
+        lenient().when(hederaConfig.transactionMaxValidDuration()).thenReturn(MAX_TXN_DURATION / 2);
+
+        for (final var txId : txIds) {
+            assertThat(cache.contains(txId)).isTrue();
+        }
+        now = now.plusSeconds(1);
+        assertThat(cache.contains(txIds[0])).isFalse();
+        assertThat(cache.contains(txIds[1])).isTrue();
+        assertThat(cache.contains(txIds[2])).isTrue();
+    }
+
+    @Test
+    @DisplayName("Clear removes all transaction IDs")
+    void clearRemovesEverything() {
+        final var txId = txnIdAt(now.getEpochSecond());
+        final var farFuture = txnIdAt(now.getEpochSecond() + 10 * MAX_TXN_DURATION);
+        cache.add(txId);
+        cache.add(farFuture);
+
+        cache.clear();
+
+        assertThat(cache.contains(txId)).isFalse();
+        assertThat(cache.contains(farFuture)).isFalse();
+    }
+
+    private static TransactionID txnIdAt(final long seconds) {
+        return TransactionID.newBuilder()
+                .accountID(PAYER)
+                .transactionValidStart(Timestamp.newBuilder().seconds(seconds).build())
+                .build();
+    }
+}
@@ -35,7 +35,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
-class SynchronizedThrottleAccumulatorTest {
+class ConcurrentThrottleAccumulatorTest {
 
     @Mock
     private ThrottleAccumulator throttleAccumulator;
@@ -45,11 +45,11 @@ class SynchronizedThrottleAccumulatorTest {
 
     private final InstantSource instantSource = InstantSource.system();
 
-    SynchronizedThrottleAccumulator subject;
+    ConcurrentThrottleAccumulator subject;
 
     @BeforeEach
     void setUp() {
-        subject = new SynchronizedThrottleAccumulator(instantSource, throttleAccumulator);
+        subject = new ConcurrentThrottleAccumulator(instantSource, throttleAccumulator);
     }
 
     @Test
@@ -70,7 +70,7 @@ import com.hedera.node.app.spi.workflows.InsufficientBalanceException;
 import com.hedera.node.app.spi.workflows.PreCheckException;
 import com.hedera.node.app.state.DeduplicationCache;
 import com.hedera.node.app.state.recordcache.DeduplicationCacheImpl;
-import com.hedera.node.app.throttle.SynchronizedThrottleAccumulator;
+import com.hedera.node.app.throttle.ConcurrentThrottleAccumulator;
 import com.hedera.node.app.workflows.SolvencyPreCheck;
 import com.hedera.node.app.workflows.TransactionChecker;
 import com.hedera.node.app.workflows.TransactionInfo;
@@ -131,7 +131,7 @@ class IngestCheckerTest extends AppTestBase {
     private Authorizer authorizer;
 
     @Mock(strictness = LENIENT)
-    private SynchronizedThrottleAccumulator synchronizedThrottleAccumulator;
+    private ConcurrentThrottleAccumulator concurrentThrottleAccumulator;
 
     private DeduplicationCache deduplicationCache;
 
@@ -191,7 +191,7 @@ class IngestCheckerTest extends AppTestBase {
                 dispatcher,
                 feeManager,
                 authorizer,
-                synchronizedThrottleAccumulator,
+                concurrentThrottleAccumulator,
                 instantSource);
     }
 
@@ -241,7 +241,7 @@ class IngestCheckerTest extends AppTestBase {
                 dispatcher,
                 feeManager,
                 authorizer,
-                synchronizedThrottleAccumulator,
+                concurrentThrottleAccumulator,
                 instantSource);
 
         // Then the checker should throw a PreCheckException
@@ -337,7 +337,7 @@ class IngestCheckerTest extends AppTestBase {
         @DisplayName("When the transaction is throttled, the transaction should be rejected")
         void testThrottleFails() {
             // Given a throttle on CONSENSUS_CREATE_TOPIC transactions (i.e. it is time to throttle)
-            when(synchronizedThrottleAccumulator.shouldThrottle(transactionInfo, state))
+            when(concurrentThrottleAccumulator.shouldThrottle(transactionInfo, state))
                     .thenReturn(true);
 
             // When the transaction is submitted
@@ -350,7 +350,7 @@ class IngestCheckerTest extends AppTestBase {
         @DisplayName("If some random exception is thrown from HapiThrottling, the exception is bubbled up")
         void randomException() {
             // Given a HapiThrottling that will throw a RuntimeException
-            when(synchronizedThrottleAccumulator.shouldThrottle(transactionInfo, state))
+            when(concurrentThrottleAccumulator.shouldThrottle(transactionInfo, state))
                     .thenThrow(new RuntimeException("shouldThrottle exception"));
 
             // When the transaction is submitted, then the exception is bubbled up
@@ -69,7 +69,7 @@ import com.hedera.node.app.spi.records.RecordCache;
 import com.hedera.node.app.spi.workflows.InsufficientBalanceException;
 import com.hedera.node.app.spi.workflows.PreCheckException;
 import com.hedera.node.app.spi.workflows.QueryContext;
-import com.hedera.node.app.throttle.SynchronizedThrottleAccumulator;
+import com.hedera.node.app.throttle.ConcurrentThrottleAccumulator;
 import com.hedera.node.app.workflows.TransactionInfo;
 import com.hedera.node.app.workflows.ingest.IngestChecker;
 import com.hedera.node.app.workflows.ingest.SubmissionManager;
@@ -142,7 +142,7 @@ class QueryWorkflowImplTest extends AppTestBase {
     private FeeManager feeManager;
 
     @Mock(strictness = LENIENT)
-    private SynchronizedThrottleAccumulator synchronizedThrottleAccumulator;
+    private ConcurrentThrottleAccumulator concurrentThrottleAccumulator;
 
     private VersionedConfiguration configuration;
     private Transaction payment;
@@ -210,7 +210,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                 authorizer,
                 exchangeRateManager,
                 feeManager,
-                synchronizedThrottleAccumulator,
+                concurrentThrottleAccumulator,
                 instantSource);
     }
 
@@ -229,7 +229,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         authorizer,
                         exchangeRateManager,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -244,7 +244,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         authorizer,
                         exchangeRateManager,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -259,7 +259,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         authorizer,
                         exchangeRateManager,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -274,7 +274,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         authorizer,
                         exchangeRateManager,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -289,7 +289,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         authorizer,
                         exchangeRateManager,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -304,7 +304,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         authorizer,
                         exchangeRateManager,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -319,7 +319,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         authorizer,
                         exchangeRateManager,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -334,7 +334,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         authorizer,
                         exchangeRateManager,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -349,7 +349,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         authorizer,
                         exchangeRateManager,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -364,7 +364,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         null,
                         exchangeRateManager,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -379,7 +379,7 @@ class QueryWorkflowImplTest extends AppTestBase {
                         authorizer,
                         null,
                         feeManager,
-                        synchronizedThrottleAccumulator,
+                        concurrentThrottleAccumulator,
                         instantSource))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new QueryWorkflowImpl(
@@ -602,7 +602,7 @@ class QueryWorkflowImplTest extends AppTestBase {
     @Test
     void testThrottleFails() throws ParseException {
         // given
-        when(synchronizedThrottleAccumulator.shouldThrottle(eq(HederaFunctionality.FILE_GET_INFO), any(), any()))
+        when(concurrentThrottleAccumulator.shouldThrottle(eq(HederaFunctionality.FILE_GET_INFO), any(), any()))
                 .thenReturn(true);
         final var responseBuffer = newEmptyBuffer();
 
@@ -57,4 +57,8 @@ public record HederaConfig(
         // FUTURE: Set<HederaFunctionality>.
         @ConfigProperty(value = "workflows.enabled", defaultValue = "true") @NetworkProperty String workflowsEnabled,
         @ConfigProperty(value = "ingestThrottle.enabled", defaultValue = "true") @NetworkProperty
-                boolean ingestThrottleEnabled) {}
+                boolean ingestThrottleEnabled,
+        @ConfigProperty(value = "deduplicationCache.ringEnabled", defaultValue = "false") @NodeProperty
+                boolean deduplicationCacheRingEnabled,
+        @ConfigProperty(value = "signatureVerificationCache.maxSize", defaultValue = "0") @NodeProperty
+                int signatureVerificationCacheMaxSize) {}
@@ -17,6 +17,7 @@
 package com.hedera.node.config.data;
 
 import com.hedera.node.config.NodeProperty;
+import com.hedera.node.config.types.GrpcExecutionMode;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
 
@@ -34,6 +35,17 @@ import com.swirlds.config.api.ConfigProperty;
  * @param terminationTimeout The timeout, *in seconds*, to wait for the servers to terminate.
  * @param tlsCrtPath
  * @param tlsKeyPath
+ * @param executorMode How transaction and query calls are executed. Defaults to DIRECT, on the Netty event loop.
+ * @param executorThreads The number of threads executing calls in the PLATFORM_THREADS mode. Minimum value is 1.
+ * @param executorMaxConcurrentCalls The maximum number of calls that may be queued or executing at the same time in the
+ *                                   PLATFORM_THREADS and VIRTUAL_THREADS modes. Excess calls are rejected as BUSY.
+ *                                   Must be positive unless the mode is DIRECT.
+ * @param executorMaxConcurrentCallsPerService The maximum number of calls to a single gRPC service that may be queued
+ *                                             or executing at the same time. Excess calls are rejected as BUSY. Zero
+ *                                             means no limit.
+ * @param executorMaxConcurrentCallsPerMethod The maximum number of calls to a single gRPC method that may be queued or
+ *                                            executing at the same time. Excess calls are rejected as BUSY. Zero
+ *                                            means no limit.
  */
 @ConfigData("netty")
 public record NettyConfig(
@@ -52,7 +64,16 @@ public record NettyConfig(
         @ConfigProperty(defaultValue = "1000") @NodeProperty long startRetryIntervalMs,
         @ConfigProperty(defaultValue = "5") @NodeProperty long terminationTimeout,
         @ConfigProperty(value = "tlsCrt.path", defaultValue = "hedera.crt") @NodeProperty String tlsCrtPath,
-        @ConfigProperty(value = "tlsKey.path", defaultValue = "hedera.key") @NodeProperty String tlsKeyPath) {
+        @ConfigProperty(value = "tlsKey.path", defaultValue = "hedera.key") @NodeProperty String tlsKeyPath,
+        @ConfigProperty(value = "executor.mode", defaultValue = "DIRECT") @NodeProperty
+                GrpcExecutionMode executorMode,
+        @ConfigProperty(value = "executor.threads", defaultValue = "32") @NodeProperty int executorThreads,
+        @ConfigProperty(value = "executor.maxConcurrentCalls", defaultValue = "256") @NodeProperty
+                int executorMaxConcurrentCalls,
+        @ConfigProperty(value = "executor.maxConcurrentCallsPerService", defaultValue = "0") @NodeProperty
+                int executorMaxConcurrentCallsPerService,
+        @ConfigProperty(value = "executor.maxConcurrentCallsPerMethod", defaultValue = "0") @NodeProperty
+                int executorMaxConcurrentCallsPerMethod) {
     public NettyConfig {
         if (startRetries < 0) {
             throw new IllegalArgumentException("startRetries must be non-negative.");
@@ -65,5 +86,17 @@ public record NettyConfig(
         if (terminationTimeout < 0) {
             throw new IllegalArgumentException("terminationTimeout must be non-negative");
         }
+
+        if (executorThreads < 1) {
+            throw new IllegalArgumentException("executor.threads must be positive");
+        }
+
+        if (executorMode != GrpcExecutionMode.DIRECT && executorMaxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("executor.maxConcurrentCalls must be positive unless mode is DIRECT");
+        }
+
+        if (executorMaxConcurrentCallsPerService < 0 || executorMaxConcurrentCallsPerMethod < 0) {
+            throw new IllegalArgumentException("executor concurrent call limits must be non-negative");
+        }
     }
 }
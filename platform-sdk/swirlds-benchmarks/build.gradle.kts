@@ -74,3 +74,11 @@ tasks.register<JMHTask>("jmhReconnect") {
     benchmarkParameters.put("teacherRemoveProbability", listProperty("0.01"))
     benchmarkParameters.put("teacherModifyProbability", listProperty("0.01"))
 }
+
+tasks.register<JMHTask>("jmhVirtualCache") {
+    includes.set(listOf("VirtualNodeCacheBench", "VirtualHasherBench"))
+    jvmArgs.set(listOf("-Xmx8g"))
+    profilers.set(listOf("gc"))
+
+    resultsFile.convention(layout.buildDirectory.file("results/jmh/results-virtual-cache.txt"))
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.benchmark;
+
+import com.swirlds.common.config.singleton.ConfigurationHolder;
+import com.swirlds.common.crypto.CryptographyFactory;
+import com.swirlds.common.crypto.CryptographyHolder;
+import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.crypto.config.CryptoConfig;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.config.extensions.sources.SimpleConfigSource;
+import com.swirlds.virtualmap.config.VirtualMapConfig;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import com.swirlds.virtualmap.internal.hash.VirtualHasher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link VirtualHasher#hash}. Hashes of clean nodes are not read from disk, they are all the
+ * same precomputed hash, so only the hasher itself is measured.
+ *
+ * <p>The hashing thread pool is static and is created on the first hash call using the number of threads
+ * from {@link VirtualMapConfig}. Every combination of benchmark parameters runs in its own fork, so the
+ * config is set in trial setup before any hashing takes place. Run with the GC profiler ({@code -prof gc},
+ * or the {@code jmhVirtualCache} Gradle task) to get allocation rates.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VirtualHasherBench {
+
+    /** How dirty leaves are distributed across the leaf paths range */
+    public enum Distribution {
+        /** Dirty leaves are uniformly distributed, e.g. random account updates */
+        RANDOM,
+        /** Dirty leaves are grouped to small clusters of adjacent paths, e.g. related contract storage slots */
+        CLUSTERED,
+        /** All dirty leaves are in a single range of adjacent paths, e.g. bulk inserts */
+        SEQUENTIAL
+    }
+
+    /** Number of adjacent dirty leaves in a cluster for {@link Distribution#CLUSTERED} */
+    private static final int CLUSTER_SIZE = 64;
+
+    /** Number of threads in the hashing pool, -1 means the default number of threads */
+    @Param({"1", "4", "16"})
+    public int hashingThreadCount;
+
+    @Param({"RANDOM", "CLUSTERED", "SEQUENTIAL"})
+    public Distribution distribution;
+
+    /** Number of dirty leaves to hash */
+    @Param({"100000"})
+    public int numDirtyLeaves;
+
+    /** Number of leaves in the map */
+    @Param({"10000000"})
+    public long numKeys;
+
+    private long firstLeafPath;
+    private long lastLeafPath;
+
+    private List<VirtualLeafRecord<BenchmarkKey, BenchmarkValue>> dirtyLeaves;
+
+    private Hash cleanHash;
+
+    private VirtualHasher<BenchmarkKey, BenchmarkValue> hasher;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Configuration configuration = ConfigurationBuilder.create()
+                .autoDiscoverExtensions()
+                .withSource(new SimpleConfigSource("virtualMap.numHashThreads", hashingThreadCount))
+                .withConfigDataType(VirtualMapConfig.class)
+                .withConfigDataType(CryptoConfig.class)
+                .build();
+        ConfigurationHolder.getInstance().setConfiguration(configuration);
+        CryptographyHolder.set(CryptographyFactory.create());
+
+        firstLeafPath = numKeys - 1;
+        lastLeafPath = firstLeafPath * 2;
+
+        final Random random = new Random(1234);
+        final long[] paths = dirtyLeafPaths(random);
+        dirtyLeaves = new ArrayList<>(paths.length);
+        for (final long path : paths) {
+            final long keyId = path - firstLeafPath;
+            dirtyLeaves.add(new VirtualLeafRecord<>(path, new BenchmarkKey(keyId), new BenchmarkValue(keyId)));
+        }
+
+        final byte[] hashBytes = new byte[DigestType.SHA_384.digestLength()];
+        random.nextBytes(hashBytes);
+        cleanHash = new Hash(hashBytes, DigestType.SHA_384);
+
+        hasher = new VirtualHasher<>();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hasher.shutdown();
+    }
+
+    /**
+     * Generates sorted unique dirty leaf paths according to {@link #distribution}.
+     */
+    private long[] dirtyLeafPaths(final Random random) {
+        final long numLeaves = lastLeafPath - firstLeafPath + 1;
+        final long[] paths = new long[numDirtyLeaves];
+        switch (distribution) {
+            case RANDOM -> {
+                for (int i = 0; i < numDirtyLeaves; i++) {
+                    paths[i] = firstLeafPath + (long) (random.nextDouble() * numLeaves);
+                }
+            }
+            case CLUSTERED -> {
+                for (int i = 0; i < numDirtyLeaves; i += CLUSTER_SIZE) {
+                    final long clusterStart =
+                            firstLeafPath + (long) (random.nextDouble() * (numLeaves - CLUSTER_SIZE));
+                    for (int j = 0; (j < CLUSTER_SIZE) && (i + j < numDirtyLeaves); j++) {
+                        paths[i + j] = clusterStart + j;
+                    }
+                }
+            }
+            case SEQUENTIAL -> {
+                final long start = firstLeafPath + (long) (random.nextDouble() * (numLeaves - numDirtyLeaves));
+                for (int i = 0; i < numDirtyLeaves; i++) {
+                    paths[i] = start + i;
+                }
+            }
+        }
+        // The hasher expects dirty leaves sorted by path, with no duplicates
+        return Arrays.stream(paths).sorted().distinct().toArray();
+    }
+
+    @Benchmark
+    public Hash hash() {
+        return hasher.hash(path -> cleanHash, dirtyLeaves.iterator(), firstLeafPath, lastLeafPath);
+    }
+}
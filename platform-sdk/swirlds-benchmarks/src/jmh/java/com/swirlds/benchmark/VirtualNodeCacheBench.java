@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.benchmark;
+
+import com.swirlds.common.config.singleton.ConfigurationHolder;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.virtualmap.config.VirtualMapConfig;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import com.swirlds.virtualmap.internal.cache.VirtualNodeCache;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link VirtualNodeCache} operations on a chain of cache copies, similar to how copies
+ * are accumulated in the virtual pipeline between flushes. Every copy contains {@link #leavesPerCopy}
+ * leaves for keys randomly selected out of {@link #numKeys}. Run with the GC profiler ({@code -prof gc},
+ * or the {@code jmhVirtualCache} Gradle task) to get allocation rates.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VirtualNodeCacheBench {
+
+    /** Number of copies in the chain */
+    @Param({"10", "100"})
+    public int numCopies;
+
+    /** Number of leaves put to every copy */
+    @Param({"10000"})
+    public int leavesPerCopy;
+
+    /** Number of keys in the map. Leaf paths are in [numKeys - 1, 2 * numKeys - 2] range */
+    @Param({"1000000"})
+    public int numKeys;
+
+    private long firstLeafPath;
+    private long lastLeafPath;
+
+    private BenchmarkKey[] keys;
+    private BenchmarkValue[] values;
+
+    private Random random;
+
+    /** Cache copies, from the oldest to the latest. The latest copy is mutable, all others are sealed */
+    private Deque<VirtualNodeCache<BenchmarkKey, BenchmarkValue>> copies;
+
+    /** Sealed copies for {@link #merge} benchmark, from the oldest to the latest */
+    @State(Scope.Thread)
+    public static class MergeState {
+
+        private List<VirtualNodeCache<BenchmarkKey, BenchmarkValue>> copiesToMerge;
+
+        @Setup(Level.Invocation)
+        public void setup(final VirtualNodeCacheBench bench) {
+            copiesToMerge = bench.createSealedCopies();
+        }
+    }
+
+    /** Sealed copy with all older copies merged into it, for {@link #dirtyLeavesForFlush} benchmark */
+    @State(Scope.Thread)
+    public static class FlushState {
+
+        private VirtualNodeCache<BenchmarkKey, BenchmarkValue> mergedCopy;
+
+        @Setup(Level.Invocation)
+        public void setup(final VirtualNodeCacheBench bench) {
+            final List<VirtualNodeCache<BenchmarkKey, BenchmarkValue>> toMerge = bench.createSealedCopies();
+            for (int i = 0; i < toMerge.size() - 1; i++) {
+                toMerge.get(i).merge();
+            }
+            mergedCopy = toMerge.get(toMerge.size() - 1);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        final Configuration configuration = ConfigurationBuilder.create()
+                .autoDiscoverExtensions()
+                .withConfigDataType(VirtualMapConfig.class)
+                .build();
+        ConfigurationHolder.getInstance().setConfiguration(configuration);
+
+        firstLeafPath = numKeys - 1L;
+        lastLeafPath = firstLeafPath * 2;
+        keys = new BenchmarkKey[numKeys];
+        values = new BenchmarkValue[numKeys];
+        for (int i = 0; i < numKeys; i++) {
+            keys[i] = new BenchmarkKey(i);
+            values[i] = new BenchmarkValue(i);
+        }
+        random = new Random(1234);
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        copies = new ArrayDeque<>();
+        VirtualNodeCache<BenchmarkKey, BenchmarkValue> cache = new VirtualNodeCache<>();
+        copies.addLast(cache);
+        putLeaves(cache);
+        for (int i = 1; i < numCopies; i++) {
+            cache = nextCopy();
+            putLeaves(cache);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        while (!copies.isEmpty()) {
+            copies.pollFirst().release();
+        }
+    }
+
+    /**
+     * Makes a new copy of the latest cache and seals the previous latest copy. If the number of copies
+     * exceeds {@link #numCopies}, the oldest copy is released.
+     */
+    private VirtualNodeCache<BenchmarkKey, BenchmarkValue> nextCopy() {
+        final VirtualNodeCache<BenchmarkKey, BenchmarkValue> latest = copies.getLast();
+        final VirtualNodeCache<BenchmarkKey, BenchmarkValue> copy = latest.copy();
+        latest.seal();
+        copies.addLast(copy);
+        if (copies.size() > numCopies) {
+            copies.pollFirst().release();
+        }
+        return copy;
+    }
+
+    private void putLeaves(final VirtualNodeCache<BenchmarkKey, BenchmarkValue> cache) {
+        for (int i = 0; i < leavesPerCopy; i++) {
+            final int keyIndex = random.nextInt(numKeys);
+            // Every copy must get new leaf record instances
+            cache.putLeaf(new VirtualLeafRecord<>(firstLeafPath + keyIndex, keys[keyIndex], values[keyIndex]));
+        }
+    }
+
+    /**
+     * Creates a chain of sealed copies. The latest copy in the chain is mutable and isn't included to
+     * the returned list.
+     */
+    private List<VirtualNodeCache<BenchmarkKey, BenchmarkValue>> createSealedCopies() {
+        final List<VirtualNodeCache<BenchmarkKey, BenchmarkValue>> sealed = new ArrayList<>(numCopies);
+        VirtualNodeCache<BenchmarkKey, BenchmarkValue> cache = new VirtualNodeCache<>();
+        for (int i = 0; i < numCopies; i++) {
+            putLeaves(cache);
+            sealed.add(cache);
+            final VirtualNodeCache<BenchmarkKey, BenchmarkValue> copy = cache.copy();
+            cache.seal();
+            cache = copy;
+        }
+        return sealed;
+    }
+
+    /**
+     * Makes a new copy of the latest cache and puts leaves to it, the same way as it's done when
+     * transactions are handled in a round.
+     */
+    @Benchmark
+    public void putLeaf() {
+        putLeaves(nextCopy());
+    }
+
+    @Benchmark
+    public void lookupLeafByKey(final Blackhole blackhole) {
+        final VirtualNodeCache<BenchmarkKey, BenchmarkValue> latest = copies.getLast();
+        for (int i = 0; i < leavesPerCopy; i++) {
+            blackhole.consume(latest.lookupLeafByKey(keys[random.nextInt(numKeys)], false));
+        }
+    }
+
+    @Benchmark
+    public void lookupLeafByPath(final Blackhole blackhole) {
+        final VirtualNodeCache<BenchmarkKey, BenchmarkValue> latest = copies.getLast();
+        for (int i = 0; i < leavesPerCopy; i++) {
+            blackhole.consume(latest.lookupLeafByPath(firstLeafPath + random.nextInt(numKeys), false));
+        }
+    }
+
+    /**
+     * Merges all sealed copies, from the oldest to the latest, like the virtual pipeline does for copies
+     * that are not flushed.
+     */
+    @Benchmark
+    public void merge(final MergeState state, final Blackhole blackhole) {
+        final List<VirtualNodeCache<BenchmarkKey, BenchmarkValue>> copiesToMerge = state.copiesToMerge;
+        for (int i = 0; i < copiesToMerge.size() - 1; i++) {
+            copiesToMerge.get(i).merge();
+        }
+        blackhole.consume(copiesToMerge.get(copiesToMerge.size() - 1));
+    }
+
+    /**
+     * Collects dirty leaves to flush from a copy that has all previous copies merged into it.
+     */
+    @Benchmark
+    public void dirtyLeavesForFlush(final FlushState state, final Blackhole blackhole) {
+        state.mergedCopy.dirtyLeavesForFlush(firstLeafPath, lastLeafPath).forEach(blackhole::consume);
+    }
+}
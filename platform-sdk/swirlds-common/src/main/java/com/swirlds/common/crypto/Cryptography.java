@@ -159,6 +159,10 @@ public interface Cryptography {
      * Starting in version 0.43 and onwards, the {@link SignatureType#ECDSA_SECP256K1} signature algorithm requires the
      * payload to be a KECCAK-256 hash of the original message. Verification will fail if the message is not 32 bytes in
      * length and the output of 256-bit hashing function.
+     * <p>
+     * Verifying several signatures with one call is cheaper than verifying them one by one, because the work that
+     * is shared by the signatures (such as extracting a message signed by several keys) is only done once. The result
+     * of each signature is always the same as if it was verified on its own.
      *
      * @param signatures a list of signatures to be verified
      * @return true if all the signatures are valid; otherwise false
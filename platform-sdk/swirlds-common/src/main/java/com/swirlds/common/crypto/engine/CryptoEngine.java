@@ -32,6 +32,7 @@ import com.swirlds.logging.legacy.LogMarker;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.security.NoSuchAlgorithmException;
 import java.security.Security;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -208,15 +209,24 @@ public class CryptoEngine implements Cryptography {
 
         boolean finalOutcome = true;
 
-        OperationProvider<TransactionSignature, Void, Boolean, ?, SignatureType> provider;
+        // Ed25519 signatures are verified together, so that the copying of shared messages is amortized
+        final List<TransactionSignature> ed25519Signatures = new ArrayList<>(signatures.size());
         for (final TransactionSignature signature : signatures) {
             if (signature.getSignatureType() == SignatureType.ECDSA_SECP256K1) {
-                provider = ecdsaSecp256k1VerificationProvider;
+                if (!verifySyncInternal(signature, ecdsaSecp256k1VerificationProvider, future)) {
+                    finalOutcome = false;
+                }
             } else {
-                provider = ed25519VerificationProvider;
+                ed25519Signatures.add(signature);
             }
+        }
 
-            if (!verifySyncInternal(signature, provider, future)) {
+        final boolean[] results = ed25519VerificationProvider.computeBatch(ed25519Signatures);
+        for (int i = 0; i < results.length; i++) {
+            final TransactionSignature signature = ed25519Signatures.get(i);
+            signature.setSignatureStatus(results[i] ? VerificationStatus.VALID : VerificationStatus.INVALID);
+            signature.setFuture(future);
+            if (!results[i]) {
                 finalOutcome = false;
             }
         }
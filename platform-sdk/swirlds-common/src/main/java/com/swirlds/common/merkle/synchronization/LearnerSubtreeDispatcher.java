@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.merkle.synchronization;
+
+import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
+
+import com.swirlds.common.merkle.MerkleNode;
+import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationException;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Distributes subtrees with custom reconnect views between the primary learner and helper learners, when a tree
+ * is learned from several teachers at once.
+ *
+ * <p>The primary learner receives the main tree from the primary teacher, as usual. Once the main tree is received,
+ * all subtrees with custom reconnect views are known, and they are {@link #publish(List) published} to helpers. The
+ * primary learner then goes through the subtrees in order, from the first one, while every helper claims subtrees
+ * starting from the last one and learns them from its own teacher. Every subtree is learned exactly once. When the
+ * primary learner is done, it {@link #awaitHelpers() waits} for all subtrees claimed by helpers to be learned.
+ *
+ * <p>All helpers must learn from states of the same round, see {@link #getRound()}. All methods are thread safe.
+ */
+public class LearnerSubtreeDispatcher {
+
+    private static final Logger logger = LogManager.getLogger(LearnerSubtreeDispatcher.class);
+
+    /**
+     * Indicates that the round of the state being learned is not known yet.
+     */
+    public static final long UNKNOWN_ROUND = -1;
+
+    /**
+     * The maximum number of helpers at any time.
+     */
+    private final int maxHelpers;
+
+    /**
+     * The number of helpers currently registered.
+     */
+    private int helperCount;
+
+    /**
+     * The round of the state learned by the primary learner.
+     */
+    private long round = UNKNOWN_ROUND;
+
+    /**
+     * Subtrees to learn, or null if not published yet.
+     */
+    private List<MerkleNode> subtrees;
+
+    /**
+     * For every published subtree, whether it's already claimed by the primary learner or a helper.
+     */
+    private boolean[] claimed;
+
+    /**
+     * Subtrees currently learned by helpers, by index, with the methods to break the helper connections.
+     */
+    private final Map<Integer, Runnable> subtreesInProgress = new HashMap<>();
+
+    /**
+     * The first failure of a helper, if any.
+     */
+    private Throwable helperFailure;
+
+    /**
+     * Once closed, no more subtrees can be claimed by helpers.
+     */
+    private boolean closed;
+
+    /**
+     * Create a new dispatcher.
+     *
+     * @param maxHelpers the maximum number of helpers at any time
+     */
+    public LearnerSubtreeDispatcher(final int maxHelpers) {
+        if (maxHelpers < 1) {
+            throw new IllegalArgumentException("maxHelpers must be positive");
+        }
+        this.maxHelpers = maxHelpers;
+    }
+
+    /**
+     * Set the round of the state learned by the primary learner. Helpers are only registered after the round is set.
+     *
+     * @param round the round
+     */
+    public synchronized void setRound(final long round) {
+        this.round = round;
+    }
+
+    /**
+     * Get the round of the state learned by the primary learner. Helpers may only learn subtrees from states of
+     * this round.
+     *
+     * @return the round, or {@link #UNKNOWN_ROUND} if not known yet
+     */
+    public synchronized long getRound() {
+        return round;
+    }
+
+    /**
+     * Try to register a new helper. Every registered helper must be eventually removed using {@link
+     * #removeHelper()}.
+     *
+     * @return true if the helper is registered, false if there are already enough helpers, or no more helpers are
+     * needed
+     */
+    public synchronized boolean tryAddHelper() {
+        if (closed || round == UNKNOWN_ROUND || helperCount >= maxHelpers) {
+            return false;
+        }
+        helperCount++;
+        return true;
+    }
+
+    /**
+     * Remove a helper previously registered by {@link #tryAddHelper()}.
+     */
+    public synchronized void removeHelper() {
+        if (helperCount <= 0) {
+            throw new IllegalStateException("No helpers are registered");
+        }
+        helperCount--;
+    }
+
+    /**
+     * Publish subtrees with custom reconnect views, after the main tree is received by the primary learner. The
+     * subtree roots must already be attached to the tree being learned.
+     *
+     * @param subtrees the subtree roots, in the order they are sent by the primary teacher
+     */
+    public synchronized void publish(@NonNull final List<MerkleNode> subtrees) {
+        if (this.subtrees != null) {
+            throw new IllegalStateException("Subtrees are already published");
+        }
+        this.subtrees = new ArrayList<>(Objects.requireNonNull(subtrees));
+        claimed = new boolean[subtrees.size()];
+        logger.info(RECONNECT.getMarker(), "{} subtrees may be learned from helper teachers", subtrees.size());
+        notifyAll();
+    }
+
+    /**
+     * Called by the primary learner before every subtree, except the main tree.
+     *
+     * @param index the subtree index
+     * @return true if the subtree must be learned by the primary learner, false if it's claimed by a helper
+     */
+    public synchronized boolean claimForPrimary(final int index) {
+        if (subtrees == null || index >= subtrees.size()) {
+            // Nested subtrees are not published, they are always learned by the primary learner
+            return true;
+        }
+        if (claimed[index]) {
+            return false;
+        }
+        claimed[index] = true;
+        return true;
+    }
+
+    /**
+     * Called by a helper to claim the next subtree to learn. Blocks until subtrees are published. Every claimed
+     * subtree must be reported using {@link #subtreeFinished(int, Throwable)}.
+     *
+     * @param breakConnection a method that breaks the helper connection, called if the primary learner fails
+     * @return the index of the claimed subtree, or -1 if there are no more subtrees to learn
+     * @throws InterruptedException if the current thread is interrupted
+     */
+    public synchronized int claimForHelper(@NonNull final Runnable breakConnection) throws InterruptedException {
+        Objects.requireNonNull(breakConnection);
+        while (subtrees == null && !closed) {
+            wait();
+        }
+        if (closed || helperFailure != null) {
+            return -1;
+        }
+        for (int i = claimed.length - 1; i >= 0; i--) {
+            if (!claimed[i]) {
+                claimed[i] = true;
+                subtreesInProgress.put(i, breakConnection);
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get a published subtree root.
+     *
+     * @param index the subtree index
+     * @return the subtree root
+     */
+    @NonNull
+    public synchronized MerkleNode getSubtree(final int index) {
+        if (subtrees == null) {
+            throw new IllegalStateException("Subtrees are not published yet");
+        }
+        return subtrees.get(index);
+    }
+
+    /**
+     * Called by a helper when a claimed subtree is learned, or failed to be learned.
+     *
+     * @param index   the subtree index
+     * @param failure the failure, or null if the subtree is learned successfully
+     */
+    public synchronized void subtreeFinished(final int index, @Nullable final Throwable failure) {
+        subtreesInProgress.remove(index);
+        if (failure != null && helperFailure == null) {
+            helperFailure = failure;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Called by the primary learner when all subtrees it has claimed are learned. Blocks until all subtrees claimed
+     * by helpers are learned.
+     *
+     * @throws InterruptedException           if the current thread is interrupted
+     * @throws MerkleSynchronizationException if any helper failed to learn a subtree
+     */
+    public synchronized void awaitHelpers() throws InterruptedException {
+        closed = true;
+        notifyAll();
+        while (!subtreesInProgress.isEmpty()) {
+            wait();
+        }
+        if (helperFailure != null) {
+            throw new MerkleSynchronizationException("Failed to learn a subtree from a helper teacher", helperFailure);
+        }
+    }
+
+    /**
+     * Called if the primary learner fails. Breaks all helper connections, and waits for helpers to stop learning
+     * subtrees, so the partially learned tree can be safely released.
+     */
+    public synchronized void abort() {
+        closed = true;
+        notifyAll();
+        subtreesInProgress.values().forEach(Runnable::run);
+        try {
+            while (!subtreesInProgress.isEmpty()) {
+                wait();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
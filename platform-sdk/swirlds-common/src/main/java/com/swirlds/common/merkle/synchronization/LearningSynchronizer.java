@@ -41,6 +41,9 @@ import com.swirlds.common.threading.pool.StandardWorkGroup;
 import com.swirlds.logging.legacy.payload.SynchronizationCompletePayload;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.Objects;
@@ -96,6 +99,12 @@ public class LearningSynchronizer implements ReconnectNodeCount {
 
     private final ReconnectMapStats mapStats;
 
+    /**
+     * Distributes subtrees between this learner and helper learners, or null if the whole tree is learned from a
+     * single teacher.
+     */
+    private final LearnerSubtreeDispatcher dispatcher;
+
     /**
      * Create a new learning synchronizer.
      *
@@ -117,6 +126,34 @@ public class LearningSynchronizer implements ReconnectNodeCount {
             @NonNull final Runnable breakConnection,
             @NonNull final ReconnectConfig reconnectConfig,
             @NonNull final Metrics metrics) {
+        this(threadManager, in, out, root, breakConnection, reconnectConfig, metrics, null);
+    }
+
+    /**
+     * Create a new learning synchronizer, which may share subtrees with custom reconnect views with helper learners.
+     * The teacher must be created with {@code learnerSelectsSubtrees} set to true if a dispatcher is provided.
+     *
+     * @param threadManager   responsible for managing thread lifecycles
+     * @param in              the input stream
+     * @param out             the output stream
+     * @param root            the root of the tree
+     * @param breakConnection a method that breaks the connection. Used iff an exception is encountered. Prevents
+     *                        deadlock if there is a thread stuck on a blocking IO operation that will never finish due
+     *                        to a failure.
+     * @param reconnectConfig the configuration for the reconnect
+     * @param metrics         a Metrics instance for ReconnectMapStats
+     * @param dispatcher      distributes subtrees between this learner and helper learners, or null to learn the whole
+     *                        tree from a single teacher
+     */
+    public LearningSynchronizer(
+            @NonNull final ThreadManager threadManager,
+            @NonNull final MerkleDataInputStream in,
+            @NonNull final MerkleDataOutputStream out,
+            @NonNull final MerkleNode root,
+            @NonNull final Runnable breakConnection,
+            @NonNull final ReconnectConfig reconnectConfig,
+            @NonNull final Metrics metrics,
+            @Nullable final LearnerSubtreeDispatcher dispatcher) {
 
         this.threadManager = Objects.requireNonNull(threadManager, "threadManager is null");
 
@@ -131,6 +168,7 @@ public class LearningSynchronizer implements ReconnectNodeCount {
         this.breakConnection = breakConnection;
 
         this.mapStats = new ReconnectMapMetrics(metrics, null, null);
+        this.dispatcher = dispatcher;
     }
 
     /**
@@ -158,10 +196,33 @@ public class LearningSynchronizer implements ReconnectNodeCount {
         }
     }
 
+    /**
+     * Synchronize a single subtree in the role of a helper learner. The root of the subtree must already be attached
+     * to the tree being learned by the primary learner. The subtree is not hashed, and it is not released on failure,
+     * both are done by the primary learner.
+     */
+    public void synchronizeSubtree() throws InterruptedException {
+        try {
+            receiveTree();
+            initialize();
+            logStatistics();
+        } catch (final InterruptedException ex) {
+            logger.warn(RECONNECT.getMarker(), "subtree synchronization interrupted");
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (final Exception ex) {
+            throw new MerkleSynchronizationException(ex);
+        }
+    }
+
     /**
      * Attempt to free any and all resources that were acquired during the reconnect attempt.
      */
     private void abort() {
+        if (dispatcher != null) {
+            // Helpers may still be adding nodes to the tree
+            dispatcher.abort();
+        }
         logger.warn(
                 RECONNECT.getMarker(),
                 "Deleting partially constructed tree:\n{}",
@@ -188,18 +249,54 @@ public class LearningSynchronizer implements ReconnectNodeCount {
         logger.info(RECONNECT.getMarker(), "synchronizing tree");
         final long start = System.currentTimeMillis();
 
+        boolean firstTree = true;
+        int subtreeIndex = 0;
         while (!rootsToReceive.isEmpty()) {
-            final MerkleNode root = receiveTree(rootsToReceive.remove());
+            final MerkleNode subtreeRoot = rootsToReceive.remove();
+            if (!firstTree && dispatcher != null && !claimSubtree(subtreeIndex++)) {
+                logger.info(
+                        RECONNECT.getMarker(),
+                        "tree rooted at {} with route {} is received from another teacher",
+                        subtreeRoot.getClass().getName(),
+                        subtreeRoot.getRoute());
+                continue;
+            }
+            final MerkleNode root = receiveTree(subtreeRoot);
             if (newRoot == null) {
                 // The first tree synchronized will contain the root of the tree as a whole
                 newRoot = root;
             }
+            if (firstTree && dispatcher != null) {
+                // All remaining roots have custom views, and they are already attached to the new tree
+                dispatcher.publish(new ArrayList<>(rootsToReceive));
+            }
+            firstTree = false;
+        }
+        if (dispatcher != null) {
+            dispatcher.awaitHelpers();
         }
 
         synchronizationTimeMilliseconds = System.currentTimeMillis() - start;
         logger.info(RECONNECT.getMarker(), "synchronization complete");
     }
 
+    /**
+     * Decide whether a subtree is received from this learner's teacher, and let the teacher know.
+     *
+     * @param subtreeIndex the index of the subtree, not counting the main tree
+     * @return true if the subtree is received from this learner's teacher, false if it's received by a helper
+     */
+    private boolean claimSubtree(final int subtreeIndex) {
+        final boolean claimed = dispatcher.claimForPrimary(subtreeIndex);
+        try {
+            outputStream.writeBoolean(claimed);
+            outputStream.flush();
+        } catch (final IOException e) {
+            throw new MerkleSynchronizationException(e);
+        }
+        return claimed;
+    }
+
     /**
      * Initialize the tree.
      */
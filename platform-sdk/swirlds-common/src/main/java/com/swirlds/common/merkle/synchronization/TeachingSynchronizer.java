@@ -34,6 +34,7 @@ import com.swirlds.common.threading.pool.StandardWorkGroup;
 import com.swirlds.config.api.Configuration;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
 import java.net.SocketException;
 import java.util.LinkedList;
 import java.util.Objects;
@@ -86,6 +87,12 @@ public class TeachingSynchronizer {
 
     private final Time time;
 
+    /**
+     * If true, the learner tells whether it needs every subtree other than the main tree, as some subtrees may be
+     * received from other teachers.
+     */
+    private final boolean learnerSelectsSubtrees;
+
     /**
      * Create a new teaching synchronizer.
      *
@@ -108,6 +115,40 @@ public class TeachingSynchronizer {
             @NonNull final MerkleNode root,
             @Nullable final Runnable breakConnection,
             @NonNull final ReconnectConfig reconnectConfig) {
+        this(
+                time,
+                threadManager,
+                in,
+                out,
+                new TeacherSubtree(configuration, root),
+                breakConnection,
+                reconnectConfig,
+                false);
+    }
+
+    /**
+     * Create a new teaching synchronizer for a subtree.
+     *
+     * @param threadManager          responsible for managing thread lifecycles
+     * @param in                     the input stream
+     * @param out                    the output stream
+     * @param subtree                the subtree to send first, typically the whole tree
+     * @param breakConnection        a method that breaks the connection. Used iff an exception is encountered.
+     *                               Prevents deadlock if there is a thread stuck on a blocking IO operation that will
+     *                               never finish due to a failure.
+     * @param reconnectConfig        reconnect configuration from platform
+     * @param learnerSelectsSubtrees if true, the learner tells whether it needs every subtree with a custom reconnect
+     *                               view, as it may receive some of them from other teachers
+     */
+    public TeachingSynchronizer(
+            @NonNull final Time time,
+            @NonNull final ThreadManager threadManager,
+            @NonNull final MerkleDataInputStream in,
+            @NonNull final MerkleDataOutputStream out,
+            @NonNull final TeacherSubtree subtree,
+            @Nullable final Runnable breakConnection,
+            @NonNull final ReconnectConfig reconnectConfig,
+            final boolean learnerSelectsSubtrees) {
 
         this.time = Objects.requireNonNull(time);
         this.threadManager = Objects.requireNonNull(threadManager, "threadManager must not be null");
@@ -115,10 +156,11 @@ public class TeachingSynchronizer {
         outputStream = Objects.requireNonNull(out, "out must not be null");
 
         subtrees = new LinkedList<>();
-        subtrees.add(new TeacherSubtree(configuration, root));
+        subtrees.add(Objects.requireNonNull(subtree, "subtree must not be null"));
 
         this.breakConnection = breakConnection;
         this.reconnectConfig = Objects.requireNonNull(reconnectConfig, "reconnectConfig must not be null");
+        this.learnerSelectsSubtrees = learnerSelectsSubtrees;
     }
 
     /**
@@ -126,8 +168,19 @@ public class TeachingSynchronizer {
      */
     public void synchronize() throws InterruptedException {
         try {
+            boolean firstTree = true;
             while (!subtrees.isEmpty()) {
                 try (final TeacherSubtree subtree = subtrees.remove()) {
+                    final boolean selectable = learnerSelectsSubtrees && !firstTree;
+                    firstTree = false;
+                    if (selectable && !isSubtreeRequested()) {
+                        logger.info(
+                                RECONNECT.getMarker(),
+                                "tree rooted at {} with route {} is sent by another teacher",
+                                subtree.getRoot().getClass().getName(),
+                                subtree.getRoot().getRoute());
+                        continue;
+                    }
                     subtree.getView().waitUntilReady();
                     sendTree(subtree.getRoot(), subtree.getView());
                 }
@@ -140,6 +193,17 @@ public class TeachingSynchronizer {
         }
     }
 
+    /**
+     * Read whether the learner needs the next subtree from this teacher.
+     */
+    private boolean isSubtreeRequested() {
+        try {
+            return inputStream.readBoolean();
+        } catch (final IOException e) {
+            throw new MerkleSynchronizationException(e);
+        }
+    }
+
     /**
      * Send a tree (or subtree).
      */
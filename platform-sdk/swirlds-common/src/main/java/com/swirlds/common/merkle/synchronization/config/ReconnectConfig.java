@@ -56,6 +56,12 @@ import java.time.Duration;
  * @param pullLearnerRootResponseTimeout         In pull-based reconnect implementations (virtual trees only), the
  *                                               timeout on the learner side to get a virtual root node response from
  *                                               teacher
+ * @param maxHelperTeachers                      The maximum number of additional peers a learner receives subtrees
+ *                                               with custom reconnect views (such as virtual maps) from, in parallel
+ *                                               with the peer that sends the rest of the state. Helpers are only used
+ *                                               if they have a fully signed state for the same round. If 0, the whole
+ *                                               state is received from a single peer. Changes the reconnect wire
+ *                                               protocol, so it must be enabled on all nodes at once.
  */
 @ConfigData("reconnect")
 public record ReconnectConfig(
@@ -70,4 +76,5 @@ public record ReconnectConfig(
         @ConfigProperty(defaultValue = "10m") Duration minimumTimeBetweenReconnects,
         @ConfigProperty(defaultValue = "0") int teacherMaxNodesPerSecond,
         @ConfigProperty(defaultValue = "1us") Duration teacherRateLimiterSleep,
-        @ConfigProperty(defaultValue = "60s") Duration pullLearnerRootResponseTimeout) {}
+        @ConfigProperty(defaultValue = "60s") Duration pullLearnerRootResponseTimeout,
+        @ConfigProperty(defaultValue = "0") int maxHelperTeachers) {}
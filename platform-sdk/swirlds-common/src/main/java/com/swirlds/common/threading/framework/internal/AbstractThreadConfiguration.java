@@ -103,6 +103,11 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
      */
     private int priority = Thread.NORM_PRIORITY;
 
+    /**
+     * If new threads are virtual threads or platform threads.
+     */
+    private boolean virtual = false;
+
     /**
      * The classloader for new threads.
      */
@@ -148,6 +153,7 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
         this.threadGroup = that.threadGroup;
         this.daemon = that.daemon;
         this.priority = that.priority;
+        this.virtual = that.virtual;
         this.contextClassLoader = that.contextClassLoader;
         this.exceptionHandler = that.exceptionHandler;
         this.runnable = that.runnable;
@@ -213,7 +219,7 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
      */
     protected Thread buildThread(final boolean start) {
         final Runnable runnable = requireNonNull(getRunnable(), "runnable must not be null");
-        final Thread thread = threadManager.createThread(getThreadGroup(), runnable);
+        final Thread thread = createThread(runnable);
         configureThread(thread);
 
         if (start) {
@@ -223,6 +229,20 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
         return thread;
     }
 
+    /**
+     * Create a new unstarted thread, either a virtual or a platform one, depending on this configuration.
+     * The thread is not configured.
+     *
+     * @param runnable
+     * 		the runnable that will be executed on the thread
+     * @return a new thread
+     */
+    protected Thread createThread(final Runnable runnable) {
+        return virtual
+                ? threadManager.createVirtualThread(runnable)
+                : threadManager.createThread(getThreadGroup(), runnable);
+    }
+
     /**
      * <p>
      * Build a "seed" that can be planted in a thread. When the runnable is executed, it takes over the calling thread
@@ -363,8 +383,8 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
      */
     protected void configureThread(final Thread thread) {
         thread.setName(buildThreadName());
-        if (!thread.isAlive()) {
-            // Daemon status can only be configured before a thread starts.
+        if (!thread.isAlive() && !thread.isVirtual()) {
+            // Daemon status can only be configured before a thread starts. Virtual threads are always daemons.
             thread.setDaemon(isDaemon());
         }
         thread.setPriority(getPriority());
@@ -434,6 +454,27 @@ public abstract class AbstractThreadConfiguration<C extends AbstractThreadConfig
         return (C) this;
     }
 
+    /**
+     * Get whether new threads are virtual threads.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Set whether new threads are virtual threads. Virtual threads are always daemon threads, they are not
+     * placed to the configured thread group, and their priority can't be changed.
+     *
+     * @return this object
+     */
+    @SuppressWarnings("unchecked")
+    public C setVirtual(final boolean virtual) {
+        throwIfImmutable();
+
+        this.virtual = virtual;
+        return (C) this;
+    }
+
     /**
      * Get the class loader for new threads.
      */
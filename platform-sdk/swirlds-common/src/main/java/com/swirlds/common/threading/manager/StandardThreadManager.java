@@ -37,6 +37,15 @@ public class StandardThreadManager implements ThreadManager {
         return new Thread(threadGroup, runnable);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Thread createVirtualThread(final Runnable runnable) {
+        throwIfNotInPhase(LifecyclePhase.STARTED);
+        return Thread.ofVirtual().unstarted(runnable);
+    }
+
     /**
      * {@inheritDoc}
      */
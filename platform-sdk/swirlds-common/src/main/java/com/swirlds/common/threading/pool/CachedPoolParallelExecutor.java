@@ -16,6 +16,7 @@
 
 package com.swirlds.common.threading.pool;
 
+import com.swirlds.common.threading.framework.config.ThreadConfiguration;
 import com.swirlds.common.threading.manager.ThreadManager;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -39,6 +40,11 @@ public class CachedPoolParallelExecutor implements ParallelExecutor {
 
     private final ThreadFactory factory;
 
+    /**
+     * If true, every background task is executed on a new virtual thread.
+     */
+    private final boolean virtualThreads;
+
     /**
      * @param threadManager
      * 		responsible for managing thread lifecycles
@@ -46,7 +52,25 @@ public class CachedPoolParallelExecutor implements ParallelExecutor {
      * 		the name given to the threads in the pool
      */
     public CachedPoolParallelExecutor(final ThreadManager threadManager, final String name) {
-        factory = threadManager.createThreadFactory("parallel-executor", name);
+        this(threadManager, name, false);
+    }
+
+    /**
+     * @param threadManager
+     * 		responsible for managing thread lifecycles
+     * @param name
+     * 		the name given to the threads in the pool
+     * @param virtualThreads
+     * 		if true, background tasks are executed on virtual threads rather than on pooled platform threads
+     */
+    public CachedPoolParallelExecutor(
+            final ThreadManager threadManager, final String name, final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        factory = new ThreadConfiguration(threadManager)
+                .setComponent("parallel-executor")
+                .setThreadName(name)
+                .setVirtual(virtualThreads)
+                .buildFactory();
     }
 
     /**
@@ -64,7 +88,10 @@ public class CachedPoolParallelExecutor implements ParallelExecutor {
     public void start() {
         throwIfImmutable("should only be started once");
         immutable = true;
-        threadPool = Executors.newCachedThreadPool(factory);
+        // Virtual threads are cheap to create and are not supposed to be pooled
+        threadPool = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(factory)
+                : Executors.newCachedThreadPool(factory);
     }
 
     /**
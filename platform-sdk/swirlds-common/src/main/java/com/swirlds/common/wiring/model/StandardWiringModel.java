@@ -19,10 +19,12 @@ package com.swirlds.common.wiring.model;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.NO_OP;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.SEQUENTIAL;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.SEQUENTIAL_THREAD;
+import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.SEQUENTIAL_VIRTUAL_THREAD;
 
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.wiring.model.diagram.HyperlinkBuilder;
 import com.swirlds.common.wiring.model.internal.monitor.HealthMonitor;
+import com.swirlds.common.wiring.model.internal.monitor.VirtualThreadPinningMonitor;
 import com.swirlds.common.wiring.model.internal.standard.HeartbeatScheduler;
 import com.swirlds.common.wiring.model.internal.standard.JvmAnchor;
 import com.swirlds.common.wiring.schedulers.TaskScheduler;
@@ -75,6 +77,21 @@ public class StandardWiringModel extends TraceableWiringModel {
      */
     private final List<SequentialThreadTaskScheduler<?>> threadSchedulers = new ArrayList<>();
 
+    /**
+     * Thread schedulers running on virtual threads, monitored for carrier thread pinning.
+     */
+    private final List<TaskScheduler<?>> virtualThreadSchedulers = new ArrayList<>();
+
+    /**
+     * Reports virtual thread schedulers that pin their carrier threads, only set while the model is running.
+     */
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    /**
+     * The minimum pinned duration reported by the pinning monitor.
+     */
+    private final Duration virtualThreadPinningThreshold;
+
     /**
      * The default fork join pool, schedulers not explicitly assigned a pool will use this one.
      */
@@ -119,6 +136,7 @@ public class StandardWiringModel extends TraceableWiringModel {
 
         healthLogThreshold = builder.getHealthLogThreshold();
         healthLogPeriod = builder.getHealthLogPeriod();
+        virtualThreadPinningThreshold = builder.getVirtualThreadPinningThreshold();
         healthMonitorScheduler = healthMonitorSchedulerBuilder.build();
         healthMonitorInputWire = healthMonitorScheduler.buildInputWire("check system health");
         buildHeartbeatWire(builder.getHealthMonitorPeriod()).solderTo(healthMonitorInputWire);
@@ -185,9 +203,12 @@ public class StandardWiringModel extends TraceableWiringModel {
     @Override
     public void registerScheduler(@NonNull final TaskScheduler<?> scheduler, @Nullable final String hyperlink) {
         super.registerScheduler(scheduler, hyperlink);
-        if (scheduler.getType() == SEQUENTIAL_THREAD) {
+        if (scheduler.getType() == SEQUENTIAL_THREAD || scheduler.getType() == SEQUENTIAL_VIRTUAL_THREAD) {
             threadSchedulers.add((SequentialThreadTaskScheduler<?>) scheduler);
         }
+        if (scheduler.getType() == SEQUENTIAL_VIRTUAL_THREAD) {
+            virtualThreadSchedulers.add(scheduler);
+        }
     }
 
     /**
@@ -212,6 +233,12 @@ public class StandardWiringModel extends TraceableWiringModel {
         checkForIllegalDirectSchedulerUsage();
         checkForUnboundInputWires();
 
+        if (!virtualThreadSchedulers.isEmpty()) {
+            pinningMonitor = new VirtualThreadPinningMonitor(
+                    platformContext, virtualThreadSchedulers, virtualThreadPinningThreshold, healthLogPeriod);
+            pinningMonitor.start();
+        }
+
         if (heartbeatScheduler != null) {
             heartbeatScheduler.start();
         }
@@ -236,6 +263,11 @@ public class StandardWiringModel extends TraceableWiringModel {
             threadScheduler.stop();
         }
 
+        if (pinningMonitor != null) {
+            pinningMonitor.stop();
+            pinningMonitor = null;
+        }
+
         if (anchor != null) {
             anchor.stop();
         }
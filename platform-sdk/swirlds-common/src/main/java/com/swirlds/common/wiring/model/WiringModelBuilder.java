@@ -38,6 +38,7 @@ public class WiringModelBuilder {
     private Duration healthMonitorPeriod = Duration.ofMillis(100);
     private Duration healthLogThreshold = Duration.ofSeconds(5);
     private Duration healthLogPeriod = Duration.ofMinutes(10);
+    private Duration virtualThreadPinningThreshold = Duration.ofMillis(20);
 
     /**
      * Create a new builder.
@@ -173,6 +174,20 @@ public class WiringModelBuilder {
         return this;
     }
 
+    /**
+     * Set the minimum duration of a carrier thread being pinned by a virtual thread task scheduler that is reported by
+     * the model. Pinning is only monitored if there is at least one virtual thread task scheduler. Default is 20
+     * milliseconds.
+     *
+     * @param virtualThreadPinningThreshold the minimum reported pinned duration
+     * @return this
+     */
+    @NonNull
+    public WiringModelBuilder withVirtualThreadPinningThreshold(@NonNull final Duration virtualThreadPinningThreshold) {
+        this.virtualThreadPinningThreshold = Objects.requireNonNull(virtualThreadPinningThreshold);
+        return this;
+    }
+
     /**
      * Build the wiring model.
      *
@@ -275,4 +290,14 @@ public class WiringModelBuilder {
     Duration getHealthLogPeriod() {
         return healthLogPeriod;
     }
+
+    /**
+     * Get the minimum duration of a carrier thread being pinned by a virtual thread task scheduler that is reported.
+     *
+     * @return the minimum reported pinned duration
+     */
+    @NonNull
+    Duration getVirtualThreadPinningThreshold() {
+        return virtualThreadPinningThreshold;
+    }
 }
@@ -52,8 +52,9 @@ public final class DirectSchedulerChecks {
      * <li>
      * Calling into a component with type {@link TaskSchedulerType#DIRECT DIRECT}
      * from more than one component with type
-     * {@link TaskSchedulerType#SEQUENTIAL SEQUENTIAL} or type
-     * {@link TaskSchedulerType#SEQUENTIAL_THREAD SEQUENTIAL_THREAD} is not allowed.
+     * {@link TaskSchedulerType#SEQUENTIAL SEQUENTIAL}, type
+     * {@link TaskSchedulerType#SEQUENTIAL_THREAD SEQUENTIAL_THREAD} or type
+     * {@link TaskSchedulerType#SEQUENTIAL_VIRTUAL_THREAD SEQUENTIAL_VIRTUAL_THREAD} is not allowed.
      * </li>
      * <li>
      * Calling into a component A with type
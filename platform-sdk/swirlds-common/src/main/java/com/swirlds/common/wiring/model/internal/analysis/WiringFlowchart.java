@@ -23,6 +23,7 @@ import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.DI
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.DIRECT_THREADSAFE;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.SEQUENTIAL;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.SEQUENTIAL_THREAD;
+import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.SEQUENTIAL_VIRTUAL_THREAD;
 
 import com.swirlds.common.wiring.model.diagram.ModelEdgeSubstitution;
 import com.swirlds.common.wiring.model.diagram.ModelGroup;
@@ -309,7 +310,9 @@ public class WiringFlowchart {
                 return CONCURRENT;
             }
 
-            if (vertex.getType() == SEQUENTIAL || vertex.getType() == SEQUENTIAL_THREAD) {
+            if (vertex.getType() == SEQUENTIAL
+                    || vertex.getType() == SEQUENTIAL_THREAD
+                    || vertex.getType() == SEQUENTIAL_VIRTUAL_THREAD) {
                 if (hasSequential) {
                     // We've detected more than one sequential scheduler type, so there is more than one logical
                     // thread of execution within this group.
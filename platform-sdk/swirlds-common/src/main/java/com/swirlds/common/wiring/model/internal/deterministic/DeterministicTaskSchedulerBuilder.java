@@ -74,7 +74,10 @@ public class DeterministicTaskSchedulerBuilder<OUT> extends AbstractTaskSchedule
 
         final TaskScheduler<OUT> scheduler =
                 switch (type) {
-                    case CONCURRENT, SEQUENTIAL, SEQUENTIAL_THREAD -> new DeterministicTaskScheduler<>(
+                    case CONCURRENT,
+                            SEQUENTIAL,
+                            SEQUENTIAL_THREAD,
+                            SEQUENTIAL_VIRTUAL_THREAD -> new DeterministicTaskScheduler<>(
                             model,
                             name,
                             type,
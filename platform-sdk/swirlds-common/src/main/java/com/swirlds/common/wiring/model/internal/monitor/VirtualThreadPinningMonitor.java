@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.model.internal.monitor;
+
+import static com.swirlds.common.units.TimeUnit.UNIT_NANOSECONDS;
+import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
+import static com.swirlds.logging.legacy.LogMarker.STARTUP;
+
+import com.swirlds.base.state.Startable;
+import com.swirlds.base.state.Stoppable;
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.utility.throttle.RateLimitedLogger;
+import com.swirlds.common.wiring.schedulers.TaskScheduler;
+import com.swirlds.common.wiring.schedulers.internal.SequentialThreadTaskScheduler;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Detects task schedulers running on virtual threads that pin their carrier threads. A virtual thread pins its carrier
+ * if it blocks while holding a monitor or while inside native code. A pinned carrier can't run other virtual threads,
+ * which defeats the purpose of running the scheduler on a virtual thread. Such schedulers should be switched to
+ * {@link com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType#SEQUENTIAL_THREAD SEQUENTIAL_THREAD}, or the
+ * blocking code should be fixed.
+ * <p>
+ * Pinning is detected using the JFR {@code jdk.VirtualThreadPinned} event, which is only recorded while this monitor is
+ * running.
+ */
+public class VirtualThreadPinningMonitor implements Startable, Stoppable {
+
+    private static final Logger logger = LogManager.getLogger(VirtualThreadPinningMonitor.class);
+
+    /**
+     * The JFR event emitted when a virtual thread blocks while pinned to its carrier.
+     */
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * Scheduler names by the names of their threads.
+     */
+    private final Map<String /* thread name */, String /* scheduler name */> schedulerNames = new HashMap<>();
+
+    /**
+     * A rate limited logger for each scheduler.
+     */
+    private final Map<String /* scheduler name */, RateLimitedLogger> schedulerLoggers = new HashMap<>();
+
+    /**
+     * Pinned durations shorter than this are not reported.
+     */
+    private final Duration pinningThreshold;
+
+    /**
+     * The stream of JFR events, only set while this monitor is running.
+     */
+    private RecordingStream recordingStream;
+
+    /**
+     * Constructor.
+     *
+     * @param platformContext  the platform context
+     * @param schedulers       the virtual thread task schedulers to monitor
+     * @param pinningThreshold pinned durations shorter than this are not reported
+     * @param logPeriod        the minimum period between log messages about a single scheduler
+     */
+    public VirtualThreadPinningMonitor(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final List<TaskScheduler<?>> schedulers,
+            @NonNull final Duration pinningThreshold,
+            @NonNull final Duration logPeriod) {
+        this(platformContext, schedulers, pinningThreshold, logPeriod, logger);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param platformContext  the platform context
+     * @param schedulers       the virtual thread task schedulers to monitor
+     * @param pinningThreshold pinned durations shorter than this are not reported
+     * @param logPeriod        the minimum period between log messages about a single scheduler
+     * @param logger           the logger to report pinning to
+     */
+    VirtualThreadPinningMonitor(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final List<TaskScheduler<?>> schedulers,
+            @NonNull final Duration pinningThreshold,
+            @NonNull final Duration logPeriod,
+            @NonNull final Logger logger) {
+
+        this.pinningThreshold = Objects.requireNonNull(pinningThreshold);
+        for (final TaskScheduler<?> scheduler : schedulers) {
+            final String schedulerName = scheduler.getName();
+            schedulerNames.put(SequentialThreadTaskScheduler.getThreadName(schedulerName), schedulerName);
+            schedulerLoggers.put(schedulerName, new RateLimitedLogger(logger, platformContext.getTime(), logPeriod));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void start() {
+        if (recordingStream != null || schedulerNames.isEmpty()) {
+            return;
+        }
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(pinningThreshold).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::reportPinnedEvent);
+            recordingStream.startAsync();
+        } catch (final RuntimeException e) {
+            // JFR may be unavailable in some environments, pinning is then not reported
+            logger.error(EXCEPTION.getMarker(), "Unable to monitor virtual thread schedulers for pinning", e);
+            recordingStream = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    /**
+     * Report a pinned virtual thread, if it belongs to one of the monitored schedulers.
+     *
+     * @param event the JFR pinned event
+     */
+    private void reportPinnedEvent(@NonNull final RecordedEvent event) {
+        final RecordedThread thread = event.getThread();
+        if (thread == null) {
+            return;
+        }
+        final String schedulerName = schedulerNames.get(thread.getJavaName());
+        if (schedulerName == null) {
+            // not a scheduler thread
+            return;
+        }
+
+        final String formattedDuration =
+                UNIT_NANOSECONDS.buildFormatter(event.getDuration().toNanos()).render();
+        schedulerLoggers
+                .get(schedulerName)
+                .warn(
+                        STARTUP.getMarker(),
+                        "Virtual thread task scheduler {} pinned its carrier thread for {} at {}. "
+                                + "Consider using a SEQUENTIAL_THREAD scheduler instead.",
+                        schedulerName,
+                        formattedDuration,
+                        getTopFrame(event));
+    }
+
+    /**
+     * Get a human-readable description of the top application frame of a pinned event.
+     *
+     * @param event the JFR pinned event
+     * @return the description of the frame
+     */
+    @NonNull
+    private static String getTopFrame(@NonNull final RecordedEvent event) {
+        final RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "unknown location";
+        }
+        for (final RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && !frame.getMethod().getType().getName().startsWith("java.")) {
+                return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+                        + frame.getLineNumber();
+            }
+        }
+        return "unknown location";
+    }
+}
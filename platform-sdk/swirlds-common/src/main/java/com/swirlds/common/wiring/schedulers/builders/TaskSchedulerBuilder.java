@@ -62,6 +62,18 @@ public interface TaskSchedulerBuilder<OUT> {
     @NonNull
     TaskSchedulerBuilder<OUT> withUnhandledTaskCapacity(long unhandledTaskCapacity);
 
+    /**
+     * Set the maximum number of tasks that a {@link TaskSchedulerType#SEQUENTIAL} task scheduler handles in a single
+     * activation on its fork join pool. Default is 1, which schedules each task separately. Larger values reduce the
+     * scheduling overhead for schedulers that handle many small tasks, at the cost of holding on to a pool thread for
+     * longer. Ordering and back pressure semantics are not affected. Ignored by all other task scheduler types.
+     *
+     * @param batchSize the maximum number of tasks handled in a single activation, must be at least 1
+     * @return this
+     */
+    @NonNull
+    TaskSchedulerBuilder<OUT> withBatchSize(int batchSize);
+
     /**
      * Set whether the task scheduler should enable flushing. Default false. Flushing a scheduler with this disabled
      * will cause the scheduler to throw an exception. Enabling flushing may add overhead.
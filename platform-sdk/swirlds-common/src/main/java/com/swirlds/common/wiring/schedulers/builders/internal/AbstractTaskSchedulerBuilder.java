@@ -56,6 +56,7 @@ public abstract class AbstractTaskSchedulerBuilder<OUT> implements TaskScheduler
     protected TaskSchedulerType type = TaskSchedulerType.SEQUENTIAL;
     protected final String name;
     protected long unhandledTaskCapacity = 1;
+    protected int batchSize = 1;
     protected boolean flushingEnabled = false;
     protected boolean squelchingEnabled = false;
     protected boolean externalBackPressure = false;
@@ -115,6 +116,9 @@ public abstract class AbstractTaskSchedulerBuilder<OUT> implements TaskScheduler
         if (configuration.unhandledTaskCapacity() != null) {
             withUnhandledTaskCapacity(configuration.unhandledTaskCapacity());
         }
+        if (configuration.batchSize() != null) {
+            withBatchSize(configuration.batchSize());
+        }
         if (configuration.unhandledTaskMetricEnabled() != null) {
             withUnhandledTaskMetricEnabled(configuration.unhandledTaskMetricEnabled());
         }
@@ -150,6 +154,19 @@ public abstract class AbstractTaskSchedulerBuilder<OUT> implements TaskScheduler
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public AbstractTaskSchedulerBuilder<OUT> withBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
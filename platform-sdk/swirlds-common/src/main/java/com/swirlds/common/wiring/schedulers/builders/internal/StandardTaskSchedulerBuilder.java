@@ -18,6 +18,7 @@ package com.swirlds.common.wiring.schedulers.builders.internal;
 
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.DIRECT_THREADSAFE;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.NO_OP;
+import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.SEQUENTIAL_VIRTUAL_THREAD;
 
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.metrics.FunctionGauge;
@@ -31,6 +32,7 @@ import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
 import com.swirlds.common.wiring.schedulers.internal.ConcurrentTaskScheduler;
 import com.swirlds.common.wiring.schedulers.internal.DirectTaskScheduler;
 import com.swirlds.common.wiring.schedulers.internal.NoOpTaskScheduler;
+import com.swirlds.common.wiring.schedulers.internal.SequentialBatchTaskScheduler;
 import com.swirlds.common.wiring.schedulers.internal.SequentialTaskScheduler;
 import com.swirlds.common.wiring.schedulers.internal.SequentialThreadTaskScheduler;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -140,19 +142,33 @@ public class StandardTaskSchedulerBuilder<OUT> extends AbstractTaskSchedulerBuil
                             flushingEnabled,
                             squelchingEnabled,
                             insertionIsBlocking);
-                    case SEQUENTIAL -> new SequentialTaskScheduler<>(
-                            model,
-                            name,
-                            pool,
-                            buildUncaughtExceptionHandler(),
-                            counters.onRamp(),
-                            counters.offRamp(),
-                            busyFractionTimer,
-                            unhandledTaskCapacity,
-                            flushingEnabled,
-                            squelchingEnabled,
-                            insertionIsBlocking);
-                    case SEQUENTIAL_THREAD -> new SequentialThreadTaskScheduler<>(
+                    case SEQUENTIAL -> batchSize > 1
+                            ? new SequentialBatchTaskScheduler<>(
+                                    model,
+                                    name,
+                                    pool,
+                                    buildUncaughtExceptionHandler(),
+                                    counters.onRamp(),
+                                    counters.offRamp(),
+                                    busyFractionTimer,
+                                    batchSize,
+                                    unhandledTaskCapacity,
+                                    flushingEnabled,
+                                    squelchingEnabled,
+                                    insertionIsBlocking)
+                            : new SequentialTaskScheduler<>(
+                                    model,
+                                    name,
+                                    pool,
+                                    buildUncaughtExceptionHandler(),
+                                    counters.onRamp(),
+                                    counters.offRamp(),
+                                    busyFractionTimer,
+                                    unhandledTaskCapacity,
+                                    flushingEnabled,
+                                    squelchingEnabled,
+                                    insertionIsBlocking);
+                    case SEQUENTIAL_THREAD, SEQUENTIAL_VIRTUAL_THREAD -> new SequentialThreadTaskScheduler<>(
                             model,
                             name,
                             buildUncaughtExceptionHandler(),
@@ -163,7 +179,8 @@ public class StandardTaskSchedulerBuilder<OUT> extends AbstractTaskSchedulerBuil
                             unhandledTaskCapacity,
                             flushingEnabled,
                             squelchingEnabled,
-                            insertionIsBlocking);
+                            insertionIsBlocking,
+                            type == SEQUENTIAL_VIRTUAL_THREAD);
                     case DIRECT, DIRECT_THREADSAFE -> new DirectTaskScheduler<>(
                             model,
                             name,
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.schedulers.internal;
+
+import com.swirlds.common.wiring.tasks.AbstractTask;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A single activation of a {@link SequentialBatchTaskScheduler}. Handles up to one batch of queued tasks.
+ */
+class SequentialBatchTask extends AbstractTask {
+
+    private final SequentialBatchTaskScheduler<?> scheduler;
+
+    /**
+     * Constructor. The task is created with zero dependencies, but not started automatically. It's the caller
+     * responsibility to start the task using {@link #send()} method.
+     *
+     * @param pool      the fork join pool that will execute this task
+     * @param scheduler the scheduler whose queued tasks are handled by this task
+     */
+    SequentialBatchTask(@NonNull final ForkJoinPool pool, @NonNull final SequentialBatchTaskScheduler<?> scheduler) {
+        super(pool, 0);
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean exec() {
+        scheduler.handleBatch();
+        return true;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.schedulers.internal;
+
+import com.swirlds.common.metrics.extensions.FractionalTimer;
+import com.swirlds.common.wiring.counters.ObjectCounter;
+import com.swirlds.common.wiring.model.TraceableWiringModel;
+import com.swirlds.common.wiring.schedulers.TaskScheduler;
+import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A {@link TaskScheduler} that guarantees that tasks are executed sequentially in the order they are received, and
+ * handles up to a batch of queued tasks every time it is activated on the fork join pool. Semantically equivalent to
+ * {@link SequentialTaskScheduler}, but a pool task is only submitted when the scheduler goes from idle to busy, or when
+ * a full batch has been handled and more tasks are waiting. Schedulers that handle many small tasks spend much less
+ * time on fork join pool overhead this way.
+ *
+ * @param <OUT> the output type of the scheduler (use {@link Void} for a task scheduler with no output type)
+ */
+public class SequentialBatchTaskScheduler<OUT> extends TaskScheduler<OUT> {
+
+    /**
+     * Tasks waiting to be handled, in the order they were received.
+     */
+    private final Queue<SequentialThreadTask> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of tasks that have been added to the queue but not yet handled. A pool task is submitted when this
+     * number goes from 0 to 1, and it is only ever decremented by the single active pool task. This guarantees that at
+     * most one pool task is handling tasks at any time.
+     */
+    private final AtomicLong queuedTaskCount = new AtomicLong();
+
+    private final ObjectCounter onRamp;
+    private final ObjectCounter offRamp;
+    private final FractionalTimer busyTimer;
+    private final UncaughtExceptionHandler uncaughtExceptionHandler;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final long capacity;
+
+    /**
+     * Constructor.
+     *
+     * @param model                    the wiring model containing this scheduler
+     * @param name                     the name of the task scheduler
+     * @param pool                     the fork join pool that will execute tasks on this scheduler
+     * @param uncaughtExceptionHandler the uncaught exception handler
+     * @param onRamp                   an object counter that is incremented when data is added to the task scheduler
+     * @param offRamp                  an object counter that is decremented when data is removed from the task
+     *                                 scheduler
+     * @param busyTimer                a timer that tracks the amount of time the scheduler is busy
+     * @param batchSize                the maximum number of tasks handled in a single activation
+     * @param capacity                 the maximum desired capacity for this task scheduler
+     * @param flushEnabled             if true, then {@link #flush()} will be enabled, otherwise it will throw.
+     * @param squelchingEnabled        if true, then squelching will be enabled, otherwise trying to squelch will throw
+     * @param insertionIsBlocking      when data is inserted into this task scheduler, will it block until capacity is
+     *                                 available?
+     */
+    public SequentialBatchTaskScheduler(
+            @NonNull final TraceableWiringModel model,
+            @NonNull final String name,
+            @NonNull final ForkJoinPool pool,
+            @NonNull final UncaughtExceptionHandler uncaughtExceptionHandler,
+            @NonNull final ObjectCounter onRamp,
+            @NonNull final ObjectCounter offRamp,
+            @NonNull final FractionalTimer busyTimer,
+            final int batchSize,
+            final long capacity,
+            final boolean flushEnabled,
+            final boolean squelchingEnabled,
+            final boolean insertionIsBlocking) {
+
+        super(model, name, TaskSchedulerType.SEQUENTIAL, flushEnabled, squelchingEnabled, insertionIsBlocking);
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+
+        this.pool = Objects.requireNonNull(pool);
+        this.uncaughtExceptionHandler = Objects.requireNonNull(uncaughtExceptionHandler);
+        this.onRamp = Objects.requireNonNull(onRamp);
+        this.offRamp = Objects.requireNonNull(offRamp);
+        this.busyTimer = Objects.requireNonNull(busyTimer);
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void put(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        onRamp.onRamp();
+        scheduleTask(handler, data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean offer(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        final boolean accepted = onRamp.attemptOnRamp();
+        if (accepted) {
+            scheduleTask(handler, data);
+        }
+        return accepted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void inject(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        onRamp.forceOnRamp();
+        scheduleTask(handler, data);
+    }
+
+    /**
+     * Schedule a task to be handled. This should only be called after successfully on-ramping (one way or another).
+     *
+     * @param handler the method that will be called when this task is executed
+     * @param data    the data to be passed to the consumer for this task
+     */
+    private void scheduleTask(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        // The task must be in the queue before it is counted, the active pool task relies on
+        // every counted task being available in the queue.
+        tasks.add(new SequentialThreadTask(handler, data));
+        if (queuedTaskCount.getAndIncrement() == 0) {
+            new SequentialBatchTask(pool, this).send();
+        }
+    }
+
+    /**
+     * Handle up to one batch of queued tasks. If there are more tasks waiting afterwards, schedule another activation
+     * instead of handling them right away, so that a busy scheduler doesn't monopolize a pool thread.
+     */
+    void handleBatch() {
+        final long count = Math.min(queuedTaskCount.get(), batchSize);
+
+        busyTimer.activate();
+        for (long i = 0; i < count; i++) {
+            final SequentialThreadTask task = tasks.poll();
+            try {
+                task.handle();
+            } catch (final Throwable t) {
+                uncaughtExceptionHandler.uncaughtException(Thread.currentThread(), t);
+            } finally {
+                offRamp.offRamp();
+            }
+        }
+        busyTimer.deactivate();
+
+        if (queuedTaskCount.addAndGet(-count) > 0) {
+            new SequentialBatchTask(pool, this).send();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getUnprocessedTaskCount() {
+        return onRamp.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        throwIfFlushDisabled();
+        onRamp.waitUntilEmpty();
+    }
+}
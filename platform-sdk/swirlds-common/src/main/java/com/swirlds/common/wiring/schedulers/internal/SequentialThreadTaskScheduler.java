@@ -39,6 +39,10 @@ import java.util.function.Consumer;
 /**
  * A scheduler that performs work sequentially on a dedicated thread. This class has very similar semantics to
  * {@link DirectTaskScheduler}, except that work is done on a thread instead of on a fork join pool.
+ * <p>
+ * The dedicated thread may be a virtual thread. A virtual thread waits for new tasks without polling, so it doesn't
+ * occupy a carrier thread while the queue is empty. It's never interrupted, when the scheduler is stopped it's woken up
+ * with a task that does nothing, so tasks that are still being handled aren't affected by an interrupt.
  *
  * @param <OUT> the type of the primary output wire
  */
@@ -55,10 +59,21 @@ public class SequentialThreadTaskScheduler<OUT> extends TaskScheduler<OUT> imple
 
     private static final int BUFFER_SIZE = 1024;
 
+    /**
+     * A task that does nothing, used to wake up a virtual thread that is waiting for tasks when the scheduler is
+     * stopped. It's not counted by the on-ramp and off-ramp counters.
+     */
+    private static final SequentialThreadTask WAKE_UP = new SequentialThreadTask(data -> {}, new Object());
+
     private final AtomicBoolean alive = new AtomicBoolean(true);
 
     private final Thread thread;
 
+    /**
+     * True if the dedicated thread is a virtual thread.
+     */
+    private final boolean virtual;
+
     /**
      * Constructor.
      *
@@ -87,7 +102,58 @@ public class SequentialThreadTaskScheduler<OUT> extends TaskScheduler<OUT> imple
             final boolean flushEnabled,
             final boolean squelchingEnabled,
             final boolean insertionIsBlocking) {
-        super(model, name, TaskSchedulerType.SEQUENTIAL_THREAD, flushEnabled, squelchingEnabled, insertionIsBlocking);
+        this(
+                model,
+                name,
+                uncaughtExceptionHandler,
+                onRamp,
+                offRamp,
+                busyTimer,
+                sleepDuration,
+                capacity,
+                flushEnabled,
+                squelchingEnabled,
+                insertionIsBlocking,
+                false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param model                    the wiring model containing this task scheduler
+     * @param name                     the name of the task scheduler
+     * @param uncaughtExceptionHandler the handler to call when an exception is thrown by a task
+     * @param onRamp                   the counter to increment when a task is added to the queue
+     * @param offRamp                  the counter to decrement when a task is removed from the queue
+     * @param busyTimer                the timer to activate when a task is being handled
+     * @param sleepDuration            the duration to sleep when the queue is empty, not used by virtual threads
+     * @param capacity                 the maximum desired capacity for this task scheduler
+     * @param flushEnabled             if true, then {@link #flush()} will be enabled, otherwise it will throw.
+     * @param squelchingEnabled        if true, then squelching will be enabled, otherwise trying to squelch will throw
+     * @param insertionIsBlocking      when data is inserted into this task scheduler, will it block until capacity is
+     *                                 available?
+     * @param virtual                  if true, then tasks are handled on a virtual thread
+     */
+    public SequentialThreadTaskScheduler(
+            @NonNull final TraceableWiringModel model,
+            @NonNull final String name,
+            @NonNull final UncaughtExceptionHandler uncaughtExceptionHandler,
+            @NonNull final ObjectCounter onRamp,
+            @NonNull final ObjectCounter offRamp,
+            @NonNull final FractionalTimer busyTimer,
+            @NonNull final Duration sleepDuration,
+            final long capacity,
+            final boolean flushEnabled,
+            final boolean squelchingEnabled,
+            final boolean insertionIsBlocking,
+            final boolean virtual) {
+        super(
+                model,
+                name,
+                virtual ? TaskSchedulerType.SEQUENTIAL_VIRTUAL_THREAD : TaskSchedulerType.SEQUENTIAL_THREAD,
+                flushEnabled,
+                squelchingEnabled,
+                insertionIsBlocking);
 
         this.uncaughtExceptionHandler = Objects.requireNonNull(uncaughtExceptionHandler);
         this.onRamp = Objects.requireNonNull(onRamp);
@@ -95,8 +161,22 @@ public class SequentialThreadTaskScheduler<OUT> extends TaskScheduler<OUT> imple
         this.busyTimer = Objects.requireNonNull(busyTimer);
         this.sleepDuration = Objects.requireNonNull(sleepDuration);
         this.capacity = capacity;
+        this.virtual = virtual;
 
-        thread = new Thread(this::run, "<scheduler " + name + ">");
+        thread = virtual
+                ? Thread.ofVirtual().name(getThreadName(name)).unstarted(this::run)
+                : new Thread(this::run, getThreadName(name));
+    }
+
+    /**
+     * Get the name of the dedicated thread of a task scheduler.
+     *
+     * @param schedulerName the name of the task scheduler
+     * @return the thread name
+     */
+    @NonNull
+    public static String getThreadName(@NonNull final String schedulerName) {
+        return "<scheduler " + schedulerName + ">";
     }
 
     /**
@@ -170,6 +250,11 @@ public class SequentialThreadTaskScheduler<OUT> extends TaskScheduler<OUT> imple
     @Override
     public void stop() {
         alive.set(false);
+        if (virtual) {
+            // Virtual threads block until a task is available, wake the thread up. The thread is not interrupted,
+            // an interrupt would close any FileChannel used by the tasks that are still in the buffer.
+            tasks.add(WAKE_UP);
+        }
     }
 
     /**
@@ -180,7 +265,15 @@ public class SequentialThreadTaskScheduler<OUT> extends TaskScheduler<OUT> imple
 
         while (alive.get()) {
             tasks.drainTo(buffer, BUFFER_SIZE);
-            if (buffer.isEmpty()) {
+            if (buffer.isEmpty() && virtual) {
+                // Blocking a virtual thread releases its carrier thread, there is no need to poll
+                try {
+                    buffer.add(tasks.take());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } else if (buffer.isEmpty()) {
                 if (sleepDuration.toNanos() <= 0) {
                     continue;
                 }
@@ -199,6 +292,9 @@ public class SequentialThreadTaskScheduler<OUT> extends TaskScheduler<OUT> imple
 
             busyTimer.activate();
             for (final SequentialThreadTask task : buffer) {
+                if (task == WAKE_UP) {
+                    continue;
+                }
                 try {
                     task.handle();
                 } catch (final Throwable t) {
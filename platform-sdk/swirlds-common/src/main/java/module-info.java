@@ -159,6 +159,7 @@ module com.swirlds.common {
     requires io.prometheus.simpleclient.httpserver;
     requires java.desktop;
     requires jdk.httpserver;
+    requires jdk.jfr;
     requires jdk.management;
     requires org.apache.logging.log4j.core;
     requires org.bouncycastle.provider;
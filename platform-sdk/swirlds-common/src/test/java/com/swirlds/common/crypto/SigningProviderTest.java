@@ -17,6 +17,7 @@
 package com.swirlds.common.crypto;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.swirlds.common.crypto.config.CryptoConfig;
@@ -26,6 +27,8 @@ import com.swirlds.common.test.fixtures.crypto.EcdsaUtils;
 import com.swirlds.config.api.Configuration;
 import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.SplittableRandom;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
@@ -93,4 +96,58 @@ public class SigningProviderTest {
                     "check ED25519 result");
         }
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 32, 500, 1000})
+    void ED25519BatchVerificationTest(int transactionSize) throws Exception {
+        SplittableRandom random = new SplittableRandom();
+        final int signers = 8;
+        final byte[] msg = new byte[transactionSize];
+        random.nextBytes(msg);
+
+        // All the signatures share one contents array and sign the same message, like the signatures of a transaction
+        final int entryLength = ED25519SigningProvider.SIGNATURE_LENGTH + ED25519SigningProvider.PUBLIC_KEY_LENGTH;
+        final byte[] contents = new byte[transactionSize + signers * entryLength];
+        System.arraycopy(msg, 0, contents, 0, transactionSize);
+        final List<TransactionSignature> signatures = new ArrayList<>();
+        for (int i = 0; i < signers; i++) {
+            final ED25519SigningProvider signer = new ED25519SigningProvider();
+            final byte[] signature = signer.sign(msg);
+            if (i % 3 == 1) {
+                // Corrupt some of the signatures
+                signature[0] ^= 1;
+            }
+            final int signatureOffset = transactionSize + i * entryLength;
+            final int publicKeyOffset = signatureOffset + ED25519SigningProvider.SIGNATURE_LENGTH;
+            System.arraycopy(signature, 0, contents, signatureOffset, signature.length);
+            System.arraycopy(
+                    signer.getPublicKeyBytes(), 0, contents, publicKeyOffset, ED25519SigningProvider.PUBLIC_KEY_LENGTH);
+            signatures.add(new TransactionSignature(
+                    contents,
+                    signatureOffset,
+                    ED25519SigningProvider.SIGNATURE_LENGTH,
+                    publicKeyOffset,
+                    ED25519SigningProvider.PUBLIC_KEY_LENGTH,
+                    0,
+                    transactionSize,
+                    SignatureType.ED25519));
+        }
+
+        assertFalse(cryptography.verifySync(signatures), "check ED25519 batch result");
+        for (int i = 0; i < signers; i++) {
+            final TransactionSignature signature = signatures.get(i);
+            final TransactionSignature single = new TransactionSignature(signature);
+            cryptography.verifySync(single);
+            assertEquals(single.getSignatureStatus(), signature.getSignatureStatus(), "check ED25519 batch status");
+            assertEquals(
+                    i % 3 == 1 ? VerificationStatus.INVALID : VerificationStatus.VALID,
+                    signature.getSignatureStatus(),
+                    "check ED25519 batch status");
+            assertTrue(signature.getFuture().isDone(), "check ED25519 batch future");
+        }
+
+        final List<TransactionSignature> valid =
+                signatures.stream().filter(s -> s.getSignatureStatus() == VerificationStatus.VALID).toList();
+        assertTrue(cryptography.verifySync(valid), "check ED25519 batch result");
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.merkle.synchronization;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.swirlds.common.merkle.MerkleNode;
+import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LearnerSubtreeDispatcherTests {
+
+    private static final Runnable NO_OP = () -> {};
+
+    @Test
+    @DisplayName("Helpers are registered only when the round is known")
+    void helperRegistration() {
+        assertThrows(IllegalArgumentException.class, () -> new LearnerSubtreeDispatcher(0));
+        final LearnerSubtreeDispatcher dispatcher = new LearnerSubtreeDispatcher(2);
+        assertEquals(LearnerSubtreeDispatcher.UNKNOWN_ROUND, dispatcher.getRound());
+        assertFalse(dispatcher.tryAddHelper(), "Helpers must not be registered before the round is known");
+
+        dispatcher.setRound(42);
+        assertEquals(42, dispatcher.getRound());
+        assertTrue(dispatcher.tryAddHelper());
+        assertTrue(dispatcher.tryAddHelper());
+        assertFalse(dispatcher.tryAddHelper(), "Too many helpers");
+        dispatcher.removeHelper();
+        assertTrue(dispatcher.tryAddHelper());
+        dispatcher.removeHelper();
+        dispatcher.removeHelper();
+        assertThrows(IllegalStateException.class, dispatcher::removeHelper);
+    }
+
+    @Test
+    @DisplayName("Every subtree is claimed exactly once")
+    void subtreesAreClaimedOnce() throws InterruptedException {
+        final LearnerSubtreeDispatcher dispatcher = new LearnerSubtreeDispatcher(1);
+        final List<MerkleNode> subtrees =
+                List.of(mock(MerkleNode.class), mock(MerkleNode.class), mock(MerkleNode.class));
+        dispatcher.publish(subtrees);
+        assertThrows(IllegalStateException.class, () -> dispatcher.publish(subtrees));
+
+        // The primary learner claims from the head, helpers claim from the tail
+        assertTrue(dispatcher.claimForPrimary(0));
+        final int helperIndex = dispatcher.claimForHelper(NO_OP);
+        assertEquals(2, helperIndex);
+        assertSame(subtrees.get(2), dispatcher.getSubtree(helperIndex));
+        assertEquals(1, dispatcher.claimForHelper(NO_OP));
+        assertEquals(-1, dispatcher.claimForHelper(NO_OP), "All subtrees are claimed");
+        assertFalse(dispatcher.claimForPrimary(1), "Subtree is claimed by a helper");
+        assertFalse(dispatcher.claimForPrimary(2), "Subtree is claimed by a helper");
+        assertTrue(dispatcher.claimForPrimary(3), "Subtrees that are not published are learned by the primary");
+
+        dispatcher.subtreeFinished(1, null);
+        dispatcher.subtreeFinished(2, null);
+        assertDoesNotThrow(dispatcher::awaitHelpers);
+    }
+
+    @Test
+    @DisplayName("Helper failures fail the primary learner")
+    void helperFailure() throws InterruptedException {
+        final LearnerSubtreeDispatcher dispatcher = new LearnerSubtreeDispatcher(1);
+        dispatcher.publish(List.of(mock(MerkleNode.class), mock(MerkleNode.class)));
+        final int index = dispatcher.claimForHelper(NO_OP);
+        final RuntimeException failure = new RuntimeException("intentional");
+        dispatcher.subtreeFinished(index, failure);
+        assertEquals(-1, dispatcher.claimForHelper(NO_OP), "No more subtrees are claimed after a failure");
+
+        final MerkleSynchronizationException e =
+                assertThrows(MerkleSynchronizationException.class, dispatcher::awaitHelpers);
+        assertSame(failure, e.getCause());
+    }
+
+    @Test
+    @DisplayName("Aborting breaks helper connections")
+    void abort() throws InterruptedException {
+        final LearnerSubtreeDispatcher dispatcher = new LearnerSubtreeDispatcher(2);
+        dispatcher.setRound(1);
+        dispatcher.publish(List.of(mock(MerkleNode.class), mock(MerkleNode.class)));
+        final AtomicInteger brokenConnections = new AtomicInteger();
+        final int finished = dispatcher.claimForHelper(brokenConnections::incrementAndGet);
+        dispatcher.subtreeFinished(finished, null);
+
+        final int[] inProgress = new int[1];
+        inProgress[0] = dispatcher.claimForHelper(() -> {
+            brokenConnections.incrementAndGet();
+            // A broken connection makes the helper fail
+            dispatcher.subtreeFinished(inProgress[0], new RuntimeException("connection broken"));
+        });
+        dispatcher.abort();
+        assertEquals(1, brokenConnections.get(), "Only the connection of the helper in progress must be broken");
+        assertEquals(-1, dispatcher.claimForHelper(NO_OP), "No subtrees are claimed after abort");
+        assertFalse(dispatcher.tryAddHelper(), "No helpers are registered after abort");
+    }
+}
@@ -307,6 +307,38 @@ class ThreadTests {
         assertSame(thread1.getContextClassLoader(), thread2.getContextClassLoader(), "should have same class loader");
     }
 
+    @Test
+    @Tag(TestComponentTags.THREADING)
+    @DisplayName("Virtual Thread Test")
+    void virtualThreadTest() throws InterruptedException {
+        final AtomicBoolean threadException = new AtomicBoolean(false);
+
+        final Thread thread = new ThreadConfiguration(getStaticThreadManager())
+                .setThreadName("virtual")
+                .setVirtual(true)
+                .setDaemon(false)
+                .setExceptionHandler((t, e) -> {
+                    e.printStackTrace();
+                    threadException.set(true);
+                })
+                .setRunnable(() -> assertTrue(Thread.currentThread().isVirtual(), "expected a virtual thread"))
+                .build(true);
+        thread.join();
+        assertTrue(thread.isVirtual(), "expected a virtual thread");
+        assertTrue(thread.getName().contains("virtual"), "thread name should be set");
+        assertFalse(threadException.get(), "there should not have been any exceptions");
+
+        final ThreadFactory factory = new ThreadConfiguration(getStaticThreadManager())
+                .setComponent("pool1")
+                .setThreadName("thread1")
+                .setVirtual(true)
+                .buildFactory();
+        final Thread thread1 = factory.newThread(() -> {});
+        final Thread thread2 = factory.newThread(() -> {});
+        assertTrue(thread1.isVirtual(), "expected a virtual thread");
+        assertNotEquals(thread1.getName(), thread2.getName(), "thread names should be unique");
+    }
+
     @Test
     @DisplayName("Naming Tests")
     void namingTests() {
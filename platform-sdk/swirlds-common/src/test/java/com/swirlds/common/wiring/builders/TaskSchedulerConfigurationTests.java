@@ -39,6 +39,7 @@ class TaskSchedulerConfigurationTests {
         assertNull(config.busyFractionMetricEnabled());
         assertNull(config.flushingEnabled());
         assertNull(config.squelchingEnabled());
+        assertNull(config.batchSize());
     }
 
     @Test
@@ -68,6 +69,14 @@ class TaskSchedulerConfigurationTests {
                 expectedUnhandledTaskCapacity = null;
             }
 
+            final Integer expectedBatchSize;
+            if (random.nextBoolean()) {
+                expectedBatchSize = random.nextInt(1, 100);
+                configStringBuilder.append("BATCH(").append(expectedBatchSize).append(") ");
+            } else {
+                expectedBatchSize = null;
+            }
+
             final Boolean expectedUnhandledTaskMetricEnabled;
             if (random.nextBoolean()) {
                 expectedUnhandledTaskMetricEnabled = random.nextBoolean();
@@ -112,6 +121,7 @@ class TaskSchedulerConfigurationTests {
             assertEquals(expectedBusyFractionMetricEnabled, config.busyFractionMetricEnabled());
             assertEquals(expectedFlushingEnabled, config.flushingEnabled());
             assertEquals(expectedSquelchingEnabled, config.squelchingEnabled());
+            assertEquals(expectedBatchSize, config.batchSize());
         }
     }
 
@@ -128,6 +138,7 @@ class TaskSchedulerConfigurationTests {
         assertThrows(
                 IllegalArgumentException.class,
                 () -> TaskSchedulerConfiguration.parse("CAPACITY(1234) CAPACITY(5678)"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("BATCH(64) BATCH(64)"));
         assertThrows(
                 IllegalArgumentException.class,
                 () -> TaskSchedulerConfiguration.parse("UNHANDLED_TASK_METRIC UNHANDLED_TASK_METRIC"));
@@ -151,5 +162,6 @@ class TaskSchedulerConfigurationTests {
     void unmatchedFieldTest() {
         assertThrows(
                 IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("DIRECT CAPACITY(100) QWERTY"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("SEQUENTIAL BATCH(x)"));
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.model.internal.monitor;
+
+import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerBuilder.UNLIMITED_CAPACITY;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.swirlds.common.TestWiringModelBuilder;
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.common.wiring.model.WiringModel;
+import com.swirlds.common.wiring.schedulers.TaskScheduler;
+import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
+import com.swirlds.common.wiring.wires.input.BindableInputWire;
+import java.time.Duration;
+import java.util.List;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class VirtualThreadPinningMonitorTests {
+
+    @Test
+    void pinnedSchedulerIsReportedTest() {
+        final PlatformContext platformContext = TestPlatformContextBuilder.create().build();
+        final WiringModel model = TestWiringModelBuilder.create();
+
+        final TaskScheduler<Void> scheduler = model.schedulerBuilder("pinning")
+                .withType(TaskSchedulerType.SEQUENTIAL_VIRTUAL_THREAD)
+                .withUnhandledTaskCapacity(UNLIMITED_CAPACITY)
+                .build()
+                .cast();
+        final BindableInputWire<Integer, Void> input = scheduler.buildInputWire("input");
+        final Object lock = new Object();
+        input.bindConsumer(x -> {
+            // Blocking while holding a monitor pins the virtual thread to its carrier
+            synchronized (lock) {
+                try {
+                    Thread.sleep(200);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        final Logger logger = mock(Logger.class);
+        final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(
+                platformContext, List.of(scheduler), Duration.ofMillis(20), Duration.ofMinutes(1), logger);
+        monitor.start();
+        model.start();
+        try {
+            input.put(1);
+
+            final ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+            final ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+            verify(logger, timeout(10_000)).log(eq(Level.WARN), any(Marker.class), message.capture(), args.capture());
+            assertTrue(message.getValue().contains("pinned its carrier thread"), "Pinning must be reported");
+            assertTrue(List.of(args.getValue()).contains("pinning"), "The pinned scheduler must be named");
+        } finally {
+            model.stop();
+            monitor.stop();
+        }
+    }
+}
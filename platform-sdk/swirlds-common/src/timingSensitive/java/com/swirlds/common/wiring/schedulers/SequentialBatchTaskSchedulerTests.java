@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.schedulers;
+
+import static com.swirlds.common.test.fixtures.AssertionUtils.assertEventuallyEquals;
+import static com.swirlds.common.test.fixtures.AssertionUtils.assertEventuallyTrue;
+import static com.swirlds.common.test.fixtures.AssertionUtils.completeBeforeTimeout;
+import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticThreadManager;
+import static com.swirlds.common.utility.NonCryptographicHashing.hash32;
+import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerBuilder.UNLIMITED_CAPACITY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.swirlds.common.TestWiringModelBuilder;
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.common.threading.framework.config.ThreadConfiguration;
+import com.swirlds.common.wiring.model.WiringModel;
+import com.swirlds.common.wiring.model.WiringModelBuilder;
+import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerConfiguration;
+import com.swirlds.common.wiring.schedulers.internal.SequentialBatchTaskScheduler;
+import com.swirlds.common.wiring.wires.input.BindableInputWire;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SequentialBatchTaskSchedulerTests {
+
+    @Test
+    void configurationTest() {
+        final WiringModel model = TestWiringModelBuilder.create();
+
+        final TaskScheduler<Void> batchScheduler = model.schedulerBuilder("batch")
+                .configure(TaskSchedulerConfiguration.parse("SEQUENTIAL BATCH(64)"))
+                .build()
+                .cast();
+        assertInstanceOf(SequentialBatchTaskScheduler.class, batchScheduler);
+
+        assertThrows(IllegalArgumentException.class, () -> model.schedulerBuilder("invalid").withBatchSize(0));
+    }
+
+    /**
+     * Add values to the task scheduler from several threads, ensure that values from each thread are processed in the
+     * correct order, and that the handler is never executed concurrently.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {2, 64})
+    void orderOfOperationsTest(final int batchSize) {
+        final WiringModel model = TestWiringModelBuilder.create();
+
+        final int threadCount = 4;
+        final int valuesPerThread = 10_000;
+
+        final AtomicBoolean handlerIsRunning = new AtomicBoolean();
+        final AtomicInteger concurrentExecutions = new AtomicInteger();
+        final int[] lastValues = new int[threadCount];
+        final AtomicInteger outOfOrderValues = new AtomicInteger();
+        final AtomicInteger handledCount = new AtomicInteger();
+        final Consumer<Integer> handler = x -> {
+            if (!handlerIsRunning.compareAndSet(false, true)) {
+                concurrentExecutions.incrementAndGet();
+            }
+            final int thread = x / valuesPerThread;
+            if (x != lastValues[thread] + 1) {
+                outOfOrderValues.incrementAndGet();
+            }
+            lastValues[thread] = x;
+            handledCount.incrementAndGet();
+            handlerIsRunning.set(false);
+        };
+
+        final TaskScheduler<Void> taskScheduler = model.schedulerBuilder("test")
+                .withBatchSize(batchSize)
+                .withUnhandledTaskCapacity(UNLIMITED_CAPACITY)
+                .build()
+                .cast();
+        final BindableInputWire<Integer, Void> channel = taskScheduler.buildInputWire("channel");
+        channel.bindConsumer(handler);
+
+        model.start();
+
+        for (int thread = 0; thread < threadCount; thread++) {
+            final int firstValue = thread * valuesPerThread;
+            lastValues[thread] = firstValue - 1;
+            new ThreadConfiguration(getStaticThreadManager())
+                    .setRunnable(() -> {
+                        for (int i = 0; i < valuesPerThread; i++) {
+                            channel.put(firstValue + i);
+                        }
+                    })
+                    .build(true);
+        }
+
+        assertEventuallyEquals(
+                threadCount * valuesPerThread,
+                handledCount::get,
+                Duration.ofSeconds(10),
+                "Not all values were handled");
+        assertEquals(0, concurrentExecutions.get(), "Handler was executed concurrently");
+        assertEquals(0, outOfOrderValues.get(), "Values were handled out of order");
+
+        model.stop();
+    }
+
+    /**
+     * Make sure backpressure works when tasks are handled in batches.
+     */
+    @Test
+    void backpressureTest() throws InterruptedException {
+        final PlatformContext platformContext =
+                TestPlatformContextBuilder.create().build();
+
+        final WiringModel model = WiringModelBuilder.create(platformContext)
+                .withHardBackpressureEnabled(true)
+                .build();
+
+        final AtomicInteger wireValue = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Consumer<Integer> handler = x -> {
+            try {
+                if (x == 0) {
+                    latch.await();
+                }
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+
+            wireValue.set(hash32(wireValue.get(), x));
+        };
+
+        final long capacity = 11;
+
+        final TaskScheduler<Void> taskScheduler = model.schedulerBuilder("test")
+                .withBatchSize(4)
+                .withUnhandledTaskCapacity(capacity)
+                .withSleepDuration(Duration.ofMillis(1))
+                .build()
+                .cast();
+        final BindableInputWire<Integer, Void> channel = taskScheduler.buildInputWire("channel");
+        channel.bindConsumer(handler);
+
+        model.start();
+
+        final AtomicInteger value = new AtomicInteger();
+
+        // We will be stuck handling 0 and we will have the capacity for 10 more, for a total of 11 tasks in flight
+        completeBeforeTimeout(
+                () -> {
+                    for (int i = 0; i < 11; i++) {
+                        channel.put(i);
+                        value.set(hash32(value.get(), i));
+                    }
+                },
+                Duration.ofSeconds(10),
+                "unable to add tasks");
+        assertEquals(capacity, taskScheduler.getUnprocessedTaskCount());
+
+        final AtomicBoolean allWorkAdded = new AtomicBoolean(false);
+        new ThreadConfiguration(getStaticThreadManager())
+                .setRunnable(() -> {
+                    for (int i = 11; i < 100; i++) {
+                        channel.put(i);
+                        value.set(hash32(value.get(), i));
+                    }
+                    allWorkAdded.set(true);
+                })
+                .build(true);
+
+        MILLISECONDS.sleep(50);
+        assertFalse(allWorkAdded.get());
+        assertEquals(capacity, taskScheduler.getUnprocessedTaskCount());
+        assertFalse(channel.offer(1234));
+
+        latch.countDown();
+
+        assertEventuallyTrue(allWorkAdded::get, Duration.ofSeconds(10), "unable to add all work");
+        assertEventuallyEquals(
+                0L,
+                taskScheduler::getUnprocessedTaskCount,
+                Duration.ofSeconds(10),
+                "Wire unprocessed task count did not match expected value. " + taskScheduler.getUnprocessedTaskCount());
+        assertEventuallyEquals(
+                value.get(), wireValue::get, Duration.ofSeconds(10), "Wire sum did not match expected sum");
+
+        model.stop();
+    }
+
+    /**
+     * An exception thrown by one task must not prevent the rest of the batch from being handled.
+     */
+    @Test
+    void exceptionHandlingTest() {
+        final WiringModel model = TestWiringModelBuilder.create();
+
+        final AtomicInteger wireValue = new AtomicInteger();
+        final Consumer<Integer> handler = x -> {
+            if (x % 10 == 0) {
+                throw new IllegalStateException("intentional");
+            }
+            wireValue.set(hash32(wireValue.get(), x));
+        };
+
+        final AtomicInteger exceptionCount = new AtomicInteger();
+
+        final TaskScheduler<Void> taskScheduler = model.schedulerBuilder("test")
+                .withBatchSize(16)
+                .withUncaughtExceptionHandler((t, e) -> exceptionCount.incrementAndGet())
+                .withUnhandledTaskCapacity(UNLIMITED_CAPACITY)
+                .withUnhandledTaskMetricEnabled(true)
+                .build()
+                .cast();
+        final BindableInputWire<Integer, Void> channel = taskScheduler.buildInputWire("channel");
+        channel.bindConsumer(handler);
+
+        model.start();
+
+        int value = 0;
+        for (int i = 0; i < 100; i++) {
+            channel.put(i);
+            if (i % 10 != 0) {
+                value = hash32(value, i);
+            }
+        }
+
+        assertEventuallyEquals(value, wireValue::get, Duration.ofSeconds(10), "Wire sum did not match expected sum");
+        assertEquals(10, exceptionCount.get());
+        assertEventuallyEquals(
+                0L,
+                taskScheduler::getUnprocessedTaskCount,
+                Duration.ofSeconds(10),
+                "Wire unprocessed task count did not match expected value");
+
+        model.stop();
+    }
+}
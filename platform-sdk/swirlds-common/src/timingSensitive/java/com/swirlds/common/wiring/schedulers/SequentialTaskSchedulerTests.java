@@ -50,6 +50,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -87,7 +88,7 @@ class SequentialTaskSchedulerTests {
      * Add values to the task scheduler, ensure that each value was processed in the correct order.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void orderOfOperationsTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
 
@@ -128,7 +129,7 @@ class SequentialTaskSchedulerTests {
      * (which will fail the test).
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void orderOfOperationsWithDelayTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -172,7 +173,7 @@ class SequentialTaskSchedulerTests {
      * sequentially regardless of the number of threads adding work.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void multipleChannelsTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -241,7 +242,7 @@ class SequentialTaskSchedulerTests {
      * not effect the outcome.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void multipleChannelsWithDelayTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -318,7 +319,7 @@ class SequentialTaskSchedulerTests {
      * Ensure that the work happening on the task scheduler is not happening on the caller's thread.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void wireDoesNotBlockCallingThreadTest(final String typeString) throws InterruptedException {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -373,7 +374,7 @@ class SequentialTaskSchedulerTests {
      * Sanity checks on the unprocessed event count.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void unprocessedEventCountTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -456,7 +457,7 @@ class SequentialTaskSchedulerTests {
      * Make sure backpressure works.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void backpressureTest(final String typeString) throws InterruptedException {
 
         final PlatformContext platformContext =
@@ -562,7 +563,7 @@ class SequentialTaskSchedulerTests {
      * Test interrupts with accept() when backpressure is being applied.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void uninterruptableTest(final String typeString) throws InterruptedException {
         final PlatformContext platformContext =
                 TestPlatformContextBuilder.create().build();
@@ -654,7 +655,7 @@ class SequentialTaskSchedulerTests {
      * Offering tasks is equivalent to calling accept() if there is no backpressure.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void offerNoBackpressureTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -699,7 +700,7 @@ class SequentialTaskSchedulerTests {
      * </pre>
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void circularDataFlowTest(final String typeString) throws InterruptedException {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -827,7 +828,7 @@ class SequentialTaskSchedulerTests {
      * Validate the behavior when there are multiple channels.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void multipleChannelTypesTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -879,7 +880,7 @@ class SequentialTaskSchedulerTests {
      * Make sure backpressure works when there are multiple channels.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void multipleChannelBackpressureTest(final String typeString) throws InterruptedException {
         final PlatformContext platformContext =
                 TestPlatformContextBuilder.create().build();
@@ -987,7 +988,7 @@ class SequentialTaskSchedulerTests {
      * Make sure backpressure works when a single counter spans multiple wires.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void backpressureOverMultipleWiresTest(final String typeString) throws InterruptedException {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -1110,7 +1111,7 @@ class SequentialTaskSchedulerTests {
      * Validate the behavior of the flush() method.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void flushTest(final String typeString) throws InterruptedException {
         final PlatformContext platformContext =
                 TestPlatformContextBuilder.create().build();
@@ -1223,7 +1224,7 @@ class SequentialTaskSchedulerTests {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void flushDisabledTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -1242,7 +1243,7 @@ class SequentialTaskSchedulerTests {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void exceptionHandlingTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -1289,7 +1290,7 @@ class SequentialTaskSchedulerTests {
      * than the number of blocking wires.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void deadlockTestOneThread(final String typeString) throws InterruptedException {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -1363,7 +1364,7 @@ class SequentialTaskSchedulerTests {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void deadlockTestThreeThreads(final String typeString) throws InterruptedException {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -1440,7 +1441,7 @@ class SequentialTaskSchedulerTests {
      * Solder together a simple sequence of wires.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void simpleSolderingTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -1509,7 +1510,7 @@ class SequentialTaskSchedulerTests {
      * Test soldering to a lambda function.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void lambdaSolderingTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -1584,7 +1585,7 @@ class SequentialTaskSchedulerTests {
      * Solder the output of a wire to the inputs of multiple other wires.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void multiWireSolderingTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -1697,7 +1698,7 @@ class SequentialTaskSchedulerTests {
      * Validate that a wire soldered to another using injection ignores backpressure constraints.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void injectionSolderingTest(final String typeString) throws InterruptedException {
         final PlatformContext platformContext =
                 TestPlatformContextBuilder.create().build();
@@ -1826,7 +1827,7 @@ class SequentialTaskSchedulerTests {
      * When a handler returns null, the wire should not forward the null value to the next wire.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void discardNullValuesInWiresTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -1923,7 +1924,7 @@ class SequentialTaskSchedulerTests {
      * now the metrics framework makes it complex to do so.
      */
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void metricsEnabledTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -2005,7 +2006,7 @@ class SequentialTaskSchedulerTests {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void multipleOutputChannelsTest(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -2069,7 +2070,7 @@ class SequentialTaskSchedulerTests {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void externalBackPressureTest(final String typeString) throws InterruptedException {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -2193,7 +2194,7 @@ class SequentialTaskSchedulerTests {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void multipleCountersInternalBackpressureTest(final String typeString) throws InterruptedException {
         final PlatformContext platformContext =
                 TestPlatformContextBuilder.create().build();
@@ -2321,7 +2322,7 @@ class SequentialTaskSchedulerTests {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void offerSolderingTest(final String typeString) {
         final PlatformContext platformContext =
                 TestPlatformContextBuilder.create().build();
@@ -2424,7 +2425,7 @@ class SequentialTaskSchedulerTests {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD"})
+    @ValueSource(strings = {"SEQUENTIAL", "SEQUENTIAL_THREAD", "SEQUENTIAL_VIRTUAL_THREAD"})
     void squelching(final String typeString) {
         final WiringModel model = TestWiringModelBuilder.create();
         final TaskSchedulerType type = TaskSchedulerType.valueOf(typeString);
@@ -2496,4 +2497,46 @@ class SequentialTaskSchedulerTests {
 
         model.stop();
     }
+
+    /**
+     * Stopping a virtual thread task scheduler must not interrupt the task that is being handled, an interrupt would
+     * close any file channel used by the task.
+     */
+    @Test
+    void stopDoesNotInterruptVirtualThreadTest() throws InterruptedException {
+        final WiringModel model = TestWiringModelBuilder.create();
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final AtomicBoolean handled = new AtomicBoolean();
+        final Consumer<Integer> handler = x -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                interrupted.set(true);
+            }
+            interrupted.compareAndSet(false, Thread.currentThread().isInterrupted());
+            handled.set(true);
+        };
+
+        final TaskScheduler<Void> taskScheduler = model.schedulerBuilder("test")
+                .withType(TaskSchedulerType.SEQUENTIAL_VIRTUAL_THREAD)
+                .withUnhandledTaskCapacity(UNLIMITED_CAPACITY)
+                .build()
+                .cast();
+        final BindableInputWire<Integer, Void> channel = taskScheduler.buildInputWire("channel");
+        channel.bindConsumer(handler);
+
+        model.start();
+        channel.put(1);
+        assertTrue(started.await(10, TimeUnit.SECONDS), "The task should have started");
+
+        model.stop();
+        release.countDown();
+
+        assertEventuallyTrue(handled::get, Duration.ofSeconds(10), "The task should have been handled");
+        assertFalse(interrupted.get(), "The task must not be interrupted");
+    }
 }
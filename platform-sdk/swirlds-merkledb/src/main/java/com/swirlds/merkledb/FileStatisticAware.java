@@ -28,4 +28,12 @@ public interface FileStatisticAware {
      * @return statistics for sizes of all fully written files, in bytes
      */
     LongSummaryStatistics getFilesSizeStatistics();
+
+    /**
+     * Get the estimated fraction of stale data in the files it uses, i.e. data, which can be
+     * removed by compaction.
+     *
+     * @return estimated fraction of stale data, from 0.0 to 1.0
+     */
+    double getGarbageRatioEstimate();
 }
@@ -0,0 +1,484 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static com.swirlds.virtualmap.datasource.VirtualDataSource.INVALID_PATH;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Virtual leaf records cache used by {@link MerkleDbDataSource}. The cache is bounded by the total size
+ * of cached keys and values in bytes rather than by the number of entries, and uses W-TinyLFU admission
+ * policy: new entries are first placed to a small LRU window, and when they are evicted from the window,
+ * they are only admitted to the main space if they are accessed more frequently than the main space
+ * eviction victim. Access frequencies are tracked using a compact count-min sketch, which is periodically
+ * aged, so entries that used to be hot, but are not accessed anymore, are eventually evicted. The main
+ * space is a segmented LRU with probation and protected regions.
+ *
+ * <p>Entries are primarily keyed by leaf key bytes. Some entries contain just a key and a path, but no
+ * value, they are used to cache results of key to path lookups, including negative results, when the
+ * key is not found ({@link com.swirlds.virtualmap.datasource.VirtualDataSource#INVALID_PATH}). Entries
+ * that contain values are also indexed by leaf path, so leaf lookups by path can be served from the
+ * cache, too.
+ *
+ * <p>To reduce contention, the cache is split into a number of independent segments selected by key
+ * hash codes. Each segment is guarded by its own lock.
+ */
+final class LeafRecordCache {
+
+    /**
+     * Estimated heap overhead of a single cache entry in bytes: the entry node, the leaf record object,
+     * two {@link Bytes} objects, and hash map nodes. Used in cache size calculations in addition to
+     * key and value sizes.
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    /** Window region size, percent of a segment size */
+    private static final int WINDOW_PERCENT = 1;
+
+    /** Protected region size, percent of a segment main space size */
+    private static final int PROTECTED_PERCENT = 80;
+
+    /** Max number of segments */
+    private static final int MAX_SEGMENTS = 64;
+
+    /** Min segment size in bytes. Very small segments don't make much sense */
+    private static final long MIN_SEGMENT_SIZE = 1024 * 1024;
+
+    private final Segment[] segments;
+
+    private final int segmentMask;
+
+    /** Leaf path to cached entry index. Contains only entries with values */
+    private final Map<Long, VirtualLeafBytes> pathIndex = new ConcurrentHashMap<>();
+
+    /** Listener to notify about evicted entries */
+    private final LongConsumer evictionListener;
+
+    /**
+     * Creates a new leaf records cache.
+     *
+     * @param maxSizeInBytes cache size in bytes
+     * @param evictionListener listener to notify about evicted entries, the number of evicted entries
+     *                         is passed as the argument
+     */
+    LeafRecordCache(final long maxSizeInBytes, @NonNull final LongConsumer evictionListener) {
+        if (maxSizeInBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.evictionListener = evictionListener;
+        final int maxSegments = Math.min(MAX_SEGMENTS, Runtime.getRuntime().availableProcessors() * 4);
+        int segmentCount = 1;
+        while ((segmentCount * 2 <= maxSegments) && (maxSizeInBytes / (segmentCount * 2L) >= MIN_SEGMENT_SIZE)) {
+            segmentCount *= 2;
+        }
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxSizeInBytes / segmentCount);
+        }
+        segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Looks up a cached entry by leaf key. The returned entry may contain no value, if only the
+     * key to path mapping is cached. The path may be {@link
+     * com.swirlds.virtualmap.datasource.VirtualDataSource#INVALID_PATH}, which means the key is
+     * known to be absent in the data source.
+     *
+     * @param keyBytes leaf key bytes
+     * @param keyHashCode leaf key hash code
+     * @return the cached entry, or null if the key is not found in the cache
+     */
+    @Nullable
+    VirtualLeafBytes getByKey(@NonNull final Bytes keyBytes, final int keyHashCode) {
+        return segmentFor(keyHashCode).get(keyBytes, keyHashCode);
+    }
+
+    /**
+     * Looks up a cached entry with value by leaf path.
+     *
+     * @param path leaf path
+     * @return the cached entry, or null if no record for the path is cached
+     */
+    @Nullable
+    VirtualLeafBytes getByPath(final long path) {
+        return pathIndex.get(path);
+    }
+
+    /**
+     * Puts an entry to the cache. If an entry with the same key is already cached, it's replaced.
+     * The entry may or may not be admitted to the cache depending on the key access frequency.
+     *
+     * @param leafBytes the entry to cache
+     * @param keyHashCode leaf key hash code, leaf bytes loaded from disk don't have hash codes set
+     */
+    void put(@NonNull final VirtualLeafBytes leafBytes, final int keyHashCode) {
+        segmentFor(keyHashCode).put(leafBytes, keyHashCode);
+    }
+
+    /**
+     * Removes a cached entry for the given leaf key, if any.
+     *
+     * @param keyBytes leaf key bytes
+     * @param keyHashCode leaf key hash code
+     */
+    void invalidate(@NonNull final Bytes keyBytes, final int keyHashCode) {
+        segmentFor(keyHashCode).remove(keyBytes);
+    }
+
+    /**
+     * Returns the current cache size, in bytes.
+     */
+    long getSizeInBytes() {
+        long size = 0;
+        for (final Segment segment : segments) {
+            size += segment.getSizeInBytes();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the current number of cached entries.
+     */
+    long getEntryCount() {
+        long count = 0;
+        for (final Segment segment : segments) {
+            count += segment.getEntryCount();
+        }
+        return count;
+    }
+
+    // For testing purpose
+    int getSegmentCount() {
+        return segments.length;
+    }
+
+    private Segment segmentFor(final int keyHashCode) {
+        // Spread the higher bits, key hash codes may not be well distributed
+        final int h = keyHashCode ^ (keyHashCode >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    private static long sizeOf(final VirtualLeafBytes leafBytes) {
+        final Bytes valueBytes = leafBytes.valueBytes();
+        return ENTRY_OVERHEAD_BYTES + leafBytes.keyBytes().length() + (valueBytes != null ? valueBytes.length() : 0);
+    }
+
+    /** Cache regions */
+    private enum Region {
+        WINDOW,
+        PROBATION,
+        PROTECTED
+    }
+
+    /** Cache entry, also a node in one of the region access order lists */
+    private static final class Node {
+        VirtualLeafBytes leafBytes;
+        final int keyHashCode;
+        long size;
+        Region region;
+        Node prev;
+        Node next;
+
+        Node(final VirtualLeafBytes leafBytes, final int keyHashCode) {
+            this.leafBytes = leafBytes;
+            this.keyHashCode = keyHashCode;
+            this.size = sizeOf(leafBytes);
+        }
+    }
+
+    /** Doubly linked list of nodes in access order, the head is the most recently used node */
+    private static final class AccessOrderList {
+        private Node head;
+        private Node tail;
+        private long size;
+
+        void addFirst(final Node node) {
+            node.prev = null;
+            node.next = head;
+            if (head != null) {
+                head.prev = node;
+            } else {
+                tail = node;
+            }
+            head = node;
+            size += node.size;
+        }
+
+        void remove(final Node node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            } else {
+                tail = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size -= node.size;
+        }
+    }
+
+    /**
+     * A cache segment. All segment methods must be called under the segment lock.
+     */
+    private final class Segment {
+
+        private final long maxSize;
+        private final long maxWindowSize;
+        private final long maxProtectedSize;
+
+        private final Map<Bytes, Node> entries = new HashMap<>();
+
+        private final AccessOrderList window = new AccessOrderList();
+        private final AccessOrderList probation = new AccessOrderList();
+        private final AccessOrderList protectedList = new AccessOrderList();
+
+        private final FrequencySketch sketch;
+
+        Segment(final long maxSize) {
+            this.maxSize = maxSize;
+            this.maxWindowSize = Math.max(1, maxSize * WINDOW_PERCENT / 100);
+            this.maxProtectedSize = (maxSize - maxWindowSize) * PROTECTED_PERCENT / 100;
+            // Rough estimate of the number of entries in the segment, assuming an average entry is
+            // about a couple of hundred bytes
+            this.sketch = new FrequencySketch(maxSize / (ENTRY_OVERHEAD_BYTES * 2));
+        }
+
+        synchronized VirtualLeafBytes get(final Bytes keyBytes, final int keyHashCode) {
+            sketch.increment(keyHashCode);
+            final Node node = entries.get(keyBytes);
+            if (node == null) {
+                return null;
+            }
+            onAccess(node);
+            return node.leafBytes;
+        }
+
+        synchronized void put(final VirtualLeafBytes leafBytes, final int keyHashCode) {
+            final Node existing = entries.get(leafBytes.keyBytes());
+            if (existing != null) {
+                unindexPath(existing.leafBytes);
+                final AccessOrderList list = listOf(existing.region);
+                list.remove(existing);
+                existing.leafBytes = leafBytes;
+                existing.size = sizeOf(leafBytes);
+                list.addFirst(existing);
+                indexPath(leafBytes);
+                onAccess(existing);
+            } else {
+                // Access frequency is not incremented here. Puts always follow cache misses in get(),
+                // which already counted the access
+                final Node node = new Node(leafBytes, keyHashCode);
+                node.region = Region.WINDOW;
+                window.addFirst(node);
+                entries.put(leafBytes.keyBytes(), node);
+                indexPath(leafBytes);
+            }
+            evict();
+        }
+
+        synchronized void remove(final Bytes keyBytes) {
+            final Node node = entries.remove(keyBytes);
+            if (node != null) {
+                listOf(node.region).remove(node);
+                unindexPath(node.leafBytes);
+            }
+        }
+
+        synchronized long getSizeInBytes() {
+            return window.size + probation.size + protectedList.size;
+        }
+
+        synchronized int getEntryCount() {
+            return entries.size();
+        }
+
+        private void onAccess(final Node node) {
+            switch (node.region) {
+                case WINDOW -> {
+                    window.remove(node);
+                    window.addFirst(node);
+                }
+                case PROBATION -> {
+                    // Promote to the protected region. If it overflows, demote the least recently
+                    // used protected entries back to probation
+                    probation.remove(node);
+                    node.region = Region.PROTECTED;
+                    protectedList.addFirst(node);
+                    while ((protectedList.size > maxProtectedSize) && (protectedList.tail != node)) {
+                        final Node demoted = protectedList.tail;
+                        protectedList.remove(demoted);
+                        demoted.region = Region.PROBATION;
+                        probation.addFirst(demoted);
+                    }
+                }
+                case PROTECTED -> {
+                    protectedList.remove(node);
+                    protectedList.addFirst(node);
+                }
+            }
+        }
+
+        private void evict() {
+            // Entries evicted from the window become candidates for the main space. They are put
+            // to the head of the probation region
+            Node candidate = null;
+            while ((window.size > maxWindowSize) && (window.tail != null)) {
+                final Node node = window.tail;
+                window.remove(node);
+                node.region = Region.PROBATION;
+                probation.addFirst(node);
+                if (candidate == null) {
+                    candidate = node;
+                }
+            }
+            long evicted = 0;
+            while (window.size + probation.size + protectedList.size > maxSize) {
+                Node victim = probation.tail;
+                if (victim == null) {
+                    victim = (protectedList.tail != null) ? protectedList.tail : window.tail;
+                }
+                // TinyLFU admission: a candidate is only kept, if it's more popular than the victim
+                if ((candidate != null)
+                        && (candidate != victim)
+                        && (sketch.frequency(candidate.keyHashCode) <= sketch.frequency(victim.keyHashCode))) {
+                    victim = candidate;
+                }
+                if (victim == candidate) {
+                    // The next candidate, if any, is the one moved from the window after this one
+                    candidate = candidate.prev;
+                }
+                evictNode(victim);
+                evicted++;
+            }
+            if (evicted > 0) {
+                evictionListener.accept(evicted);
+            }
+        }
+
+        private void evictNode(final Node node) {
+            listOf(node.region).remove(node);
+            entries.remove(node.leafBytes.keyBytes());
+            unindexPath(node.leafBytes);
+        }
+
+        private AccessOrderList listOf(final Region region) {
+            return switch (region) {
+                case WINDOW -> window;
+                case PROBATION -> probation;
+                case PROTECTED -> protectedList;
+            };
+        }
+
+        private void indexPath(final VirtualLeafBytes leafBytes) {
+            if ((leafBytes.valueBytes() != null) && (leafBytes.path() != INVALID_PATH)) {
+                pathIndex.put(leafBytes.path(), leafBytes);
+            }
+        }
+
+        private void unindexPath(final VirtualLeafBytes leafBytes) {
+            if ((leafBytes.valueBytes() != null) && (leafBytes.path() != INVALID_PATH)) {
+                pathIndex.remove(leafBytes.path(), leafBytes);
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch with four 4-bit counters per key to estimate key access frequencies. All
+     * counters are halved periodically, when the number of increments reaches the sample size,
+     * so the sketch reflects recent access history rather than all-time popularity.
+     */
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+            0x97cb3127L, 0xab31e6f1L, 0xc2b2ae35L, 0x85ebca6bL,
+        };
+
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private static final int MAX_COUNTER = 15;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(final long expectedEntries) {
+            final int capacity = (int) Math.min(1 << 24, Math.max(64, expectedEntries));
+            final int tableSize = Integer.highestOneBit(capacity - 1) << 1;
+            table = new long[tableSize];
+            tableMask = tableSize - 1;
+            sampleSize = 10 * capacity;
+        }
+
+        int frequency(final int hashCode) {
+            int min = MAX_COUNTER;
+            for (int i = 0; i < SEEDS.length; i++) {
+                final int h = rehash(hashCode, i);
+                final int shift = counterShift(h);
+                final int count = (int) ((table[h & tableMask] >>> shift) & 0xF);
+                min = Math.min(min, count);
+            }
+            return min;
+        }
+
+        void increment(final int hashCode) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                final int h = rehash(hashCode, i);
+                final int index = h & tableMask;
+                final int shift = counterShift(h);
+                if (((table[index] >>> shift) & 0xF) < MAX_COUNTER) {
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && (++additions >= sampleSize)) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions /= 2;
+        }
+
+        private static int rehash(final int hashCode, final int i) {
+            long h = (hashCode + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h;
+        }
+
+        private static int counterShift(final int h) {
+            // One of 16 4-bit counters in a long, selected by the higher hash bits
+            return ((h >>> 24) & 0xF) << 2;
+        }
+    }
+}
@@ -34,11 +34,13 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -49,6 +51,8 @@ import org.apache.logging.log4j.Logger;
  * and keep them disabled until they are explicitly enabled again.
  * The compaction tasks are executed in a background thread pool.
  * The number of threads in the pool is defined by {@link MerkleDbConfig#compactionThreads()} property.
+ * If there are more compaction tasks than threads, pending tasks are ordered by
+ * {@link DataFileCompactor#getCompactionPriority() compaction priority} of their stores, across all data sources.
  *
  */
 @SuppressWarnings("rawtypes")
@@ -61,6 +65,8 @@ class MerkleDbCompactionCoordinator {
 
     /**
      * An executor service to run compaction tasks. Accessed using {@link #getCompactionExecutor()}.
+     * Pending tasks are kept in a priority queue, so only {@link PrioritizedCompactionTask} instances
+     * may be submitted to this executor, using {@link ExecutorService#execute(Runnable)}.
      */
     private static ExecutorService compactionExecutor = null;
 
@@ -72,7 +78,7 @@ class MerkleDbCompactionCoordinator {
                     config.compactionThreads(),
                     50L,
                     TimeUnit.MILLISECONDS,
-                    new LinkedBlockingQueue<>(),
+                    new PriorityBlockingQueue<>(),
                     new ThreadConfiguration(getStaticThreadManager())
                             .setThreadGroup(new ThreadGroup("Compaction"))
                             .setComponent(MERKLEDB_COMPONENT)
@@ -247,7 +253,10 @@ class MerkleDbCompactionCoordinator {
                 }
             }
             final ExecutorService executor = getCompactionExecutor();
-            compactionFuturesByName.put(task.id, executor.submit(task));
+            final PrioritizedCompactionTask future =
+                    new PrioritizedCompactionTask(task, task.compactor.getCompactionPriority());
+            compactionFuturesByName.put(task.id, future);
+            executor.execute(future);
         }
     }
 
@@ -288,4 +297,31 @@ class MerkleDbCompactionCoordinator {
             return false;
         }
     }
+
+    /**
+     * A compaction task future, which is ordered in the compaction executor queue by compaction priority.
+     * Tasks with higher priority are executed first, tasks with equal priority are executed in the order
+     * they are submitted.
+     */
+    private static final class PrioritizedCompactionTask extends FutureTask<Boolean>
+            implements Comparable<PrioritizedCompactionTask> {
+
+        // Used to keep submission order for tasks with equal priorities
+        private static final AtomicLong SEQUENCE = new AtomicLong(0);
+
+        private final double priority;
+
+        private final long sequence = SEQUENCE.getAndIncrement();
+
+        PrioritizedCompactionTask(@NonNull final Callable<Boolean> task, final double priority) {
+            super(task);
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(@NonNull final PrioritizedCompactionTask that) {
+            final int result = Double.compare(that.priority, priority);
+            return (result != 0) ? result : Long.compare(sequence, that.sequence);
+        }
+    }
 }
@@ -41,10 +41,14 @@ import com.swirlds.merkledb.collections.HashListByteBuffer;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.collections.LongListDisk;
 import com.swirlds.merkledb.collections.LongListOffHeap;
+import com.swirlds.merkledb.collections.LongListSnapshotChain;
 import com.swirlds.merkledb.collections.OffHeapUser;
+import com.swirlds.merkledb.files.CompactionBandwidthLimiter;
+import com.swirlds.merkledb.files.DataFileCollection;
 import com.swirlds.merkledb.files.DataFileCollection.LoadedDataCallback;
 import com.swirlds.merkledb.files.DataFileCompactor;
 import com.swirlds.merkledb.files.DataFileReader;
+import com.swirlds.merkledb.files.DataFileReader.DataItemConsumer;
 import com.swirlds.merkledb.files.MemoryIndexDiskKeyValueStore;
 import com.swirlds.merkledb.files.hashmap.HalfDiskHashMap;
 import com.swirlds.metrics.api.Metrics;
@@ -61,8 +65,11 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
@@ -111,6 +118,12 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     /** In memory off-heap store for path to disk location, this is used by leave store. */
     private final LongList pathToDiskLocationLeafNodes;
 
+    /** Incremental snapshots of {@link #pathToDiskLocationInternalNodes} */
+    private final LongListSnapshotChain pathToDiskLocationInternalNodesSnapshots;
+
+    /** Incremental snapshots of {@link #pathToDiskLocationLeafNodes} */
+    private final LongListSnapshotChain pathToDiskLocationLeafNodesSnapshots;
+
     /**
      * In memory off-heap store for node hashes. This data is never stored on disk so on load from disk, this
      * will be empty. That should cause all internal node hashes to have to be computed on the first round
@@ -138,18 +151,12 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     private final MemoryIndexDiskKeyValueStore pathToKeyValue;
 
     /**
-     * Cache size for reading virtual leaf records. Initialized in data source creation time from
-     * MerkleDb settings. If the value is zero, leaf records cache isn't used.
-     */
-    private final int leafRecordCacheSize;
-
-    /**
-     * Virtual leaf records cache. It's a simple array indexed by leaf keys % cache size. Cache
-     * eviction is not needed, as array size is fixed and can be configured in MerkleDb settings.
-     * Index conflicts are resolved in a very straightforward way: whatever entry is read last, it's
-     * put to the cache.
+     * Virtual leaf records cache. Entries are looked up by leaf keys and, if they contain values,
+     * by leaf paths. The cache is bounded in bytes, its size is initialized in data source creation
+     * time from MerkleDb settings. If the size is zero, leaf records cache isn't used, and this
+     * field is null.
      */
-    private final VirtualLeafBytes[] leafRecordCache;
+    private final LeafRecordCache leafRecordCache;
 
     /** Thread pool storing internal records */
     private final ExecutorService storeHashesExecutor;
@@ -240,20 +247,31 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         final boolean forceIndexRebuilding = database.getConfig().indexRebuildingEnforced();
         if (tableConfig.isPreferDiskBasedIndices()) {
             pathToDiskLocationInternalNodes = new LongListDisk(dbPaths.pathToDiskLocationInternalNodesFile);
+            LongListSnapshotChain.applyDeltas(
+                    pathToDiskLocationInternalNodes, dbPaths.pathToDiskLocationInternalNodesFile);
         } else if (Files.exists(dbPaths.pathToDiskLocationInternalNodesFile) && !forceIndexRebuilding) {
             pathToDiskLocationInternalNodes = new LongListOffHeap(dbPaths.pathToDiskLocationInternalNodesFile);
+            LongListSnapshotChain.applyDeltas(
+                    pathToDiskLocationInternalNodes, dbPaths.pathToDiskLocationInternalNodesFile);
         } else {
             pathToDiskLocationInternalNodes = new LongListOffHeap();
         }
         // path to disk location index, leaf nodes
         if (tableConfig.isPreferDiskBasedIndices()) {
             pathToDiskLocationLeafNodes = new LongListDisk(dbPaths.pathToDiskLocationLeafNodesFile);
+            LongListSnapshotChain.applyDeltas(pathToDiskLocationLeafNodes, dbPaths.pathToDiskLocationLeafNodesFile);
         } else if (Files.exists(dbPaths.pathToDiskLocationLeafNodesFile) && !forceIndexRebuilding) {
             pathToDiskLocationLeafNodes = new LongListOffHeap(dbPaths.pathToDiskLocationLeafNodesFile);
+            LongListSnapshotChain.applyDeltas(pathToDiskLocationLeafNodes, dbPaths.pathToDiskLocationLeafNodesFile);
         } else {
             pathToDiskLocationLeafNodes =
                     new LongListOffHeap(database.getConfig().reservedBufferLengthForLeafList());
         }
+        final int indexSnapshotMaxDeltas = database.getConfig().indexSnapshotMaxDeltas();
+        pathToDiskLocationInternalNodesSnapshots = new LongListSnapshotChain(
+                pathToDiskLocationInternalNodes, indexSnapshotMaxDeltas, dbPaths.pathToDiskLocationInternalNodesFile);
+        pathToDiskLocationLeafNodesSnapshots = new LongListSnapshotChain(
+                pathToDiskLocationLeafNodes, indexSnapshotMaxDeltas, dbPaths.pathToDiskLocationLeafNodesFile);
 
         // internal node hashes store, RAM
         if (tableConfig.getHashesRamToDiskThreshold() > 0) {
@@ -355,7 +373,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 pathToKeyValueStoreName,
                 tableName + ":pathToHashKeyValue",
                 leafRecordLoadedCallback,
-                pathToDiskLocationLeafNodes);
+                pathToDiskLocationLeafNodes,
+                tableConfig.getCompression());
         final DataFileCompactor pathToKeyValueFileCompactor = new DataFileCompactor(
                 database.getConfig(),
                 pathToKeyValueStoreName,
@@ -367,8 +386,10 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 updateTotalStatsFunction);
 
         // Leaf records cache
-        leafRecordCacheSize = database.getConfig().leafRecordCacheSize();
-        leafRecordCache = (leafRecordCacheSize > 0) ? new VirtualLeafBytes[leafRecordCacheSize] : null;
+        final long leafRecordCacheSize = database.getConfig().leafRecordCacheSizeBytes();
+        leafRecordCache = (leafRecordCacheSize > 0)
+                ? new LeafRecordCache(leafRecordCacheSize, count -> statisticsUpdater.countLeafCacheEvictions(count))
+                : null;
 
         // Update count of open databases
         COUNT_OF_OPEN_DATABASES.increment();
@@ -488,6 +509,10 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             @NonNull final Stream<VirtualLeafBytes> leafRecordsToDelete,
             final boolean isReconnectContext)
             throws IOException {
+        // Compactions back off while data is flushed to disk
+        final CompactionBandwidthLimiter compactionBandwidthLimiter =
+                CompactionBandwidthLimiter.getInstance(database.getConfig());
+        compactionBandwidthLimiter.flushStarted();
         try {
             validLeafPathRange = new KeyRange(firstLeafPath, lastLeafPath);
             final CountDownLatch countDownLatch = new CountDownLatch(lastLeafPath > 0 ? 2 : 1);
@@ -542,12 +567,17 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 Thread.currentThread().interrupt();
             }
         } finally {
+            compactionBandwidthLimiter.flushFinished();
             // Report total size on disk as sum of all store files. All metadata and other helper files
             // are considered small enough to be ignored. If/when we decide to use on-disk long lists
             // for indices, they should be added here
             statisticsUpdater.updateStoreFileStats(this);
             // update off-heap stats
             statisticsUpdater.updateOffHeapStats(this);
+            // update leaf records cache stats
+            statisticsUpdater.updateLeafCacheStats(this);
+            // update leaf key Bloom filter stats
+            statisticsUpdater.updateBloomFilterStats(this);
         }
     }
 
@@ -565,17 +595,12 @@ public final class MerkleDbDataSource implements VirtualDataSource {
 
         final long path;
         VirtualLeafBytes cached = null;
-        int cacheIndex = -1;
         if (leafRecordCache != null) {
-            cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-            // No synchronization is needed here. Java guarantees (JLS 17.7) that reference writes
-            // are atomic, so we will never get corrupted objects from the array. The object may
-            // be overwritten in the cache in a different thread in parallel, but it isn't a
-            // problem as cached entry key is checked below anyway
-            cached = leafRecordCache[cacheIndex];
+            cached = leafRecordCache.getByKey(keyBytes, keyHashCode);
         }
         // If an entry is found in the cache, and entry key is the one requested
-        if ((cached != null) && keyBytes.equals(cached.keyBytes())) {
+        if (cached != null) {
+            statisticsUpdater.countLeafCacheHits();
             // Some cache entries contain just key and path, but no value. If the value is there,
             // just return the cached entry. If not, at least make use of the path
             if (cached.valueBytes() != null) {
@@ -585,7 +610,9 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             path = cached.path();
         } else {
             // Cache miss
-            cached = null;
+            if (leafRecordCache != null) {
+                statisticsUpdater.countLeafCacheMisses();
+            }
             statisticsUpdater.countLeafKeyReads();
             path = keyToPath.get(keyBytes, keyHashCode, INVALID_PATH);
         }
@@ -594,7 +621,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         if (path == INVALID_PATH) {
             // Cache the result if not already cached
             if (leafRecordCache != null && cached == null) {
-                leafRecordCache[cacheIndex] = new VirtualLeafBytes(path, keyBytes, 0, null);
+                leafRecordCache.put(new VirtualLeafBytes(path, keyBytes, keyHashCode, null), keyHashCode);
             }
             return null;
         }
@@ -612,13 +639,115 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         assert leafBytes != null && leafBytes.keyBytes().equals(keyBytes);
 
         if (leafRecordCache != null) {
-            // No synchronization is needed here, see the comment above
-            leafRecordCache[cacheIndex] = leafBytes;
+            leafRecordCache.put(leafBytes, keyHashCode);
         }
 
         return leafBytes;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Keys are looked up in the leaf records cache first. Paths for the remaining keys are loaded
+     * from the key to path store, then leaf records for all found paths are loaded from the path to
+     * key/value store. In both stores, data items are read in the order of their disk locations, and
+     * data items located close to each other are read together. See {@link
+     * DataFileCollection#readDataItemsUsingIndex(LongList, long[], DataItemConsumer)} for details.
+     */
+    @NonNull
+    @Override
+    public List<VirtualLeafBytes> loadLeafRecords(@NonNull final List<Bytes> keys, @NonNull final int[] keyHashCodes)
+            throws IOException {
+        requireNonNull(keys);
+        requireNonNull(keyHashCodes);
+        final int keyCount = keys.size();
+        if (keyHashCodes.length != keyCount) {
+            throw new IllegalArgumentException("Number of keys (" + keyCount + ") and key hash codes ("
+                    + keyHashCodes.length + ") don't match");
+        }
+        final VirtualLeafBytes[] records = new VirtualLeafBytes[keyCount];
+        // Leaf paths to load records for, INVALID_PATH if no record needs to be loaded
+        final long[] paths = new long[keyCount];
+
+        // Check the cache first, collect keys to look up in the key to path store
+        final List<Bytes> keysToFind = new ArrayList<>(keyCount);
+        int[] keyIndicesToFind = new int[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            final Bytes keyBytes = requireNonNull(keys.get(i));
+            final VirtualLeafBytes cached =
+                    (leafRecordCache != null) ? leafRecordCache.getByKey(keyBytes, keyHashCodes[i]) : null;
+            if (cached != null) {
+                statisticsUpdater.countLeafCacheHits();
+                if (cached.valueBytes() != null) {
+                    records[i] = cached;
+                    paths[i] = INVALID_PATH;
+                } else {
+                    paths[i] = cached.path();
+                }
+            } else {
+                if (leafRecordCache != null) {
+                    statisticsUpdater.countLeafCacheMisses();
+                }
+                statisticsUpdater.countLeafKeyReads();
+                keyIndicesToFind[keysToFind.size()] = i;
+                keysToFind.add(keyBytes);
+            }
+        }
+
+        // Look up paths
+        if (!keysToFind.isEmpty()) {
+            final int findCount = keysToFind.size();
+            keyIndicesToFind = Arrays.copyOf(keyIndicesToFind, findCount);
+            final int[] hashCodesToFind = new int[findCount];
+            for (int j = 0; j < findCount; j++) {
+                hashCodesToFind[j] = keyHashCodes[keyIndicesToFind[j]];
+            }
+            final long[] foundPaths = new long[findCount];
+            keyToPath.getAll(keysToFind, hashCodesToFind, foundPaths, INVALID_PATH);
+            for (int j = 0; j < findCount; j++) {
+                final int i = keyIndicesToFind[j];
+                paths[i] = foundPaths[j];
+                // Cache negative results
+                if ((leafRecordCache != null) && (foundPaths[j] == INVALID_PATH)) {
+                    leafRecordCache.put(
+                            new VirtualLeafBytes(INVALID_PATH, keysToFind.get(j), hashCodesToFind[j], null),
+                            hashCodesToFind[j]);
+                }
+            }
+        }
+
+        // Load leaf records. Paths outside the valid leaf path range are skipped, the same way
+        // as in loadLeafRecord()
+        final KeyRange leafPathRange = validLeafPathRange;
+        int readCount = 0;
+        final int[] keyIndicesToRead = new int[keyCount];
+        final long[] pathsToRead = new long[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            if ((paths[i] != INVALID_PATH) && leafPathRange.withinRange(paths[i])) {
+                statisticsUpdater.countLeafReads();
+                keyIndicesToRead[readCount] = i;
+                pathsToRead[readCount++] = paths[i];
+            }
+        }
+        if (readCount > 0) {
+            pathToKeyValue.get(Arrays.copyOf(pathsToRead, readCount), (j, dataItem) -> {
+                final VirtualLeafBytes leafBytes = VirtualLeafBytes.parseFrom(dataItem);
+                assert leafBytes != null && leafBytes.keyBytes().equals(keys.get(keyIndicesToRead[j]));
+                records[keyIndicesToRead[j]] = leafBytes;
+            });
+            if (leafRecordCache != null) {
+                for (int j = 0; j < readCount; j++) {
+                    final int i = keyIndicesToRead[j];
+                    if (records[i] != null) {
+                        leafRecordCache.put(records[i], keyHashCodes[i]);
+                    }
+                }
+            }
+        }
+
+        return Arrays.asList(records);
+    }
+
     /**
      * Load a leaf record by path. This method returns {@code null}, if the path is outside the
      * valid path range.
@@ -637,6 +766,16 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         if (!leafPathRange.withinRange(path)) {
             return null;
         }
+        if (leafRecordCache != null) {
+            // Only records previously loaded by key are indexed by path in the cache. Records
+            // loaded from disk by path don't have key hash codes, so they can't be cached
+            final VirtualLeafBytes cached = leafRecordCache.getByPath(path);
+            if (cached != null) {
+                statisticsUpdater.countLeafCacheHits();
+                return cached;
+            }
+            statisticsUpdater.countLeafCacheMisses();
+        }
         statisticsUpdater.countLeafReads();
         return VirtualLeafBytes.parseFrom(pathToKeyValue.get(path));
     }
@@ -653,15 +792,14 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         requireNonNull(keyBytes);
 
         // Check the cache first
-        int cacheIndex = -1;
         if (leafRecordCache != null) {
-            cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-            // No synchronization is needed here. See the comment in loadLeafRecord(key) above
-            final VirtualLeafBytes cached = leafRecordCache[cacheIndex];
-            if (cached != null && keyBytes.equals(cached.keyBytes())) {
+            final VirtualLeafBytes cached = leafRecordCache.getByKey(keyBytes, keyHashCode);
+            if (cached != null) {
+                statisticsUpdater.countLeafCacheHits();
                 // Cached path may be a valid path or INVALID_PATH, both are legal here
                 return cached.path();
             }
+            statisticsUpdater.countLeafCacheMisses();
         }
 
         statisticsUpdater.countLeafKeyReads();
@@ -669,7 +807,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
 
         if (leafRecordCache != null) {
             // Path may be INVALID_PATH here. Still needs to be cached (negative result)
-            leafRecordCache[cacheIndex] = new VirtualLeafBytes(path, keyBytes, keyHashCode, null);
+            leafRecordCache.put(new VirtualLeafBytes(path, keyBytes, keyHashCode, null), keyHashCode);
         }
 
         return path;
@@ -707,6 +845,49 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         return hash;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Hashes for paths below {@link MerkleDbTableConfig#getHashesRamToDiskThreshold()} are
+     * loaded from memory. The remaining hashes are loaded from disk in the order of their disk
+     * locations, see {@link DataFileCollection#readDataItemsUsingIndex(LongList, long[], DataItemConsumer)}
+     * for details.
+     */
+    @NonNull
+    @Override
+    public Hash[] loadHashes(@NonNull final long[] paths) throws IOException {
+        requireNonNull(paths);
+        final Hash[] hashes = new Hash[paths.length];
+        final long lastLeaf = validLeafPathRange.getMaxValidKey();
+        int diskCount = 0;
+        final int[] pathIndicesOnDisk = new int[paths.length];
+        final long[] pathsOnDisk = new long[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            final long path = paths[i];
+            if (path < 0) {
+                throw new IllegalArgumentException("Path (" + path + ") is not valid");
+            }
+            // See comments in loadHash()
+            if (path > lastLeaf) {
+                continue;
+            }
+            if (path < tableConfig.getHashesRamToDiskThreshold()) {
+                hashes[i] = hashStoreRam.get(path);
+            } else {
+                statisticsUpdater.countHashReads();
+                pathIndicesOnDisk[diskCount] = i;
+                pathsOnDisk[diskCount++] = path;
+            }
+        }
+        if (diskCount > 0) {
+            hashStoreDisk.get(Arrays.copyOf(pathsOnDisk, diskCount), (j, dataItem) -> {
+                final VirtualHashRecord rec = VirtualHashRecord.parseFrom(dataItem);
+                hashes[pathIndicesOnDisk[j]] = (rec != null) ? rec.hash() : null;
+            });
+        }
+        return hashes;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -821,11 +1002,12 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 final CountDownLatch countDownLatch = new CountDownLatch(7);
                 // write all data stores
                 runWithSnapshotExecutor(true, countDownLatch, "pathToDiskLocationInternalNodes", () -> {
-                    pathToDiskLocationInternalNodes.writeToFile(snapshotDbPaths.pathToDiskLocationInternalNodesFile);
+                    pathToDiskLocationInternalNodesSnapshots.snapshot(
+                            snapshotDbPaths.pathToDiskLocationInternalNodesFile);
                     return true;
                 });
                 runWithSnapshotExecutor(true, countDownLatch, "pathToDiskLocationLeafNodes", () -> {
-                    pathToDiskLocationLeafNodes.writeToFile(snapshotDbPaths.pathToDiskLocationLeafNodesFile);
+                    pathToDiskLocationLeafNodesSnapshots.snapshot(snapshotDbPaths.pathToDiskLocationLeafNodesFile);
                     return true;
                 });
                 runWithSnapshotExecutor(hashStoreRam != null, countDownLatch, "internalHashStoreRam", () -> {
@@ -1206,12 +1388,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     /**
      * Invalidates the given key in virtual leaf record cache, if the cache is enabled.
      * <p>
-     * If the key is deleted, it's still updated in the cache. It means no record with the given
-     * key exists in the data source, so further lookups for the key are skipped.
-     * <p>
-     * Cache index is calculated as the key's hash code % cache size. The cache is only updated,
-     * if the current record at this index has the given key. If the key is different, no update is
-     * performed.
+     * The entry for the key is removed from the cache, both from the key and the path indices,
+     * so further lookups for the key or the path are served from disk.
      *
      * @param keyBytes virtual key
      * @param keyHashCode virtual key hash code
@@ -1220,11 +1398,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         if (leafRecordCache == null) {
             return;
         }
-        final int cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-        final VirtualLeafBytes cached = leafRecordCache[cacheIndex];
-        if ((cached != null) && keyBytes.equals(cached.keyBytes())) {
-            leafRecordCache[cacheIndex] = null;
-        }
+        leafRecordCache.invalidate(keyBytes, keyHashCode);
     }
 
     FileStatisticAware getHashStoreDisk() {
@@ -1243,6 +1417,10 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         return compactionCoordinator;
     }
 
+    LeafRecordCache getLeafRecordCache() {
+        return leafRecordCache;
+    }
+
     OffHeapUser getHashStoreRam() {
         return hashStoreRam;
     }
@@ -18,6 +18,7 @@ package com.swirlds.merkledb;
 
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.metrics.api.DoubleAccumulator;
+import com.swirlds.metrics.api.DoubleGauge;
 import com.swirlds.metrics.api.FloatFormats;
 import com.swirlds.metrics.api.IntegerGauge;
 import com.swirlds.metrics.api.LongAccumulator;
@@ -47,6 +48,8 @@ public class MerkleDbStatistics {
     private static final String LEVEL_PREFIX = "level_";
     /** Prefix for all off-heap related metrics */
     private static final String OFFHEAP_PREFIX = "offheap_";
+    /** Prefix for all leaf records cache related metrics */
+    private static final String CACHE_PREFIX = "cache_";
 
     private final MerkleDbConfig dbConfig;
 
@@ -58,6 +61,21 @@ public class MerkleDbStatistics {
     private LongAccumulator leafReads;
     /** Leaf keys - reads / s */
     private LongAccumulator leafKeyReads;
+    /** Leaf keys - reads answered by Bloom filters without disk access / s */
+    private LongAccumulator leafKeyBloomNegatives;
+    /** Leaf keys - reads, which Bloom filters failed to answer, and keys were not found / s */
+    private LongAccumulator leafKeyBloomFalsePositives;
+    /** Leaf keys - Bloom filters false positive rate, percent */
+    private DoubleGauge leafKeyBloomFalsePositiveRate;
+
+    /** Leaf records cache - hits / s */
+    private LongAccumulator leafCacheHits;
+    /** Leaf records cache - misses / s */
+    private LongAccumulator leafCacheMisses;
+    /** Leaf records cache - evictions / s */
+    private LongAccumulator leafCacheEvictions;
+    /** Leaf records cache - size in Mb */
+    private IntegerGauge leafCacheSizeMb;
 
     /** Hashes store - file count */
     private IntegerGauge hashesStoreFileCount;
@@ -83,6 +101,12 @@ public class MerkleDbStatistics {
     private LongAccumulator flushLeafKeysWritten;
     private DoubleAccumulator flushLeafKeysStoreFileSizeMb;
 
+    /** Hashes store - estimated size of stale data to be removed by compactions, in Mb */
+    private IntegerGauge hashesStoreCompactionDebtMb;
+    /** Leaves store - estimated size of stale data to be removed by compactions, in Mb */
+    private IntegerGauge leavesStoreCompactionDebtMb;
+    /** Leaf keys store - estimated size of stale data to be removed by compactions, in Mb */
+    private IntegerGauge leafKeysStoreCompactionDebtMb;
     /** Hashes store compactions - time in ms */
     private final List<LongAccumulator> hashesStoreCompactionTimeMsList;
     /** Hashes store compactions - saved space in Mb */
@@ -175,6 +199,36 @@ public class MerkleDbStatistics {
                 metrics, DS_PREFIX + READS_PREFIX + "leaves_" + label, "Number of leaf reads, " + label);
         leafKeyReads = buildLongAccumulator(
                 metrics, DS_PREFIX + READS_PREFIX + "leafKeys_" + label, "Number of leaf key reads, " + label);
+        leafKeyBloomNegatives = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + READS_PREFIX + "leafKeysBloomNegatives_" + label,
+                "Number of leaf key reads answered by Bloom filters without disk access, " + label);
+        leafKeyBloomFalsePositives = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + READS_PREFIX + "leafKeysBloomFalsePositives_" + label,
+                "Number of leaf key reads of missing keys, which Bloom filters failed to answer, " + label);
+        leafKeyBloomFalsePositiveRate = metrics.getOrCreate(new DoubleGauge.Config(
+                        STAT_CATEGORY, DS_PREFIX + READS_PREFIX + "leafKeysBloomFpRate_" + label)
+                .withDescription("Leaf key Bloom filters false positive rate, " + label + ", percent")
+                .withFormat(FloatFormats.FORMAT_9_6));
+
+        // Leaf records cache
+        leafCacheHits = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafHits_" + label,
+                "Number of leaf records cache hits, " + label);
+        leafCacheMisses = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafMisses_" + label,
+                "Number of leaf records cache misses, " + label);
+        leafCacheEvictions = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafEvictions_" + label,
+                "Number of leaf records evicted from cache, " + label);
+        leafCacheSizeMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafSizeMb_" + label,
+                "Leaf records cache size, " + label + ", Mb");
 
         // File counts and sizes
         hashesStoreFileCount = metrics.getOrCreate(
@@ -234,7 +288,18 @@ public class MerkleDbStatistics {
                 "Size of the new leaf keys store file created during flush, " + label + ", Mb");
 
         // Compaction
-
+        hashesStoreCompactionDebtMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "hashesDebtMb_" + label,
+                "Estimated size of stale data to be compacted, hashes store, " + label + ", Mb");
+        leavesStoreCompactionDebtMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leavesDebtMb_" + label,
+                "Estimated size of stale data to be compacted, leaves store, " + label + ", Mb");
+        leafKeysStoreCompactionDebtMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leafKeysDebtMb_" + label,
+                "Estimated size of stale data to be compacted, leaf keys store, " + label + ", Mb");
         for (int level = 0; level <= dbConfig.maxCompactionLevel(); level++) {
             // Hashes store
             hashesStoreCompactionTimeMsList.add(buildLongAccumulator(
@@ -324,6 +389,84 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Increments {@link #leafKeyBloomNegatives} stat by the given value
+     *
+     * @param value
+     * 		the number of leaf key reads answered by Bloom filters
+     */
+    public void countLeafKeyBloomNegatives(final long value) {
+        if (leafKeyBloomNegatives != null) {
+            leafKeyBloomNegatives.update(value);
+        }
+    }
+
+    /**
+     * Increments {@link #leafKeyBloomFalsePositives} stat by the given value
+     *
+     * @param value
+     * 		the number of Bloom filter false positives
+     */
+    public void countLeafKeyBloomFalsePositives(final long value) {
+        if (leafKeyBloomFalsePositives != null) {
+            leafKeyBloomFalsePositives.update(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #leafKeyBloomFalsePositiveRate} stat
+     *
+     * @param value
+     * 		the value to set, percent
+     */
+    public void setLeafKeyBloomFalsePositiveRate(final double value) {
+        if (leafKeyBloomFalsePositiveRate != null) {
+            leafKeyBloomFalsePositiveRate.set(value);
+        }
+    }
+
+    /**
+     * Increments {@link #leafCacheHits} stat by 1
+     */
+    public void countLeafCacheHits() {
+        if (leafCacheHits != null) {
+            leafCacheHits.update(1);
+        }
+    }
+
+    /**
+     * Increments {@link #leafCacheMisses} stat by 1
+     */
+    public void countLeafCacheMisses() {
+        if (leafCacheMisses != null) {
+            leafCacheMisses.update(1);
+        }
+    }
+
+    /**
+     * Increments {@link #leafCacheEvictions} stat by the given value
+     *
+     * @param value
+     * 		the number of evicted entries
+     */
+    public void countLeafCacheEvictions(final long value) {
+        if (leafCacheEvictions != null) {
+            leafCacheEvictions.update(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #leafCacheSizeMb} stat
+     *
+     * @param value
+     * 		the value to set
+     */
+    public void setLeafCacheSizeMb(final int value) {
+        if (leafCacheSizeMb != null) {
+            leafCacheSizeMb.set(value);
+        }
+    }
+
     /**
      * Set the current value for the {@link #hashesStoreFileCount} stat
      *
@@ -372,6 +515,42 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Set the current value for the {@link #hashesStoreCompactionDebtMb} stat
+     *
+     * @param value
+     * 		the value to set
+     */
+    public void setHashesStoreCompactionDebtMb(final int value) {
+        if (hashesStoreCompactionDebtMb != null) {
+            hashesStoreCompactionDebtMb.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #leavesStoreCompactionDebtMb} stat
+     *
+     * @param value
+     * 		the value to set
+     */
+    public void setLeavesStoreCompactionDebtMb(final int value) {
+        if (leavesStoreCompactionDebtMb != null) {
+            leavesStoreCompactionDebtMb.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #leafKeysStoreCompactionDebtMb} stat
+     *
+     * @param value
+     * 		the value to set
+     */
+    public void setLeafKeysStoreCompactionDebtMb(final int value) {
+        if (leafKeysStoreCompactionDebtMb != null) {
+            leafKeysStoreCompactionDebtMb.set(value);
+        }
+    }
+
     /**
      * Set the current value for the {@link #leavesStoreFileCount} stat
      *
@@ -22,7 +22,10 @@ import com.swirlds.common.metrics.FunctionGauge;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.collections.OffHeapUser;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.files.CompactionBandwidthLimiter;
 import com.swirlds.merkledb.files.DataFileReader;
+import com.swirlds.merkledb.files.hashmap.BucketBloomFilter;
+import com.swirlds.merkledb.files.hashmap.HalfDiskHashMap;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.LongSummaryStatistics;
@@ -41,9 +44,12 @@ public class MerkleDbStatisticsUpdater {
             .withDescription("the number of MerkleDb instances that have been created but not" + " released")
             .withFormat("%d");
 
+    private final MerkleDbConfig config;
+
     private final MerkleDbStatistics statistics;
 
     public MerkleDbStatisticsUpdater(@NonNull final MerkleDbConfig config, @NonNull final String tableName) {
+        this.config = config;
         statistics = new MerkleDbStatistics(config, tableName);
     }
 
@@ -54,11 +60,41 @@ public class MerkleDbStatisticsUpdater {
     public void registerMetrics(final Metrics metrics) {
         // register static/global statistics
         metrics.getOrCreate(COUNT_OF_OPEN_DATABASES_CONFIG);
+        registerCompactionBandwidthMetrics(metrics);
 
         // register instance statistics
         statistics.registerMetrics(metrics);
     }
 
+    /**
+     * Registers metrics of the compaction bandwidth limiter. The limiter is shared by all data sources,
+     * so are these metrics.
+     */
+    private void registerCompactionBandwidthMetrics(final Metrics metrics) {
+        final CompactionBandwidthLimiter limiter = CompactionBandwidthLimiter.getInstance(config);
+        metrics.getOrCreate(new FunctionGauge.Config<>(
+                        MerkleDbStatistics.STAT_CATEGORY,
+                        "merkledb_compactionBandwidthMbPerSec",
+                        Double.class,
+                        () -> limiter.getUsedBytesPerSec() * BYTES_TO_MEBIBYTES)
+                .withDescription("disk bandwidth used by compactions, reads and writes, Mb per second")
+                .withFormat("%.2f"));
+        metrics.getOrCreate(new FunctionGauge.Config<>(
+                        MerkleDbStatistics.STAT_CATEGORY,
+                        "merkledb_compactionBudgetUsage",
+                        Double.class,
+                        limiter::getBudgetUsagePercent)
+                .withDescription("disk bandwidth used by compactions, percent of the budget")
+                .withFormat("%.2f"));
+        metrics.getOrCreate(new FunctionGauge.Config<>(
+                        MerkleDbStatistics.STAT_CATEGORY,
+                        "merkledb_compactionThrottledMs",
+                        Long.class,
+                        limiter::getTotalThrottledTimeMs)
+                .withDescription("total time compactions were put on hold to stay within the bandwidth budget, ms")
+                .withFormat("%d"));
+    }
+
     /** Updates statistics with leaf keys store file size. */
     void setFlushLeafKeysStoreFileSize(final DataFileReader newLeafKeysFile) {
         statistics.setFlushLeafKeysStoreFileSizeMb(
@@ -78,7 +114,7 @@ public class MerkleDbStatisticsUpdater {
     }
 
     /**
-     * Updates hashes store file stats: file count and total size in Mb. No-op if all hashes
+     * Updates hashes store file stats: file count, total size and compaction debt in Mb. No-op if all hashes
      * are cached in RAM.
      *
      * @return hashes store file size, Mb
@@ -90,13 +126,15 @@ public class MerkleDbStatisticsUpdater {
             statistics.setHashesStoreFileCount((int) internalHashesFileSizeStats.getCount());
             final int fileSizeInMb = (int) (internalHashesFileSizeStats.getSum() * BYTES_TO_MEBIBYTES);
             statistics.setHashesStoreFileSizeMb(fileSizeInMb);
+            statistics.setHashesStoreCompactionDebtMb(
+                    (int) (fileSizeInMb * dataSource.getHashStoreDisk().getGarbageRatioEstimate()));
             return fileSizeInMb;
         }
         return 0;
     }
 
     /**
-     * Updates leaves store file stats: file count and total size in Mb.
+     * Updates leaves store file stats: file count, total size and compaction debt in Mb.
      *
      * @return leaves store file size, Mb
      */
@@ -106,11 +144,13 @@ public class MerkleDbStatisticsUpdater {
         statistics.setLeavesStoreFileCount((int) leafDataFileSizeStats.getCount());
         final int fileSizeInMb = (int) (leafDataFileSizeStats.getSum() * BYTES_TO_MEBIBYTES);
         statistics.setLeavesStoreFileSizeMb(fileSizeInMb);
+        statistics.setLeavesStoreCompactionDebtMb(
+                (int) (fileSizeInMb * dataSource.getPathToKeyValue().getGarbageRatioEstimate()));
         return fileSizeInMb;
     }
 
     /**
-     * Updates leaf keys store file stats: file count and total size in Mb. No-op if keys are
+     * Updates leaf keys store file stats: file count, total size and compaction debt in Mb. No-op if keys are
      * longs and stored in a LongList rather than in a store on disk.
      *
      * @return leaf keys store file size, Mb
@@ -122,6 +162,8 @@ public class MerkleDbStatisticsUpdater {
             statistics.setLeafKeysStoreFileCount((int) leafKeyFileSizeStats.getCount());
             final int fileSizeInMb = (int) (leafKeyFileSizeStats.getSum() * BYTES_TO_MEBIBYTES);
             statistics.setLeafKeysStoreFileSizeMb(fileSizeInMb);
+            statistics.setLeafKeysStoreCompactionDebtMb(
+                    (int) (fileSizeInMb * dataSource.getKeyToPath().getGarbageRatioEstimate()));
             return fileSizeInMb;
         }
         return 0;
@@ -167,6 +209,45 @@ public class MerkleDbStatisticsUpdater {
         statistics.countHashReads();
     }
 
+    /** Updates statistics with number of leaf records cache hits. */
+    void countLeafCacheHits() {
+        statistics.countLeafCacheHits();
+    }
+
+    /** Updates statistics with number of leaf records cache misses. */
+    void countLeafCacheMisses() {
+        statistics.countLeafCacheMisses();
+    }
+
+    /** Updates statistics with number of leaf records evicted from cache. */
+    void countLeafCacheEvictions(final long count) {
+        statistics.countLeafCacheEvictions(count);
+    }
+
+    /** Updates leaf records cache size stats. No-op if the cache is disabled. */
+    void updateLeafCacheStats(final MerkleDbDataSource dataSource) {
+        final LeafRecordCache leafRecordCache = dataSource.getLeafRecordCache();
+        if (leafRecordCache != null) {
+            statistics.setLeafCacheSizeMb((int) (leafRecordCache.getSizeInBytes() * BYTES_TO_MEBIBYTES));
+        }
+    }
+
+    /** Updates leaf key Bloom filter stats. No-op if Bloom filters are disabled. */
+    void updateBloomFilterStats(final MerkleDbDataSource dataSource) {
+        if (dataSource.getKeyToPath() instanceof HalfDiskHashMap keyToPath) {
+            final BucketBloomFilter bloomFilter = keyToPath.getBloomFilter();
+            if (bloomFilter != null) {
+                final long negatives = bloomFilter.getAndResetNegatives();
+                final long falsePositives = bloomFilter.getAndResetFalsePositives();
+                statistics.countLeafKeyBloomNegatives(negatives);
+                statistics.countLeafKeyBloomFalsePositives(falsePositives);
+                if (negatives + falsePositives > 0) {
+                    statistics.setLeafKeyBloomFalsePositiveRate(100.0 * falsePositives / (negatives + falsePositives));
+                }
+            }
+        }
+    }
+
     /** Increments count of leaves written during a flush*/
     void countFlushLeavesWritten() {
         statistics.countFlushLeavesWritten(1);
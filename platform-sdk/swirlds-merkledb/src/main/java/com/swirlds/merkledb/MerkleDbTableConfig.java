@@ -31,6 +31,7 @@ import com.swirlds.common.io.SelfSerializable;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.files.DataFileCompression;
 import com.swirlds.virtualmap.serialize.KeySerializer;
 import com.swirlds.virtualmap.serialize.ValueSerializer;
 import java.io.IOException;
@@ -47,6 +48,7 @@ public final class MerkleDbTableConfig implements SelfSerializable {
 
     private static final class ClassVersion {
         public static final int ORIGINAL = 1;
+        public static final int DATA_FILE_COMPRESSION = 2;
     }
 
     private static final FieldDefinition FIELD_TABLECONFIG_HASHVERSION =
@@ -76,6 +78,8 @@ public final class MerkleDbTableConfig implements SelfSerializable {
             new FieldDefinition("maxNumberOfKeys", FieldType.UINT64, false, true, false, 8);
     private static final FieldDefinition FIELD_TABLECONFIG_HASHRAMTODISKTHRESHOLD =
             new FieldDefinition("hashesRamToDiskThreshold", FieldType.UINT64, false, true, false, 9);
+    private static final FieldDefinition FIELD_TABLECONFIG_COMPRESSION =
+            new FieldDefinition("compression", FieldType.UINT32, false, true, false, 10);
 
     /**
      * Hash version.
@@ -133,6 +137,11 @@ public final class MerkleDbTableConfig implements SelfSerializable {
      */
     private boolean preferDiskBasedIndices = false;
 
+    /**
+     * Compression of leaf data files (path to key/value store). Other stores are never compressed.
+     */
+    private DataFileCompression compression = DataFileCompression.NONE;
+
     /**
      * Creates a new virtual table config with default values. This constructor should only be used
      * for deserialization.
@@ -172,6 +181,7 @@ public final class MerkleDbTableConfig implements SelfSerializable {
         preferDiskBasedIndices = false;
         maxNumberOfKeys = 0;
         hashesRamToDiskThreshold = 0;
+        compression = DataFileCompression.NONE;
 
         while (in.hasRemaining()) {
             final int tag = in.readVarInt(false);
@@ -199,6 +209,8 @@ public final class MerkleDbTableConfig implements SelfSerializable {
                 maxNumberOfKeys = in.readVarLong(false);
             } else if (fieldNum == FIELD_TABLECONFIG_HASHRAMTODISKTHRESHOLD.number()) {
                 hashesRamToDiskThreshold = in.readVarLong(false);
+            } else if (fieldNum == FIELD_TABLECONFIG_COMPRESSION.number()) {
+                compression = DataFileCompression.valueOf(in.readVarInt(false));
             } else {
                 throw new IllegalArgumentException("Unknown table config field: " + fieldNum);
             }
@@ -234,6 +246,11 @@ public final class MerkleDbTableConfig implements SelfSerializable {
                     FIELD_TABLECONFIG_HASHRAMTODISKTHRESHOLD, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
             size += ProtoWriterTools.sizeOfVarInt64(hashesRamToDiskThreshold);
         }
+        if (compression != DataFileCompression.NONE) {
+            size += ProtoWriterTools.sizeOfTag(
+                    FIELD_TABLECONFIG_COMPRESSION, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
+            size += ProtoWriterTools.sizeOfVarInt32(compression.id());
+        }
         return size;
     }
 
@@ -255,6 +272,10 @@ public final class MerkleDbTableConfig implements SelfSerializable {
             ProtoWriterTools.writeTag(out, FIELD_TABLECONFIG_HASHRAMTODISKTHRESHOLD);
             out.writeVarLong(hashesRamToDiskThreshold, false);
         }
+        if (compression != DataFileCompression.NONE) {
+            ProtoWriterTools.writeTag(out, FIELD_TABLECONFIG_COMPRESSION);
+            out.writeVarInt(compression.id(), false);
+        }
     }
 
     /**
@@ -375,6 +396,30 @@ public final class MerkleDbTableConfig implements SelfSerializable {
         return this;
     }
 
+    /**
+     * Leaf data files compression. Only new data files are written with this compression, existing
+     * files are read using compression stored in their metadata.
+     *
+     * @return
+     *      Leaf data files compression
+     */
+    public DataFileCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Specifies leaf data files compression.
+     *
+     * @param compression
+     *      Leaf data files compression
+     * @return
+     *      This table config object
+     */
+    public MerkleDbTableConfig compression(final DataFileCompression compression) {
+        this.compression = Objects.requireNonNull(compression);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -388,7 +433,7 @@ public final class MerkleDbTableConfig implements SelfSerializable {
      */
     @Override
     public int getVersion() {
-        return ClassVersion.ORIGINAL;
+        return ClassVersion.DATA_FILE_COMPRESSION;
     }
 
     /**
@@ -405,6 +450,7 @@ public final class MerkleDbTableConfig implements SelfSerializable {
         out.writeSerializable(null, true); // key serializer
         out.writeShort(0); // value version
         out.writeSerializable(null, true); // value serializer
+        out.writeInt(compression.id());
     }
 
     /**
@@ -421,6 +467,11 @@ public final class MerkleDbTableConfig implements SelfSerializable {
         in.readSerializable(); // key serializer
         in.readShort(); // value version
         in.readSerializable(); // value serializer
+        if (version >= ClassVersion.DATA_FILE_COMPRESSION) {
+            compression = DataFileCompression.valueOf(in.readInt());
+        } else {
+            compression = DataFileCompression.NONE;
+        }
     }
 
     /**
@@ -433,6 +484,7 @@ public final class MerkleDbTableConfig implements SelfSerializable {
         copy.preferDiskIndices(preferDiskBasedIndices);
         copy.hashesRamToDiskThreshold(hashesRamToDiskThreshold);
         copy.maxNumberOfKeys(maxNumberOfKeys);
+        copy.compression(compression);
         return copy;
     }
 
@@ -441,7 +493,8 @@ public final class MerkleDbTableConfig implements SelfSerializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(hashVersion, hashType, preferDiskBasedIndices, maxNumberOfKeys, hashesRamToDiskThreshold);
+        return Objects.hash(
+                hashVersion, hashType, preferDiskBasedIndices, maxNumberOfKeys, hashesRamToDiskThreshold, compression);
     }
 
     /**
@@ -456,6 +509,7 @@ public final class MerkleDbTableConfig implements SelfSerializable {
                 && (maxNumberOfKeys == other.maxNumberOfKeys)
                 && (hashesRamToDiskThreshold == other.hashesRamToDiskThreshold)
                 && (hashVersion == other.hashVersion)
+                && (compression == other.compression)
                 && Objects.equals(hashType, other.hashType);
     }
 }
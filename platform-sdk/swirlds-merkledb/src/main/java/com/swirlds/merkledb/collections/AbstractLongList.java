@@ -24,15 +24,22 @@ import static java.lang.Math.toIntExact;
 
 import com.swirlds.merkledb.utilities.MerkleDbFileUtils;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.LongStream;
 import java.util.stream.StreamSupport;
@@ -92,6 +99,8 @@ public abstract class AbstractLongList<C> implements LongList {
     protected static final int FILE_HEADER_SIZE_V2 = VERSION_METADATA_SIZE + FORMAT_METADATA_SIZE_V2;
     /** File header size for the latest format */
     protected final int currentFileHeaderSize;
+    /** The version number for format of delta files, see {@link #writeDeltaToFile(Path)} */
+    private static final int DELTA_FILE_FORMAT_VERSION = 1;
 
     /**
      * The number of longs to store in each allocated buffer. Must be a positive integer. If the
@@ -126,6 +135,12 @@ public abstract class AbstractLongList<C> implements LongList {
      */
     protected final long reservedBufferLength;
 
+    /**
+     * A bit set of chunks changed since the last {@link #writeDeltaToFile(Path)} or {@link #resetChangeTracking()}
+     * call. Bit {@code i % 64} of element {@code i / 64} corresponds to the chunk with index {@code i}.
+     */
+    private final AtomicLongArray changedChunks;
+
     /**
      * Construct a new LongList with the specified number of longs per chunk and maximum number of
      * longs.
@@ -150,6 +165,7 @@ public abstract class AbstractLongList<C> implements LongList {
         }
         currentFileHeaderSize = FILE_HEADER_SIZE_V2;
         chunkList = new AtomicReferenceArray<>(chunkNum);
+        changedChunks = new AtomicLongArray(calculateChangedChunksLength(chunkNum));
         // multiplyExact throws exception if we overflow and int
         memoryChunkSize = Math.multiplyExact(numLongsPerChunk, Long.BYTES);
         this.reservedBufferLength = reservedBufferLength;
@@ -218,6 +234,8 @@ public abstract class AbstractLongList<C> implements LongList {
                 readBodyFromFileChannelOnInit(file.getName(), fileChannel);
             }
         }
+        // all chunks loaded from the file are unchanged
+        changedChunks = new AtomicLongArray(calculateChangedChunksLength(chunkList.length()));
     }
 
     /**
@@ -297,6 +315,7 @@ public abstract class AbstractLongList<C> implements LongList {
         final C chunk = createOrGetChunk(index);
         final int subIndex = toIntExact(index % numLongsPerChunk);
         putToChunk(chunk, subIndex, value);
+        markChunkChanged(toIntExact(index / numLongsPerChunk));
     }
 
     /**
@@ -334,6 +353,7 @@ public abstract class AbstractLongList<C> implements LongList {
         if (result) {
             // update the size if necessary
             size.getAndUpdate(oldSize -> index >= oldSize ? (index + 1) : oldSize);
+            markChunkChanged(chunkIndex);
         }
         return result;
     }
@@ -413,6 +433,94 @@ public abstract class AbstractLongList<C> implements LongList {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void resetChangeTracking() {
+        for (int i = 0; i < changedChunks.length(); i++) {
+            changedChunks.set(i, 0);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Delta file format:
+     * <ul>
+     *     <li>int: delta file format version</li>
+     *     <li>long: min valid index</li>
+     *     <li>long: max valid index</li>
+     *     <li>for every changed chunk: long first index, int number of longs, and the longs</li>
+     *     <li>long: -1, end of the file marker</li>
+     * </ul>
+     * Only the valid range of every changed chunk is written. Absent values are written as
+     * {@link #IMPERMISSIBLE_VALUE}-s, so they are removed when the delta is applied.
+     */
+    @Override
+    public void writeDeltaToFile(final Path file) throws IOException {
+        final long minIndex = minValidIndex.get();
+        final long maxIndex = maxValidIndex.get();
+        try (final FileChannel fc = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(fc)));
+            out.writeInt(DELTA_FILE_FORMAT_VERSION);
+            out.writeLong(minIndex);
+            out.writeLong(maxIndex);
+            for (int i = 0; i < changedChunks.length(); i++) {
+                // changed bits are cleared before chunks are read, so changes made while this
+                // delta is written are never lost: they are written to this delta, or to the next one
+                long changed = changedChunks.getAndSet(i, 0);
+                while (changed != 0) {
+                    final int chunkIndex = i * Long.SIZE + Long.numberOfTrailingZeros(changed);
+                    changed &= changed - 1;
+                    final long firstIndex = max(minIndex, (long) chunkIndex * numLongsPerChunk);
+                    final long lastIndex = min(maxIndex, (long) (chunkIndex + 1) * numLongsPerChunk - 1);
+                    if ((minIndex < 0) || (firstIndex > lastIndex)) {
+                        // the whole chunk is outside the valid range
+                        continue;
+                    }
+                    out.writeLong(firstIndex);
+                    out.writeInt(toIntExact(lastIndex - firstIndex + 1));
+                    for (long index = firstIndex; index <= lastIndex; index++) {
+                        out.writeLong(get(index));
+                    }
+                }
+            }
+            out.writeLong(-1);
+            out.flush();
+            fc.force(true);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void applyDeltaFromFile(final Path file) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            final int formatVersion = in.readInt();
+            if (formatVersion != DELTA_FILE_FORMAT_VERSION) {
+                throw new IOException("Delta file format version is not supported. File format version ["
+                        + formatVersion
+                        + "], the latest supported version is ["
+                        + DELTA_FILE_FORMAT_VERSION
+                        + "].");
+            }
+            final long minIndex = in.readLong();
+            final long maxIndex = in.readLong();
+            updateValidRange(minIndex, maxIndex);
+            long firstIndex = in.readLong();
+            while (firstIndex >= 0) {
+                final int count = in.readInt();
+                for (long index = firstIndex; index < firstIndex + count; index++) {
+                    final long value = in.readLong();
+                    if (value != IMPERMISSIBLE_VALUE) {
+                        put(index, value);
+                    } else if (get(index) != IMPERMISSIBLE_VALUE) {
+                        remove(index);
+                    }
+                }
+                firstIndex = in.readLong();
+            }
+        }
+    }
+
     /**
      * Write or rewrite header in file
      *
@@ -516,6 +624,7 @@ public abstract class AbstractLongList<C> implements LongList {
             final C chunk = chunkList.get(i);
             if (chunk != null && chunkList.compareAndSet(i, chunk, null)) {
                 closeChunk(chunk);
+                markChunkChanged(i);
             }
         }
 
@@ -525,6 +634,7 @@ public abstract class AbstractLongList<C> implements LongList {
         C chunk = chunkList.get(firstChunkWithDataIndex);
         if (chunk != null && numberOfElementsToCleanUp > 0) {
             partialChunkCleanup(chunk, true, numberOfElementsToCleanUp);
+            markChunkChanged(firstChunkWithDataIndex);
         }
 
         // clean up chunk(s) reserved for buffer
@@ -532,6 +642,7 @@ public abstract class AbstractLongList<C> implements LongList {
             chunk = chunkList.get(i);
             if (chunk != null) {
                 partialChunkCleanup(chunk, true, numLongsPerChunk);
+                markChunkChanged(i);
             }
         }
     }
@@ -553,6 +664,7 @@ public abstract class AbstractLongList<C> implements LongList {
             final C chunk = chunkList.get(i);
             if (chunk != null && chunkList.compareAndSet(i, chunk, null)) {
                 closeChunk(chunk);
+                markChunkChanged(i);
             }
         }
 
@@ -562,6 +674,7 @@ public abstract class AbstractLongList<C> implements LongList {
         C chunk = chunkList.get(firstChunkWithDataIndex);
         if (chunk != null && numberOfEntriesToCleanUp > 0) {
             partialChunkCleanup(chunk, false, numberOfEntriesToCleanUp);
+            markChunkChanged(firstChunkWithDataIndex);
         }
 
         // clean up chunk(s) reserved for buffer
@@ -569,6 +682,7 @@ public abstract class AbstractLongList<C> implements LongList {
             chunk = chunkList.get(i);
             if (chunk != null) {
                 partialChunkCleanup(chunk, false, numLongsPerChunk);
+                markChunkChanged(i);
             }
         }
     }
@@ -601,6 +715,24 @@ public abstract class AbstractLongList<C> implements LongList {
         // to be overridden
     }
 
+    /**
+     * Marks a chunk as changed, so it's included into the next delta written with {@link #writeDeltaToFile(Path)}.
+     * The bit is checked first to avoid CAS operations on every put, as most puts are to already changed chunks.
+     *
+     * @param chunkIndex the index of the changed chunk
+     */
+    private void markChunkChanged(final int chunkIndex) {
+        final int i = chunkIndex / Long.SIZE;
+        final long bit = 1L << (chunkIndex % Long.SIZE);
+        if ((changedChunks.get(i) & bit) == 0) {
+            changedChunks.getAndAccumulate(i, bit, (v, b) -> v | b);
+        }
+    }
+
+    private static int calculateChangedChunksLength(final int numberOfChunks) {
+        return (numberOfChunks + Long.SIZE - 1) / Long.SIZE;
+    }
+
     /**
      * @param totalNumberOfElements total number of elements in the list
      * @return number of memory chunks that this list may have
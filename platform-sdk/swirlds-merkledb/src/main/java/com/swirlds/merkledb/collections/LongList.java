@@ -118,6 +118,39 @@ public interface LongList extends CASableLongIndex, Closeable {
      */
     void writeToFile(Path file) throws IOException;
 
+    /**
+     * Marks all longs in this list as unchanged. Only longs changed after this call are written
+     * by the next {@link #writeDeltaToFile(Path)} call. This method should be called right before
+     * the list is written to a full snapshot with {@link #writeToFile(Path)}, which becomes the base
+     * for subsequent deltas.
+     */
+    void resetChangeTracking();
+
+    /**
+     * Write longs changed since the last call to this method or to {@link #resetChangeTracking()}
+     * into a delta file. A list loaded from a full snapshot file, with all deltas written after the
+     * snapshot applied in order using {@link #applyDeltaFromFile(Path)}, has the same content and
+     * the same valid range as this list at the moment of this call.
+     * <p>
+     * <b> Just like with {@link #writeToFile(Path)}, it is not guaranteed what version of data will be
+     * written if the LongList is changed while this method is running. Such changes are included
+     * into the next delta, though. </b>
+     *
+     * @param file The file to write into, it should not exist but its parent directory should exist
+     *             and be writable.
+     * @throws IOException If there was a problem creating or writing to the file.
+     */
+    void writeDeltaToFile(Path file) throws IOException;
+
+    /**
+     * Applies a delta file previously written with {@link #writeDeltaToFile(Path)} to this list. The
+     * valid range of this list is updated to the range at the moment when the delta was written.
+     *
+     * @param file The delta file to read
+     * @throws IOException If there was a problem reading the file
+     */
+    void applyDeltaFromFile(Path file) throws IOException;
+
     /**
      * Updates min and max valid indexes in this list. If both values are -1, this indicates
      * the list is empty.
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.collections;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Incremental snapshots of a {@link LongList}. The chain of the latest snapshot is kept in the storage directory
+ * of the list owner, next to the list file, with {@link #CHAIN_FILE_SUFFIX}. The first snapshot writes the list to
+ * a full chain file, using {@link LongList#writeToFile(Path)}. Subsequent snapshots write a new delta file to the
+ * chain with longs changed since the previous snapshot, using {@link LongList#writeDeltaToFile(Path)}. After the
+ * configured number of deltas, the next snapshot is full again, so delta chains don't grow indefinitely. Every
+ * snapshot then hard links the full chain file and all chain deltas to the snapshot directory.
+ *
+ * <p>Chain files are never modified once written, they are only deleted when a new full file is written. This is
+ * why every snapshot directory is self-contained: it has the full file and all the deltas to apply to it, and
+ * snapshot directories may be moved or deleted in any order. If any chain file is missing, a full snapshot is
+ * written. If chain files can't be hard linked, they are copied.
+ *
+ * <p>Delta files are named after the full file with {@link #DELTA_FILE_SUFFIX} and a delta number starting
+ * from 1. To load a list from a snapshot, load it from the full file as usual, then call {@link
+ * #applyDeltas(LongList, Path)}.
+ */
+public final class LongListSnapshotChain {
+
+    /** Delta file name suffix, followed by a delta number */
+    static final String DELTA_FILE_SUFFIX = ".delta";
+
+    /** Chain file name suffix, appended to the name of the list file in the storage directory */
+    static final String CHAIN_FILE_SUFFIX = ".chain";
+
+    /** The list to snapshot */
+    private final LongList list;
+
+    /** Max number of deltas after a full snapshot. If zero, all snapshots are full */
+    private final int maxDeltas;
+
+    /** Full file of the chain, delta files of the chain are next to it */
+    private final Path chainFile;
+
+    /** Whether the chain files are written and can be extended by a delta. Guarded by this */
+    private boolean chainWritten = false;
+
+    /** Number of deltas in the chain. Guarded by this */
+    private int chainDeltaCount = 0;
+
+    /**
+     * Creates a new snapshot chain for the given list. Chain files from a previous run, if any, are not reused.
+     *
+     * @param list the list to snapshot
+     * @param maxDeltas max number of deltas after a full snapshot. If zero, all snapshots are full
+     * @param storageFile the list file in the storage directory of the list owner. This directory must not be
+     *     moved while the chain is in use. Chain files are created next to this file
+     */
+    public LongListSnapshotChain(@NonNull final LongList list, final int maxDeltas, @NonNull final Path storageFile) {
+        if (maxDeltas < 0) {
+            throw new IllegalArgumentException("Max number of deltas must not be negative");
+        }
+        this.list = Objects.requireNonNull(list);
+        this.maxDeltas = maxDeltas;
+        this.chainFile = chainFile(storageFile);
+    }
+
+    /**
+     * Writes a snapshot of the list. Depending on the number of deltas since the last full snapshot, either
+     * a full file or a delta is written to the chain. Then all chain files are hard linked to the snapshot.
+     *
+     * @param file the full file in the snapshot directory. Delta files are created in the same directory
+     * @throws IOException if there was a problem writing the snapshot
+     */
+    public synchronized void snapshot(@NonNull final Path file) throws IOException {
+        if (maxDeltas == 0) {
+            list.writeToFile(file);
+            return;
+        }
+        try {
+            if (chainWritten && (chainDeltaCount < maxDeltas) && chainFilesExist()) {
+                final Path deltaFile = deltaFile(chainFile, chainDeltaCount + 1);
+                Files.deleteIfExists(deltaFile);
+                list.writeDeltaToFile(deltaFile);
+                chainDeltaCount++;
+            } else {
+                // chain files may be hard linked to older snapshots, they must not be overwritten
+                chainWritten = false;
+                Files.deleteIfExists(chainFile);
+                deleteDeltas(chainFile, 1);
+                list.resetChangeTracking();
+                list.writeToFile(chainFile);
+                chainDeltaCount = 0;
+                chainWritten = true;
+            }
+            linkChain(file);
+        } catch (final IOException e) {
+            // changes since the last snapshot may be lost, start a new chain next time
+            chainWritten = false;
+            throw e;
+        }
+    }
+
+    /**
+     * Applies all delta files written next to the given full file, in order. The list must be loaded from
+     * the full file before this method is called.
+     *
+     * @param list the list loaded from the full file
+     * @param file the full file
+     * @throws IOException if there was a problem reading delta files
+     */
+    public static void applyDeltas(@NonNull final LongList list, @NonNull final Path file) throws IOException {
+        for (int i = 1; ; i++) {
+            final Path deltaFile = deltaFile(file, i);
+            if (!Files.exists(deltaFile)) {
+                break;
+            }
+            list.applyDeltaFromFile(deltaFile);
+        }
+    }
+
+    /**
+     * Checks that the full chain file and all chain deltas exist.
+     */
+    private boolean chainFilesExist() {
+        for (int i = 0; i <= chainDeltaCount; i++) {
+            if (!Files.exists((i == 0) ? chainFile : deltaFile(chainFile, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hard links, or copies if links aren't supported, the full chain file and all chain deltas to the given file.
+     */
+    private void linkChain(final Path file) throws IOException {
+        for (int i = 0; i <= chainDeltaCount; i++) {
+            final Path source = (i == 0) ? chainFile : deltaFile(chainFile, i);
+            final Path target = (i == 0) ? file : deltaFile(file, i);
+            Files.deleteIfExists(target);
+            try {
+                Files.createLink(target, source);
+            } catch (final IOException | UnsupportedOperationException e) {
+                // e.g. the snapshot is on a different file system
+                Files.copy(source, target);
+            }
+        }
+        deleteDeltas(file, chainDeltaCount + 1);
+    }
+
+    private static void deleteDeltas(final Path file, final int firstDelta) throws IOException {
+        for (int i = firstDelta; Files.deleteIfExists(deltaFile(file, i)); i++) {
+            // nothing else to do
+        }
+    }
+
+    static Path chainFile(final Path storageFile) {
+        return storageFile.resolveSibling(storageFile.getFileName() + CHAIN_FILE_SUFFIX);
+    }
+
+    static Path deltaFile(final Path file, final int deltaNumber) {
+        return file.resolveSibling(file.getFileName() + DELTA_FILE_SUFFIX + deltaNumber);
+    }
+}
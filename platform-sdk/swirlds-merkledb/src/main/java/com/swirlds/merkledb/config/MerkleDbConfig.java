@@ -21,6 +21,7 @@ import com.swirlds.config.api.ConfigProperty;
 import com.swirlds.config.api.Configuration;
 import com.swirlds.config.api.validation.ConfigViolation;
 import com.swirlds.config.api.validation.annotation.ConstraintMethod;
+import com.swirlds.config.api.validation.annotation.Max;
 import com.swirlds.config.api.validation.annotation.Min;
 import com.swirlds.config.api.validation.annotation.Positive;
 import com.swirlds.config.extensions.validators.DefaultConfigViolation;
@@ -62,12 +63,51 @@ import com.swirlds.config.extensions.validators.DefaultConfigViolation;
  * @param reservedBufferLengthForLeafList
  *      Length of a reserved buffer in a LongList used to store leafs. Value in bytes.
  * @param leafRecordCacheSize
- *      Cache size in bytes for reading virtual leaf records. Initialized in data source creation time from MerkleDb config.
- *      If the value is zero, leaf records cache isn't used.
+ *      No longer supported. This setting used to be the number of slots in the leaf records cache. It must not be
+ *      set, use {@link #leafRecordCacheSizeBytes} instead. If set to any value, config validation fails, so a slot
+ *      count from an old config is never silently taken as a size in bytes.
+ * @param leafRecordCacheSizeBytes
+ *      Cache size in bytes for reading virtual leaf records. Initialized in data source creation time from MerkleDb
+ *      config. The size includes leaf keys, values, and an estimated per-entry overhead. If the value is zero, leaf
+ *      records cache isn't used.
  * @param maxFileChannelsPerFileReader
  *     Maximum number of file channels per file reader.
  * @param maxThreadsPerFileChannel
  *    Maximum number of threads per file channel.
+ * @param memoryMappedFileReads
+ *    If true, data files are memory mapped, once they are fully written, and data items are read from them as
+ *    buffer slices without file channel reads and copying. Files that are still being written are always read
+ *    using file channels.
+ * @param keyToPathBloomFilterBitsPerKey
+ *    Number of Bloom filter bits per key in half disk hash map buckets. If positive, every bucket gets an
+ *    in-memory Bloom filter block, and lookups for keys, which are definitely not in the map, don't read
+ *    the bucket from disk. If zero, Bloom filters aren't used.
+ * @param batchReadThreads
+ *    Number of threads to read data items in parallel, when multiple leaf records or hashes are loaded
+ *    at once, for example, during virtual map warmup. The threads are shared between all data sources.
+ * @param batchReadCoalesceGapBytes
+ *    When multiple data items are loaded at once, data items in the same file, which are not more than
+ *    this number of bytes apart, are read from disk with a single read call.
+ * @param compactionBandwidthMbPerSec
+ *    Disk bandwidth budget for all compactions, in Mb per second. Both data items read from compacted files
+ *    and data items written to new files count towards the budget. The budget is shared between all data
+ *    sources. If zero, compactions aren't throttled.
+ * @param compactionBandwidthDuringFlushPercent
+ *    Percentage of {@link #compactionBandwidthMbPerSec} available to compactions, while data sources are
+ *    flushed to disk. Ignored, if compactions aren't throttled.
+ * @param compactionGarbageRatioThresholdPercent
+ *    If the estimated percentage of stale data items in a store reaches this threshold, the next compaction
+ *    of the store includes files of all compaction levels, regardless of {@link #minNumberOfFilesInCompaction}.
+ *    If zero, stores are compacted by levels only.
+ * @param indexSnapshotMaxDeltas
+ *    Max number of incremental index snapshots after a full index snapshot. If positive, data source snapshots
+ *    only write index chunks changed since the previous snapshot to delta files. The full index file and all
+ *    deltas are kept in the data source storage directory and hard linked to every snapshot. Every this number
+ *    of snapshots, a full index file is written again. If zero, index files are always written in full.
+ * @param compressedDataFileBlockSize
+ *    Uncompressed size, in bytes, of data item blocks in compressed data files. Larger blocks compress better,
+ *    but more bytes have to be decompressed to read a single data item. Only used by tables with data file
+ *    compression enabled, see {@link com.swirlds.merkledb.MerkleDbTableConfig#getCompression()}.
  */
 @ConfigData("merkleDb")
 public record MerkleDbConfig(
@@ -84,9 +124,20 @@ public record MerkleDbConfig(
         @ConfigProperty(defaultValue = "75.0") double percentHalfDiskHashMapFlushThreads,
         @ConfigProperty(defaultValue = "-1") int numHalfDiskHashMapFlushThreads,
         @ConfigProperty(defaultValue = "262144") int reservedBufferLengthForLeafList,
-        @ConfigProperty(defaultValue = "1048576") int leafRecordCacheSize,
+        @ConstraintMethod("leafRecordCacheSizeValidation") @ConfigProperty(defaultValue = "-1")
+                int leafRecordCacheSize,
+        @Min(0) @ConfigProperty(defaultValue = "134217728") long leafRecordCacheSizeBytes,
         @Min(1) @ConfigProperty(defaultValue = "8") int maxFileChannelsPerFileReader,
-        @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel) {
+        @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel,
+        @ConfigProperty(defaultValue = "false") boolean memoryMappedFileReads,
+        @Min(0) @Max(64) @ConfigProperty(defaultValue = "0") int keyToPathBloomFilterBitsPerKey,
+        @Min(1) @ConfigProperty(defaultValue = "8") int batchReadThreads,
+        @Min(0) @ConfigProperty(defaultValue = "16384") int batchReadCoalesceGapBytes,
+        @Min(0) @ConfigProperty(defaultValue = "0") int compactionBandwidthMbPerSec,
+        @Min(1) @Max(100) @ConfigProperty(defaultValue = "25") int compactionBandwidthDuringFlushPercent,
+        @Min(0) @Max(100) @ConfigProperty(defaultValue = "0") int compactionGarbageRatioThresholdPercent,
+        @Min(0) @ConfigProperty(defaultValue = "0") int indexSnapshotMaxDeltas,
+        @Min(1024) @ConfigProperty(defaultValue = "16384") int compressedDataFileBlockSize) {
 
     static double UNIT_FRACTION_PERCENT = 100.0;
 
@@ -104,6 +155,19 @@ public record MerkleDbConfig(
         return null;
     }
 
+    public ConfigViolation leafRecordCacheSizeValidation(final Configuration configuration) {
+        final int leafRecordCacheSize = configuration.getConfigData(MerkleDbConfig.class).leafRecordCacheSize();
+        if (leafRecordCacheSize != -1) {
+            return new DefaultConfigViolation(
+                    "leafRecordCacheSize",
+                    "%d".formatted(leafRecordCacheSize),
+                    true,
+                    "merkleDb.leafRecordCacheSize is no longer supported, configure the leaf records cache size in"
+                            + " bytes with merkleDb.leafRecordCacheSizeBytes");
+        }
+        return null;
+    }
+
     public int getNumHalfDiskHashMapFlushThreads() {
         final int numProcessors = Runtime.getRuntime().availableProcessors();
         final int threads = (numHalfDiskHashMapFlushThreads() == -1)
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static com.swirlds.base.units.UnitConstants.MEBIBYTES_TO_BYTES;
+
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket to limit disk bandwidth used by {@link DataFileCompactor compactions}. All compactions
+ * of all data sources share a single limiter, see {@link #getInstance(MerkleDbConfig)}, so the total
+ * compaction I/O stays within the configured budget regardless of how many compactions run in parallel.
+ *
+ * <p>Compactions call {@link #acquire(long)} for every data item they copy. If the budget is exceeded,
+ * the calling thread sleeps until enough bandwidth is available. Callers must not hold any locks that
+ * snapshots or flushes may need, while they are in this method.
+ *
+ * <p>While a data source is flushed to disk (between {@link #flushStarted()} and {@link #flushFinished()}
+ * calls), the budget is reduced to {@link MerkleDbConfig#compactionBandwidthDuringFlushPercent()} of its
+ * value, so compactions don't compete with flushes for disk bandwidth.
+ */
+public final class CompactionBandwidthLimiter {
+
+    /** Max time, in nanoseconds, for unused bandwidth to be accumulated for later bursts */
+    private static final long MAX_BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** Time window to measure bandwidth usage, in nanoseconds */
+    private static final long USAGE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * A limiter shared by all compactions. Accessed using {@link #getInstance(MerkleDbConfig)}.
+     */
+    private static CompactionBandwidthLimiter instance = null;
+
+    /**
+     * Returns the limiter shared by all compactions. It's created on the first call to this method
+     * using the provided config, all subsequent calls return the same limiter.
+     *
+     * @param config MerkleDb config
+     * @return the shared limiter
+     */
+    public static synchronized CompactionBandwidthLimiter getInstance(@NonNull final MerkleDbConfig config) {
+        if (instance == null) {
+            instance = new CompactionBandwidthLimiter(
+                    config.compactionBandwidthMbPerSec(),
+                    config.compactionBandwidthDuringFlushPercent(),
+                    System::nanoTime);
+        }
+        return instance;
+    }
+
+    /** Bandwidth budget, bytes per nanosecond. Zero if compactions aren't throttled */
+    private final double bytesPerNano;
+
+    /** Bandwidth budget while flushes are in progress, bytes per nanosecond */
+    private final double bytesPerNanoDuringFlush;
+
+    /** Time source, nanoseconds */
+    private final LongSupplier nanoTime;
+
+    /** Number of flushes currently in progress */
+    private final AtomicInteger flushesInProgress = new AtomicInteger(0);
+
+    /**
+     * Number of bytes available without waiting. May be negative, if bandwidth was reserved ahead
+     * of time by threads that are now waiting. Guarded by this
+     */
+    private double availableBytes = 0;
+
+    /** Last time {@link #availableBytes} was updated. Guarded by this */
+    private long lastRefillNanos;
+
+    /** Start time of the current usage window. Guarded by this */
+    private long usageWindowStartNanos;
+
+    /** Number of bytes acquired in the current usage window. Guarded by this */
+    private long usageWindowBytes = 0;
+
+    /** Bandwidth used in the last completed usage window, bytes per second. Guarded by this */
+    private double usedBytesPerSec = 0;
+
+    /** Total time compactions were put on hold by this limiter, in nanoseconds */
+    private final LongAdder throttledNanos = new LongAdder();
+
+    /**
+     * Creates a new limiter.
+     *
+     * @param bandwidthMbPerSec bandwidth budget, Mb per second. If zero, compactions aren't throttled
+     * @param duringFlushPercent percentage of the budget available while flushes are in progress
+     * @param nanoTime time source, nanoseconds
+     */
+    CompactionBandwidthLimiter(
+            final int bandwidthMbPerSec, final int duringFlushPercent, @NonNull final LongSupplier nanoTime) {
+        if (bandwidthMbPerSec < 0) {
+            throw new IllegalArgumentException("Compaction bandwidth must not be negative");
+        }
+        if ((duringFlushPercent <= 0) || (duringFlushPercent > 100)) {
+            throw new IllegalArgumentException("Compaction bandwidth during flushes must be in (0, 100] percent");
+        }
+        this.bytesPerNano = (double) bandwidthMbPerSec * MEBIBYTES_TO_BYTES / TimeUnit.SECONDS.toNanos(1);
+        this.bytesPerNanoDuringFlush = bytesPerNano * duringFlushPercent / 100;
+        this.nanoTime = nanoTime;
+        final long now = nanoTime.getAsLong();
+        this.lastRefillNanos = now;
+        this.usageWindowStartNanos = now;
+    }
+
+    /**
+     * Checks if compactions are throttled by this limiter.
+     *
+     * @return true if a bandwidth budget is set, false if compactions run at full speed
+     */
+    public boolean isEnabled() {
+        return bytesPerNano > 0;
+    }
+
+    /**
+     * Acquires bandwidth to read or write the given number of bytes. If the budget is exceeded, the
+     * current thread sleeps until the bytes can be processed within the budget.
+     *
+     * @param bytes the number of bytes to read or write
+     * @throws InterruptedException if the current thread is interrupted while sleeping
+     */
+    public void acquire(final long bytes) throws InterruptedException {
+        final long waitNanos = reserve(bytes);
+        if (waitNanos > 0) {
+            throttledNanos.add(waitNanos);
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Reserves bandwidth to read or write the given number of bytes and returns how long the caller
+     * has to wait before the bytes are processed.
+     *
+     * @param bytes the number of bytes to read or write
+     * @return time to wait, in nanoseconds
+     */
+    synchronized long reserve(final long bytes) {
+        final long now = nanoTime.getAsLong();
+        updateUsage(now);
+        usageWindowBytes += bytes;
+        if (!isEnabled()) {
+            return 0;
+        }
+        final double rate = (flushesInProgress.get() > 0) ? bytesPerNanoDuringFlush : bytesPerNano;
+        availableBytes = Math.min(availableBytes + (now - lastRefillNanos) * rate, MAX_BURST_NANOS * rate);
+        lastRefillNanos = now;
+        availableBytes -= bytes;
+        return (availableBytes < 0) ? (long) Math.ceil(-availableBytes / rate) : 0;
+    }
+
+    private void updateUsage(final long now) {
+        final long elapsed = now - usageWindowStartNanos;
+        if (elapsed >= USAGE_WINDOW_NANOS) {
+            usedBytesPerSec = (double) usageWindowBytes * TimeUnit.SECONDS.toNanos(1) / elapsed;
+            usageWindowStartNanos = now;
+            usageWindowBytes = 0;
+        }
+    }
+
+    /**
+     * Notifies this limiter that a data source flush is started. Until the flush is finished,
+     * compaction bandwidth budget is reduced.
+     */
+    public void flushStarted() {
+        flushesInProgress.incrementAndGet();
+    }
+
+    /**
+     * Notifies this limiter that a data source flush previously reported with {@link #flushStarted()}
+     * is finished.
+     */
+    public void flushFinished() {
+        flushesInProgress.decrementAndGet();
+    }
+
+    /**
+     * Returns bandwidth used by compactions in the last second, in bytes per second. It includes both
+     * bytes read and written.
+     */
+    public synchronized double getUsedBytesPerSec() {
+        updateUsage(nanoTime.getAsLong());
+        return usedBytesPerSec;
+    }
+
+    /**
+     * Returns bandwidth used by compactions in the last second as a percentage of the budget. If
+     * compactions aren't throttled, returns zero.
+     */
+    public double getBudgetUsagePercent() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        final double budgetBytesPerSec = bytesPerNano * TimeUnit.SECONDS.toNanos(1);
+        return 100.0 * getUsedBytesPerSec() / budgetBytesPerSec;
+    }
+
+    /**
+     * Returns total time compactions were put on hold by this limiter, in milliseconds.
+     */
+    public long getTotalThrottledTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(throttledNanos.sum());
+    }
+}
@@ -17,9 +17,11 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticThreadManager;
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 import static com.swirlds.logging.legacy.LogMarker.MERKLE_DB;
 import static com.swirlds.merkledb.KeyRange.INVALID_KEY_RANGE;
+import static com.swirlds.merkledb.MerkleDb.MERKLEDB_COMPONENT;
 import static com.swirlds.merkledb.files.DataFileCommon.FILE_EXTENSION;
 import static com.swirlds.merkledb.files.DataFileCommon.byteOffsetFromDataLocation;
 import static com.swirlds.merkledb.files.DataFileCommon.fileIndexFromDataLocation;
@@ -34,6 +36,7 @@ import com.hedera.pbj.runtime.io.WritableSequentialData;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
 import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
+import com.swirlds.common.threading.framework.config.ThreadConfiguration;
 import com.swirlds.merkledb.KeyRange;
 import com.swirlds.merkledb.Snapshotable;
 import com.swirlds.merkledb.collections.CASableLongIndex;
@@ -41,21 +44,31 @@ import com.swirlds.merkledb.collections.ImmutableIndexedObjectList;
 import com.swirlds.merkledb.collections.ImmutableIndexedObjectListUsingArray;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.files.DataFileReader.DataItemConsumer;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.LongSummaryStatistics;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -103,6 +116,38 @@ public class DataFileCollection implements Snapshotable {
     /** The number of times to retry index based reads */
     private static final int NUM_OF_READ_RETRIES = 5;
 
+    /**
+     * Max number of bytes to read from a data file with a single read call, when multiple data
+     * items are read at once.
+     */
+    private static final long MAX_COALESCED_READ_BYTES = 1024 * 1024;
+
+    /**
+     * An executor service to read data items in parallel, when multiple data items are read at once.
+     * Shared between all file collections, so the total number of threads reading data items in
+     * parallel is bounded. Accessed using {@link #getBatchReadExecutor(MerkleDbConfig)}.
+     */
+    private static ExecutorService batchReadExecutor = null;
+
+    private static synchronized ExecutorService getBatchReadExecutor(final MerkleDbConfig config) {
+        if (batchReadExecutor == null) {
+            batchReadExecutor = new ThreadPoolExecutor(
+                    config.batchReadThreads(),
+                    config.batchReadThreads(),
+                    50L,
+                    TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new ThreadConfiguration(getStaticThreadManager())
+                            .setThreadGroup(new ThreadGroup("BatchRead"))
+                            .setComponent(MERKLEDB_COMPONENT)
+                            .setThreadName("Batch reading")
+                            .setExceptionHandler((t, ex) ->
+                                    logger.error(EXCEPTION.getMarker(), "Uncaught exception during batch reads", ex))
+                            .buildFactory());
+        }
+        return batchReadExecutor;
+    }
+
     /** File collection metadata fields */
     private static final FieldDefinition FIELD_FILECOLLECTION_MINVALIDKEY =
             new FieldDefinition("minValidKey", FieldType.UINT64, false, true, false, 1);
@@ -124,6 +169,8 @@ public class DataFileCollection implements Snapshotable {
      * legacyStoreName *
      */
     private final String legacyStoreName;
+    /** Data item compression for new data files */
+    private final DataFileCompression compression;
     /** True if this DataFileCollection was loaded from an existing set of files */
     private final boolean loadedFromExistingFiles;
     /** The index to use for the next file we create */
@@ -218,12 +265,41 @@ public class DataFileCollection implements Snapshotable {
             final String legacyStoreName,
             final LoadedDataCallback loadedDataCallback)
             throws IOException {
+        this(dbConfig, storeDir, storeName, legacyStoreName, loadedDataCallback, DataFileCompression.NONE);
+    }
+
+    /**
+     * Construct a new DataFileCollection with a custom legacy store name and data item compression.
+     * Compression only applies to new data files. Existing files are read using compression stored
+     * in their metadata, so compression can be changed for existing collections.
+     *
+     * @param dbConfig MerkleDb dbConfig
+     * @param storeDir The directory to store data files
+     * @param storeName Base name for the data files, allowing more than one DataFileCollection to
+     *     share a directory
+     * @param legacyStoreName Base name for the data files. If not null, data files with this prefix
+     *     are processed by this file collection at startup same way as files prefixed with
+     *     storeName
+     * @param loadedDataCallback Callback for rebuilding indexes from existing files, can be null if
+     *     not needed. Using this is expensive as it requires all files to be read and parsed.
+     * @param compression Data item compression for new data files
+     * @throws IOException If there was a problem creating new data set or opening existing one
+     */
+    public DataFileCollection(
+            final MerkleDbConfig dbConfig,
+            final Path storeDir,
+            final String storeName,
+            final String legacyStoreName,
+            final LoadedDataCallback loadedDataCallback,
+            final DataFileCompression compression)
+            throws IOException {
         this(
                 dbConfig,
                 storeDir,
                 storeName,
                 legacyStoreName,
                 loadedDataCallback,
+                compression,
                 l -> new ImmutableIndexedObjectListUsingArray<DataFileReader>(DataFileReader[]::new, l));
     }
 
@@ -255,7 +331,28 @@ public class DataFileCollection implements Snapshotable {
             final Function<List<DataFileReader>, ImmutableIndexedObjectList<DataFileReader>>
                     indexedObjectListConstructor)
             throws IOException {
+        this(
+                dbConfig,
+                storeDir,
+                storeName,
+                legacyStoreName,
+                loadedDataCallback,
+                DataFileCompression.NONE,
+                indexedObjectListConstructor);
+    }
+
+    private DataFileCollection(
+            final MerkleDbConfig dbConfig,
+            final Path storeDir,
+            final String storeName,
+            final String legacyStoreName,
+            final LoadedDataCallback loadedDataCallback,
+            final DataFileCompression compression,
+            final Function<List<DataFileReader>, ImmutableIndexedObjectList<DataFileReader>>
+                    indexedObjectListConstructor)
+            throws IOException {
         this.dbConfig = dbConfig;
+        this.compression = Objects.requireNonNull(compression);
         this.storeDir = storeDir;
         this.storeName = storeName;
         this.legacyStoreName = legacyStoreName;
@@ -327,6 +424,31 @@ public class DataFileCollection implements Snapshotable {
                         .summaryStatistics();
     }
 
+    /**
+     * Estimates the fraction of data items in fully written files, which are stale, i.e. not
+     * referenced from the index anymore and can be removed by compaction. Every key in the valid
+     * key range is assumed to have exactly one live data item, so for stores, where some valid
+     * keys don't have data items, the estimate is a lower bound.
+     *
+     * @return estimated fraction of stale data items, from 0.0 to 1.0. If the valid key range
+     *     isn't known yet, returns zero
+     */
+    public double getGarbageRatioEstimate() {
+        final KeyRange keyRange = validKeyRange;
+        if ((keyRange.getMinValidKey() < 0) || (keyRange.getMaxValidKey() < keyRange.getMinValidKey())) {
+            return 0;
+        }
+        long totalItems = 0;
+        for (final DataFileReader reader : getAllCompletedFiles()) {
+            totalItems += reader.getMetadata().getDataItemCount();
+        }
+        if (totalItems == 0) {
+            return 0;
+        }
+        final long liveItems = Math.min(totalItems, keyRange.getMaxValidKey() - keyRange.getMinValidKey() + 1);
+        return (double) (totalItems - liveItems) / totalItems;
+    }
+
     /** Close all the data files */
     public void close() throws IOException {
         // finish writing if we still are
@@ -359,6 +481,7 @@ public class DataFileCollection implements Snapshotable {
         currentDataFileWriter.set(writer);
         final DataFileMetadata metadata = writer.getMetadata();
         final DataFileReader reader = addNewDataFileReader(writer.getPath(), metadata);
+        reader.setWriter(writer);
         currentDataFileReader.set(reader);
     }
 
@@ -566,6 +689,255 @@ public class DataFileCollection implements Snapshotable {
         throw new IOException("Read failed after 5 retries");
     }
 
+    /**
+     * Read data items for multiple keys at once. Data locations for all keys are looked up in the
+     * index first. Then the locations are sorted by file and offset, so every file is read from the
+     * beginning to the end. Data items located close to each other in the same file, not more than
+     * {@link MerkleDbConfig#batchReadCoalesceGapBytes()} apart, are read from disk with a single read
+     * call. Sorted data items are split into up to {@link MerkleDbConfig#batchReadThreads()} ranges,
+     * which are read in parallel.
+     *
+     * <p>If multiple keys have the same data location, the data item is read once, and the consumer
+     * is called for every key. If a data file is compacted and removed while its data items are being
+     * read, the remaining data items are read one by one using {@link #readDataItemUsingIndex(LongList, long)}.
+     *
+     * <p>The consumer may be called from multiple threads in parallel, but never for the same key index.
+     * It isn't called for keys, which are not found in the index.
+     *
+     * @param index key-&gt;dataLocation index
+     * @param keys the keys to look up in the index
+     * @param consumer the consumer to call for every data item read, with the index of the key in
+     *                 the array of keys and the data item bytes
+     * @throws IOException if there was a problem reading data items, or if the consumer throws
+     */
+    public void readDataItemsUsingIndex(
+            @NonNull final LongList index, @NonNull final long[] keys, @NonNull final DataItemConsumer consumer)
+            throws IOException {
+        final int keyCount = keys.length;
+        final long[] keyLocations = new long[keyCount];
+        int foundCount = 0;
+        for (int i = 0; i < keyCount; i++) {
+            keyLocations[i] = index.get(keys[i], LongList.IMPERMISSIBLE_VALUE);
+            if (keyLocations[i] != LongList.IMPERMISSIBLE_VALUE) {
+                foundCount++;
+            }
+        }
+        if (foundCount == 0) {
+            return;
+        }
+
+        // Data locations are file indices in higher bits and byte offsets in lower bits, so
+        // sorting them as longs results in sorting by file, then by offset
+        final long[] locations = new long[foundCount];
+        int locationCount = 0;
+        for (final long location : keyLocations) {
+            if (location != LongList.IMPERMISSIBLE_VALUE) {
+                locations[locationCount++] = location;
+            }
+        }
+        Arrays.sort(locations);
+        locationCount = 1;
+        for (int i = 1; i < foundCount; i++) {
+            if (locations[i] != locations[locationCount - 1]) {
+                locations[locationCount++] = locations[i];
+            }
+        }
+
+        // Group keys by locations. Keys for location i are keysByLocation[firstKey[i]] to
+        // keysByLocation[firstKey[i + 1] - 1]
+        final int[] firstKey = new int[locationCount + 1];
+        final int[] keyLocationIndices = new int[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            if (keyLocations[i] != LongList.IMPERMISSIBLE_VALUE) {
+                final int locationIndex = Arrays.binarySearch(locations, 0, locationCount, keyLocations[i]);
+                keyLocationIndices[i] = locationIndex;
+                firstKey[locationIndex + 1]++;
+            }
+        }
+        for (int i = 0; i < locationCount; i++) {
+            firstKey[i + 1] += firstKey[i];
+        }
+        final int[] keysByLocation = new int[foundCount];
+        final int[] nextKey = Arrays.copyOf(firstKey, locationCount);
+        for (int i = 0; i < keyCount; i++) {
+            if (keyLocations[i] != LongList.IMPERMISSIBLE_VALUE) {
+                keysByLocation[nextKey[keyLocationIndices[i]]++] = i;
+            }
+        }
+
+        // Split locations into spans. Locations in a span are in the same file, and they are
+        // read with a single read call
+        final long coalesceGapBytes = dbConfig.batchReadCoalesceGapBytes();
+        final int[] spanStarts = new int[locationCount + 1];
+        int spanCount = 0;
+        for (int i = 0; i < locationCount; i++) {
+            if ((i == 0)
+                    || (fileIndexFromDataLocation(locations[i]) != fileIndexFromDataLocation(locations[i - 1]))
+                    || (byteOffsetFromDataLocation(locations[i]) - byteOffsetFromDataLocation(locations[i - 1])
+                            > coalesceGapBytes)
+                    || (byteOffsetFromDataLocation(locations[i])
+                                    - byteOffsetFromDataLocation(locations[spanStarts[spanCount - 1]])
+                            > MAX_COALESCED_READ_BYTES)) {
+                spanStarts[spanCount++] = i;
+            }
+        }
+        spanStarts[spanCount] = locationCount;
+
+        final BatchRead batchRead = new BatchRead(index, keys, locations, firstKey, keysByLocation, consumer);
+        final int taskCount = Math.min(dbConfig.batchReadThreads(), spanCount);
+        if (taskCount <= 1) {
+            batchRead.readSpans(spanStarts, 0, spanCount);
+            return;
+        }
+        // Split spans into tasks with roughly the same number of locations. The first task is run
+        // on the current thread
+        final int[] taskSpanStarts = new int[taskCount + 1];
+        for (int t = 1, s = 0; t < taskCount; t++) {
+            final long taskStartLocation = (long) locationCount * t / taskCount;
+            while ((s < spanCount) && (spanStarts[s] < taskStartLocation)) {
+                s++;
+            }
+            taskSpanStarts[t] = Math.max(s, taskSpanStarts[t - 1]);
+        }
+        taskSpanStarts[taskCount] = spanCount;
+        final ExecutorService executor = getBatchReadExecutor(dbConfig);
+        final List<Future<Void>> futures = new ArrayList<>(taskCount - 1);
+        for (int t = 1; t < taskCount; t++) {
+            final int fromSpan = taskSpanStarts[t];
+            final int toSpan = taskSpanStarts[t + 1];
+            if (fromSpan < toSpan) {
+                futures.add(executor.submit(() -> {
+                    batchRead.readSpans(spanStarts, fromSpan, toSpan);
+                    return null;
+                }));
+            }
+        }
+        try {
+            batchRead.readSpans(spanStarts, taskSpanStarts[0], taskSpanStarts[1]);
+        } finally {
+            waitForBatchReads(futures);
+        }
+    }
+
+    /**
+     * Waits for all parallel batch read tasks to complete. If any task fails, the exception is
+     * rethrown once all tasks are complete.
+     */
+    private static void waitForBatchReads(final List<Future<Void>> futures) throws IOException {
+        IOException exception = null;
+        boolean interrupted = false;
+        for (final Future<Void> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (final InterruptedException e) {
+                    // Tasks reference caller's data, don't return till they are complete
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    if (exception == null) {
+                        exception = (e.getCause() instanceof IOException ioe) ? ioe : new IOException(e.getCause());
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * State of a single {@link #readDataItemsUsingIndex(LongList, long[], DataItemConsumer)} call,
+     * shared between all threads reading data items for the call.
+     */
+    private final class BatchRead {
+
+        private final LongList index;
+        private final long[] keys;
+        /** Sorted unique data locations */
+        private final long[] locations;
+        /** Keys for location i are keysByLocation[firstKey[i]] to keysByLocation[firstKey[i + 1] - 1] */
+        private final int[] firstKey;
+        private final int[] keysByLocation;
+        private final DataItemConsumer consumer;
+
+        private BatchRead(
+                final LongList index,
+                final long[] keys,
+                final long[] locations,
+                final int[] firstKey,
+                final int[] keysByLocation,
+                final DataItemConsumer consumer) {
+            this.index = index;
+            this.keys = keys;
+            this.locations = locations;
+            this.firstKey = firstKey;
+            this.keysByLocation = keysByLocation;
+            this.consumer = consumer;
+        }
+
+        /**
+         * Reads data items for all locations in the given range of spans.
+         */
+        private void readSpans(final int[] spanStarts, final int fromSpan, final int toSpan) throws IOException {
+            // Index of the first location in the current span, which hasn't been read yet
+            final int[] notRead = new int[1];
+            // Exceptions thrown by the consumer must be propagated to the caller rather than
+            // handled as read errors, so they are wrapped
+            final DataItemConsumer locationConsumer = (locationIndex, dataItem) -> {
+                try {
+                    acceptLocation(locationIndex, dataItem);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                notRead[0] = locationIndex + 1;
+            };
+            for (int s = fromSpan; s < toSpan; s++) {
+                final int from = spanStarts[s];
+                final int to = spanStarts[s + 1];
+                notRead[0] = from;
+                try {
+                    final DataFileReader file = readerForDataLocation(locations[from]);
+                    if (file != null) {
+                        file.readDataItems(locations, from, to, locationConsumer);
+                    }
+                } catch (final UncheckedIOException e) {
+                    throw e.getCause();
+                } catch (final IOException e) {
+                    // The file may be compacted and removed. Data locations in the index must
+                    // be already updated, the remaining data items are read one by one below
+                    logger.info(
+                            MERKLE_DB.getMarker(),
+                            "Store [{}] failed to read data items from file [{}], reading them one by one",
+                            storeName,
+                            fileIndexFromDataLocation(locations[from]),
+                            e);
+                }
+                // Data locations that were read are skipped
+                for (int i = firstKey[notRead[0]]; i < firstKey[to]; i++) {
+                    final int keyIndex = keysByLocation[i];
+                    final BufferedData dataItem = readDataItemUsingIndex(index, keys[keyIndex]);
+                    if (dataItem != null) {
+                        consumer.accept(keyIndex, dataItem);
+                    }
+                }
+            }
+        }
+
+        private void acceptLocation(final int locationIndex, final BufferedData dataItem) throws IOException {
+            final long position = dataItem.position();
+            for (int i = firstKey[locationIndex]; i < firstKey[locationIndex + 1]; i++) {
+                // The consumer may read the data item, it has to be reset for the next key
+                dataItem.position(position);
+                consumer.accept(keysByLocation[i], dataItem);
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void snapshot(final Path snapshotDirectory) throws IOException {
@@ -651,7 +1023,8 @@ public class DataFileCollection implements Snapshotable {
         // remove files from index
         dataFiles.getAndUpdate(
                 currentFileList -> (currentFileList == null) ? null : currentFileList.withDeletedObjects(files));
-        // now close and delete all the files
+        // now close and delete all the files. If the files are memory mapped, they are unmapped
+        // later, when all the data items read from them are no longer in use
         for (final DataFileReader fileReader : files) {
             fileReader.close();
             Files.delete(fileReader.getPath());
@@ -670,7 +1043,14 @@ public class DataFileCollection implements Snapshotable {
         if (logger.isTraceEnabled()) {
             setOfNewFileIndexes.add(newFileIndex);
         }
-        return new DataFileWriter(storeName, storeDir, newFileIndex, creationTime, compactionLevel);
+        return new DataFileWriter(
+                storeName,
+                storeDir,
+                newFileIndex,
+                creationTime,
+                compactionLevel,
+                compression,
+                dbConfig.compressedDataFileBlockSize());
     }
 
     /**
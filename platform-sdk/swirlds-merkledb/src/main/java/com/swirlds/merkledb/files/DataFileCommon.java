@@ -96,6 +96,10 @@ public final class DataFileCommon {
             new FieldDefinition("metadata", FieldType.MESSAGE, false, false, false, 1);
     static final FieldDefinition FIELD_DATAFILE_ITEMS =
             new FieldDefinition("items", FieldType.MESSAGE, true, true, false, 11);
+    static final FieldDefinition FIELD_DATAFILE_BLOCKS =
+            new FieldDefinition("blocks", FieldType.BYTES, true, true, false, 12);
+    static final FieldDefinition FIELD_DATAFILE_BLOCK_INDEX =
+            new FieldDefinition("blockIndex", FieldType.BYTES, false, false, false, 13);
 
     // Data file metadata protobuf fields
     static final FieldDefinition FIELD_DATAFILEMETADATA_INDEX =
@@ -113,6 +117,19 @@ public final class DataFileCommon {
 
     static final FieldDefinition FIELD_DATAFILEMETADATA_COMPACTION_LEVEL =
             new FieldDefinition("compactionLevel", FieldType.UINT32, false, true, false, 6);
+    static final FieldDefinition FIELD_DATAFILEMETADATA_COMPRESSION =
+            new FieldDefinition("compression", FieldType.UINT32, false, true, false, 7);
+    static final FieldDefinition FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET =
+            new FieldDefinition("blockIndexOffset", FieldType.FIXED64, false, false, false, 8);
+
+    /**
+     * In compressed data files, data item offset is a combination of block number in the file and
+     * item number in the block. Item number is packed into the lower 10 bits, which limits the
+     * number of data items in a single block to 1024.
+     */
+    static final int ITEM_IN_BLOCK_BITS = 10;
+    /** The maximum number of data items in a single block in compressed data files */
+    static final int MAX_ITEMS_IN_BLOCK = 1 << ITEM_IN_BLOCK_BITS;
 
     static final String ERROR_DATAITEM_TOO_LARGE =
             "Data item is too large to write to a data file. Increase data file mapped byte buffer size";
@@ -193,6 +210,39 @@ public final class DataFileCommon {
         return dataLocation & ITEM_OFFSET_MASK;
     }
 
+    /**
+     * Get the data item offset in a compressed data file from block number and item number in
+     * the block. The offset is used instead of byte offset in data locations.
+     *
+     * @param blockNumber block number in the file
+     * @param itemInBlock item number in the block
+     * @return data item offset
+     */
+    static long blockItemOffset(final int blockNumber, final int itemInBlock) {
+        assert itemInBlock >= 0 && itemInBlock < MAX_ITEMS_IN_BLOCK;
+        return ((long) blockNumber << ITEM_IN_BLOCK_BITS) | itemInBlock;
+    }
+
+    /**
+     * Extract block number from a data item offset in a compressed data file.
+     *
+     * @param offset data item offset, see {@link #blockItemOffset(int, int)}
+     * @return block number
+     */
+    static int blockNumberFromOffset(final long offset) {
+        return Math.toIntExact(offset >>> ITEM_IN_BLOCK_BITS);
+    }
+
+    /**
+     * Extract item number in its block from a data item offset in a compressed data file.
+     *
+     * @param offset data item offset, see {@link #blockItemOffset(int, int)}
+     * @return item number in the block
+     */
+    static int itemInBlockFromOffset(final long offset) {
+        return (int) (offset & (MAX_ITEMS_IN_BLOCK - 1));
+    }
+
     /**
      * Check if a file at path, is a data file based on name. Also checks if there is an existing
      * write lock file.
@@ -35,6 +35,7 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
@@ -94,6 +95,11 @@ public class DataFileCompactor {
     @Nullable
     private final Runnable updateTotalStatsFunction;
 
+    /**
+     * Disk bandwidth limiter shared by all compactions
+     */
+    private final CompactionBandwidthLimiter bandwidthLimiter;
+
     /**
      * A lock used for synchronization between snapshots and compactions. While a compaction is in
      * progress, it runs on its own without any synchronization. However, a few critical sections
@@ -168,6 +174,7 @@ public class DataFileCompactor {
         this.reportSavedSpaceMetricFunction = reportSavedSpaceMetricFunction;
         this.reportFileSizeByLevelMetricFunction = reportFileSizeByLevelMetricFunction;
         this.updateTotalStatsFunction = updateTotalStatsFunction;
+        this.bandwidthLimiter = CompactionBandwidthLimiter.getInstance(dbConfig);
     }
 
     /**
@@ -241,6 +248,7 @@ public class DataFileCompactor {
                     return;
                 }
                 final long fileOffset = DataFileCommon.byteOffsetFromDataLocation(dataLocation);
+                final long itemSize;
                 // Take the lock. If a snapshot is started in a different thread, this call
                 // will block until the snapshot is done. The current file will be flushed,
                 // and current data file writer and reader will point to a new file
@@ -249,6 +257,7 @@ public class DataFileCompactor {
                     final DataFileWriter newFileWriter = currentWriter.get();
                     final BufferedData itemBytes = reader.readDataItem(fileOffset);
                     assert itemBytes != null;
+                    itemSize = itemBytes.remaining();
                     long newLocation = newFileWriter.storeDataItem(itemBytes);
                     // update the index
                     index.putIfEqual(path, dataLocation, newLocation);
@@ -266,6 +275,9 @@ public class DataFileCompactor {
                 } finally {
                     snapshotCompactionLock.release();
                 }
+                // The item is read once and written once. Wait for bandwidth outside the lock, so
+                // snapshots are never blocked by throttled compactions
+                bandwidthLimiter.acquire(2 * itemSize);
             });
             allDataItemsProcessed = true;
         } finally {
@@ -313,6 +325,7 @@ public class DataFileCompactor {
         newCompactedFiles.add(newFileCreated);
         final DataFileMetadata newFileMetadata = newFileWriter.getMetadata();
         final DataFileReader newFileReader = dataFileCollection.addNewDataFileReader(newFileCreated, newFileMetadata);
+        newFileReader.setWriter(newFileWriter);
         currentReader.set(newFileReader);
     }
 
@@ -401,8 +414,19 @@ public class DataFileCompactor {
     public boolean compact() throws IOException, InterruptedException {
         final List<DataFileReader> completedFiles = dataFileCollection.getAllCompletedFiles();
         reportFileSizeByLevel(completedFiles);
-        final List<DataFileReader> filesToCompact =
-                compactionPlan(completedFiles, getMinNumberOfFilesToCompact(), dbConfig.maxCompactionLevel());
+        final List<DataFileReader> filesToCompact;
+        final int garbageThresholdPercent = dbConfig.compactionGarbageRatioThresholdPercent();
+        if ((garbageThresholdPercent > 0)
+                && (completedFiles.size() > 1)
+                && (dataFileCollection.getGarbageRatioEstimate() * 100 >= garbageThresholdPercent)) {
+            // Too much stale data, compact all levels to reclaim disk space
+            logger.info(
+                    MERKLE_DB.getMarker(), "[{}] Garbage ratio threshold reached, compacting all levels", storeName);
+            filesToCompact = fullCompactionPlan(completedFiles);
+        } else {
+            filesToCompact =
+                    compactionPlan(completedFiles, getMinNumberOfFilesToCompact(), dbConfig.maxCompactionLevel());
+        }
         if (filesToCompact.isEmpty()) {
             logger.debug(MERKLE_DB.getMarker(), "[{}] No need to compact, as the compaction plan is empty", storeName);
             return false;
@@ -463,6 +487,26 @@ public class DataFileCompactor {
         return true;
     }
 
+    /**
+     * Returns the priority of this compactor's next compaction compared to compactions of other
+     * stores. The priority is based on the number of store files (read amplification: the more
+     * files, the more file channels are used, and the less local reads are) weighted by the
+     * estimated fraction of stale data items in the store (space amplification). A store with N
+     * files and garbage ratio G gets priority N * (1 + G). Stores with higher priority are
+     * compacted first, when there are more compactions to run than compaction threads.
+     *
+     * @return compaction priority, non-negative
+     */
+    public double getCompactionPriority() {
+        final int filesCount = dataFileCollection.getAllCompletedFiles().size();
+        if (filesCount < 2) {
+            return 0;
+        }
+        // Add one to the ratio, so stores with many files are prioritized even if their garbage ratio
+        // can't be estimated
+        return (1 + dataFileCollection.getGarbageRatioEstimate()) * filesCount;
+    }
+
     private void reportFileSizeByLevel(List<DataFileReader> allCompletedFiles) {
         if (reportFileSizeByLevelMetricFunction != null) {
             final Map<Integer, List<DataFileReader>> readersByLevel = getReadersByLevel(allCompletedFiles);
@@ -524,6 +568,16 @@ public class DataFileCompactor {
         return readersToCompact;
     }
 
+    /**
+     * This method creates a compaction plan to compact all files of all compaction levels. Files
+     * are ordered by compaction levels in ascending order, as in {@link #compactionPlan}.
+     */
+    static List<DataFileReader> fullCompactionPlan(final List<DataFileReader> dataFileReaders) {
+        final List<DataFileReader> readersToCompact = new ArrayList<>(dataFileReaders);
+        readersToCompact.sort(Comparator.comparingInt(r -> r.getMetadata().getCompactionLevel()));
+        return readersToCompact;
+    }
+
     private static Map<Integer, List<DataFileReader>> getReadersByLevel(final List<DataFileReader> dataFileReaders) {
         return dataFileReaders.stream()
                 .collect(Collectors.groupingBy(r -> r.getMetadata().getCompactionLevel()));
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression algorithms for data files. If a data file is compressed, data items are grouped into
+ * blocks, and every block is compressed separately, see {@link DataFileWriter} for details. Compression
+ * is stored in data file metadata, so files written with different algorithms can be read by the same
+ * file collection.
+ *
+ * <p>Compression ids are persisted in data files and table configs, they must never be changed.
+ */
+public enum DataFileCompression {
+
+    /** Data items are stored as is */
+    NONE(0),
+
+    /** Every block of data items is compressed with deflate, using the fastest compression level */
+    DEFLATE(1);
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final int id;
+
+    DataFileCompression(final int id) {
+        this.id = id;
+    }
+
+    /**
+     * Compression id to store in data file metadata.
+     *
+     * @return compression id
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Looks up a compression algorithm by its id.
+     *
+     * @param id compression id
+     * @return compression algorithm
+     * @throws IllegalArgumentException if the id is unknown
+     */
+    @NonNull
+    public static DataFileCompression valueOf(final int id) {
+        for (final DataFileCompression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("Unknown data file compression: " + id);
+    }
+
+    /**
+     * Compresses bytes.
+     *
+     * @param src the array with bytes to compress
+     * @param length the number of bytes to compress, starting from the beginning of the array
+     * @return compressed bytes
+     */
+    @NonNull
+    byte[] compress(@NonNull final byte[] src, final int length) {
+        if (this == NONE) {
+            throw new IllegalStateException("Compression is not enabled");
+        }
+        final Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(src, 0, length);
+        deflater.finish();
+        // Deflate may slightly expand incompressible input
+        byte[] dst = new byte[length + length / 16 + 64];
+        int size = 0;
+        while (!deflater.finished()) {
+            if (size == dst.length) {
+                final byte[] larger = new byte[dst.length * 2];
+                System.arraycopy(dst, 0, larger, 0, size);
+                dst = larger;
+            }
+            size += deflater.deflate(dst, size, dst.length - size);
+        }
+        if (size == dst.length) {
+            return dst;
+        }
+        final byte[] result = new byte[size];
+        System.arraycopy(dst, 0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * Decompresses bytes.
+     *
+     * @param src the array with compressed bytes
+     * @param offset compressed bytes offset in the array
+     * @param length the number of compressed bytes
+     * @param uncompressedSize the number of bytes before compression
+     * @return uncompressed bytes
+     * @throws IOException if the bytes can't be decompressed
+     */
+    @NonNull
+    byte[] decompress(@NonNull final byte[] src, final int offset, final int length, final int uncompressedSize)
+            throws IOException {
+        if (this == NONE) {
+            throw new IllegalStateException("Compression is not enabled");
+        }
+        final Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(src, offset, length);
+        final byte[] dst = new byte[uncompressedSize];
+        try {
+            int size = 0;
+            while (size < uncompressedSize) {
+                final int inflated = inflater.inflate(dst, size, uncompressedSize - size);
+                if ((inflated == 0) && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                size += inflated;
+            }
+            if (size != uncompressedSize) {
+                throw new IOException("Corrupted compressed block, expected " + uncompressedSize + " bytes, got "
+                        + size);
+            }
+        } catch (final DataFormatException e) {
+            throw new IOException("Corrupted compressed block", e);
+        }
+        return dst;
+    }
+}
@@ -17,6 +17,8 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_METADATA;
 
@@ -61,6 +63,15 @@ public final class DataFileIterator implements AutoCloseable {
     /** True if this iterator has been closed */
     private boolean closed = false;
 
+    /** The current decompressed block, if the file is compressed, or null */
+    private BufferedData currentBlock = null;
+    /** Number of data items in the current block */
+    private int currentBlockItemCount = 0;
+    /** Number of the current block in the file, -1 being before the first block */
+    private int currentBlockNumber = -1;
+    /** Index of the current data item in the current block */
+    private int currentItemInBlock = -1;
+
     /**
      * Create a new DataFileIterator on an existing file.
      *
@@ -108,6 +119,7 @@ public final class DataFileIterator implements AutoCloseable {
         if (!closed) {
             closed = true;
             dataItemBuffer = null;
+            currentBlock = null;
             inputStream.close();
         }
     }
@@ -130,6 +142,12 @@ public final class DataFileIterator implements AutoCloseable {
             return false;
         }
 
+        // Next data item from the current block, if the file is compressed
+        if ((currentBlock != null) && (currentItemInBlock < currentBlockItemCount - 1)) {
+            nextItemInBlock();
+            return true;
+        }
+
         while (in.hasRemaining()) {
             currentDataItemFilePosition = in.position();
             final int tag = in.readVarInt(false);
@@ -139,9 +157,16 @@ public final class DataFileIterator implements AutoCloseable {
                 dataItemBuffer = fillBuffer(currentDataItemSize);
                 currentDataItem++;
                 return true;
-            } else if (fieldNum == FIELD_DATAFILE_METADATA.number()) {
-                final int metadataSize = in.readVarInt(false);
-                in.skip(metadataSize);
+            } else if (fieldNum == FIELD_DATAFILE_BLOCKS.number()) {
+                readBlock(in.readVarInt(false));
+                if (currentBlockItemCount > 0) {
+                    nextItemInBlock();
+                    return true;
+                }
+            } else if ((fieldNum == FIELD_DATAFILE_METADATA.number())
+                    || (fieldNum == FIELD_DATAFILE_BLOCK_INDEX.number())) {
+                final int fieldSize = in.readVarInt(false);
+                in.skip(fieldSize);
             } else {
                 throw new IllegalArgumentException("Unknown data file field: " + fieldNum);
             }
@@ -167,6 +192,10 @@ public final class DataFileIterator implements AutoCloseable {
      * @return current data item location
      */
     public long getDataItemDataLocation() {
+        if (currentBlock != null) {
+            return DataFileCommon.dataLocation(
+                    metadata.getIndex(), DataFileCommon.blockItemOffset(currentBlockNumber, currentItemInBlock));
+        }
         return DataFileCommon.dataLocation(metadata.getIndex(), currentDataItemFilePosition);
     }
 
@@ -237,6 +266,40 @@ public final class DataFileIterator implements AutoCloseable {
         return dataItemBuffer;
     }
 
+    /**
+     * Reads and decompresses a block of data items. See {@link DataFileWriter} for block layout.
+     *
+     * @param blockSize compressed block field size, in bytes
+     * @throws IOException if the block can't be read or decompressed
+     */
+    private void readBlock(final int blockSize) throws IOException {
+        final int uncompressedSize = in.readInt();
+        final int compressedSize = blockSize - Integer.BYTES;
+        final byte[] compressed = new byte[compressedSize];
+        if (in.readBytes(compressed) != compressedSize) {
+            throw new IOException("Couldn't read " + compressedSize + " bytes, data block [" + (currentBlockNumber + 1)
+                    + "] in file [" + path + "]");
+        }
+        final byte[] uncompressed =
+                metadata.getCompression().decompress(compressed, 0, compressedSize, uncompressedSize);
+        currentBlock = BufferedData.wrap(uncompressed);
+        currentBlockItemCount = currentBlock.getInt(0);
+        currentBlockNumber++;
+        currentItemInBlock = -1;
+    }
+
+    /**
+     * Moves to the next data item in the current block. The data item buffer is a slice of the
+     * decompressed block.
+     */
+    private void nextItemInBlock() {
+        currentItemInBlock++;
+        final int itemStart = currentBlock.getInt((long) Integer.BYTES * (currentItemInBlock + 1));
+        final int itemEnd = currentBlock.getInt((long) Integer.BYTES * (currentItemInBlock + 2));
+        dataItemBuffer = currentBlock.slice(itemStart, itemEnd - itemStart);
+        currentDataItem++;
+    }
+
     /**
      * Resizes the dataItemBuffer, or creates it if necessary, such that it is large enough
      * to read the bytes provided.
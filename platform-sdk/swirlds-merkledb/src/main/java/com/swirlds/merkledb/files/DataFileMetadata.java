@@ -17,12 +17,16 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_COMPACTION_LEVEL;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_COMPRESSION;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_CREATION_NANOS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_CREATION_SECONDS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_ITEMS_COUNT;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_ITEM_VERSION;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_METADATA;
 
@@ -65,8 +69,18 @@ public final class DataFileMetadata {
     /** The level of compaction this file has. See {@link DataFileCompactor}*/
     private final byte compactionLevel;
 
+    /** Data items compression in this file */
+    private final DataFileCompression compression;
+
+    /**
+     * Offset of the block index in the file, if the file is compressed. Similar to {@link #itemsCount},
+     * for new files this field is 0 initially, and is updated right before the file is finished writing.
+     */
+    private volatile long blockIndexOffset;
+
     // Set in writeTo()
     private long dataItemCountHeaderOffset = 0;
+    private long blockIndexOffsetHeaderOffset = 0;
 
     /**
      * Create a new DataFileMetadata with complete set of data
@@ -78,11 +92,32 @@ public final class DataFileMetadata {
      */
     public DataFileMetadata(
             final long itemsCount, final int index, final Instant creationDate, final int compactionLevel) {
+        this(itemsCount, index, creationDate, compactionLevel, DataFileCompression.NONE);
+    }
+
+    /**
+     * Create a new DataFileMetadata with complete set of data
+     *
+     * @param itemsCount The number of data items the file contains
+     * @param index The file index, in a data file collection
+     * @param creationDate The creation data of this file, this is critical as it is used when
+     *     merging two files to know which files data is newer.
+     * @param compactionLevel The level of compaction this file has
+     * @param compression Data items compression in the file
+     */
+    public DataFileMetadata(
+            final long itemsCount,
+            final int index,
+            final Instant creationDate,
+            final int compactionLevel,
+            final DataFileCompression compression) {
         this.itemsCount = itemsCount;
         this.index = index;
         this.creationDate = creationDate;
         assert compactionLevel >= 0 && compactionLevel < MAX_COMPACTION_LEVEL;
         this.compactionLevel = (byte) compactionLevel;
+        this.compression = Objects.requireNonNull(compression);
+        this.blockIndexOffset = 0;
     }
 
     /**
@@ -98,6 +133,8 @@ public final class DataFileMetadata {
         int creationNanos = 0;
         long itemsCount = 0;
         byte compactionLevel = 0;
+        DataFileCompression compression = DataFileCompression.NONE;
+        long blockIndexOffset = 0;
 
         // Read values from the file, skipping all data items
         try (final ReadableStreamingData in = new ReadableStreamingData(file)) {
@@ -126,6 +163,10 @@ public final class DataFileMetadata {
                                 final int compactionLevelInt = in.readVarInt(false);
                                 assert compactionLevelInt < MAX_COMPACTION_LEVEL;
                                 compactionLevel = (byte) compactionLevelInt;
+                            } else if (metadataFieldNum == FIELD_DATAFILEMETADATA_COMPRESSION.number()) {
+                                compression = DataFileCompression.valueOf(in.readVarInt(false));
+                            } else if (metadataFieldNum == FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET.number()) {
+                                blockIndexOffset = in.readLong();
                             } else {
                                 throw new IllegalArgumentException(
                                         "Unknown data file metadata field: " + metadataFieldNum);
@@ -135,7 +176,9 @@ public final class DataFileMetadata {
                         in.limit(oldLimit);
                     }
                     break;
-                } else if (fieldNum == FIELD_DATAFILE_ITEMS.number()) {
+                } else if ((fieldNum == FIELD_DATAFILE_ITEMS.number())
+                        || (fieldNum == FIELD_DATAFILE_BLOCKS.number())
+                        || (fieldNum == FIELD_DATAFILE_BLOCK_INDEX.number())) {
                     // Just skip it. By default, metadata is written to the very beginning of the file,
                     // so this code should never be executed. However, with other implementations data
                     // items may come first, this code must be ready to handle it
@@ -152,6 +195,8 @@ public final class DataFileMetadata {
         this.creationDate = Instant.ofEpochSecond(creationSeconds, creationNanos);
         this.itemsCount = itemsCount;
         this.compactionLevel = compactionLevel;
+        this.compression = compression;
+        this.blockIndexOffset = blockIndexOffset;
     }
 
     void writeTo(final BufferedData out) {
@@ -175,6 +220,15 @@ public final class DataFileMetadata {
             ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_COMPACTION_LEVEL);
             out.writeVarInt(compactionLevel, false);
         }
+        // Compression fields are only written for compressed files, so the format of uncompressed
+        // files is not changed
+        if (compression != DataFileCompression.NONE) {
+            ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_COMPRESSION);
+            out.writeVarInt(compression.id(), false);
+            blockIndexOffsetHeaderOffset = out.position();
+            ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET);
+            out.writeLong(0); // will be updated later
+        }
     }
 
     /**
@@ -199,6 +253,35 @@ public final class DataFileMetadata {
         out.writeLong(count);
     }
 
+    /**
+     * Updates the offset of the block index in the file. This method must be called after metadata
+     * is written to a file using {@link #writeTo(BufferedData)}.
+     *
+     * <p>This method is called by {@link DataFileWriter} for compressed files right before the file
+     * is finished writing.
+     */
+    void updateBlockIndexOffset(final BufferedData out, final long offset) {
+        this.blockIndexOffset = offset;
+        assert blockIndexOffsetHeaderOffset != 0;
+        out.position(blockIndexOffsetHeaderOffset);
+        ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET);
+        out.writeLong(offset);
+    }
+
+    /** Get data items compression in the file */
+    public DataFileCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Get the offset of the block index in the file. If the file is not compressed, or if this method
+     * is called before a compressed file is completely written by {@link DataFileWriter}, the return
+     * value is 0.
+     */
+    public long getBlockIndexOffset() {
+        return blockIndexOffset;
+    }
+
     /** Get the files index, out of a set of data files */
     public int getIndex() {
         return index;
@@ -235,6 +318,14 @@ public final class DataFileMetadata {
                     FIELD_DATAFILEMETADATA_COMPACTION_LEVEL, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
             size += ProtoWriterTools.sizeOfVarInt32(compactionLevel);
         }
+        if (compression != DataFileCompression.NONE) {
+            size += ProtoWriterTools.sizeOfTag(
+                    FIELD_DATAFILEMETADATA_COMPRESSION, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
+            size += ProtoWriterTools.sizeOfVarInt32(compression.id());
+            size += ProtoWriterTools.sizeOfTag(
+                    FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET, ProtoConstants.WIRE_TYPE_FIXED_64_BIT);
+            size += Long.BYTES;
+        }
         return size;
     }
 
@@ -249,6 +340,7 @@ public final class DataFileMetadata {
                 .append("itemsCount", itemsCount)
                 .append("index", index)
                 .append("creationDate", creationDate)
+                .append("compression", compression)
                 .toString();
     }
 
@@ -267,6 +359,7 @@ public final class DataFileMetadata {
         return itemsCount == that.itemsCount
                 && index == that.index
                 && compactionLevel == that.compactionLevel
+                && compression == that.compression
                 && Objects.equals(this.creationDate, that.creationDate);
     }
 
@@ -275,6 +368,6 @@ public final class DataFileMetadata {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(itemsCount, index, creationDate, compactionLevel);
+        return Objects.hash(itemsCount, index, creationDate, compactionLevel, compression);
     }
 }
@@ -17,6 +17,8 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 
 import com.hedera.pbj.runtime.ProtoConstants;
@@ -29,6 +31,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
@@ -65,16 +68,58 @@ import java.util.concurrent.atomic.AtomicReferenceArray;
  *     // Data item version. May not be needed
  *     uint64 itemVersion = 5;
  *
+ *     // Data item compression, see DataFileCompression. Only written for compressed files
+ *     uint32 compression = 7;
+ *
+ *     // Block index offset in the file. Only written for compressed files
+ *     fixed64 blockIndexOffset = 8;
+ *
  *     // Data items
  *     repeated bytes items = 11;
+ *
+ *     // Compressed blocks of data items, used instead of items in compressed files
+ *     repeated bytes blocks = 12;
+ *
+ *     // Block offsets in the file, indexed by block number. Only written for compressed files
+ *     bytes blockIndex = 13;
  * }
  * </pre>
+ *
+ * <p>See {@link DataFileWriter} for details on compressed files.
  */
 public final class DataFileReader implements AutoCloseable, Comparable<DataFileReader>, IndexedObject {
 
     private static final ThreadLocal<ByteBuffer> BUFFER_CACHE = new ThreadLocal<>();
     private static final ThreadLocal<BufferedData> BUFFEREDDATA_CACHE = new ThreadLocal<>();
 
+    /**
+     * The last block decompressed by the current thread. Data items are often read in batches, and
+     * items in a batch are likely to be in the same block.
+     */
+    private static final ThreadLocal<DecompressedBlock> BLOCK_CACHE = new ThreadLocal<>();
+
+    /**
+     * Size of a single memory mapped region, when memory mapped reads are enabled. A mapped byte
+     * buffer can't be larger than 2Gb, so large files are mapped as multiple regions.
+     */
+    static final long MAPPED_REGION_SIZE = 1L << 30;
+
+    /**
+     * Memory mapped regions overlap by this number of bytes, so data items that start close to
+     * the end of a region can still be read from this region. Larger items that cross region
+     * boundaries are read using file channels.
+     */
+    static final long MAPPED_REGION_OVERLAP = 16L * 1024 * 1024;
+
+    /**
+     * Buffer size to read data item tag and size. If the whole item is small and fits into this
+     * buffer, there is no need to make an extra file read.
+     */
+    private static final int PRE_READ_BUF_SIZE = 2048;
+
+    /** Max size of data item tag and size, two unsigned 32-bit varints */
+    private static final int MAX_DATA_ITEM_HEADER_SIZE = 10;
+
     private final MerkleDbConfig dbConfig;
 
     /** Max number of file channels to use for reading */
@@ -119,6 +164,43 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      */
     private final AtomicLong fileSizeBytes = new AtomicLong(0);
 
+    /** Indicates whether completed data files should be memory mapped for reading */
+    private final boolean memoryMappedReads;
+
+    /**
+     * Memory mapped regions of this file, each region is {@link #MAPPED_REGION_SIZE} bytes long
+     * plus {@link #MAPPED_REGION_OVERLAP} bytes. The regions are only created when the file is
+     * completed, so its contents never change after it's mapped. If memory mapped reads are
+     * disabled, or the file is not completed yet, or the reader is closed, this field is null.
+     *
+     * <p>Mapped buffers are never unmapped explicitly. Data items read from mapped regions are
+     * slices of mapped buffers and may still be in use by callers after this reader is closed or
+     * the file is deleted after compaction. When the reader is closed, references to the regions
+     * are dropped, and the memory is unmapped by JVM once the regions and all their slices are
+     * garbage collected. It's safe to delete a mapped file, its disk space is released after
+     * the file is unmapped.
+     */
+    private volatile BufferedData[] mappedRegions = null;
+
+    /** Data item compression in this file */
+    private final DataFileCompression compression;
+
+    /**
+     * If this file is compressed, and it's still being written, this is the writer of the file. It's
+     * used to read data items, which aren't written to the file yet, and offsets of blocks already
+     * written. It's set to null right after {@link #blockIndex} is set.
+     */
+    private volatile DataFileWriter writer = null;
+
+    /**
+     * If this file is compressed, and it's fully written, this is file offsets of all blocks indexed
+     * by block number. Null otherwise.
+     */
+    private volatile long[] blockIndex = null;
+
+    /** A decompressed block cached by a thread */
+    private record DecompressedBlock(DataFileReader reader, int blockNumber, BufferedData data) {}
+
     /**
      * Open an existing data file, reading the metadata from the file
      *
@@ -148,9 +230,25 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
         }
         this.path = path;
         this.metadata = metadata;
+        compression = metadata.getCompression();
+        // Compressed data items are read in blocks, memory mapped reads make no sense for them
+        memoryMappedReads = dbConfig.memoryMappedFileReads() && (compression == DataFileCompression.NONE);
         openNewFileChannel(0);
     }
 
+    /**
+     * Sets the writer of this file, if the file is compressed and still being written. Data items from
+     * compressed files can't be read before they are written to the file in blocks, the writer keeps the
+     * items till a block is complete.
+     *
+     * @param writer the writer of this file
+     */
+    void setWriter(@NonNull final DataFileWriter writer) {
+        if (compression != DataFileCompression.NONE) {
+            this.writer = writer;
+        }
+    }
+
     /**
      * Returns if this file is completed and ready to be compacted.
      *
@@ -174,6 +272,20 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
         } finally {
             fileCompleted.set(true);
         }
+        if ((compression != DataFileCompression.NONE) && (blockIndex == null)) {
+            try {
+                loadBlockIndex();
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to load data file block index", e);
+            }
+        }
+        if (memoryMappedReads) {
+            try {
+                mapFile(fileSizeBytes.get());
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to memory map data file", e);
+            }
+        }
     }
 
     /**
@@ -225,9 +337,114 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      */
     public BufferedData readDataItem(final long dataLocation) throws IOException {
         final long byteOffset = DataFileCommon.byteOffsetFromDataLocation(dataLocation);
+        if (compression != DataFileCompression.NONE) {
+            return readCompressed(byteOffset);
+        }
+        final BufferedData[] regions = mappedRegions;
+        if (regions != null) {
+            final BufferedData mapped = readMapped(regions, byteOffset);
+            if (mapped != null) {
+                return mapped;
+            }
+        }
         return read(byteOffset);
     }
 
+    /**
+     * A callback for data items read by {@link #readDataItems(long[], int, int, DataItemConsumer)}.
+     */
+    @FunctionalInterface
+    public interface DataItemConsumer {
+        /**
+         * Called for every data item read.
+         *
+         * @param index data item index in the array of data locations
+         * @param dataItem data item bytes. The bytes may be reused after this method returns
+         * @throws IOException if the data item can't be processed
+         */
+        void accept(int index, BufferedData dataItem) throws IOException;
+    }
+
+    /**
+     * Read multiple data items from this file. Data items are specified by a range in an array of data
+     * locations, all locations in the range must be in this file and sorted by offset. If this file is
+     * memory mapped, data items are read from mapped regions. Otherwise, all data items are read from
+     * disk with a single read call, which starts at the first item and ends after the last item. It's
+     * the caller's responsibility to make sure the items are close enough to each other, so the read
+     * doesn't include too many bytes between the items.
+     *
+     * <p>This method reads data items from completed files only. If this file is not completed yet,
+     * or if it's closed before all items are read, the method returns early, and the remaining items
+     * should be read using {@link #readDataItem(long)}.
+     *
+     * @param dataLocations data item locations
+     * @param from the first data location index to read, inclusive
+     * @param to the last data location index to read, exclusive
+     * @param consumer the consumer to call for every data item read
+     * @return the index of the first data location that wasn't read, or {@code to}, if all items were read
+     * @throws IOException if there was a problem reading from data file, or if the consumer throws
+     */
+    public int readDataItems(
+            @NonNull final long[] dataLocations, final int from, final int to, @NonNull final DataItemConsumer consumer)
+            throws IOException {
+        if ((from >= to) || !isFileCompleted()) {
+            return from;
+        }
+        if (compression != DataFileCompression.NONE) {
+            // Items from the same block are decompressed once, see readCompressed()
+            for (int i = from; i < to; i++) {
+                final BufferedData dataItem = readDataItem(dataLocations[i]);
+                if (dataItem == null) {
+                    return i;
+                }
+                consumer.accept(i, dataItem);
+            }
+            return to;
+        }
+        final BufferedData[] regions = mappedRegions;
+        if ((regions == null) && (to - from == 1)) {
+            // A single data item, no need to allocate a new buffer for it
+            final BufferedData dataItem = read(DataFileCommon.byteOffsetFromDataLocation(dataLocations[from]));
+            if (dataItem == null) {
+                return from;
+            }
+            consumer.accept(from, dataItem);
+            return to;
+        }
+        final BufferedData buf;
+        final long bufOffsetInFile;
+        if (regions != null) {
+            buf = null;
+            bufOffsetInFile = 0;
+        } else {
+            bufOffsetInFile = DataFileCommon.byteOffsetFromDataLocation(dataLocations[from]);
+            final long lastOffset = DataFileCommon.byteOffsetFromDataLocation(dataLocations[to - 1]);
+            final long bufEnd = Math.min(lastOffset + PRE_READ_BUF_SIZE, getSize());
+            // The buffer is allocated per call, since the consumer may keep references to
+            // data items till all of them are read
+            final ByteBuffer readBB = ByteBuffer.allocate(Math.toIntExact(bufEnd - bufOffsetInFile));
+            if (!readFully(readBB, bufOffsetInFile)) {
+                return from;
+            }
+            buf = BufferedData.wrap(readBB);
+        }
+        for (int i = from; i < to; i++) {
+            final long byteOffset = DataFileCommon.byteOffsetFromDataLocation(dataLocations[i]);
+            BufferedData dataItem = (regions != null)
+                    ? readMapped(regions, byteOffset)
+                    : sliceDataItem(buf, byteOffset - bufOffsetInFile);
+            if (dataItem == null) {
+                // Large data item, or a data item that crosses mapped region boundaries
+                dataItem = read(byteOffset);
+                if (dataItem == null) {
+                    return i;
+                }
+            }
+            consumer.accept(i, dataItem);
+        }
+        return to;
+    }
+
     /**
      * Get the size of this file in bytes. This method should only be called for files available to
      * merging (compaction), i.e. after they are fully written.
@@ -276,6 +493,16 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
         return Integer.toString(metadata.getIndex());
     }
 
+    /**
+     * Checks if this file is memory mapped. Files are mapped only if memory mapped reads are
+     * enabled in MerkleDb config, after the files are completed.
+     *
+     * @return True if this file is memory mapped
+     */
+    public boolean isMemoryMapped() {
+        return mappedRegions != null;
+    }
+
     // For testing purpose
     int getMaxFileChannels() {
         return maxFileChannels;
@@ -297,6 +524,8 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
     @Override
     public void close() throws IOException {
         open.set(false);
+        // Mapped regions are unmapped by JVM, when they are no longer referenced
+        mappedRegions = null;
         for (int i = 0; i < maxFileChannels; i++) {
             final FileChannel fileChannel = fileChannels.getAndSet(i, null);
             if (fileChannel != null) {
@@ -385,6 +614,80 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
         fileChannelsInUse.decrementAndGet();
     }
 
+    /**
+     * Maps this file into memory as one or more read-only regions. This method must only be
+     * called once the file is completed, since the file size may not change after it's mapped.
+     *
+     * @param fileSize the file size, in bytes
+     * @throws IOException if an I/O error occurs
+     */
+    private void mapFile(final long fileSize) throws IOException {
+        if (fileSize == 0 || !isOpen()) {
+            return;
+        }
+        final int regionCount = Math.toIntExact((fileSize + MAPPED_REGION_SIZE - 1) / MAPPED_REGION_SIZE);
+        final BufferedData[] regions = new BufferedData[regionCount];
+        // Mapped buffers remain valid after the channel they are mapped with is closed
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int i = 0; i < regionCount; i++) {
+                final long regionStart = i * MAPPED_REGION_SIZE;
+                final long regionSize = Math.min(fileSize - regionStart, MAPPED_REGION_SIZE + MAPPED_REGION_OVERLAP);
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionSize);
+                regions[i] = BufferedData.wrap(buffer);
+            }
+        }
+        mappedRegions = regions;
+        if (!isOpen()) {
+            // The reader may be closed in parallel, make sure mapped regions aren't retained
+            mappedRegions = null;
+        }
+    }
+
+    /**
+     * Reads a data item from a memory mapped region of this file. No data is copied, the returned
+     * buffer is a slice of the mapped region. Unlike buffers returned by {@link #read(long)}, it
+     * isn't reused by subsequent reads.
+     *
+     * @param regions memory mapped regions of this file
+     * @param byteOffsetInFile data item offset in the file
+     * @return data item bytes, or null if the item crosses region boundaries and should be read
+     *      using a file channel
+     */
+    private static BufferedData readMapped(final BufferedData[] regions, final long byteOffsetInFile) {
+        final int regionIndex = Math.toIntExact(byteOffsetInFile / MAPPED_REGION_SIZE);
+        final BufferedData region = regions[regionIndex];
+        final long offsetInRegion = byteOffsetInFile - regionIndex * MAPPED_REGION_SIZE;
+        // Only absolute reads are used below, so mapped regions can be shared between threads
+        return sliceDataItem(region, offsetInRegion);
+    }
+
+    /**
+     * Reads a data item from a buffer, which contains a part of this file. No data is copied, the
+     * returned buffer is a slice of the given buffer. Only absolute reads are used, the given buffer
+     * position isn't changed.
+     *
+     * @param buf the buffer to read from
+     * @param offsetInBuf data item offset in the buffer
+     * @return data item bytes, or null if the item doesn't fully fit into the buffer
+     */
+    private static BufferedData sliceDataItem(final BufferedData buf, final long offsetInBuf) {
+        if (offsetInBuf + MAX_DATA_ITEM_HEADER_SIZE > buf.length()) {
+            // The item may be small enough to fit, but it isn't worth checking
+            return null;
+        }
+        final int tag = buf.getVarInt(offsetInBuf, false);
+        assert tag
+                == ((FIELD_DATAFILE_ITEMS.number() << TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal());
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = buf.getVarInt(offsetInBuf + sizeOfTag, false);
+        final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        final long dataOffset = offsetInBuf + sizeOfTag + sizeOfSize;
+        if (dataOffset + size > buf.length()) {
+            return null;
+        }
+        return buf.slice(dataOffset, size);
+    }
+
     /**
      * Read bytesToRead bytes of data from the file starting at byteOffsetInFile unless we reach the
      * end of file. If we reach the end of file then returned buffer's limit will be set to the
@@ -397,9 +700,6 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      * @throws ClosedChannelException if the file was closed
      */
     private BufferedData read(final long byteOffsetInFile) throws IOException {
-        // Buffer size to read data item tag and size. If the whole item is small and
-        // fits into this buffer, there is no need to make an extra file read
-        final int PRE_READ_BUF_SIZE = 2048;
         ByteBuffer readBB = BUFFER_CACHE.get();
         BufferedData readBuf = BUFFEREDDATA_CACHE.get();
         if (readBuf == null) {
@@ -470,6 +770,163 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
         throw new IOException("Failed to read from file, file channel keeps getting closed");
     }
 
+    /**
+     * Reads block offsets from the block index at the end of this file. This method must only be
+     * called for compressed files, once they are completed.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void loadBlockIndex() throws IOException {
+        final DataFileWriter w = writer;
+        if (w != null) {
+            // No need to read the index from disk, the writer has it
+            blockIndex = w.getBlockOffsets();
+            writer = null;
+            return;
+        }
+        final long indexOffset = metadata.getBlockIndexOffset();
+        if (indexOffset == 0) {
+            throw new IOException("No block index in compressed data file " + path);
+        }
+        final ByteBuffer indexBB = ByteBuffer.allocate(Math.toIntExact(getSize() - indexOffset));
+        if (!readFully(indexBB, indexOffset)) {
+            throw new ClosedChannelException();
+        }
+        final BufferedData indexBuf = BufferedData.wrap(indexBB);
+        final int tag = indexBuf.readVarInt(false);
+        if ((tag >> TAG_FIELD_OFFSET) != FIELD_DATAFILE_BLOCK_INDEX.number()) {
+            throw new IOException("Malformed block index in compressed data file " + path);
+        }
+        final int count = indexBuf.readVarInt(false) / Long.BYTES;
+        final long[] offsets = new long[count];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = indexBuf.readLong();
+        }
+        blockIndex = offsets;
+    }
+
+    /**
+     * Reads a data item from a compressed file. The block containing the item is read and
+     * decompressed, unless it's the last block decompressed by the current thread. Returned
+     * buffer is a slice of the decompressed block, it isn't reused by subsequent reads.
+     *
+     * @param offset data item offset, a combination of block number and item number in the block
+     * @return data item bytes, or null if the file is closed
+     * @throws IOException if an I/O error occurs
+     */
+    private BufferedData readCompressed(final long offset) throws IOException {
+        final int blockNumber = DataFileCommon.blockNumberFromOffset(offset);
+        final int itemInBlock = DataFileCommon.itemInBlockFromOffset(offset);
+        DecompressedBlock block = BLOCK_CACHE.get();
+        if ((block == null) || (block.reader() != this) || (block.blockNumber() != blockNumber)) {
+            // Block index must be checked before the writer, since the writer is reset to null
+            // right after the index is loaded
+            final long[] index = blockIndex;
+            final long blockOffset;
+            if (index != null) {
+                blockOffset = index[blockNumber];
+            } else {
+                final DataFileWriter w = writer;
+                if (w != null) {
+                    final BufferedData pending = w.readPendingDataItem(blockNumber, itemInBlock);
+                    if (pending != null) {
+                        return pending;
+                    }
+                    blockOffset = w.getBlockOffset(blockNumber);
+                } else {
+                    final long[] loadedIndex = blockIndex;
+                    blockOffset = (loadedIndex != null) ? loadedIndex[blockNumber] : -1;
+                }
+            }
+            if (blockOffset < 0) {
+                throw new IOException("Data block " + blockNumber + " not found in file " + path);
+            }
+            final BufferedData blockData = readBlock(blockOffset);
+            if (blockData == null) {
+                return null;
+            }
+            block = new DecompressedBlock(this, blockNumber, blockData);
+            BLOCK_CACHE.set(block);
+        }
+        final BufferedData blockData = block.data();
+        final int itemCount = blockData.getInt(0);
+        if (itemInBlock >= itemCount) {
+            throw new IOException("Data item " + itemInBlock + " not found in block " + blockNumber + " in file "
+                    + path);
+        }
+        final int itemStart = blockData.getInt((long) Integer.BYTES * (itemInBlock + 1));
+        final int itemEnd = blockData.getInt((long) Integer.BYTES * (itemInBlock + 2));
+        return blockData.slice(itemStart, itemEnd - itemStart);
+    }
+
+    /**
+     * Reads a compressed block from the file and decompresses it.
+     *
+     * @param blockOffset block field offset in the file
+     * @return decompressed block bytes, or null if the file is closed
+     * @throws IOException if an I/O error occurs
+     */
+    private BufferedData readBlock(final long blockOffset) throws IOException {
+        // Block field header: tag, size, and uncompressed size
+        final ByteBuffer headerBB = ByteBuffer.allocate(MAX_DATA_ITEM_HEADER_SIZE + Integer.BYTES);
+        if (!readFully(headerBB, blockOffset)) {
+            return null;
+        }
+        final BufferedData header = BufferedData.wrap(headerBB);
+        final int tag = header.readVarInt(false);
+        assert tag
+                == ((FIELD_DATAFILE_BLOCKS.number() << TAG_FIELD_OFFSET)
+                        | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal());
+        final int size = header.readVarInt(false);
+        final int uncompressedSize = header.readInt();
+        final int compressedSize = size - Integer.BYTES;
+        final long compressedOffset = blockOffset + header.position();
+        final ByteBuffer compressedBB = ByteBuffer.allocate(compressedSize);
+        if (!readFully(compressedBB, compressedOffset)) {
+            return null;
+        }
+        if (compressedBB.remaining() != compressedSize) {
+            throw new IOException("Failed to read data block at " + blockOffset + " in file " + path);
+        }
+        final byte[] uncompressed =
+                compression.decompress(compressedBB.array(), 0, compressedSize, uncompressedSize);
+        return BufferedData.wrap(uncompressed);
+    }
+
+    /**
+     * Fills the given byte buffer with data from the file starting at byteOffsetInFile. Unlike
+     * {@link #read(long)}, the buffer is provided by the caller, and the data isn't parsed. On
+     * success, the buffer is flipped, so it's ready to read the data from.
+     *
+     * @param readBB the buffer to read data to
+     * @param byteOffsetInFile offset to start reading at
+     * @return true if the data was read, false if the file is closed
+     * @throws IOException if there was a problem reading
+     */
+    private boolean readFully(final ByteBuffer readBB, final long byteOffsetInFile) throws IOException {
+        // Try a few times, see comments in read() for details
+        for (int retries = 3; retries > 0; retries--) {
+            final int fcIndex = leaseFileChannel();
+            final FileChannel fileChannel = fileChannels.get(fcIndex);
+            if (fileChannel == null) {
+                return false;
+            }
+            try {
+                readBB.clear();
+                MerkleDbFileUtils.completelyRead(fileChannel, readBB, byteOffsetInFile);
+                readBB.flip();
+                return true;
+            } catch (final ClosedByInterruptException e) {
+                throw e;
+            } catch (final ClosedChannelException e) {
+                reopenFileChannel(fcIndex, fileChannel);
+            } finally {
+                releaseFileChannel();
+            }
+        }
+        throw new IOException("Failed to read from file, file channel keeps getting closed");
+    }
+
     // Testing support
 
     int getFileChannelsCount() {
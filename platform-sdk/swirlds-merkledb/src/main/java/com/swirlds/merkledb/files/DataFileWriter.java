@@ -16,15 +16,20 @@
 
 package com.swirlds.merkledb.files;
 
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
+import static com.swirlds.merkledb.files.DataFileCommon.MAX_ITEMS_IN_BLOCK;
 import static com.swirlds.merkledb.files.DataFileCommon.PAGE_SIZE;
 import static com.swirlds.merkledb.files.DataFileCommon.createDataFilePath;
 
+import com.hedera.pbj.runtime.FieldDefinition;
 import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.merkledb.utilities.MemoryUtils;
 import java.io.IOException;
 import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
@@ -32,6 +37,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 /**
@@ -45,6 +51,17 @@ import java.util.function.Consumer;
  * written by DataFileMetadata.
  *
  * <p>Protobuf schema: see {@link DataFileReader} for details.
+ *
+ * <p>If the file is compressed, data items are not written to the file individually. Instead, they
+ * are collected into blocks of about the configured size, but no more than {@link
+ * DataFileCommon#MAX_ITEMS_IN_BLOCK} items. Every block is compressed and written to the file as a
+ * single protobuf field. Uncompressed block layout is: item count (int), then count + 1 item offsets
+ * in the block (int), then all item bytes. Compressed block field contains uncompressed block size
+ * (int) followed by compressed bytes. Data locations of items in compressed files contain block
+ * number and item number in the block rather than byte offsets, see {@link
+ * DataFileCommon#blockItemOffset(int, int)}. When all blocks are written, a block index with file
+ * offsets of all blocks is written to the end of the file, and the index offset is stored in the
+ * file metadata.
  */
 public final class DataFileWriter {
 
@@ -77,6 +94,22 @@ public final class DataFileWriter {
      */
     private long dataItemCount = 0;
 
+    /** Data items compression */
+    private final DataFileCompression compression;
+    /** Uncompressed block size, in bytes, to compress data items with. Not used, if not compressed */
+    private final int blockSize;
+
+    /** Current block data items bytes. Guarded by this */
+    private byte[] blockBytes;
+    /** Current block data item offsets in {@link #blockBytes}, plus the end offset. Guarded by this */
+    private int[] blockItemOffsets;
+    /** Number of data items in the current block. Guarded by this */
+    private int blockItemCount = 0;
+    /** File offsets of all written blocks. Guarded by this */
+    private long[] blockOffsets;
+    /** Number of written blocks, it's also the current block number. Guarded by this */
+    private int blockCount = 0;
+
     /**
      * Create a new data file in the given directory, in append mode. Puts the object into "writing"
      * mode (i.e. creates a lock file. So you'd better start writing data and be sure to finish it
@@ -94,12 +127,47 @@ public final class DataFileWriter {
             final Instant creationTime,
             final int compactionLevel)
             throws IOException {
+        this(filePrefix, dataFileDir, index, creationTime, compactionLevel, DataFileCompression.NONE, 0);
+    }
+
+    /**
+     * Create a new data file in the given directory, in append mode, with data items optionally
+     * compressed in blocks.
+     *
+     * @param filePrefix string prefix for all files, must not contain "_" chars
+     * @param dataFileDir the path to directory to create the data file in
+     * @param index the index number for this file
+     * @param creationTime the time stamp for the creation time for this file
+     * @param compactionLevel the compaction level of this file
+     * @param compression data items compression
+     * @param blockSize uncompressed block size, in bytes. Ignored, if the file is not compressed
+     */
+    public DataFileWriter(
+            final String filePrefix,
+            final Path dataFileDir,
+            final int index,
+            final Instant creationTime,
+            final int compactionLevel,
+            final DataFileCompression compression,
+            final int blockSize)
+            throws IOException {
         this.path = createDataFilePath(filePrefix, dataFileDir, index, creationTime, DataFileCommon.FILE_EXTENSION);
+        this.compression = compression;
+        this.blockSize = blockSize;
+        if (compression != DataFileCompression.NONE) {
+            if (blockSize <= 0) {
+                throw new IllegalArgumentException("Block size must be positive");
+            }
+            blockBytes = new byte[blockSize];
+            blockItemOffsets = new int[MAX_ITEMS_IN_BLOCK + 1];
+            blockOffsets = new long[64];
+        }
         metadata = new DataFileMetadata(
                 0, // data item count will be updated later in finishWriting()
                 index,
                 creationTime,
-                compactionLevel);
+                compactionLevel,
+                compression);
         Files.createFile(path);
         writeHeader();
     }
@@ -162,6 +230,10 @@ public final class DataFileWriter {
      * @throws IOException if there was a problem appending data to file
      */
     public synchronized long storeDataItem(final BufferedData dataItem) throws IOException {
+        if (compression != DataFileCompression.NONE) {
+            final int size = Math.toIntExact(dataItem.remaining());
+            return storeDataItemInBlock(out -> out.writeBytes(dataItem), size);
+        }
         // find offset for the start of this new data item, we assume we always write data in a
         // whole number of blocks
         final long currentWritingMmapPos = writingPbjData.position();
@@ -193,6 +265,9 @@ public final class DataFileWriter {
      */
     public synchronized long storeDataItem(final Consumer<BufferedData> dataItemWriter, final int dataItemSize)
             throws IOException {
+        if (compression != DataFileCompression.NONE) {
+            return storeDataItemInBlock(dataItemWriter, dataItemSize);
+        }
         // find offset for the start of this new data item, we assume we always write data in a
         // whole number of blocks
         final long currentWritingMmapPos = writingPbjData.position();
@@ -220,6 +295,10 @@ public final class DataFileWriter {
      * @throws IOException if there was a problem sealing file or opening again as read only
      */
     public synchronized void finishWriting() throws IOException {
+        if (compression != DataFileCompression.NONE) {
+            writeBlock();
+            writeBlockIndex();
+        }
         // total file size is where the current writing pos is
         final long totalFileSize = mmapPositionInFile + writingPbjData.position();
         // update data item count in the metadata and in the file
@@ -236,4 +315,137 @@ public final class DataFileWriter {
             mmapPositionInFile = totalFileSize;
         }
     }
+
+    /**
+     * Reads a data item from the current block, which isn't compressed and written to the file yet.
+     * This method is used by {@link DataFileReader} to read data items from compressed files, while
+     * they are being written.
+     *
+     * @param blockNumber data item block number
+     * @param itemInBlock data item number in the block
+     * @return a copy of data item bytes, or null if the block is already written to the file
+     */
+    synchronized BufferedData readPendingDataItem(final int blockNumber, final int itemInBlock) {
+        if ((blockNumber != blockCount) || (itemInBlock >= blockItemCount)) {
+            return null;
+        }
+        final int from = blockItemOffsets[itemInBlock];
+        final int to = blockItemOffsets[itemInBlock + 1];
+        return BufferedData.wrap(Arrays.copyOfRange(blockBytes, from, to));
+    }
+
+    /**
+     * Get file offset of a written block. This method is used by {@link DataFileReader} to read data
+     * items from compressed files, while they are being written.
+     *
+     * @param blockNumber block number
+     * @return the block offset in the file, or -1 if the block is not written yet
+     */
+    synchronized long getBlockOffset(final int blockNumber) {
+        return (blockNumber < blockCount) ? blockOffsets[blockNumber] : -1;
+    }
+
+    /**
+     * Get file offsets of all written blocks. This method is used by {@link DataFileReader} to read
+     * data items from compressed files, after they are fully written.
+     *
+     * @return block offsets, indexed by block number
+     */
+    synchronized long[] getBlockOffsets() {
+        return Arrays.copyOf(blockOffsets, blockCount);
+    }
+
+    /**
+     * Adds a data item to the current block. If the block is full, it's compressed and written to
+     * the file first.
+     */
+    private long storeDataItemInBlock(final Consumer<BufferedData> dataItemWriter, final int dataItemSize)
+            throws IOException {
+        final int blockDataSize = blockItemOffsets[blockItemCount];
+        if ((blockItemCount == MAX_ITEMS_IN_BLOCK)
+                || ((blockItemCount > 0) && (blockDataSize + dataItemSize > blockSize))) {
+            writeBlock();
+        }
+        final int offset = blockItemOffsets[blockItemCount];
+        if (offset + dataItemSize > blockBytes.length) {
+            // A data item larger than block size, it will be the only item in its block
+            blockBytes = Arrays.copyOf(blockBytes, offset + dataItemSize);
+        }
+        final BufferedData itemData = BufferedData.wrap(ByteBuffer.wrap(blockBytes, offset, dataItemSize).slice());
+        dataItemWriter.accept(itemData);
+        if (itemData.position() != dataItemSize) {
+            throw new IOException("Data item size mismatch, expected " + dataItemSize + " bytes, written "
+                    + itemData.position());
+        }
+        final int itemInBlock = blockItemCount++;
+        blockItemOffsets[blockItemCount] = offset + dataItemSize;
+        dataItemCount++;
+        return DataFileCommon.dataLocation(
+                metadata.getIndex(), DataFileCommon.blockItemOffset(blockCount, itemInBlock));
+    }
+
+    /**
+     * Compresses the current block and writes it to the file. If the block is empty, this method
+     * does nothing.
+     */
+    private void writeBlock() throws IOException {
+        if (blockItemCount == 0) {
+            return;
+        }
+        final int headerSize = Integer.BYTES * (blockItemCount + 2);
+        final int dataSize = blockItemOffsets[blockItemCount];
+        final int uncompressedSize = headerSize + dataSize;
+        final byte[] uncompressedBytes = new byte[uncompressedSize];
+        final ByteBuffer uncompressed = ByteBuffer.wrap(uncompressedBytes);
+        uncompressed.putInt(blockItemCount);
+        for (int i = 0; i <= blockItemCount; i++) {
+            uncompressed.putInt(headerSize + blockItemOffsets[i]);
+        }
+        uncompressed.put(blockBytes, 0, dataSize);
+        final byte[] compressed = compression.compress(uncompressedBytes, uncompressedSize);
+        final long blockOffset = writeField(FIELD_DATAFILE_BLOCKS, Integer.BYTES + compressed.length, out -> {
+            out.writeInt(uncompressedSize);
+            out.writeBytes(compressed);
+        });
+        if (blockCount == blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, blockOffsets.length * 2);
+        }
+        blockOffsets[blockCount++] = blockOffset;
+        blockItemCount = 0;
+        if (blockBytes.length > blockSize) {
+            // Don't retain memory allocated for a large data item
+            blockBytes = new byte[blockSize];
+        }
+    }
+
+    /**
+     * Writes offsets of all blocks to the file and updates block index offset in the metadata.
+     */
+    private void writeBlockIndex() throws IOException {
+        final long indexOffset = writeField(FIELD_DATAFILE_BLOCK_INDEX, Long.BYTES * blockCount, out -> {
+            for (int i = 0; i < blockCount; i++) {
+                out.writeLong(blockOffsets[i]);
+            }
+        });
+        metadata.updateBlockIndexOffset(writingHeaderPbjData, indexOffset);
+    }
+
+    /**
+     * Writes a delimited protobuf field to the file.
+     *
+     * @return the field offset in the file
+     */
+    private long writeField(final FieldDefinition field, final int size, final Consumer<BufferedData> fieldWriter)
+            throws IOException {
+        final long byteOffset = mmapPositionInFile + writingPbjData.position();
+        if (writingPbjData.remaining() < ProtoWriterTools.sizeOfDelimited(field, size)) {
+            moveWritingBuffer(byteOffset);
+        }
+        try {
+            ProtoWriterTools.writeDelimited(writingPbjData, field, size, fieldWriter);
+        } catch (final BufferOverflowException e) {
+            throw new IOException(DataFileCommon.ERROR_DATAITEM_TOO_LARGE, e);
+        }
+        return byteOffset;
+    }
 }
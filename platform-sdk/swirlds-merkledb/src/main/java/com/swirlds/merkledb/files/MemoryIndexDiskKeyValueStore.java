@@ -25,10 +25,12 @@ import com.swirlds.merkledb.Snapshotable;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.files.DataFileCollection.LoadedDataCallback;
+import com.swirlds.merkledb.files.DataFileReader.DataItemConsumer;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.LongSummaryStatistics;
 import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
@@ -81,12 +83,43 @@ public class MemoryIndexDiskKeyValueStore implements AutoCloseable, Snapshotable
             final LoadedDataCallback loadedDataCallback,
             final LongList keyToDiskLocationIndex)
             throws IOException {
+        this(
+                config,
+                storeDir,
+                storeName,
+                legacyStoreName,
+                loadedDataCallback,
+                keyToDiskLocationIndex,
+                DataFileCompression.NONE);
+    }
+
+    /**
+     * Construct a new MemoryIndexDiskKeyValueStore with compressed data files
+     *
+     * @param storeDir The directory to store data files in
+     * @param storeName The name for the data store, this allows more than one data store in a single directory.
+     * @param legacyStoreName Base name for the data store. If not null, the store will process files with this prefix at startup. New files in the store will be prefixed with {@code storeName}
+     * @param loadedDataCallback call back for handing loaded data from existing files on startup. Can be null if not needed.
+     * @param keyToDiskLocationIndex The index to use for keys to disk locations, see the other constructor for details
+     * @param compression Data item compression for new data files
+     * @throws IOException If there was a problem opening data files
+     */
+    public MemoryIndexDiskKeyValueStore(
+            final MerkleDbConfig config,
+            final Path storeDir,
+            final String storeName,
+            final String legacyStoreName,
+            final LoadedDataCallback loadedDataCallback,
+            final LongList keyToDiskLocationIndex,
+            final DataFileCompression compression)
+            throws IOException {
         this.storeName = storeName;
         index = keyToDiskLocationIndex;
         // create store dir
         Files.createDirectories(storeDir);
         // create file collection
-        fileCollection = new DataFileCollection(config, storeDir, storeName, legacyStoreName, loadedDataCallback);
+        fileCollection = new DataFileCollection(
+                config, storeDir, storeName, legacyStoreName, loadedDataCallback, compression);
     }
 
     /**
@@ -179,6 +212,36 @@ public class MemoryIndexDiskKeyValueStore implements AutoCloseable, Snapshotable
         return fileCollection.readDataItemUsingIndex(index, key);
     }
 
+    /**
+     * Get values for multiple keys at once by reading them from disk. Values are read in the order
+     * of their disk locations rather than in the order of the keys, see {@link
+     * DataFileCollection#readDataItemsUsingIndex(LongList, long[], DataItemConsumer)} for details.
+     * The consumer isn't called for keys, which are out of the valid key range or not found.
+     *
+     * @param keys The keys to find and read values for
+     * @param consumer The consumer to call for every value read, with the index of the key in the
+     *                 array of keys and the value bytes
+     * @throws IOException If there was a problem reading the values from files
+     */
+    public void get(final long[] keys, final DataItemConsumer consumer) throws IOException {
+        int inRangeCount = 0;
+        final int[] keyIndices = new int[keys.length];
+        final long[] inRangeKeys = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (checkKeyInRange(keys[i])) {
+                keyIndices[inRangeCount] = i;
+                inRangeKeys[inRangeCount++] = keys[i];
+            }
+        }
+        if (inRangeCount == 0) {
+            return;
+        }
+        fileCollection.readDataItemsUsingIndex(
+                index,
+                Arrays.copyOf(inRangeKeys, inRangeCount),
+                (i, dataItem) -> consumer.accept(keyIndices[i], dataItem));
+    }
+
     /**
      * Close all files being used
      *
@@ -202,6 +265,13 @@ public class MemoryIndexDiskKeyValueStore implements AutoCloseable, Snapshotable
         return fileCollection.getAllCompletedFilesSizeStatistics();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public double getGarbageRatioEstimate() {
+        return fileCollection.getGarbageRatioEstimate();
+    }
+
     public DataFileCollection getFileCollection() {
         return fileCollection;
     }
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files.hashmap;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A blocked Bloom filter for {@link HalfDiskHashMap} buckets. Every bucket has its own fixed size
+ * block of bits, all bits for a key are set in the block of the bucket the key belongs to. Blocks
+ * are rebuilt from scratch every time a bucket is stored to disk, so bits of deleted keys don't
+ * accumulate over time.
+ *
+ * <p>Only key hash codes are used to compute bits. Keys with the same hash code are indistinguishable
+ * for the filter, it's fine, since such keys end up in the same bucket anyway.
+ *
+ * <p>Thread safety: blocks are updated by a single thread (the thread that stores buckets during
+ * flushes), while lookups may be done concurrently from multiple threads. When a bucket block is
+ * updated, every word is replaced atomically. A key present in both old and new bucket versions
+ * has its bits set in both old and new words, so concurrent readers never get false negatives
+ * for such keys.
+ */
+public final class BucketBloomFilter {
+
+    /** The version number for format of the filter files */
+    private static final int FILE_FORMAT_VERSION = 1;
+
+    /** File header size: format version, number of buckets, words per bucket, hash count */
+    private static final int FILE_HEADER_SIZE = Integer.BYTES * 4;
+
+    /** Max number of hash functions, even if bits per key is very large */
+    private static final int MAX_HASH_COUNT = 16;
+
+    /** Number of buckets, the same as in the map */
+    private final int numOfBuckets;
+
+    /** Number of 64-bit words per bucket block */
+    private final int wordsPerBucket;
+
+    /** Number of bits per bucket block, wordsPerBucket * 64 */
+    private final int bitsPerBucket;
+
+    /** Number of bits set for every key */
+    private final int hashCount;
+
+    /** Filter data, numOfBuckets * wordsPerBucket words */
+    private final AtomicLongArray words;
+
+    /** Number of lookups, which were answered by the filter as "definitely not in the map" */
+    private final LongAdder negatives = new LongAdder();
+
+    /** Number of lookups, which were answered by the filter as "maybe", but key was not found */
+    private final LongAdder falsePositives = new LongAdder();
+
+    /**
+     * Creates a new empty filter.
+     *
+     * @param numOfBuckets the number of buckets in the map
+     * @param bitsPerKey the number of filter bits per key
+     * @param entriesPerBucket the expected number of entries per bucket, when the map is full
+     */
+    public BucketBloomFilter(final int numOfBuckets, final int bitsPerKey, final int entriesPerBucket) {
+        if (numOfBuckets <= 0) {
+            throw new IllegalArgumentException("Number of buckets must be positive");
+        }
+        final int wordsPerBucket = wordsPerBucket(bitsPerKey, entriesPerBucket);
+        final long totalWords = (long) numOfBuckets * wordsPerBucket;
+        if (totalWords > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Bloom filter is too large, numOfBuckets=" + numOfBuckets
+                    + " wordsPerBucket=" + wordsPerBucket);
+        }
+        this.numOfBuckets = numOfBuckets;
+        this.wordsPerBucket = wordsPerBucket;
+        this.bitsPerBucket = wordsPerBucket * Long.SIZE;
+        this.hashCount = hashCount(bitsPerKey);
+        this.words = new AtomicLongArray((int) totalWords);
+    }
+
+    private static int wordsPerBucket(final int bitsPerKey, final int entriesPerBucket) {
+        if (bitsPerKey <= 0) {
+            throw new IllegalArgumentException("Bits per key must be positive");
+        }
+        if (entriesPerBucket <= 0) {
+            throw new IllegalArgumentException("Entries per bucket must be positive");
+        }
+        final long bits = (long) bitsPerKey * entriesPerBucket;
+        return Math.toIntExact((bits + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    private static int hashCount(final int bitsPerKey) {
+        // Optimal number of hash functions is bitsPerKey * ln(2)
+        return Math.clamp(Math.round(bitsPerKey * Math.log(2)), 1, MAX_HASH_COUNT);
+    }
+
+    /**
+     * Checks if a key with the given hash code may be in the given bucket. If this method
+     * returns false, the key is definitely not in the bucket.
+     *
+     * @param bucketIndex the bucket index
+     * @param keyHashCode the key hash code
+     * @return false if the key is definitely not in the bucket, true otherwise
+     */
+    public boolean mightContain(final int bucketIndex, final int keyHashCode) {
+        final int blockStart = bucketIndex * wordsPerBucket;
+        final long hash = mix(keyHashCode);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final int bit = bitIndex(h1, h2, i);
+            if ((words.get(blockStart + (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rebuilds the filter block for the given bucket from the bucket entries. If the bucket is
+     * empty, the block is cleared.
+     *
+     * @param bucket the bucket to rebuild the block for
+     */
+    public void update(@NonNull final Bucket bucket) {
+        final long[] block = new long[wordsPerBucket];
+        bucket.forEachEntryHashCode(keyHashCode -> {
+            final long hash = mix(keyHashCode);
+            final int h1 = (int) hash;
+            final int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                final int bit = bitIndex(h1, h2, i);
+                block[bit >>> 6] |= 1L << bit;
+            }
+        });
+        setBlock(bucket.getBucketIndex(), block);
+    }
+
+    /**
+     * Clears the filter block for the given bucket. Should be called when the bucket is removed
+     * from the map.
+     *
+     * @param bucketIndex the bucket index
+     */
+    public void clear(final int bucketIndex) {
+        setBlock(bucketIndex, new long[wordsPerBucket]);
+    }
+
+    private void setBlock(final int bucketIndex, final long[] block) {
+        if ((bucketIndex < 0) || (bucketIndex >= numOfBuckets)) {
+            throw new IndexOutOfBoundsException("Bucket index out of range: " + bucketIndex);
+        }
+        final int blockStart = bucketIndex * wordsPerBucket;
+        for (int i = 0; i < wordsPerBucket; i++) {
+            words.set(blockStart + i, block[i]);
+        }
+    }
+
+    private int bitIndex(final int h1, final int h2, final int i) {
+        // Kirsch-Mitzenmacher double hashing
+        return (int) (Integer.toUnsignedLong(h1 + i * h2) % bitsPerBucket);
+    }
+
+    /**
+     * Bucket index is computed from the lowest bits of key hash codes, so all keys in a bucket
+     * share the same lowest bits. The hash code is mixed, so all its bits affect filter bits.
+     */
+    private static long mix(final int keyHashCode) {
+        // Murmur3 64-bit finalizer
+        long h = keyHashCode * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Increments the number of lookups answered by the filter without reading buckets. */
+    public void countNegative() {
+        negatives.increment();
+    }
+
+    /** Increments the number of lookups, for which the filter returned a false positive. */
+    public void countFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Returns the number of lookups answered by the filter without reading buckets since the last
+     * call to this method.
+     */
+    public long getAndResetNegatives() {
+        return negatives.sumThenReset();
+    }
+
+    /**
+     * Returns the number of lookups, for which the filter returned a false positive, since the last
+     * call to this method.
+     */
+    public long getAndResetFalsePositives() {
+        return falsePositives.sumThenReset();
+    }
+
+    /** Returns the filter size in bytes. */
+    public long getSizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /**
+     * Writes the filter to the given file. If the file exists, it's overwritten.
+     *
+     * @param file the file to write to
+     * @throws IOException if an I/O error occurred
+     */
+    public void writeToFile(@NonNull final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            header.putInt(FILE_FORMAT_VERSION);
+            header.putInt(numOfBuckets);
+            header.putInt(wordsPerBucket);
+            header.putInt(hashCount);
+            header.flip();
+            writeFully(channel, header);
+            final ByteBuffer buf = ByteBuffer.allocate(1024 * 1024);
+            for (int i = 0; i < words.length(); i++) {
+                buf.putLong(words.get(i));
+                if (!buf.hasRemaining()) {
+                    buf.flip();
+                    writeFully(channel, buf);
+                    buf.clear();
+                }
+            }
+            buf.flip();
+            writeFully(channel, buf);
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+
+    /**
+     * Loads a filter from the given file. If the file doesn't exist, or if it was written with different
+     * filter settings, null is returned, and the filter has to be rebuilt.
+     *
+     * @param file the file to read from
+     * @param numOfBuckets the number of buckets in the map
+     * @param bitsPerKey the number of filter bits per key
+     * @param entriesPerBucket the expected number of entries per bucket, when the map is full
+     * @return the loaded filter, or null if the file is missing or incompatible
+     * @throws IOException if an I/O error occurred
+     */
+    @Nullable
+    public static BucketBloomFilter readFromFile(
+            @NonNull final Path file, final int numOfBuckets, final int bitsPerKey, final int entriesPerBucket)
+            throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        final BucketBloomFilter filter = new BucketBloomFilter(numOfBuckets, bitsPerKey, entriesPerBucket);
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long expectedSize = FILE_HEADER_SIZE + filter.getSizeInBytes();
+            if (channel.size() != expectedSize) {
+                return null;
+            }
+            final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            readFully(channel, header);
+            header.flip();
+            if ((header.getInt() != FILE_FORMAT_VERSION)
+                    || (header.getInt() != filter.numOfBuckets)
+                    || (header.getInt() != filter.wordsPerBucket)
+                    || (header.getInt() != filter.hashCount)) {
+                return null;
+            }
+            final ByteBuffer buf = ByteBuffer.allocate(1024 * 1024);
+            int i = 0;
+            while (i < filter.words.length()) {
+                buf.clear();
+                buf.limit((int) Math.min(buf.capacity(), (long) (filter.words.length() - i) * Long.BYTES));
+                readFully(channel, buf);
+                buf.flip();
+                while (buf.hasRemaining()) {
+                    filter.words.set(i++, buf.getLong());
+                }
+            }
+        }
+        return filter;
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf) < 0) {
+                throw new IOException("Unexpected end of Bloom filter file");
+            }
+        }
+    }
+}
@@ -29,18 +29,22 @@ import com.swirlds.merkledb.collections.CASableLongIndex;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.collections.LongListDisk;
 import com.swirlds.merkledb.collections.LongListOffHeap;
+import com.swirlds.merkledb.collections.LongListSnapshotChain;
 import com.swirlds.merkledb.collections.OffHeapUser;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.files.DataFileCollection;
 import com.swirlds.merkledb.files.DataFileCollection.LoadedDataCallback;
 import com.swirlds.merkledb.files.DataFileReader;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -72,6 +76,8 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     private static final String METADATA_FILENAME_SUFFIX = "_metadata.hdhm";
     /** Bucket index file name suffix with extension */
     private static final String BUCKET_INDEX_FILENAME_SUFFIX = "_bucket_index.ll";
+    /** Bucket Bloom filter file name suffix with extension */
+    private static final String BLOOM_FILTER_FILENAME_SUFFIX = "_bucket_bloom.bf";
     /**
      * A marker to indicate that a value should be deleted from the map, or that there is
      * no old value to compare against in putIfEqual/deleteIfEqual
@@ -94,8 +100,16 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
      * bucket
      */
     private final LongList bucketIndexToBucketLocation;
+    /** Incremental snapshots of {@link #bucketIndexToBucketLocation} */
+    private final LongListSnapshotChain bucketIndexSnapshots;
     /** DataFileCollection manages the files storing the buckets on disk */
     private final DataFileCollection fileCollection;
+    /**
+     * Optional Bloom filter for bucket entries. If not null, it's used to answer lookups for keys
+     * that are definitely not in the map without reading buckets from disk
+     */
+    @Nullable
+    private final BucketBloomFilter bloomFilter;
 
     /**
      * This is the next power of 2 bigger than minimumBuckets. It needs to be a power of two, so
@@ -248,6 +262,7 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             if (Files.exists(indexFile) && !forceIndexRebuilding) {
                 bucketIndexToBucketLocation =
                         preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap(indexFile);
+                LongListSnapshotChain.applyDeltas(bucketIndexToBucketLocation, indexFile);
                 loadedDataCallback = null;
             } else {
                 // create new index and setup call back to rebuild
@@ -280,10 +295,49 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                     numOfBuckets);
         }
         bucketIndexToBucketLocation.updateValidRange(0, numOfBuckets - 1);
+        bucketIndexSnapshots = new LongListSnapshotChain(
+                bucketIndexToBucketLocation,
+                config.indexSnapshotMaxDeltas(),
+                storeDir.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX));
         // create file collection
         fileCollection = new DataFileCollection(
                 // Need: propagate MerkleDb config from the database
                 config, storeDir, storeName, legacyStoreName, loadedDataCallback);
+        // load or rebuild Bloom filter, if enabled
+        bloomFilter = initBloomFilter(config.keyToPathBloomFilterBitsPerKey(), storeDir);
+    }
+
+    @Nullable
+    private BucketBloomFilter initBloomFilter(final int bitsPerKey, final Path storeDir) throws IOException {
+        if (bitsPerKey <= 0) {
+            return null;
+        }
+        final int entriesPerBucket = (int) GOOD_AVERAGE_BUCKET_ENTRY_COUNT;
+        final Path bloomFilterFile = storeDir.resolve(storeName + BLOOM_FILTER_FILENAME_SUFFIX);
+        BucketBloomFilter filter =
+                BucketBloomFilter.readFromFile(bloomFilterFile, numOfBuckets, bitsPerKey, entriesPerBucket);
+        if (filter != null) {
+            return filter;
+        }
+        filter = new BucketBloomFilter(numOfBuckets, bitsPerKey, entriesPerBucket);
+        if (bucketIndexToBucketLocation.size() > 0) {
+            // Bloom filter file is missing or was written with different settings, rebuild it
+            // from the buckets on disk
+            final long start = System.currentTimeMillis();
+            for (int i = 0; i < numOfBuckets; i++) {
+                try (final Bucket bucket = readBucket(i)) {
+                    if (bucket != null) {
+                        filter.update(bucket);
+                    }
+                }
+            }
+            logger.info(
+                    MERKLE_DB.getMarker(),
+                    "HalfDiskHashMap [{}] Bloom filter rebuilt in {} ms",
+                    storeName,
+                    System.currentTimeMillis() - start);
+        }
+        return filter;
     }
 
     private void writeMetadata(final Path dir) throws IOException {
@@ -301,7 +355,11 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         // create snapshot directory if needed
         Files.createDirectories(snapshotDirectory);
         // write index to file
-        bucketIndexToBucketLocation.writeToFile(snapshotDirectory.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX));
+        bucketIndexSnapshots.snapshot(snapshotDirectory.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX));
+        // write Bloom filter to file, if enabled
+        if (bloomFilter != null) {
+            bloomFilter.writeToFile(snapshotDirectory.resolve(storeName + BLOOM_FILTER_FILENAME_SUFFIX));
+        }
         // snapshot files
         fileCollection.snapshot(snapshotDirectory);
         // write metadata
@@ -326,6 +384,13 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         return fileCollection.getAllCompletedFilesSizeStatistics();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public double getGarbageRatioEstimate() {
+        return fileCollection.getGarbageRatioEstimate();
+    }
+
     /**
      * Close this HalfDiskHashMap's data files. Once closed this HalfDiskHashMap can not be reused.
      * You should make sure you call close before system exit otherwise any files being written
@@ -657,9 +722,16 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                 if (bucket.isEmpty()) {
                     // bucket is missing or empty, remove it from the index
                     bucketIndexToBucketLocation.remove(bucketIndex);
+                    if (bloomFilter != null) {
+                        bloomFilter.clear(bucketIndex);
+                    }
                 } else {
                     // save bucket
                     final long bucketLocation = fileCollection.storeDataItem(bucket::writeTo, bucket.sizeInBytes());
+                    // update Bloom filter before the bucket becomes visible to readers
+                    if (bloomFilter != null) {
+                        bloomFilter.update(bucket);
+                    }
                     // update bucketIndexToBucketLocation
                     bucketIndexToBucketLocation.put(bucketIndex, bucketLocation);
                 }
@@ -722,12 +794,73 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             throw new IllegalArgumentException("Can not get a null key");
         }
         final int bucketIndex = computeBucketIndex(keyHashCode);
+        if ((bloomFilter != null) && !bloomFilter.mightContain(bucketIndex, keyHashCode)) {
+            bloomFilter.countNegative();
+            return notFoundValue;
+        }
+        long value = notFoundValue;
         try (final Bucket bucket = readBucket(bucketIndex)) {
             if (bucket != null) {
-                return bucket.findValue(keyHashCode, keyBytes, notFoundValue);
+                value = bucket.findValue(keyHashCode, keyBytes, notFoundValue);
+            }
+        }
+        if ((bloomFilter != null) && (value == notFoundValue)) {
+            bloomFilter.countFalsePositive();
+        }
+        return value;
+    }
+
+    /**
+     * Get values for multiple keys at once. Keys are first checked against bucket Bloom filters, if
+     * enabled. Then buckets for the remaining keys are read from disk in the order of their disk
+     * locations, see {@link DataFileCollection#readDataItemsUsingIndex} for details. Every bucket
+     * is read once, even if multiple keys are in the bucket.
+     *
+     * @param keys the keys to get values for
+     * @param keyHashCodes the key hash codes
+     * @param values the array to store values to, for every key its value is stored at the same
+     *               index as the key, or {@code notFoundValue}, if the key is not found
+     * @param notFoundValue the value to store for keys, which are not found
+     * @throws IOException If there was a problem reading the values from file
+     */
+    public void getAll(
+            @NonNull final List<Bytes> keys,
+            @NonNull final int[] keyHashCodes,
+            @NonNull final long[] values,
+            final long notFoundValue)
+            throws IOException {
+        final int keyCount = keys.size();
+        Arrays.fill(values, 0, keyCount, notFoundValue);
+        int bucketCount = 0;
+        final int[] keyIndices = new int[keyCount];
+        final long[] bucketIndices = new long[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            final int bucketIndex = computeBucketIndex(keyHashCodes[i]);
+            if ((bloomFilter != null) && !bloomFilter.mightContain(bucketIndex, keyHashCodes[i])) {
+                bloomFilter.countNegative();
+                continue;
+            }
+            keyIndices[bucketCount] = i;
+            bucketIndices[bucketCount++] = bucketIndex;
+        }
+        if (bucketCount == 0) {
+            return;
+        }
+        fileCollection.readDataItemsUsingIndex(
+                bucketIndexToBucketLocation, Arrays.copyOf(bucketIndices, bucketCount), (i, bucketData) -> {
+                    final int keyIndex = keyIndices[i];
+                    try (final Bucket bucket = bucketPool.getBucket()) {
+                        bucket.readFrom(bucketData);
+                        values[keyIndex] = bucket.findValue(keyHashCodes[keyIndex], keys.get(keyIndex), notFoundValue);
+                    }
+                });
+        if (bloomFilter != null) {
+            for (int i = 0; i < bucketCount; i++) {
+                if (values[keyIndices[i]] == notFoundValue) {
+                    bloomFilter.countFalsePositive();
+                }
             }
         }
-        return notFoundValue;
     }
 
     private Bucket readBucket(final int bucketIndex) throws IOException {
@@ -766,6 +899,14 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         return bucketIndexToBucketLocation;
     }
 
+    /**
+     * Returns the bucket Bloom filter, or null if Bloom filters are disabled in MerkleDb config.
+     */
+    @Nullable
+    public BucketBloomFilter getBloomFilter() {
+        return bloomFilter;
+    }
+
     // =================================================================================================================
     // Private API
 
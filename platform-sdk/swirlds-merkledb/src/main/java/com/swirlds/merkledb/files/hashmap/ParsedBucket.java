@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntConsumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -119,6 +120,16 @@ public final class ParsedBucket extends Bucket {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachEntryHashCode(final IntConsumer action) {
+        for (final BucketEntry entry : entries) {
+            action.accept(entry.getHashCode());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
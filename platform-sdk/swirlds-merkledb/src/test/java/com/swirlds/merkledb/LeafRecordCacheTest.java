@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static com.swirlds.virtualmap.datasource.VirtualDataSource.INVALID_PATH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class LeafRecordCacheTest {
+
+    private static final int VALUE_SIZE = 100;
+
+    private static Bytes key(final int i) {
+        return Bytes.wrap(new byte[] {(byte) (i >>> 24), (byte) (i >>> 16), (byte) (i >>> 8), (byte) i});
+    }
+
+    private static VirtualLeafBytes leaf(final int i) {
+        return new VirtualLeafBytes(i, key(i), i, Bytes.wrap(new byte[VALUE_SIZE]));
+    }
+
+    @Test
+    void invalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new LeafRecordCache(0, c -> {}), "Should have thrown");
+    }
+
+    @Test
+    void putAndGetByKeyAndPath() {
+        final LeafRecordCache cache = new LeafRecordCache(1024 * 1024, c -> {});
+        final VirtualLeafBytes leaf = leaf(7);
+        cache.put(leaf, 7);
+        assertEquals(leaf, cache.getByKey(key(7), 7), "Leaf should be found by key");
+        assertEquals(leaf, cache.getByPath(7), "Leaf should be found by path");
+        assertNull(cache.getByKey(key(8), 8), "Unknown key should not be found");
+        assertNull(cache.getByPath(8), "Unknown path should not be found");
+    }
+
+    @Test
+    void keyOnlyEntriesAreNotIndexedByPath() {
+        final LeafRecordCache cache = new LeafRecordCache(1024 * 1024, c -> {});
+        cache.put(new VirtualLeafBytes(5, key(5), 5, null), 5);
+        cache.put(new VirtualLeafBytes(INVALID_PATH, key(6), 6, null), 6);
+        assertEquals(5, cache.getByKey(key(5), 5).path(), "Key to path mapping should be cached");
+        assertEquals(INVALID_PATH, cache.getByKey(key(6), 6).path(), "Negative result should be cached");
+        assertNull(cache.getByPath(5), "Key only entry should not be found by path");
+    }
+
+    @Test
+    void replaceUpdatesPathIndex() {
+        final LeafRecordCache cache = new LeafRecordCache(1024 * 1024, c -> {});
+        cache.put(leaf(3), 3);
+        final VirtualLeafBytes moved = new VirtualLeafBytes(11, key(3), 3, Bytes.wrap(new byte[VALUE_SIZE]));
+        cache.put(moved, 3);
+        assertEquals(moved, cache.getByKey(key(3), 3), "Leaf should be replaced");
+        assertNull(cache.getByPath(3), "Old path should not be indexed");
+        assertEquals(moved, cache.getByPath(11), "New path should be indexed");
+        assertEquals(1, cache.getEntryCount(), "Wrong entry count");
+    }
+
+    @Test
+    void invalidateRemovesBothIndices() {
+        final LeafRecordCache cache = new LeafRecordCache(1024 * 1024, c -> {});
+        cache.put(leaf(1), 1);
+        cache.invalidate(key(1), 1);
+        assertNull(cache.getByKey(key(1), 1), "Invalidated key should not be found");
+        assertNull(cache.getByPath(1), "Invalidated path should not be found");
+        assertEquals(0, cache.getSizeInBytes(), "Cache should be empty");
+    }
+
+    @Test
+    void sizeIsBounded() {
+        final long maxSize = 1024 * 1024;
+        final AtomicLong evicted = new AtomicLong();
+        final LeafRecordCache cache = new LeafRecordCache(maxSize, evicted::addAndGet);
+        final int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            cache.getByKey(key(i), i);
+            cache.put(leaf(i), i);
+        }
+        assertTrue(cache.getSizeInBytes() <= maxSize, "Cache size must not exceed the limit");
+        assertTrue(evicted.get() > 0, "Some entries must be evicted");
+        assertEquals(count, cache.getEntryCount() + evicted.get(), "Every entry is either cached or evicted");
+    }
+
+    @Test
+    void frequentEntriesSurviveScans() {
+        final LeafRecordCache cache = new LeafRecordCache(1024 * 1024, c -> {});
+        final int hotCount = 100;
+        // Cold scan, every cold key is accessed just once, while hot keys are accessed over and over
+        for (int i = 0; i < 100_000; i++) {
+            final int hotKey = i % hotCount;
+            if (cache.getByKey(key(hotKey), hotKey) == null) {
+                cache.put(leaf(hotKey), hotKey);
+            }
+            final int coldKey = hotCount + i;
+            cache.getByKey(key(coldKey), coldKey);
+            cache.put(leaf(coldKey), coldKey);
+        }
+        int hotHits = 0;
+        for (int i = 0; i < hotCount; i++) {
+            if (cache.getByKey(key(i), i) != null) {
+                hotHits++;
+            }
+        }
+        assertTrue(hotHits > hotCount * 9 / 10, "Most hot entries should survive a scan, hits: " + hotHits);
+    }
+
+    @Test
+    void frequencySketchCountsAccesses() {
+        final LeafRecordCache.FrequencySketch sketch = new LeafRecordCache.FrequencySketch(1024);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(42);
+        }
+        assertTrue(sketch.frequency(42) >= 5, "Frequency must not be underestimated");
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(42);
+        }
+        assertEquals(15, sketch.frequency(42), "Frequency counters are 4 bits");
+    }
+}
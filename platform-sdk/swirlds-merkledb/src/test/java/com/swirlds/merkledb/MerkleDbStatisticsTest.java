@@ -84,6 +84,13 @@ class MerkleDbStatisticsTest {
         assertDoesNotThrow(statistics::countHashReads);
         assertDoesNotThrow(statistics::countLeafReads);
         assertDoesNotThrow(statistics::countLeafKeyReads);
+        assertDoesNotThrow(statistics::countLeafCacheHits);
+        assertDoesNotThrow(statistics::countLeafCacheMisses);
+        assertDoesNotThrow(() -> statistics.countLeafCacheEvictions(42));
+        assertDoesNotThrow(() -> statistics.setLeafCacheSizeMb(42));
+        assertDoesNotThrow(() -> statistics.countLeafKeyBloomNegatives(42));
+        assertDoesNotThrow(() -> statistics.countLeafKeyBloomFalsePositives(42));
+        assertDoesNotThrow(() -> statistics.setLeafKeyBloomFalsePositiveRate(Math.PI));
         assertDoesNotThrow(() -> statistics.setHashesStoreFileCount(42));
         assertDoesNotThrow(() -> statistics.setHashesStoreFileSizeMb(31415));
         assertDoesNotThrow(() -> statistics.setLeafKeysStoreFileCount(42));
@@ -91,6 +98,9 @@ class MerkleDbStatisticsTest {
         assertDoesNotThrow(() -> statistics.setLeavesStoreFileCount(42));
         assertDoesNotThrow(() -> statistics.setLeavesStoreFileSizeMb(31415));
         assertDoesNotThrow(() -> statistics.setTotalFileSizeMb(314159));
+        assertDoesNotThrow(() -> statistics.setHashesStoreCompactionDebtMb(42));
+        assertDoesNotThrow(() -> statistics.setLeavesStoreCompactionDebtMb(42));
+        assertDoesNotThrow(() -> statistics.setLeafKeysStoreCompactionDebtMb(42));
         assertDoesNotThrow(() -> statistics.setHashesStoreCompactionTimeMs(compactionLevel, 314));
         assertDoesNotThrow(() -> statistics.setHashesStoreCompactionSavedSpaceMb(compactionLevel, Math.PI));
         assertDoesNotThrow(() -> statistics.setHashesStoreFileSizeByLevelMb(compactionLevel, Math.PI));
@@ -166,6 +176,26 @@ class MerkleDbStatisticsTest {
         assertValueSet(metric);
     }
 
+    @Test
+    void testCountLeafCacheHits() {
+        // given
+        final Metric metric = getMetric("cache_", "leafHits_" + LABEL);
+        // when
+        statistics.countLeafCacheHits();
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testCountLeafCacheEvictions() {
+        // given
+        final Metric metric = getMetric("cache_", "leafEvictions_" + LABEL);
+        // when
+        statistics.countLeafCacheEvictions(3);
+        // then
+        assertValueSet(metric);
+    }
+
     @Test
     void testSetHashesStoreFileCount() {
         // given
@@ -230,6 +260,24 @@ class MerkleDbStatisticsTest {
         assertValueSet(metric);
     }
 
+    @Test
+    void testSetCompactionDebtMb() {
+        // given
+        statistics = new MerkleDbStatistics(configuration.getConfigData(MerkleDbConfig.class), LABEL);
+        statistics.registerMetrics(metrics);
+        final Metric hashesMetric = getMetric("compactions_", "hashesDebtMb_" + LABEL);
+        final Metric leavesMetric = getMetric("compactions_", "leavesDebtMb_" + LABEL);
+        final Metric leafKeysMetric = getMetric("compactions_", "leafKeysDebtMb_" + LABEL);
+        // when
+        statistics.setHashesStoreCompactionDebtMb(31415);
+        statistics.setLeavesStoreCompactionDebtMb(31415);
+        statistics.setLeafKeysStoreCompactionDebtMb(31415);
+        // then
+        assertValueSet(hashesMetric);
+        assertValueSet(leavesMetric);
+        assertValueSet(leafKeysMetric);
+    }
+
     @Test
     void testSetHashesStoreMergeTime() {
         // given
@@ -21,7 +21,11 @@ import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.constructable.ConstructableRegistry;
 import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.files.DataFileCompression;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.junit.jupiter.api.Assertions;
@@ -66,4 +70,36 @@ class MerkleDbTableConfigTest {
         // default MerkleDbConfig values
         Assertions.assertEquals(0, restored.getHashesRamToDiskThreshold());
     }
+
+    @Test
+    void compressionTest() throws IOException {
+        final MerkleDbTableConfig tableConfig = new MerkleDbTableConfig((short) 1, DigestType.SHA_384);
+        Assertions.assertEquals(DataFileCompression.NONE, tableConfig.getCompression());
+        Assertions.assertThrows(NullPointerException.class, () -> tableConfig.compression(null));
+        tableConfig.compression(DataFileCompression.DEFLATE);
+        Assertions.assertEquals(DataFileCompression.DEFLATE, tableConfig.copy().getCompression());
+        Assertions.assertEquals(tableConfig, tableConfig.copy());
+
+        // Protobuf
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (final WritableStreamingData out = new WritableStreamingData(bout)) {
+            tableConfig.writeTo(out);
+        }
+        Assertions.assertEquals(tableConfig.pbjSizeInBytes(), bout.size());
+        try (final ReadableStreamingData in = new ReadableStreamingData(bout.toByteArray())) {
+            Assertions.assertEquals(tableConfig, new MerkleDbTableConfig(in));
+        }
+
+        // Legacy serialization, used by data source builders
+        final ByteArrayOutputStream legacyBout = new ByteArrayOutputStream();
+        try (final SerializableDataOutputStream out = new SerializableDataOutputStream(legacyBout)) {
+            tableConfig.serialize(out);
+        }
+        final MerkleDbTableConfig restored = new MerkleDbTableConfig();
+        try (final SerializableDataInputStream in =
+                new SerializableDataInputStream(new ByteArrayInputStream(legacyBout.toByteArray()))) {
+            restored.deserialize(in, tableConfig.getVersion());
+        }
+        Assertions.assertEquals(tableConfig, restored);
+    }
 }
@@ -188,6 +188,43 @@ abstract class AbstractLongListTest<T extends AbstractLongList<?>> {
                 "putIfEqual did not put when it should have");
     }
 
+    @Test
+    @Order(5)
+    void writeDeltasAndApply(@TempDir final Path tempDir) throws IOException {
+        final Path baseFile = tempDir.resolve("LongListDeltaTest.ll");
+        final Path delta1File = tempDir.resolve("LongListDeltaTest.ll.delta1");
+        final Path delta2File = tempDir.resolve("LongListDeltaTest.ll.delta2");
+        try (final T list = createFullyParameterizedLongListWith(100, 10_000)) {
+            list.updateValidRange(0, 4_999);
+            for (int i = 0; i < 5_000; i++) {
+                list.put(i, i + 1);
+            }
+            list.resetChangeTracking();
+            list.writeToFile(baseFile);
+            // change a few chunks and extend the list to the right
+            list.put(150, 7);
+            list.remove(260);
+            list.updateValidRange(50, 5_999);
+            list.put(5_500, 9);
+            list.writeDeltaToFile(delta1File);
+            assertTrue(Files.size(delta1File) < Files.size(baseFile), "Delta must only contain changed chunks");
+            // shrink the list from the left
+            list.updateValidRange(1_000, 5_999);
+            list.put(1_200, 3);
+            list.writeDeltaToFile(delta2File);
+
+            try (final T loaded = createLongListFromFile(baseFile)) {
+                loaded.applyDeltaFromFile(delta1File);
+                loaded.applyDeltaFromFile(delta2File);
+                assertEquals(list.getMinValidIndex(), loaded.getMinValidIndex(), "Wrong min valid index");
+                assertEquals(list.getMaxValidIndex(), loaded.getMaxValidIndex(), "Wrong max valid index");
+                for (int i = 0; i < 6_000; i++) {
+                    assertEquals(list.get(i), loaded.get(i), "Longs don't match for " + i);
+                }
+            }
+        }
+    }
+
     @Test
     @Order(5)
     void chunkSizeFactoryWorks() {
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.collections;
+
+import static com.swirlds.merkledb.collections.LongListSnapshotChain.deltaFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LongListSnapshotChainTest {
+
+    private static final String FILE_NAME = "index.ll";
+
+    private static final int SIZE = 10_000;
+
+    @Test
+    void invalidArguments(@TempDir final Path tempDir) {
+        try (final LongList list = new LongListOffHeap(100, SIZE, 0)) {
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> new LongListSnapshotChain(list, -1, tempDir.resolve(FILE_NAME)));
+        }
+    }
+
+    @Test
+    void deltasAndFullCheckpoints(@TempDir final Path tempDir) throws IOException {
+        try (final LongListOffHeap list = createList()) {
+            final LongListSnapshotChain chain = new LongListSnapshotChain(list, 2, tempDir.resolve(FILE_NAME));
+
+            final Path file1 = snapshot(chain, tempDir, 1);
+            assertFalse(Files.exists(deltaFile(file1, 1)), "The first snapshot must be full");
+            checkSnapshot(list, file1);
+
+            list.put(10, 1_000);
+            final Path file2 = snapshot(chain, tempDir, 2);
+            assertTrue(Files.isSameFile(file1, file2), "Full file must be hard linked");
+            assertTrue(Files.exists(deltaFile(file2, 1)), "Delta must be written");
+            checkSnapshot(list, file2);
+
+            list.remove(20);
+            list.updateValidRange(0, SIZE / 2);
+            final Path file3 = snapshot(chain, tempDir, 3);
+            assertTrue(Files.isSameFile(deltaFile(file2, 1), deltaFile(file3, 1)), "Deltas must be hard linked");
+            assertTrue(Files.exists(deltaFile(file3, 2)), "Delta must be written");
+            checkSnapshot(list, file3);
+
+            list.put(30, 3_000);
+            final Path file4 = snapshot(chain, tempDir, 4);
+            assertFalse(Files.isSameFile(file3, file4), "Max number of deltas is reached, snapshot must be full");
+            assertFalse(Files.exists(deltaFile(file4, 1)), "Max number of deltas is reached, snapshot must be full");
+            checkSnapshot(list, file4);
+
+            // older snapshots must not be affected by newer ones
+            list.put(40, 4_000);
+            snapshot(chain, tempDir, 5);
+            try (final LongListOffHeap loaded = new LongListOffHeap(file3)) {
+                LongListSnapshotChain.applyDeltas(loaded, file3);
+                assertEquals(1_000, loaded.get(10), "Wrong value in an older snapshot");
+                assertEquals(31, loaded.get(30), "Wrong value in an older snapshot");
+                assertEquals(41, loaded.get(40), "Wrong value in an older snapshot");
+            }
+        }
+    }
+
+    @Test
+    void deltasIfPreviousSnapshotIsMovedOrDeleted(@TempDir final Path tempDir) throws IOException {
+        try (final LongListOffHeap list = createList()) {
+            final LongListSnapshotChain chain = new LongListSnapshotChain(list, 10, tempDir.resolve(FILE_NAME));
+            final Path file1 = snapshot(chain, tempDir, 1);
+            // snapshots are written to temporary directories and then moved, the chain must not depend on them
+            final Path movedDir = tempDir.resolve("moved1");
+            Files.move(file1.getParent(), movedDir);
+            list.put(10, 1_000);
+            final Path file2 = snapshot(chain, tempDir, 2);
+            assertTrue(Files.exists(deltaFile(file2, 1)), "Previous snapshot is moved, delta must be written");
+            checkSnapshot(list, file2);
+
+            Files.delete(file2);
+            Files.delete(deltaFile(file2, 1));
+            list.put(20, 2_000);
+            final Path file3 = snapshot(chain, tempDir, 3);
+            assertTrue(Files.exists(deltaFile(file3, 2)), "Previous snapshot is deleted, delta must be written");
+            checkSnapshot(list, file3);
+            try (final LongListOffHeap loaded = new LongListOffHeap(movedDir.resolve(FILE_NAME))) {
+                LongListSnapshotChain.applyDeltas(loaded, movedDir.resolve(FILE_NAME));
+                assertEquals(11, loaded.get(10), "Moved snapshot must not be affected by newer ones");
+            }
+        }
+    }
+
+    @Test
+    void fullSnapshotIfChainFileIsDeleted(@TempDir final Path tempDir) throws IOException {
+        try (final LongListOffHeap list = createList()) {
+            final LongListSnapshotChain chain = new LongListSnapshotChain(list, 10, tempDir.resolve(FILE_NAME));
+            snapshot(chain, tempDir, 1);
+            list.put(10, 1_000);
+            snapshot(chain, tempDir, 2);
+            Files.delete(deltaFile(LongListSnapshotChain.chainFile(tempDir.resolve(FILE_NAME)), 1));
+            list.put(20, 2_000);
+            final Path file3 = snapshot(chain, tempDir, 3);
+            assertFalse(Files.exists(deltaFile(file3, 1)), "Chain delta is deleted, snapshot must be full");
+            checkSnapshot(list, file3);
+        }
+    }
+
+    @Test
+    void noDeltasIfDisabled(@TempDir final Path tempDir) throws IOException {
+        try (final LongListOffHeap list = createList()) {
+            final LongListSnapshotChain chain = new LongListSnapshotChain(list, 0, tempDir.resolve(FILE_NAME));
+            final Path file1 = snapshot(chain, tempDir, 1);
+            list.put(10, 1_000);
+            final Path file2 = snapshot(chain, tempDir, 2);
+            assertFalse(Files.isSameFile(file1, file2), "All snapshots must be full");
+            assertFalse(Files.exists(deltaFile(file2, 1)), "All snapshots must be full");
+            checkSnapshot(list, file2);
+        }
+    }
+
+    private static LongListOffHeap createList() {
+        final LongListOffHeap list = new LongListOffHeap(100, SIZE, 0);
+        list.updateValidRange(0, SIZE - 1);
+        for (int i = 0; i < SIZE; i++) {
+            list.put(i, i + 1);
+        }
+        return list;
+    }
+
+    private static Path snapshot(final LongListSnapshotChain chain, final Path tempDir, final int round)
+            throws IOException {
+        final Path dir = tempDir.resolve("snapshot" + round);
+        Files.createDirectories(dir);
+        final Path file = dir.resolve(FILE_NAME);
+        chain.snapshot(file);
+        return file;
+    }
+
+    private static void checkSnapshot(final LongList expected, final Path file) throws IOException {
+        try (final LongListOffHeap loaded = new LongListOffHeap(file)) {
+            LongListSnapshotChain.applyDeltas(loaded, file);
+            assertEquals(expected.getMinValidIndex(), loaded.getMinValidIndex(), "Wrong min valid index");
+            assertEquals(expected.getMaxValidIndex(), loaded.getMaxValidIndex(), "Wrong max valid index");
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(expected.get(i), loaded.get(i), "Longs don't match for " + i);
+            }
+        }
+    }
+}
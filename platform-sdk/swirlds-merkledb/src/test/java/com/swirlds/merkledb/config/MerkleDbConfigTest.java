@@ -49,4 +49,35 @@ class MerkleDbConfigTest {
         // then
         Assertions.assertEquals(1, configViolationException.getViolations().size());
     }
+
+    @Test
+    public void testLeafRecordCacheSizeViolation() {
+        // given
+        final ConfigurationBuilder configurationBuilder = ConfigurationBuilder.create()
+                .withConfigDataTypes(MerkleDbConfig.class)
+                .withSources(new SimpleConfigSource("merkleDb.leafRecordCacheSize", 1048576));
+
+        // when
+        final ConfigViolationException configViolationException = Assertions.assertThrows(
+                ConfigViolationException.class,
+                () -> configurationBuilder.build(),
+                "An old leaf records cache size in slots should not be used as a size in bytes");
+
+        // then
+        Assertions.assertEquals(1, configViolationException.getViolations().size());
+    }
+
+    @Test
+    public void testLeafRecordCacheSizeBytes() {
+        // given
+        final ConfigurationBuilder configurationBuilder = ConfigurationBuilder.create()
+                .withConfigDataTypes(MerkleDbConfig.class)
+                .withSources(new SimpleConfigSource("merkleDb.leafRecordCacheSizeBytes", 1048576));
+
+        // when
+        final MerkleDbConfig config = configurationBuilder.build().getConfigData(MerkleDbConfig.class);
+
+        // then
+        Assertions.assertEquals(1048576, config.leafRecordCacheSizeBytes());
+    }
 }
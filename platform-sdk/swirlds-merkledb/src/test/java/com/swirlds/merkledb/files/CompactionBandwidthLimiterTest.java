@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static com.swirlds.base.units.UnitConstants.MEBIBYTES_TO_BYTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CompactionBandwidthLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** Allowed error for expected wait times, in nanoseconds */
+    private static final double DELTA = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CompactionBandwidthLimiter(-1, 25, now::get));
+        assertThrows(IllegalArgumentException.class, () -> new CompactionBandwidthLimiter(10, 0, now::get));
+        assertThrows(IllegalArgumentException.class, () -> new CompactionBandwidthLimiter(10, 101, now::get));
+    }
+
+    @Test
+    void unlimited() throws InterruptedException {
+        final CompactionBandwidthLimiter limiter = new CompactionBandwidthLimiter(0, 25, now::get);
+        assertFalse(limiter.isEnabled(), "Zero budget means no throttling");
+        assertEquals(0, limiter.reserve(100L * MEBIBYTES_TO_BYTES), "Unlimited limiter must never wait");
+        limiter.flushStarted();
+        assertEquals(0, limiter.reserve(100L * MEBIBYTES_TO_BYTES), "Unlimited limiter must never wait");
+        limiter.flushFinished();
+        limiter.acquire(MEBIBYTES_TO_BYTES);
+        assertEquals(0, limiter.getTotalThrottledTimeMs(), "Unlimited limiter must never wait");
+        assertEquals(0, limiter.getBudgetUsagePercent(), "No budget usage without a budget");
+    }
+
+    @Test
+    void waitsWhenBudgetIsExceeded() {
+        final CompactionBandwidthLimiter limiter = new CompactionBandwidthLimiter(1, 25, now::get);
+        assertTrue(limiter.isEnabled(), "Positive budget means throttling");
+        assertEquals(SECOND, limiter.reserve(MEBIBYTES_TO_BYTES), DELTA, "1 Mb at 1 Mb/s takes a second");
+        // The second reservation is queued after the first one
+        assertEquals(2 * SECOND, limiter.reserve(MEBIBYTES_TO_BYTES), DELTA, "Reservations must accumulate");
+        now.addAndGet(2 * SECOND);
+        assertEquals(0, limiter.reserve(0), "All reserved bandwidth is available by now");
+        assertEquals(SECOND / 2, limiter.reserve(MEBIBYTES_TO_BYTES / 2), DELTA, "Wrong wait time");
+    }
+
+    @Test
+    void burstIsLimited() {
+        final CompactionBandwidthLimiter limiter = new CompactionBandwidthLimiter(1, 25, now::get);
+        // Idle for a long time, but only 100ms of bandwidth can be accumulated
+        now.addAndGet(10 * SECOND);
+        assertEquals(0, limiter.reserve(MEBIBYTES_TO_BYTES / 20), "Burst must be allowed");
+        assertEquals(SECOND * 95 / 100, limiter.reserve(MEBIBYTES_TO_BYTES), DELTA, "Burst must be limited");
+    }
+
+    @Test
+    void backsOffDuringFlushes() {
+        final CompactionBandwidthLimiter limiter = new CompactionBandwidthLimiter(1, 25, now::get);
+        limiter.flushStarted();
+        limiter.flushStarted();
+        assertEquals(4 * SECOND, limiter.reserve(MEBIBYTES_TO_BYTES), DELTA, "25% budget during flushes");
+        limiter.flushFinished();
+        now.addAndGet(4 * SECOND);
+        assertEquals(4 * SECOND, limiter.reserve(MEBIBYTES_TO_BYTES), DELTA, "Another flush is still running");
+        limiter.flushFinished();
+        now.addAndGet(4 * SECOND);
+        // 100ms of bandwidth is accumulated at full budget while idle
+        assertEquals(SECOND * 9 / 10, limiter.reserve(MEBIBYTES_TO_BYTES), DELTA, "Full budget without flushes");
+    }
+
+    @Test
+    void reportsBudgetUsage() {
+        final CompactionBandwidthLimiter limiter = new CompactionBandwidthLimiter(10, 25, now::get);
+        limiter.reserve(MEBIBYTES_TO_BYTES);
+        now.addAndGet(SECOND / 2);
+        limiter.reserve(2L * MEBIBYTES_TO_BYTES);
+        assertEquals(0, limiter.getUsedBytesPerSec(), "The first usage window isn't complete yet");
+        now.addAndGet(SECOND / 2);
+        assertEquals(3.0 * MEBIBYTES_TO_BYTES, limiter.getUsedBytesPerSec(), 1.0, "3 Mb used in a second");
+        assertEquals(30.0, limiter.getBudgetUsagePercent(), 0.01, "3 Mb/s is 30% of 10 Mb/s");
+        now.addAndGet(SECOND);
+        assertEquals(0, limiter.getUsedBytesPerSec(), "Nothing used in the last second");
+    }
+}
@@ -18,6 +18,7 @@ package com.swirlds.merkledb.files;
 
 import static com.swirlds.common.test.fixtures.RandomUtils.nextInt;
 import static com.swirlds.merkledb.files.DataFileCompactor.compactionPlan;
+import static com.swirlds.merkledb.files.DataFileCompactor.fullCompactionPlan;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -157,4 +158,16 @@ class DataFileCompactorTest {
                 compactionPlan(Arrays.asList(firstLevel1, secondLevel1, secondLevel2), 3, 5);
         assertEquals(0, result.size());
     }
+
+    @Test
+    void testFullCompactionPlan() {
+        // All files are included, even if there are not enough files on some levels, ordered by levels
+        List<? extends DataFileReader> result =
+                fullCompactionPlan(Arrays.asList(secondLevel1, firstLevel1, initialLevel1, secondLevel2));
+        assertEquals(4, result.size());
+        assertEquals(initialLevel1, result.get(0));
+        assertEquals(firstLevel1, result.get(1));
+        assertEquals(secondLevel1, result.get(2));
+        assertEquals(secondLevel2, result.get(3));
+    }
 }
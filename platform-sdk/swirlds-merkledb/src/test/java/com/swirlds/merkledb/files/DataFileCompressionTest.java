@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.common.config.singleton.ConfigurationHolder;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataFileCompressionTest {
+
+    private static final int ITEM_COUNT = 5_000;
+
+    private static final int BLOCK_SIZE = 4096;
+
+    private final MerkleDbConfig dbConfig = ConfigurationHolder.getConfigData(MerkleDbConfig.class);
+
+    @Test
+    void compressDecompress() throws IOException {
+        final byte[] bytes = new byte[10_000];
+        new Random(42).nextBytes(bytes);
+        for (int i = 0; i < bytes.length / 2; i++) {
+            bytes[i] = (byte) (i % 7);
+        }
+        final byte[] compressed = DataFileCompression.DEFLATE.compress(bytes, bytes.length);
+        assertTrue(compressed.length < bytes.length, "Bytes must be compressed");
+        final byte[] restored =
+                DataFileCompression.DEFLATE.decompress(compressed, 0, compressed.length, bytes.length);
+        assertArrayEquals(bytes, restored, "Wrong decompressed bytes");
+        assertThrows(
+                IOException.class,
+                () -> DataFileCompression.DEFLATE.decompress(compressed, 0, compressed.length, bytes.length + 1),
+                "Wrong uncompressed size must be detected");
+        for (final DataFileCompression compression : DataFileCompression.values()) {
+            assertEquals(compression, DataFileCompression.valueOf(compression.id()), "Wrong compression id");
+        }
+    }
+
+    @Test
+    void writeReadIterate(@TempDir final Path tempDir) throws IOException {
+        final DataFileWriter writer = new DataFileWriter(
+                "test", tempDir, 7, Instant.now(), 0, DataFileCompression.DEFLATE, BLOCK_SIZE);
+        final DataFileReader reader = new DataFileReader(dbConfig, writer.getPath(), writer.getMetadata());
+        reader.setWriter(writer);
+        final long[] locations = new long[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            locations[i] = writer.storeDataItem(dataItem(i));
+            // Items must be readable while the file is being written, both from the current block
+            // and from blocks already written to disk
+            checkDataItem(i, reader.readDataItem(locations[i]));
+            if (i > 0) {
+                checkDataItem(i / 2, reader.readDataItem(locations[i / 2]));
+            }
+        }
+        writer.finishWriting();
+        reader.setFileCompleted();
+        assertFalse(reader.isMemoryMapped(), "Compressed files must not be memory mapped");
+        assertTrue(
+                reader.getSize() < (long) ITEM_COUNT * dataItem(0).length(), "Data file must be compressed");
+        for (int i = ITEM_COUNT - 1; i >= 0; i--) {
+            checkDataItem(i, reader.readDataItem(locations[i]));
+        }
+        final int[] read = new int[1];
+        assertEquals(
+                ITEM_COUNT,
+                reader.readDataItems(locations, 0, ITEM_COUNT, (i, dataItem) -> {
+                    checkDataItem(i, dataItem);
+                    read[0]++;
+                }),
+                "All data items must be read");
+        assertEquals(ITEM_COUNT, read[0], "All data items must be read");
+        reader.close();
+
+        // Reopen the file, metadata and block index must be loaded from disk
+        final DataFileMetadata metadata = new DataFileMetadata(writer.getPath());
+        assertEquals(writer.getMetadata(), metadata, "Wrong metadata loaded");
+        assertEquals(DataFileCompression.DEFLATE, metadata.getCompression(), "Wrong compression loaded");
+        assertEquals(ITEM_COUNT, metadata.getDataItemCount(), "Wrong item count loaded");
+        try (final DataFileReader loaded = new DataFileReader(dbConfig, writer.getPath())) {
+            loaded.setFileCompleted();
+            for (int i = 0; i < ITEM_COUNT; i += 13) {
+                checkDataItem(i, loaded.readDataItem(locations[i]));
+            }
+            int count = 0;
+            try (final DataFileIterator iterator = loaded.createIterator()) {
+                while (iterator.next()) {
+                    assertEquals(locations[count], iterator.getDataItemDataLocation(), "Wrong data location");
+                    checkDataItem(count, iterator.getDataItemData());
+                    count++;
+                }
+            }
+            assertEquals(ITEM_COUNT, count, "Iterator must return all data items");
+        }
+    }
+
+    @Test
+    void largeDataItems(@TempDir final Path tempDir) throws IOException {
+        final DataFileWriter writer = new DataFileWriter(
+                "test", tempDir, 0, Instant.now(), 0, DataFileCompression.DEFLATE, BLOCK_SIZE);
+        final int largeLongs = BLOCK_SIZE * 3 / Long.BYTES;
+        final BufferedData large = BufferedData.allocate((long) Long.BYTES * largeLongs);
+        for (int i = 0; i < largeLongs; i++) {
+            large.writeLong(i);
+        }
+        large.flip();
+        final long smallLocation = writer.storeDataItem(dataItem(1));
+        final long largeLocation = writer.storeDataItem(large);
+        writer.finishWriting();
+        try (final DataFileReader reader = new DataFileReader(dbConfig, writer.getPath())) {
+            reader.setFileCompleted();
+            checkDataItem(1, reader.readDataItem(smallLocation));
+            final BufferedData largeRead = reader.readDataItem(largeLocation);
+            assertEquals((long) Long.BYTES * largeLongs, largeRead.remaining(), "Wrong large data item size");
+            for (int i = 0; i < largeLongs; i++) {
+                assertEquals(i, largeRead.getLong(largeRead.position() + (long) Long.BYTES * i), "Wrong data");
+            }
+        }
+        assertTrue(Files.size(writer.getPath()) < BLOCK_SIZE * 3, "Data file must be compressed");
+    }
+
+    private static BufferedData dataItem(final int i) {
+        final BufferedData data = BufferedData.allocate(Long.BYTES * 8);
+        for (int j = 0; j < 8; j++) {
+            data.writeLong(i);
+        }
+        data.flip();
+        return data;
+    }
+
+    private static void checkDataItem(final int i, final BufferedData dataItem) {
+        assertNotNull(dataItem, "Data item " + i + " not found");
+        assertEquals(Long.BYTES * 8, dataItem.remaining(), "Wrong data item size");
+        for (int j = 0; j < 8; j++) {
+            assertEquals(i, dataItem.getLong(dataItem.position() + (long) Long.BYTES * j), "Wrong data item");
+        }
+    }
+}
@@ -20,12 +20,15 @@ import static com.swirlds.merkledb.files.DataFileCommon.FILE_EXTENSION;
 import static com.swirlds.merkledb.files.DataFileCommon.createDataFilePath;
 import static com.swirlds.merkledb.files.DataFileCompactor.INITIAL_COMPACTION_LEVEL;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.hedera.pbj.runtime.ProtoParserTools;
 import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.common.config.singleton.ConfigurationHolder;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.config.extensions.sources.SimpleConfigSource;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.test.fixtures.files.FilesTestType;
 import java.io.IOException;
@@ -235,6 +238,39 @@ class DataFileLowLevelTest {
         }
     }
 
+    @Order(202)
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void readBackWithMemoryMappedReader(FilesTestType testType) throws IOException {
+        final MerkleDbConfig mappedDbConfig = ConfigurationBuilder.create()
+                .withConfigDataType(MerkleDbConfig.class)
+                .withSources(new SimpleConfigSource("merkleDb.memoryMappedFileReads", true))
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        final var dataFile = dataFileMap.get(testType);
+        final var dataFileMetadata = dataFileMetadataMap.get(testType);
+        final var listOfDataItemLocations = listOfDataItemLocationsMap.get(testType);
+        final DataFileReader dataFileReader = new DataFileReader(mappedDbConfig, dataFile, dataFileMetadata);
+        // files are only mapped after they are completed
+        assertFalse(dataFileReader.isMemoryMapped(), "File should not be mapped before it's completed");
+        dataFileReader.setFileCompleted();
+        assertTrue(dataFileReader.isMemoryMapped(), "File should be mapped after it's completed");
+        // check by random parallel
+        IntStream.range(0, 10_000).map(i -> RANDOM.nextInt(1000)).parallel().forEach(i -> {
+            try {
+                long[] dataItem = readDataItem(dataFileReader, listOfDataItemLocations.get(i));
+                checkItem(testType, i, dataItem);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        // data items read before the reader is closed remain valid
+        final BufferedData item = dataFileReader.readDataItem(listOfDataItemLocations.get(7));
+        dataFileReader.close();
+        assertFalse(dataFileReader.isMemoryMapped(), "File should not be mapped after it's closed");
+        assertTrue(item.readLong() > 0, "Data item should be readable after the reader is closed");
+    }
+
     @Order(201)
     @ParameterizedTest
     @EnumSource(FilesTestType.class)
@@ -41,6 +41,8 @@ class DataFileMetadataTest {
                 new DataFileMetadata(dataItemCount, index, creationDate.plusSeconds(1), compactionLevel);
         final DataFileMetadata differentCompactionLevel =
                 new DataFileMetadata(dataItemCount, index, creationDate, compactionLevel + 1);
+        final DataFileMetadata differentCompression = new DataFileMetadata(
+                dataItemCount, index, creationDate, compactionLevel, DataFileCompression.DEFLATE);
         final DataFileMetadata otherButEqual =
                 new DataFileMetadata(dataItemCount, index, creationDate, compactionLevel);
 
@@ -49,6 +51,7 @@ class DataFileMetadataTest {
         assertNotEquals(base, differentIndex, "Different indexes are unequal");
         assertNotEquals(base, differentCreationDate, "Different creation dates are unequal");
         assertNotEquals(base, differentCompactionLevel, "Different compaction level are unequal");
+        assertNotEquals(base, differentCompression, "Different compression are unequal");
         assertNotEquals(base, new Object(), "Radically different objects are unequal");
     }
 }
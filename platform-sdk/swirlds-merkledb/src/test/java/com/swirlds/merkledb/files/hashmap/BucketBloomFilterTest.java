@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files.hashmap;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BucketBloomFilterTest {
+
+    private static final int NUM_OF_BUCKETS = 1024;
+
+    private static final int ENTRIES_PER_BUCKET = 32;
+
+    @TempDir
+    Path tempDir;
+
+    private static Bytes key(final int i) {
+        return Bytes.wrap(new byte[] {(byte) (i >>> 24), (byte) (i >>> 16), (byte) (i >>> 8), (byte) i});
+    }
+
+    private static int bucketIndex(final int hashCode) {
+        return hashCode & (NUM_OF_BUCKETS - 1);
+    }
+
+    /** Fills the filter with keys 0 to count-1, every key uses its value as the hash code. */
+    private static void fill(final BucketBloomFilter filter, final int count) {
+        for (int b = 0; b < NUM_OF_BUCKETS; b++) {
+            final Bucket bucket = new Bucket();
+            bucket.setBucketIndex(b);
+            for (int i = b; i < count; i += NUM_OF_BUCKETS) {
+                bucket.putValue(key(i), i, i);
+            }
+            filter.update(bucket);
+        }
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BucketBloomFilter(0, 10, ENTRIES_PER_BUCKET));
+        assertThrows(IllegalArgumentException.class, () -> new BucketBloomFilter(NUM_OF_BUCKETS, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BucketBloomFilter(NUM_OF_BUCKETS, 10, 0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new BucketBloomFilter(Integer.MAX_VALUE, 64, ENTRIES_PER_BUCKET),
+                "Too large filters must be rejected");
+    }
+
+    @Test
+    void noFalseNegatives() {
+        final BucketBloomFilter filter = new BucketBloomFilter(NUM_OF_BUCKETS, 10, ENTRIES_PER_BUCKET);
+        final int count = NUM_OF_BUCKETS * ENTRIES_PER_BUCKET;
+        fill(filter, count);
+        for (int i = 0; i < count; i++) {
+            assertTrue(filter.mightContain(bucketIndex(i), i), "Key must be in the filter: " + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRate() {
+        final BucketBloomFilter filter = new BucketBloomFilter(NUM_OF_BUCKETS, 10, ENTRIES_PER_BUCKET);
+        final int count = NUM_OF_BUCKETS * ENTRIES_PER_BUCKET;
+        fill(filter, count);
+        int falsePositives = 0;
+        for (int i = count; i < count * 2; i++) {
+            if (filter.mightContain(bucketIndex(i), i)) {
+                falsePositives++;
+            }
+        }
+        // 10 bits per key gives about 1% false positive rate
+        assertTrue(falsePositives < count / 20, "Too many false positives: " + falsePositives);
+    }
+
+    @Test
+    void updateAndClearReplaceBucketBlocks() {
+        final BucketBloomFilter filter = new BucketBloomFilter(NUM_OF_BUCKETS, 10, ENTRIES_PER_BUCKET);
+        final Bucket bucket = new Bucket();
+        bucket.setBucketIndex(bucketIndex(5));
+        bucket.putValue(key(5), 5, 5);
+        filter.update(bucket);
+        assertTrue(filter.mightContain(bucketIndex(5), 5), "Key must be in the filter");
+        // Rebuilding the block without the key removes the key from the filter
+        bucket.clear();
+        bucket.setBucketIndex(bucketIndex(5));
+        bucket.putValue(key(5 + NUM_OF_BUCKETS), 5 + NUM_OF_BUCKETS, 5);
+        filter.update(bucket);
+        assertTrue(filter.mightContain(bucketIndex(5), 5 + NUM_OF_BUCKETS), "New key must be in the filter");
+        filter.clear(bucketIndex(5));
+        assertFalse(filter.mightContain(bucketIndex(5), 5 + NUM_OF_BUCKETS), "Cleared block must be empty");
+    }
+
+    @Test
+    void writeAndReadFile() throws IOException {
+        final BucketBloomFilter filter = new BucketBloomFilter(NUM_OF_BUCKETS, 8, ENTRIES_PER_BUCKET);
+        final int count = NUM_OF_BUCKETS * 16;
+        fill(filter, count);
+        final Path file = tempDir.resolve("test.bf");
+        filter.writeToFile(file);
+        final BucketBloomFilter loaded = BucketBloomFilter.readFromFile(file, NUM_OF_BUCKETS, 8, ENTRIES_PER_BUCKET);
+        assertNotNull(loaded, "Filter must be loaded");
+        for (int i = 0; i < count * 2; i++) {
+            assertTrue(
+                    filter.mightContain(bucketIndex(i), i) == loaded.mightContain(bucketIndex(i), i),
+                    "Loaded filter must be identical to the original");
+        }
+        assertNull(
+                BucketBloomFilter.readFromFile(file, NUM_OF_BUCKETS * 2, 8, ENTRIES_PER_BUCKET),
+                "Filter with different number of buckets must not be loaded");
+        assertNull(
+                BucketBloomFilter.readFromFile(file, NUM_OF_BUCKETS, 12, ENTRIES_PER_BUCKET),
+                "Filter with different bits per key must not be loaded");
+        assertNull(
+                BucketBloomFilter.readFromFile(tempDir.resolve("missing.bf"), NUM_OF_BUCKETS, 8, ENTRIES_PER_BUCKET),
+                "Missing filter file must not be loaded");
+    }
+}
@@ -18,15 +18,20 @@ package com.swirlds.merkledb.files.hashmap;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.config.extensions.sources.SimpleConfigSource;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.files.DataFileCompactor;
 import com.swirlds.merkledb.test.fixtures.ExampleLongKeyFixedSize;
 import com.swirlds.merkledb.test.fixtures.files.FilesTestType;
 import com.swirlds.virtualmap.VirtualKey;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Random;
 import org.junit.jupiter.api.Test;
@@ -196,6 +201,69 @@ class HalfDiskHashMapTest {
         }
     }
 
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void bloomFilterNegativeLookups(FilesTestType testType) throws Exception {
+        final MerkleDbConfig bloomDbConfig = ConfigurationBuilder.create()
+                .withConfigDataType(MerkleDbConfig.class)
+                .withSources(new SimpleConfigSource("merkleDb.keyToPathBloomFilterBitsPerKey", 10))
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        final Path storeDir = tempDirPath.resolve("Bloom_" + testType.name());
+        final Path snapshotDir = tempDirPath.resolve("BloomSnapshot_" + testType.name());
+        final int count = 10_000;
+        final HalfDiskHashMap map = new HalfDiskHashMap(bloomDbConfig, count, storeDir, "BloomTest", null, false);
+        final BucketBloomFilter bloomFilter = map.getBloomFilter();
+        assertNotNull(bloomFilter, "Bloom filter must be enabled");
+        createSomeData(testType, map, 0, count, 1);
+        checkData(testType, map, 0, count, 1);
+        for (int i = count; i < count * 2; i++) {
+            final VirtualKey key = testType.createVirtualLongKey(i);
+            assertEquals(-1, map.get(testType.keySerializer.toBytes(key), key.hashCode(), -1), "Expect not to exist");
+        }
+        final long negatives = bloomFilter.getAndResetNegatives();
+        final long falsePositives = bloomFilter.getAndResetFalsePositives();
+        assertEquals(count, negatives + falsePositives, "All missing keys must be counted");
+        assertTrue(negatives > count * 9 / 10, "Most missing keys must be answered by the filter: " + negatives);
+        // Deleted keys are removed from the filter on the next flush
+        map.startWriting();
+        for (int i = 0; i < count / 2; i++) {
+            final VirtualKey key = testType.createVirtualLongKey(i);
+            map.delete(testType.keySerializer.toBytes(key), key.hashCode());
+        }
+        map.endWriting();
+        checkData(testType, map, count / 2, count / 2, 1);
+        // Snapshot with a filter file, then load
+        map.snapshot(snapshotDir);
+        map.close();
+        try (final HalfDiskHashMap loaded =
+                new HalfDiskHashMap(bloomDbConfig, count, snapshotDir, "BloomTest", null, false)) {
+            checkData(testType, loaded, count / 2, count / 2, 1);
+            assertMissingKeysAreFiltered(testType, loaded, 0, count / 2);
+        }
+        // Delete the filter file and load again, the filter must be rebuilt
+        Files.delete(snapshotDir.resolve("BloomTest_bucket_bloom.bf"));
+        try (final HalfDiskHashMap rebuilt =
+                new HalfDiskHashMap(bloomDbConfig, count, snapshotDir, "BloomTest", null, false)) {
+            checkData(testType, rebuilt, count / 2, count / 2, 1);
+            assertMissingKeysAreFiltered(testType, rebuilt, 0, count / 2);
+        }
+    }
+
+    private static void assertMissingKeysAreFiltered(
+            final FilesTestType testType, final HalfDiskHashMap map, final int start, final int count)
+            throws IOException {
+        final BucketBloomFilter bloomFilter = map.getBloomFilter();
+        assertNotNull(bloomFilter, "Bloom filter must be enabled");
+        bloomFilter.getAndResetNegatives();
+        for (int i = start; i < start + count; i++) {
+            final VirtualKey key = testType.createVirtualLongKey(i);
+            assertEquals(-1, map.get(testType.keySerializer.toBytes(key), key.hashCode(), -1), "Expect not to exist");
+        }
+        final long negatives = bloomFilter.getAndResetNegatives();
+        assertTrue(negatives > count * 9 / 10, "Most missing keys must be answered by the filter: " + negatives);
+    }
+
     private static void printTestUpdate(long start, long count, String msg) {
         long took = System.currentTimeMillis() - start;
         double timeSeconds = (double) took / 1000d;
@@ -32,6 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.base.function.CheckedConsumer;
 import com.swirlds.base.units.UnitConstants;
 import com.swirlds.common.constructable.ConstructableRegistry;
@@ -244,6 +245,74 @@ class MerkleDbDataSourceTest {
         });
     }
 
+    @ParameterizedTest
+    @EnumSource(TestType.class)
+    void loadLeavesAndHashesInBatches(final TestType testType) throws IOException {
+        final int count = 10_000;
+        final KeySerializer keySerializer = testType.dataType().getKeySerializer();
+        final ValueSerializer valueSerializer = testType.dataType().getValueSerializer();
+        // All hashes are on disk
+        createAndApplyDataSource(testDirectory, "testBatches", testType, count, 0, dataSource -> {
+            dataSource.saveRecords(
+                    count,
+                    count * 2,
+                    IntStream.range(0, count * 2).mapToObj(MerkleDbDataSourceTest::createVirtualInternalRecord),
+                    IntStream.range(count, count * 2)
+                            .mapToObj(i -> testType.dataType().createVirtualLeafRecord(i))
+                            .map(r -> r.toBytes(keySerializer, valueSerializer)),
+                    Stream.empty());
+
+            // Keys in random order, some of them are not in the data source, one key is duplicated
+            final int[] indices = shuffle(
+                    RANDOM,
+                    IntStream.concat(IntStream.range(count - 100, count * 2 + 100), IntStream.of(count + 1))
+                            .toArray());
+            final List<Bytes> keys = new ArrayList<>(indices.length);
+            final int[] keyHashCodes = new int[indices.length];
+            final long[] paths = new long[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                final VirtualKey key = testType.dataType().createVirtualLongKey(indices[i]);
+                keys.add(keySerializer.toBytes(key));
+                keyHashCodes[i] = key.hashCode();
+                paths[i] = indices[i];
+            }
+
+            final List<VirtualLeafBytes> leaves = dataSource.loadLeafRecords(keys, keyHashCodes);
+            assertEquals(keys.size(), leaves.size(), "A leaf record or null is expected for every key");
+            for (int i = 0; i < keys.size(); i++) {
+                final int index = indices[i];
+                if (index < count || index >= count * 2) {
+                    assertNull(leaves.get(i), "No leaf record is expected for key " + index);
+                } else {
+                    assertEqualsAndPrint(
+                            testType.dataType().createVirtualLeafRecord(index).toBytes(keySerializer, valueSerializer),
+                            leaves.get(i));
+                }
+            }
+            // The second call should get some of the records from the cache, the results must be the same
+            assertEquals(leaves, dataSource.loadLeafRecords(keys, keyHashCodes), "Batch results must not change");
+
+            final Hash[] hashes = dataSource.loadHashes(paths);
+            assertEquals(paths.length, hashes.length, "A hash or null is expected for every path");
+            for (int i = 0; i < paths.length; i++) {
+                if (paths[i] >= count * 2) {
+                    assertNull(hashes[i], "No hash is expected for path " + paths[i]);
+                } else {
+                    assertEquals(hash((int) paths[i]), hashes[i], "Unexpected hash for path " + paths[i]);
+                }
+            }
+
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> dataSource.loadHashes(new long[] {1, -1}),
+                    "Loading hashes for a negative path should fail");
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> dataSource.loadLeafRecords(keys, new int[1]),
+                    "Number of keys and hash codes must match");
+        });
+    }
+
     @ParameterizedTest
     @EnumSource(TestType.class)
     void updateLeaves(final TestType testType) throws IOException, InterruptedException {
@@ -22,6 +22,7 @@ import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.getDirectMemo
 import static com.swirlds.merkledb.test.fixtures.files.DataFileCollectionTestUtils.checkData;
 import static com.swirlds.merkledb.test.fixtures.files.DataFileCollectionTestUtils.getVariableSizeDataForI;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -63,6 +64,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Logger;
 import org.junit.jupiter.api.AfterEach;
@@ -710,6 +712,61 @@ class DataFileCollectionTest {
         }
     }
 
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void readDataItemsInBatches(final FilesTestType testType) throws Exception {
+        final Path dbDir = tempFileDir.resolve("readDataItemsInBatches" + testType.name());
+        final DataFileCollection fileCollection = new DataFileCollection(config, dbDir, "test", null);
+        final LongListHeap storedOffsets = new LongListHeap(5000);
+        storedOffsets.updateValidRange(0, 1100);
+        populateDataFileCollection(testType, fileCollection, storedOffsets);
+
+        // Keys from all files in random order, keys 1000 to 1099 are not stored, key 5 is read twice
+        final long[] keys = LongStream.concat(
+                        LongStream.range(0, 1100).map(i -> (i * 7919) % 1100), LongStream.of(5))
+                .toArray();
+        final long[][] expected = new long[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            final BufferedData data = fileCollection.readDataItemUsingIndex(storedOffsets, keys[i]);
+            if (data != null) {
+                expected[i] = new long[Math.toIntExact(data.remaining() / Long.BYTES)];
+                for (int j = 0; j < expected[i].length; j++) {
+                    expected[i][j] = data.readLong();
+                }
+            }
+        }
+        final Runnable check = () -> {
+            final long[][] actual = new long[keys.length][];
+            final AtomicInteger readCount = new AtomicInteger();
+            try {
+                fileCollection.readDataItemsUsingIndex(storedOffsets, keys, (i, data) -> {
+                    assertNull(actual[i], "Every key must be read once");
+                    actual[i] = new long[Math.toIntExact(data.remaining() / Long.BYTES)];
+                    for (int j = 0; j < actual[i].length; j++) {
+                        actual[i][j] = data.readLong();
+                    }
+                    readCount.incrementAndGet();
+                });
+            } catch (final IOException e) {
+                fail("Batch read should not fail", e);
+            }
+            assertEquals(1001, readCount.get(), "Missing keys must be skipped");
+            for (int i = 0; i < keys.length; i++) {
+                assertArrayEquals(expected[i], actual[i], "Wrong data for key " + keys[i]);
+            }
+        };
+        check.run();
+
+        // After compaction, data locations are in a different file
+        final DataFileCompactor compactor =
+                new DataFileCompactor(config, "test", fileCollection, storedOffsets, null, null, null, null);
+        compactor.compactFiles(storedOffsets, fileCollection.getAllCompletedFiles(), 1);
+        assertEquals(1, fileCollection.getNumOfFiles(), "All files should be compacted into one");
+        check.run();
+
+        fileCollection.close();
+    }
+
     /**
      * This test emulates scenario in which compaction is interrupted by thread interruption. This event shouldn't be
      * reported as an error in the logs.
@@ -44,16 +44,25 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
+/**
+ * Measures the time it takes to add events to consensus. Larger address books are included to track how consensus
+ * CPU cost per event grows with the size of the network: strongly seeing is calculated for every pair of members, so
+ * the cost per event grows roughly quadratically with the number of nodes.
+ */
 @State(Scope.Thread)
 @Fork(value = 1)
 @Warmup(iterations = 1, time = 1)
 @Measurement(iterations = 3, time = 10)
 public class ConsensusBenchmark {
-    @Param({"39"})
+    @Param({"39", "40", "64", "100"})
     public int numNodes;
 
-    @Param({"100000"})
-    public int numEvents;
+    /**
+     * The number of events created per node. The total number of events scales with the size of the network, like
+     * it does on a network where every node creates events at the same rate.
+     */
+    @Param({"2500"})
+    public int eventsPerNode;
 
     @Param({"0"})
     public long seed;
@@ -70,7 +79,7 @@ public class ConsensusBenchmark {
                 TestPlatformContextBuilder.create().build();
         final StandardGraphGenerator generator = new StandardGraphGenerator(platformContext, seed, eventSources);
         final StandardEventEmitter emitter = new StandardEventEmitter(generator);
-        events = emitter.emitEvents(numEvents);
+        events = emitter.emitEvents(numNodes * eventsPerNode);
         final AddressBook addressBook = emitter.getGraphGenerator().getAddressBook();
 
         consensus = new ConsensusImpl(platformContext, new NoOpConsensusMetrics(), addressBook);
@@ -85,9 +94,12 @@ public class ConsensusBenchmark {
         }
 
         /*
-           Results on a M1 Max MacBook Pro:
+           Results on a M1 Max MacBook Pro, with 100000 events:
            Benchmark                              (numEvents)  (numNodes)  (seed)  Mode  Cnt   Score    Error  Units
            ConsensusBenchmark.calculateConsensus       100000          39       0  avgt    3  27.551 ± 11.690  ms/op
+
+           The score is the time to add numNodes * eventsPerNode events. Divide it by the number of events to compare
+           the cost per event between network sizes.
         */
     }
 }
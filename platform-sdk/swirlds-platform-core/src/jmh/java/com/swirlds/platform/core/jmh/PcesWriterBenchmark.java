@@ -16,16 +16,27 @@
 
 package com.swirlds.platform.core.jmh;
 
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.io.config.FileSystemManagerConfig_;
 import com.swirlds.common.io.utility.FileUtils;
+import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.test.fixtures.Randotron;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
 import com.swirlds.platform.event.AncientMode;
 import com.swirlds.platform.event.PlatformEvent;
+import com.swirlds.platform.event.preconsensus.DefaultPcesWriter;
+import com.swirlds.platform.event.preconsensus.PcesConfig_;
 import com.swirlds.platform.event.preconsensus.PcesFile;
+import com.swirlds.platform.event.preconsensus.PcesFileManager;
+import com.swirlds.platform.event.preconsensus.PcesFileTracker;
 import com.swirlds.platform.event.preconsensus.PcesMutableFile;
 import com.swirlds.platform.test.fixtures.event.TestingEventBuilder;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -93,4 +104,68 @@ public class PcesWriterBenchmark {
     public void writeEvent() throws IOException {
         mutableFile.writeEvent(event);
     }
+
+    /**
+     * A {@link DefaultPcesWriter} that receives a flush request every {@link #eventsPerFlushRequest} events, like
+     * flush requests for keystone events of consensus rounds. Compares flushing every request immediately with
+     * grouping flush requests.
+     */
+    @State(Scope.Thread)
+    public static class FlushRequestState {
+
+        @Param({"false", "true"})
+        public boolean groupCommit;
+
+        @Param({"1", "10"})
+        public int eventsPerFlushRequest;
+
+        private Path directory;
+        private DefaultPcesWriter writer;
+        private long sequenceNumber;
+
+        @Setup(Level.Iteration)
+        public void setup() throws IOException {
+            directory = Files.createTempDirectory("PcesWriterBenchmark");
+            final Configuration configuration = new TestConfigBuilder()
+                    .withValue(PcesConfig_.DATABASE_DIRECTORY, directory)
+                    .withValue(FileSystemManagerConfig_.ROOT_PATH, directory)
+                    .withValue(PcesConfig_.GROUP_COMMIT, groupCommit)
+                    .getOrCreateConfig();
+            final PlatformContext platformContext = TestPlatformContextBuilder.create()
+                    .withConfiguration(configuration)
+                    .build();
+            final PcesFileManager fileManager = new PcesFileManager(
+                    platformContext, new PcesFileTracker(AncientMode.GENERATION_THRESHOLD), new NodeId(0), 0);
+            writer = new DefaultPcesWriter(platformContext, fileManager);
+            writer.beginStreamingNewEvents();
+            sequenceNumber = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void cleanup() throws IOException {
+            writer.closeCurrentMutableFile();
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+    /*
+    Compare writeEventsWithFlushRequests results for groupCommit=false and groupCommit=true. Group commit mode writes
+    with a file channel and forces data to disk on every flush, so compare it with useFileChannelWriter=true results
+    of writeEvent as well. The pcesFlushRequestsPerFlush and pcesDurabilityLatency metrics show how many requests
+    are grouped and how long they wait.
+    */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Long writeEventsWithFlushRequests(final FlushRequestState state) {
+        final PlatformEvent copy = event.copyGossipedData();
+        final long sequenceNumber = state.sequenceNumber++;
+        copy.setStreamSequenceNumber(sequenceNumber);
+        if (sequenceNumber % state.eventsPerFlushRequest == 0) {
+            state.writer.submitFlushRequest(sequenceNumber);
+        }
+        final Long durable = state.writer.writeEvent(copy);
+        // in the platform, a heartbeat performs delayed flushes if no other events arrive
+        return durable != null ? durable : state.writer.flushPendingRequests(Instant.EPOCH);
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.core.jmh;
+
+import static com.swirlds.platform.event.AncientMode.GENERATION_THRESHOLD;
+
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.test.fixtures.WeightGenerators;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.platform.consensus.EventWindow;
+import com.swirlds.platform.gossip.NoOpIntakeEventCounter;
+import com.swirlds.platform.gossip.shadowgraph.ReservedEventWindow;
+import com.swirlds.platform.gossip.shadowgraph.ShadowEvent;
+import com.swirlds.platform.gossip.shadowgraph.Shadowgraph;
+import com.swirlds.platform.internal.EventImpl;
+import com.swirlds.platform.test.event.emitter.StandardEventEmitter;
+import com.swirlds.platform.test.event.source.EventSourceFactory;
+import com.swirlds.platform.test.fixtures.event.generator.StandardGraphGenerator;
+import com.swirlds.platform.test.fixtures.event.source.EventSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link Shadowgraph} throughput under contention: many threads perform the shadowgraph part of
+ * {@code ShadowgraphSynchronizer.synchronize()} (reserve, get tips, look up the peer's tips, search ancestors) at the
+ * same time, while a single intake thread keeps adding events and expiring old ones.
+ * <p>
+ * The network part of a sync is left out, so the benchmark only measures time spent in the shadowgraph.
+ */
+@State(Scope.Group)
+@Fork(value = 1)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ShadowgraphBenchmark {
+
+    /**
+     * The number of events added before the benchmark starts.
+     */
+    private static final int INITIAL_EVENTS = 10_000;
+
+    /**
+     * The number of non-expired generations kept in the shadowgraph while events are added.
+     */
+    private static final long GENERATIONS_TO_KEEP = 100;
+
+    @Param({"39"})
+    public int numNodes;
+
+    /**
+     * The number of generations below the tips that a simulated sync searches for ancestors.
+     */
+    @Param({"20"})
+    public int ancestorDepth;
+
+    @Param({"0"})
+    public long seed;
+
+    private Shadowgraph shadowgraph;
+    private StandardEventEmitter emitter;
+    private long maxGeneration;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final List<EventSource<?>> eventSources =
+                EventSourceFactory.newStandardEventSources(WeightGenerators.balancedNodeWeights(numNodes));
+        final PlatformContext platformContext =
+                TestPlatformContextBuilder.create().build();
+        final StandardGraphGenerator generator = new StandardGraphGenerator(platformContext, seed, eventSources);
+        emitter = new StandardEventEmitter(generator);
+
+        shadowgraph = new Shadowgraph(
+                platformContext, emitter.getGraphGenerator().getAddressBook(), new NoOpIntakeEventCounter());
+        shadowgraph.updateEventWindow(EventWindow.getGenesisEventWindow(GENERATION_THRESHOLD));
+        for (int i = 0; i < INITIAL_EVENTS; i++) {
+            addEvent();
+        }
+    }
+
+    /**
+     * Add the next event to the shadowgraph, and periodically expire old generations, like the intake pipeline does.
+     */
+    private void addEvent() {
+        final EventImpl event = emitter.emitEvent();
+        shadowgraph.addEvent(event.getBaseEvent());
+        if (event.getGeneration() > maxGeneration) {
+            maxGeneration = event.getGeneration();
+            if (maxGeneration % GENERATIONS_TO_KEEP == 0) {
+                shadowgraph.updateEventWindow(new EventWindow(
+                        0 /* ignored by shadowgraph */,
+                        0 /* ignored by shadowgraph */,
+                        Math.max(0, maxGeneration - GENERATIONS_TO_KEEP),
+                        GENERATION_THRESHOLD));
+            }
+        }
+    }
+
+    /**
+     * The shadowgraph accesses of a single sync, performed by many threads at once.
+     */
+    @Benchmark
+    @Group("concurrentSyncs")
+    @GroupThreads(16)
+    public void sync(final Blackhole bh) {
+        try (final ReservedEventWindow reservation = shadowgraph.reserve()) {
+            final List<ShadowEvent> myTips = shadowgraph.getTips();
+
+            // the peer's tips are looked up by hash, use our own tips as a stand-in
+            final List<Hash> theirTipHashes = myTips.stream().map(ShadowEvent::getEventBaseHash).toList();
+            final List<ShadowEvent> theirTips = shadowgraph.shadows(theirTipHashes);
+
+            long tipGeneration = 0;
+            for (final ShadowEvent tip : myTips) {
+                tipGeneration = Math.max(tipGeneration, tip.getEvent().getGeneration());
+            }
+            final long minimumGeneration = tipGeneration - ancestorDepth;
+            bh.consume(shadowgraph.findAncestors(theirTips, e -> e.getEvent().getGeneration() >= minimumGeneration));
+
+            // the send list is created from a fresh set of tips
+            bh.consume(shadowgraph.getTips());
+            bh.consume(reservation.getEventWindow());
+        }
+    }
+
+    /**
+     * The intake pipeline, a single thread that adds events while syncs are in progress.
+     */
+    @Benchmark
+    @Group("concurrentSyncs")
+    @GroupThreads(1)
+    public void intake() {
+        addEvent();
+    }
+}
@@ -58,7 +58,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -165,12 +164,18 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
     private final ConsensusMetrics consensusMetrics;
     /** used for searching the hashgraph */
     private final AncestorSearch search = new AncestorSearch();
+    /**
+     * the weight of every member, indexed by the member's index in the address book. weights are
+     * looked up for every pair of members when strongly seeing is calculated, so they are kept in a
+     * flat array rather than looked up in the address book by node ID.
+     */
+    private final long[] weights;
     /**
      * recently added events. this list is used for recalculating metadata once a new round is
      * decided. as soon as events reach consensus or become stale, they are discarded from this
      * list.
      */
-    private final List<EventImpl> recentEvents = new LinkedList<>();
+    private final List<EventImpl> recentEvents = new ArrayList<>();
     /** stores all round information */
     private final ConsensusRounds rounds;
     /**
@@ -237,6 +242,10 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
 
         // until we implement address book changes, we will just use the use this address book
         this.addressBook = addressBook;
+        this.weights = new long[addressBook.getSize()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = addressBook.getAddress(addressBook.getNodeId(i)).getWeight();
+        }
 
         this.rounds = new ConsensusRounds(config, getStorage(), addressBook);
         this.ancientMode = platformContext
@@ -346,43 +355,53 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
     @Nullable
     private ConsensusRound recalculateAndVote() {
         rounds.recalculating();
-        for (final Iterator<EventImpl> iterator = recentEvents.iterator(); iterator.hasNext(); ) {
-            final EventImpl insertedEvent = iterator.next();
-
-            if (rounds.isLastDecidedJudge(insertedEvent)
-                    && round(insertedEvent.getSelfParent()) == ConsensusConstants.ROUND_NEGATIVE_INFINITY
-                    && round(insertedEvent.getOtherParent()) == ConsensusConstants.ROUND_NEGATIVE_INFINITY) {
-                // If an event was a judge in the last round decided AND is not a descendant of any other judge in
-                // this round, we leave all of its metadata intact. We know that it is not a descendant of any other
-                // judge in this round if all of its parents have a round of -infinity.
-                //
-                // Its round must stay intact so that descendants can determine their round numbers.
-                // We don't call calculateAndVote() for this event because:
-                // - its metadata will be unchanged
-                // - it will not vote
-                // - it will never decide a round
-                continue;
-            }
+        // events that are kept are moved to the front of the list, the rest is removed once iteration
+        // stops. this avoids shifting the whole list every time an event is discarded
+        int read = 0;
+        int write = 0;
+        try {
+            while (read < recentEvents.size()) {
+                final EventImpl insertedEvent = recentEvents.get(read++);
+
+                if (rounds.isLastDecidedJudge(insertedEvent)
+                        && round(insertedEvent.getSelfParent()) == ConsensusConstants.ROUND_NEGATIVE_INFINITY
+                        && round(insertedEvent.getOtherParent()) == ConsensusConstants.ROUND_NEGATIVE_INFINITY) {
+                    // If an event was a judge in the last round decided AND is not a descendant of any other judge in
+                    // this round, we leave all of its metadata intact. We know that it is not a descendant of any other
+                    // judge in this round if all of its parents have a round of -infinity.
+                    //
+                    // Its round must stay intact so that descendants can determine their round numbers.
+                    // We don't call calculateAndVote() for this event because:
+                    // - its metadata will be unchanged
+                    // - it will not vote
+                    // - it will never decide a round
+                    recentEvents.set(write++, insertedEvent);
+                    continue;
+                }
 
-            if (insertedEvent.isConsensus() || isAncient(insertedEvent.getBaseEvent())) {
-                insertedEvent.clearMetadata();
+                if (insertedEvent.isConsensus() || isAncient(insertedEvent.getBaseEvent())) {
+                    insertedEvent.clearMetadata();
 
-                // all events that are consensus or ancient have a round of -infinity
-                insertedEvent.setRoundCreated(ConsensusConstants.ROUND_NEGATIVE_INFINITY);
-                iterator.remove();
-                continue;
-            }
+                    // all events that are consensus or ancient have a round of -infinity
+                    insertedEvent.setRoundCreated(ConsensusConstants.ROUND_NEGATIVE_INFINITY);
+                    continue;
+                }
 
-            // for all other events, we need to recalculate its round and metadata
-            insertedEvent.clearMetadata();
-            insertedEvent.setRoundCreated(ConsensusConstants.ROUND_UNDEFINED);
+                // for all other events, we need to recalculate its round and metadata
+                recentEvents.set(write++, insertedEvent);
+                insertedEvent.clearMetadata();
+                insertedEvent.setRoundCreated(ConsensusConstants.ROUND_UNDEFINED);
 
-            final ConsensusRound consensusRound = calculateAndVote(insertedEvent);
-            if (consensusRound != null) {
-                return consensusRound;
+                final ConsensusRound consensusRound = calculateAndVote(insertedEvent);
+                if (consensusRound != null) {
+                    return consensusRound;
+                }
             }
+            return null;
+        } finally {
+            // remove the gap between kept events and events that have not been iterated over yet
+            recentEvents.subList(write, read).clear();
         }
-        return null;
     }
 
     @Nullable
@@ -993,9 +1012,10 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
 
         op = otherParent(x);
         sp = selfParent(x);
+        final int creatorIndex = creatorIndex(x);
 
         for (int mm = 0; mm < numMembers; mm++) {
-            if (creatorIndexEquals(x, mm)) {
+            if (creatorIndex == mm) {
                 x.setLastSee(mm, x);
             } else if (sp == null && op == null) {
                 x.setLastSee(mm, null);
@@ -1019,18 +1039,20 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
      * from SWIRLDS-TR-2020-01). This result is not memoized.
      *
      * @param x the event being queried
+     * @param creatorIndex the address book index of the creator of x, see {@link #creatorIndex(EventImpl)}
      * @param m the creator of y, the event seen
      * @param m2 the creator of z, the intermediate event through which x sees y
      * @return the event y that is created by m and seen by x through an event by m2
      */
-    private @Nullable EventImpl seeThru(@Nullable final EventImpl x, final int m, final int m2) {
+    private @Nullable EventImpl seeThru(
+            @Nullable final EventImpl x, final int creatorIndex, final int m, final int m2) {
         if (x == null) {
             return null;
         }
         if (notRelevantForConsensus(x)) {
             return null;
         }
-        if (m == m2 && creatorIndexEquals(x, m2)) {
+        if (m == m2 && creatorIndex == m2) {
             return firstSelfWitnessS(selfParent(x));
         }
         return firstSee(lastSee(x, m2), m);
@@ -1068,6 +1090,7 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
         final long prx = parentRound(x); // parent round of x
         final long prsp = parentRound(sp); // parent round of self parent of x
         final long prop = parentRound(op); // parent round of other parent of x
+        final int creatorIndex = creatorIndex(x); // address book index of the creator of x
 
         x.initStronglySeeP(numMembers);
         for (int mm = 0; mm < numMembers; mm++) {
@@ -1077,14 +1100,15 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
                 x.setStronglySeeP(mm, stronglySeeP(op, mm));
             } else {
                 // the canonical witness by mm that is seen by x thru someone else
-                final EventImpl st = seeThru(x, mm, mm);
+                final EventImpl st = seeThru(x, creatorIndex, mm, mm);
                 if (round(st) != prx) { // ignore if the canonical is in the wrong round, or doesn't exist
                     x.setStronglySeeP(mm, null);
                 } else {
                     long weight = 0;
                     for (int m3 = 0; m3 < numMembers; m3++) {
-                        if (seeThru(x, mm, m3) == st) { // only count intermediates that see the canonical witness
-                            weight += getWeight(m3);
+                        // only count intermediates that see the canonical witness
+                        if (seeThru(x, creatorIndex, mm, m3) == st) {
+                            weight += weights[m3];
                         }
                     }
                     if (Threshold.SUPER_MAJORITY.isSatisfiedBy(weight, totalWeight)) { // strongly see supermajority of
@@ -1185,7 +1209,7 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
         int numStronglySeen = 0;
         for (int m = 0; m < numMembers; m++) {
             if (timedStronglySeeP(x, m) != null) {
-                weight += getWeight(m);
+                weight += weights[m];
                 numStronglySeen++;
             }
         }
@@ -1296,24 +1320,15 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
     }
 
     /**
-     * Get the weight of a node by its index
-     * @param nodeIndex the index of the node
-     * @return the weight of the node
+     * Get the index in the address book of the creator of the event. Callers that compare the creator to every
+     * member index should look the index up once, rather than once per member.
+     * @param e the event whose creator to look up
+     * @return the index of the creator, or -1 if the creator is not in the address book
      */
-    private long getWeight(final int nodeIndex) {
-        return getWeight(addressBook.getNodeId(nodeIndex));
-    }
-
-    /**
-     * Check the index in the address book of the creator of the event
-     * @param e the event whose creator to check
-     * @param index the index
-     * @return true if this creator is in the address book and has the given index
-     */
-    private boolean creatorIndexEquals(@NonNull final EventImpl e, final int index) {
+    private int creatorIndex(@NonNull final EventImpl e) {
         if (!addressBook.contains(e.getCreatorId())) {
-            return false;
+            return -1;
         }
-        return addressBook.getIndexOfNodeId(e.getCreatorId()) == index;
+        return addressBook.getIndexOfNodeId(e.getCreatorId());
     }
 }
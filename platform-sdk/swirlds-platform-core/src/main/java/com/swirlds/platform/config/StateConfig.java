@@ -82,6 +82,14 @@ import java.time.Duration;
  *                                      resubmitted. Age is measured by taking the round number of the most recent round
  *                                      to reach consensus and subtracting the round that the signature transaction
  *                                      signs.
+ * @param stateChunkThreads             If positive, the merkle tree of a state saved to disk is split into chunks, one
+ *                                      per child of the state root (such as the states of individual services), and
+ *                                      the chunks are written to separate files in parallel by this many threads. Every
+ *                                      chunk file is protected by a checksum. If 0, the tree is written to a single
+ *                                      file. Chunked states are always read in parallel, using this many threads, or
+ *                                      one thread per available processor if 0.
+ * @param compressStateChunks           If true, state chunk files are compressed. Ignored if states are not written in
+ *                                      chunks.
  */
 @ConfigData("state")
 public record StateConfig(
@@ -104,7 +112,9 @@ public record StateConfig(
         @ConfigProperty(defaultValue = "emergencyRecovery.yaml") String emergencyStateFileName,
         @ConfigProperty(defaultValue = "false") boolean deleteInvalidStateFiles,
         @ConfigProperty(defaultValue = "true") boolean validateInitialState,
-        @ConfigProperty(defaultValue = "500") long maxSignatureResubmitAge) {
+        @ConfigProperty(defaultValue = "500") long maxSignatureResubmitAge,
+        @ConfigProperty(defaultValue = "0") int stateChunkThreads,
+        @ConfigProperty(defaultValue = "false") boolean compressStateChunks) {
 
     /**
      * Get the main class name that should be used for signed states.
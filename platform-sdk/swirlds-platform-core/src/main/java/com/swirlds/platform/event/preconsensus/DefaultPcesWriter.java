@@ -20,6 +20,7 @@ import static com.swirlds.common.units.DataUnit.UNIT_BYTES;
 import static com.swirlds.common.units.DataUnit.UNIT_MEGABYTES;
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 
+import com.swirlds.base.time.Time;
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.utility.LongRunningAverage;
 import com.swirlds.platform.consensus.EventWindow;
@@ -30,8 +31,11 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,6 +47,11 @@ public class DefaultPcesWriter implements PcesWriter {
 
     private static final Logger logger = LogManager.getLogger(DefaultPcesWriter.class);
 
+    /**
+     * The number of recent flushes used to compute the average flush latency.
+     */
+    private static final int FLUSH_LATENCY_AVERAGE_LENGTH = 16;
+
     /**
      * Keeps track of the event stream files on disk.
      */
@@ -142,7 +151,48 @@ public class DefaultPcesWriter implements PcesWriter {
      * <p>
      * Each flush request is a sequence number that needs to be flushed to disk as soon as possible.
      */
-    private final Deque<Long> flushRequests = new ArrayDeque<>();
+    private final Deque<FlushRequest> flushRequests = new ArrayDeque<>();
+
+    /**
+     * Flush requests for events that have already been written, but not flushed yet. Only used in group commit mode,
+     * otherwise such requests are flushed immediately.
+     */
+    private final List<FlushRequest> pendingFlushRequests = new ArrayList<>();
+
+    /**
+     * If true then flush requests are grouped, see {@link PcesConfig#groupCommit()}.
+     */
+    private final boolean groupCommit;
+
+    /**
+     * The maximum time a flush may be delayed in group commit mode, in nanoseconds.
+     */
+    private final long groupCommitMaxDelayNanos;
+
+    /**
+     * The time when the oldest pending flush request became pending, i.e. when the requested event was written.
+     */
+    private long pendingFlushStartNanos;
+
+    /**
+     * A running average of recent flush latencies, in nanoseconds. In group commit mode, a flush is delayed by up to
+     * this amount of time. While a flush of this duration would be in progress, requests that arrive would have to
+     * wait for the next flush anyway, so delaying by the flush latency at most doubles the durability latency of the
+     * first request, and significantly reduces the number of flushes under load.
+     */
+    private final LongRunningAverage flushLatency = new LongRunningAverage(FLUSH_LATENCY_AVERAGE_LENGTH);
+
+    private final Time time;
+
+    private final PcesWriterMetrics metrics;
+
+    /**
+     * A flush request.
+     *
+     * @param sequenceNumber the sequence number of the event that needs to be flushed
+     * @param submittedNanos the time when the request was submitted
+     */
+    private record FlushRequest(long sequenceNumber, long submittedNanos) {}
 
     /**
      * Constructor
@@ -164,6 +214,11 @@ public class DefaultPcesWriter implements PcesWriter {
         spanOverlapFactor = config.spanOverlapFactor();
         minimumSpan = config.minimumSpan();
 
+        groupCommit = config.groupCommit();
+        groupCommitMaxDelayNanos = config.groupCommitMaxDelay().toNanos();
+        time = platformContext.getTime();
+        metrics = new PcesWriterMetrics(platformContext.getMetrics());
+
         this.fileManager = fileManager;
 
         fileType = platformContext
@@ -191,30 +246,74 @@ public class DefaultPcesWriter implements PcesWriter {
      * @return true if a flush was performed, otherwise false
      */
     private boolean processFlushRequests() {
-        boolean flushRequired = false;
-        while (!flushRequests.isEmpty() && flushRequests.peekFirst() <= lastWrittenEvent) {
-            final long flushRequest = flushRequests.removeFirst();
-
-            if (flushRequest > lastFlushedEvent) {
-                flushRequired = true;
+        while (!flushRequests.isEmpty() && flushRequests.peekFirst().sequenceNumber() <= lastWrittenEvent) {
+            final FlushRequest flushRequest = flushRequests.removeFirst();
+
+            if (flushRequest.sequenceNumber() > lastFlushedEvent) {
+                if (pendingFlushRequests.isEmpty()) {
+                    pendingFlushStartNanos = time.nanoTime();
+                }
+                pendingFlushRequests.add(flushRequest);
             }
         }
 
-        if (flushRequired) {
-            if (currentMutableFile == null) {
-                logger.error(EXCEPTION.getMarker(), "Flush required, but no file is open. This should never happen");
-            }
+        if (pendingFlushRequests.isEmpty()) {
+            return false;
+        }
 
-            try {
-                currentMutableFile.flush();
-            } catch (final IOException e) {
-                throw new UncheckedIOException(e);
-            }
+        if (groupCommit && !isGroupCommitDelayElapsed()) {
+            return false;
+        }
 
-            lastFlushedEvent = lastWrittenEvent;
+        flush();
+        return true;
+    }
+
+    /**
+     * Check if pending flush requests have waited long enough to be flushed in group commit mode.
+     *
+     * @return true if a flush should be performed now
+     */
+    private boolean isGroupCommitDelayElapsed() {
+        final long delay =
+                flushLatency.isEmpty() ? 0 : Math.min(flushLatency.getAverage(), groupCommitMaxDelayNanos);
+        if (delay == 0) {
+            return true;
+        }
+        return time.nanoTime() - pendingFlushStartNanos > delay;
+    }
+
+    /**
+     * Flush the current file, which makes all written events durable.
+     */
+    private void flush() {
+        if (currentMutableFile == null) {
+            logger.error(EXCEPTION.getMarker(), "Flush required, but no file is open. This should never happen");
+        }
+
+        final long start = time.nanoTime();
+        try {
+            currentMutableFile.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
         }
+        final long flushNanos = time.nanoTime() - start;
+        flushLatency.add(flushNanos);
+        metrics.reportFlush(flushNanos, pendingFlushRequests.size());
+
+        lastFlushedEvent = lastWrittenEvent;
+        completePendingFlushRequests();
+    }
 
-        return flushRequired;
+    /**
+     * Report all pending flush requests as satisfied. Should be called once all written events are durable.
+     */
+    private void completePendingFlushRequests() {
+        final long now = time.nanoTime();
+        for (final FlushRequest flushRequest : pendingFlushRequests) {
+            metrics.reportDurabilityLatency(now - flushRequest.submittedNanos());
+        }
+        pendingFlushRequests.clear();
     }
 
     /**
@@ -280,11 +379,24 @@ public class DefaultPcesWriter implements PcesWriter {
     @Override
     @Nullable
     public Long submitFlushRequest(@NonNull final Long sequenceNumber) {
-        flushRequests.add(sequenceNumber);
+        flushRequests.add(new FlushRequest(sequenceNumber, time.nanoTime()));
 
         return processFlushRequests() ? lastFlushedEvent : null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public Long flushPendingRequests(@NonNull final Instant now) {
+        if (pendingFlushRequests.isEmpty() || !isGroupCommitDelayElapsed()) {
+            return null;
+        }
+        flush();
+        return lastFlushedEvent;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -338,6 +450,7 @@ public class DefaultPcesWriter implements PcesWriter {
             }
             currentMutableFile.close();
             lastFlushedEvent = lastWrittenEvent;
+            completePendingFlushRequests();
 
             fileManager.finishedWritingFile(currentMutableFile);
             currentMutableFile = null;
@@ -402,7 +515,7 @@ public class DefaultPcesWriter implements PcesWriter {
 
             currentMutableFile = fileManager
                     .getNextFileDescriptor(nonAncientBoundary, upperBound)
-                    .getMutableFile();
+                    .getMutableFile(groupCommit, false);
         }
 
         return fileClosed;
@@ -87,6 +87,14 @@ import java.time.Duration;
  *                                             time, pause PCES replay until the system is able to catch up.
  * @param limitReplayFrequency                 if true, then directly limit the replay frequency of preconsensus events
  * @param maxEventReplayFrequency              the maximum number of events that can be replayed per second
+ * @param groupCommit                          if true, then events are written with a file channel and flushes are
+ *                                             forced to disk, and flush requests are grouped: a flush is delayed by
+ *                                             up to the recently measured flush latency, so that flush requests
+ *                                             arriving meanwhile are satisfied by the same flush. If false, then
+ *                                             every flush request is satisfied by a flush as soon as possible.
+ * @param groupCommitMaxDelay                  the maximum time a flush may be delayed to group flush requests, if
+ *                                             group commit is enabled. Also the period of heartbeats that perform
+ *                                             delayed flushes when no new events or flush requests arrive.
  */
 @ConfigData("event.preconsensus")
 public record PcesConfig(
@@ -109,4 +117,6 @@ public record PcesConfig(
         @ConfigProperty(defaultValue = "1m") Duration suspiciousRoundDurabilityDuration,
         @ConfigProperty(defaultValue = "1ms") Duration replayHealthThreshold,
         @ConfigProperty(defaultValue = "true") boolean limitReplayFrequency,
-        @ConfigProperty(defaultValue = "5000") int maxEventReplayFrequency) {}
+        @ConfigProperty(defaultValue = "5000") int maxEventReplayFrequency,
+        @ConfigProperty(defaultValue = "false") boolean groupCommit,
+        @ConfigProperty(defaultValue = "5ms") Duration groupCommitMaxDelay) {}
@@ -25,21 +25,36 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Writes preconsensus events to a file using a {@link FileChannel}.
+ * <p>
+ * Unless every event is synced, events are collected in a direct buffer and written to the channel when the buffer is
+ * full, or when the file is flushed or closed, so that writing many small events doesn't take a system call per event.
+ * Direct buffers are pooled and reused by subsequent files, rather than allocated for every file.
  */
 public class PcesFileChannelWriter implements PcesFileWriter {
     /** The capacity of the ByteBuffer used to write events */
     private static final int BUFFER_CAPACITY = 1024 * 1024 * 10;
+    /**
+     * The maximum number of buffers kept in the pool. Usually only a single file is written at a time, a few more
+     * buffers allow for files written concurrently, e.g. in tests and benchmarks
+     */
+    private static final int MAX_POOLED_BUFFERS = 2;
+    /** Direct buffers released by closed files, to be reused by new files */
+    private static final Queue<ByteBuffer> BUFFER_POOL = new ConcurrentLinkedQueue<>();
     /** The file channel for writing events */
     private final FileChannel channel;
+    /** If true, then every event is written to the channel and synced immediately */
+    private final boolean syncEveryEvent;
     /** The buffer used to hold data being written to the file */
-    private final ByteBuffer buffer;
+    private ByteBuffer buffer;
     /** Wraps a ByteBuffer so that the protobuf codec can write to it */
-    private final WritableSequentialData writableSequentialData;
-    /** Tracks the size of the file in bytes */
-    private int fileSize;
+    private WritableSequentialData writableSequentialData;
+    /** Tracks the size of the file in bytes, including data not yet written to the channel */
+    private long fileSize;
 
     /**
      * Create a new writer that writes events to a file using a {@link FileChannel}.
@@ -55,48 +70,100 @@ public class PcesFileChannelWriter implements PcesFileWriter {
         } else {
             channel = FileChannel.open(filePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
         }
-        buffer = ByteBuffer.allocateDirect(BUFFER_CAPACITY);
+        this.syncEveryEvent = syncEveryEvent;
+        final ByteBuffer pooled = BUFFER_POOL.poll();
+        buffer = pooled != null ? pooled : ByteBuffer.allocateDirect(BUFFER_CAPACITY);
         writableSequentialData = BufferedData.wrap(buffer);
     }
 
     @Override
     public void writeVersion(final int version) throws IOException {
         buffer.putInt(version);
-        flipWriteClear();
+        fileSize += Integer.BYTES;
+        if (syncEveryEvent) {
+            writeBuffer();
+        }
     }
 
     @Override
     public void writeEvent(@NonNull final GossipEvent event) throws IOException {
-        buffer.putInt(GossipEvent.PROTOBUF.measureRecord(event));
+        final int eventSize = GossipEvent.PROTOBUF.measureRecord(event);
+        final int size = Integer.BYTES + eventSize;
+        if (buffer.remaining() < size) {
+            writeBuffer();
+            if (buffer.capacity() < size) {
+                // Very large event, the larger buffer isn't pooled
+                releaseBuffer();
+                buffer = ByteBuffer.allocateDirect(size);
+                writableSequentialData = BufferedData.wrap(buffer);
+            }
+        }
+        buffer.putInt(eventSize);
         GossipEvent.PROTOBUF.write(event, writableSequentialData);
-        flipWriteClear();
+        fileSize += size;
+        if (syncEveryEvent) {
+            writeBuffer();
+        }
     }
 
     /**
-     * Writes the data in the buffer to the file. This method expects that the buffer will have data that is written to
-     * it. The buffer will be flipped so that it can be read from, the data will be written to the file, and the buffer
-     * will be cleared so that it can be used again.
+     * Writes the data in the buffer to the file. The buffer will be flipped so that it can be read from, the data will
+     * be written to the file, and the buffer will be cleared so that it can be used again.
      */
-    private void flipWriteClear() throws IOException {
+    private void writeBuffer() throws IOException {
         buffer.flip();
-        final int bytesWritten = channel.write(buffer);
-        fileSize += bytesWritten;
-        if (bytesWritten != buffer.limit()) {
+        final int bytesToWrite = buffer.limit();
+        int bytesWritten = 0;
+        while (buffer.hasRemaining()) {
+            final int written = channel.write(buffer);
+            if (written <= 0) {
+                break;
+            }
+            bytesWritten += written;
+        }
+        if (bytesWritten != bytesToWrite) {
             throw new IOException(
-                    "Failed to write data to file. Wrote " + bytesWritten + " bytes out of " + buffer.limit());
+                    "Failed to write data to file. Wrote " + bytesWritten + " bytes out of " + bytesToWrite);
         }
         buffer.clear();
     }
 
     @Override
     public void flush() throws IOException {
+        writeBuffer();
         // benchmarks show that this has horrible performance
         channel.force(false);
     }
 
     @Override
     public void close() throws IOException {
-        channel.close();
+        if (buffer == null) {
+            // already closed
+            return;
+        }
+        try {
+            writeBuffer();
+            if (!syncEveryEvent) {
+                // the file is considered durable once it's closed
+                channel.force(false);
+            }
+        } finally {
+            channel.close();
+            releaseBuffer();
+        }
+    }
+
+    /**
+     * Return the buffer to the pool, unless the pool is full or the buffer has a non-standard capacity.
+     */
+    private void releaseBuffer() {
+        final ByteBuffer released = buffer;
+        buffer = null;
+        writableSequentialData = null;
+        if (released != null && released.capacity() == BUFFER_CAPACITY && BUFFER_POOL.size() < MAX_POOLED_BUFFERS) {
+            released.clear();
+            BUFFER_POOL.offer(released);
+        }
     }
 
     @Override
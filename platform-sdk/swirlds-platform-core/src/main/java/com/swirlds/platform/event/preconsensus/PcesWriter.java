@@ -21,6 +21,7 @@ import com.swirlds.platform.consensus.EventWindow;
 import com.swirlds.platform.event.PlatformEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Instant;
 
 /**
  * This object is responsible for writing preconsensus events to disk.
@@ -69,6 +70,18 @@ public interface PcesWriter {
     @Nullable
     Long submitFlushRequest(@NonNull Long sequenceNumber);
 
+    /**
+     * Flush pending flush requests, if they have been delayed long enough. Only has an effect in group commit mode,
+     * where flushes may be delayed to group flush requests. Called periodically, so that delayed flushes are
+     * performed even if no new events or flush requests arrive.
+     *
+     * @param now the current time
+     * @return the sequence number of the last event durably written to the stream if a flush was performed, or null
+     */
+    @InputWireLabel("heartbeat")
+    @Nullable
+    Long flushPendingRequests(@NonNull Instant now);
+
     /**
      * Let the event writer know the current non-ancient event boundary. Ancient events will be ignored if added to the
      * event writer.
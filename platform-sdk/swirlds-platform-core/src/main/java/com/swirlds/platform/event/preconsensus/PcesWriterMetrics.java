@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.event.preconsensus;
+
+import static com.swirlds.metrics.api.FloatFormats.FORMAT_10_3;
+import static com.swirlds.metrics.api.FloatFormats.FORMAT_8_1;
+
+import com.swirlds.metrics.api.Metrics;
+import com.swirlds.platform.stats.AverageAndMax;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Metrics for the durability of events written by the {@link DefaultPcesWriter}.
+ */
+public class PcesWriterMetrics {
+
+    private static final String CATEGORY = "platform";
+
+    private final AverageAndMax flushLatency;
+    private final AverageAndMax durabilityLatency;
+    private final AverageAndMax flushRequestsPerFlush;
+
+    /**
+     * Constructor.
+     *
+     * @param metrics the metrics system
+     */
+    public PcesWriterMetrics(@NonNull final Metrics metrics) {
+        flushLatency = new AverageAndMax(
+                metrics,
+                CATEGORY,
+                "pcesFlushLatency",
+                "the time it takes to flush a preconsensus event file, in microseconds",
+                FORMAT_10_3);
+        durabilityLatency = new AverageAndMax(
+                metrics,
+                CATEGORY,
+                "pcesDurabilityLatency",
+                "the time from submitting a flush request until the requested event is durable, in microseconds",
+                FORMAT_10_3);
+        flushRequestsPerFlush = new AverageAndMax(
+                metrics,
+                CATEGORY,
+                "pcesFlushRequestsPerFlush",
+                "the number of flush requests satisfied by a single flush",
+                FORMAT_8_1);
+    }
+
+    /**
+     * Report a completed flush.
+     *
+     * @param flushNanos    the time the flush took, in nanoseconds
+     * @param requestCount  the number of flush requests satisfied by the flush
+     */
+    public void reportFlush(final long flushNanos, final int requestCount) {
+        flushLatency.update(flushNanos / 1_000);
+        flushRequestsPerFlush.update(requestCount);
+    }
+
+    /**
+     * Report a flush request that is satisfied.
+     *
+     * @param latencyNanos the time from submitting the request until the event was durable, in nanoseconds
+     */
+    public void reportDurabilityLatency(final long latencyNanos) {
+        durabilityLatency.update(latencyNanos / 1_000);
+    }
+}
@@ -49,11 +49,13 @@ import com.swirlds.platform.gossip.sync.config.SyncConfig;
 import com.swirlds.platform.metrics.ReconnectMetrics;
 import com.swirlds.platform.metrics.SyncMetrics;
 import com.swirlds.platform.network.Connection;
+import com.swirlds.platform.network.ConnectionThreadMode;
 import com.swirlds.platform.network.ConnectionTracker;
 import com.swirlds.platform.network.NetworkMetrics;
 import com.swirlds.platform.network.NetworkPeerIdentifier;
 import com.swirlds.platform.network.NetworkUtils;
 import com.swirlds.platform.network.PeerInfo;
+import com.swirlds.platform.network.SocketConfig;
 import com.swirlds.platform.network.communication.NegotiationProtocols;
 import com.swirlds.platform.network.communication.ProtocolNegotiatorThread;
 import com.swirlds.platform.network.communication.handshake.VersionCompareHandshake;
@@ -190,6 +192,8 @@ public class SyncGossip implements ConnectionTracker, Gossip {
         final ThreadConfig threadConfig = platformContext.getConfiguration().getConfigData(ThreadConfig.class);
 
         final BasicConfig basicConfig = platformContext.getConfiguration().getConfigData(BasicConfig.class);
+        final SocketConfig socketConfig = platformContext.getConfiguration().getConfigData(SocketConfig.class);
+        final boolean virtualThreads = socketConfig.connectionThreadMode() == ConnectionThreadMode.VIRTUAL_THREADS;
         final List<PeerInfo> peers = Utilities.createPeerInfoList(addressBook, selfId);
 
         topology = new StaticTopology(peers, selfId);
@@ -210,7 +214,11 @@ public class SyncGossip implements ConnectionTracker, Gossip {
         // allow other members to create connections to me
         final Address address = addressBook.getAddress(selfId);
         final ConnectionServer connectionServer = new ConnectionServer(
-                threadManager, address.getListenPort(), socketFactory, inboundConnectionHandler::handle);
+                threadManager,
+                address.getListenPort(),
+                socketFactory,
+                inboundConnectionHandler::handle,
+                virtualThreads);
         thingsToStart.add(new StoppableThreadConfiguration<>(threadManager)
                 .setPriority(threadConfig.threadPrioritySync())
                 .setNodeId(selfId)
@@ -278,7 +286,8 @@ public class SyncGossip implements ConnectionTracker, Gossip {
 
         syncConfig = platformContext.getConfiguration().getConfigData(SyncConfig.class);
 
-        final ParallelExecutor shadowgraphExecutor = new CachedPoolParallelExecutor(threadManager, "node-sync");
+        final ParallelExecutor shadowgraphExecutor =
+                new CachedPoolParallelExecutor(threadManager, "node-sync", virtualThreads);
         thingsToStart.add(shadowgraphExecutor);
         final SyncMetrics syncMetrics = new SyncMetrics(platformContext.getMetrics());
         syncShadowgraphSynchronizer = new ShadowgraphSynchronizer(
@@ -375,6 +384,7 @@ public class SyncGossip implements ConnectionTracker, Gossip {
                     .setOtherNodeId(otherId)
                     .setThreadName("SyncProtocolWith" + otherId)
                     .setHangingThreadPeriod(hangingThreadDuration)
+                    .setVirtual(virtualThreads)
                     .setWork(new ProtocolNegotiatorThread(
                             connectionManagers.getManager(otherId, topology.shouldConnectTo(otherId)),
                             syncConfig.syncSleepAfterFailedNegotiation(),
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A Bloom filter over event hashes, used for set reconciliation during a sync. Each peer sends a filter of the events
+ * it has that the other peer may not know about, and the other peer doesn't send events that are in the filter.
+ * <p>
+ * A filter may report an event that is not in it (a false positive), such an event is not sent by the peer during
+ * this sync. Every filter is created with a random salt, so the same event is very unlikely to be a false positive in
+ * the next sync as well.
+ */
+public final class EventHashFilter {
+
+    /**
+     * A filter that contains nothing. A peer that receives it sends all events it would send without a filter.
+     */
+    public static final EventHashFilter EMPTY = new EventHashFilter(0, 0, new long[0]);
+
+    /**
+     * The maximum number of hash functions, more than this is never optimal for the false positive rates in use.
+     */
+    private static final int MAX_HASH_FUNCTIONS = 16;
+
+    private final long salt;
+    private final int numHashFunctions;
+    private final long[] bits;
+
+    private EventHashFilter(final long salt, final int numHashFunctions, @NonNull final long[] bits) {
+        this.salt = salt;
+        this.numHashFunctions = numHashFunctions;
+        this.bits = bits;
+    }
+
+    /**
+     * Create a filter that contains the given hashes.
+     *
+     * @param hashes            the hashes to add to the filter
+     * @param falsePositiveRate the desired false positive rate, between 0 and 1 exclusive
+     * @param salt              the salt used to hash event hashes into filter bits, should be random for every filter
+     * @param maxBytes          the maximum size of the filter. If a filter with the desired false positive rate would
+     *                          be larger, {@link #EMPTY} is returned
+     * @return the filter
+     */
+    @NonNull
+    public static EventHashFilter create(
+            @NonNull final Collection<Hash> hashes,
+            final double falsePositiveRate,
+            final long salt,
+            final int maxBytes) {
+        Objects.requireNonNull(hashes);
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException(
+                    "False positive rate must be between 0 and 1, was " + falsePositiveRate);
+        }
+        if (hashes.isEmpty()) {
+            return EMPTY;
+        }
+
+        // optimal number of bits and hash functions for a Bloom filter with n elements
+        final int n = hashes.size();
+        final double numBits = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        final long numLongs = Math.max(1, (long) Math.ceil(numBits / Long.SIZE));
+        if (numLongs * Long.BYTES > maxBytes) {
+            return EMPTY;
+        }
+        final int numHashFunctions = (int)
+                Math.max(1, Math.min(MAX_HASH_FUNCTIONS, Math.round(numLongs * Long.SIZE / (double) n * Math.log(2))));
+
+        final EventHashFilter filter = new EventHashFilter(salt, numHashFunctions, new long[(int) numLongs]);
+        for (final Hash hash : hashes) {
+            filter.add(hash);
+        }
+        return filter;
+    }
+
+    /**
+     * @return true if this filter contains nothing
+     */
+    public boolean isEmpty() {
+        return bits.length == 0;
+    }
+
+    /**
+     * @return the size of the filter bits in bytes
+     */
+    public int sizeInBytes() {
+        return bits.length * Long.BYTES;
+    }
+
+    /**
+     * Check if the filter may contain the given hash.
+     *
+     * @param hash the hash to check
+     * @return false if the hash is definitely not in the filter, true if it probably is
+     */
+    public boolean mightContain(@NonNull final Hash hash) {
+        if (isEmpty()) {
+            return false;
+        }
+        final long numBits = (long) bits.length * Long.SIZE;
+        final Bytes bytes = hash.getBytes();
+        final long h1 = mix(bytes.getLong(0) ^ salt);
+        final long h2 = mix(bytes.getLong(Long.BYTES) + salt) | 1;
+        for (int i = 0; i < numHashFunctions; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(@NonNull final Hash hash) {
+        final long numBits = (long) bits.length * Long.SIZE;
+        final Bytes bytes = hash.getBytes();
+        final long h1 = mix(bytes.getLong(0) ^ salt);
+        final long h2 = mix(bytes.getLong(Long.BYTES) + salt) | 1;
+        for (int i = 0; i < numHashFunctions; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, numBits);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * The finalization step of MurmurHash3, spreads the salt over all bits of the hash.
+     */
+    private static long mix(final long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Write this filter to a stream.
+     *
+     * @param out the stream to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void serialize(@NonNull final SerializableDataOutputStream out) throws IOException {
+        out.writeLong(salt);
+        out.writeInt(numHashFunctions);
+        out.writeLongArray(bits);
+    }
+
+    /**
+     * Read a filter from a stream.
+     *
+     * @param in       the stream to read from
+     * @param maxBytes the maximum size of the filter bits
+     * @return the filter
+     * @throws IOException if an I/O error occurs or the filter is invalid
+     */
+    @NonNull
+    public static EventHashFilter deserialize(@NonNull final SerializableDataInputStream in, final int maxBytes)
+            throws IOException {
+        final long salt = in.readLong();
+        final int numHashFunctions = in.readInt();
+        final long[] bits = in.readLongArray(maxBytes / Long.BYTES);
+        if (bits == null || numHashFunctions < 0 || numHashFunctions > MAX_HASH_FUNCTIONS) {
+            throw new IOException("Invalid event hash filter");
+        }
+        if (bits.length == 0) {
+            return EMPTY;
+        }
+        if (numHashFunctions < 1) {
+            // a filter without hash functions would contain every hash
+            throw new IOException("Invalid event hash filter");
+        }
+        return new EventHashFilter(salt, numHashFunctions, bits);
+    }
+}
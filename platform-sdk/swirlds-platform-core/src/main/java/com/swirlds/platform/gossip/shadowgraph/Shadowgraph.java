@@ -37,7 +37,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -45,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
@@ -53,6 +53,12 @@ import org.apache.logging.log4j.Logger;
 /**
  * The primary purpose of the shadowgraph is to unlink events when it is safe to do so. In order to decide when it is
  * safe to unlink an event, it allows for batches of events (by ancient indicator) to be reserved.
+ *
+ * <p>Methods that modify the shadowgraph ({@link #addEvent(PlatformEvent)}, {@link #updateEventWindow(EventWindow)},
+ * {@link #reserve()} and {@link #clear()}) are synchronized, so there is a single writer at a time. Read methods used
+ * by sync ({@link #getTips()}, {@link #shadows(List)}, {@link #shadow(EventDescriptorWrapper)}, {@link #getEvent(Hash)}
+ * and others) are not synchronized, so parallel syncs don't block each other or the intake pipeline. Readers use
+ * concurrent indexes and an immutable snapshot of the tips that is republished by the writer on every change.</p>
  */
 public class Shadowgraph implements Clearable {
 
@@ -66,7 +72,7 @@ public class Shadowgraph implements Clearable {
     /**
      * The shadowgraph represented in a map from has to shadow event.
      */
-    private final HashMap<Hash, ShadowEvent> hashToShadowEvent;
+    private final Map<Hash, ShadowEvent> hashToShadowEvent;
 
     /**
      * Map from ancient indicator to all shadow events with that ancient indicator.
@@ -74,14 +80,20 @@ public class Shadowgraph implements Clearable {
     private final Map<Long /* ancient indicator */, Set<ShadowEvent>> indicatorToShadowEvent;
 
     /**
-     * The set of all tips for the shadowgraph. A tip is an event with no self child (could have other children)
+     * The set of all tips for the shadowgraph. A tip is an event with no self child (could have other children). Only
+     * accessed by the writer, readers use {@link #tipsSnapshot}.
      */
     private final HashSet<ShadowEvent> tips;
 
+    /**
+     * An immutable copy of {@link #tips}, published after every change to the tips.
+     */
+    private volatile List<ShadowEvent> tipsSnapshot = List.of();
+
     /**
      * The oldest ancient indicator that has not yet been expired
      */
-    private long oldestUnexpiredIndicator;
+    private volatile long oldestUnexpiredIndicator;
 
     /**
      * The list of all currently reserved indicators and their number of reservations.
@@ -106,7 +118,7 @@ public class Shadowgraph implements Clearable {
     /**
      * The most recent event window we know about.
      */
-    private EventWindow eventWindow;
+    private volatile EventWindow eventWindow;
 
     /**
      * For each peer, track the number of events in the intake pipeline prior to the shadowgraph.
@@ -134,8 +146,8 @@ public class Shadowgraph implements Clearable {
         this.numberOfNodes = addressBook.getSize();
         this.intakeEventCounter = Objects.requireNonNull(intakeEventCounter);
         tips = new HashSet<>();
-        hashToShadowEvent = new HashMap<>();
-        indicatorToShadowEvent = new HashMap<>();
+        hashToShadowEvent = new ConcurrentHashMap<>();
+        indicatorToShadowEvent = new ConcurrentHashMap<>();
         reservationList = new LinkedList<>();
     }
 
@@ -161,6 +173,7 @@ public class Shadowgraph implements Clearable {
         oldestUnexpiredIndicator = ancientMode.getGenesisIndicator();
         disconnectShadowEvents();
         tips.clear();
+        publishTips();
         hashToShadowEvent.clear();
         indicatorToShadowEvent.clear();
         reservationList.clear();
@@ -216,7 +229,7 @@ public class Shadowgraph implements Clearable {
      * Get the latest event window known to the shadowgraph.
      */
     @NonNull
-    public synchronized EventWindow getEventWindow() {
+    public EventWindow getEventWindow() {
         return eventWindow;
     }
 
@@ -228,8 +241,8 @@ public class Shadowgraph implements Clearable {
      * @deprecated still used by tests, planned for removal. Do not add new uses.
      */
     @Deprecated(forRemoval = true)
-    public synchronized boolean isHashInGraph(final Hash hash) {
-        return hashToShadowEvent.containsKey(hash);
+    public boolean isHashInGraph(final Hash hash) {
+        return shadow(hash) != null;
     }
 
     /**
@@ -243,9 +256,9 @@ public class Shadowgraph implements Clearable {
      *     <li>adding events to the the graph does not affect ancestors</li>
      *     <li>checks for expired parent events are atomic</li>
      * </ol>
-     * <p>Note: This method is always accessed after a call to a synchronized {@link Shadowgraph} method, like
-     * {@link #getTips()}, which acts as a memory gate and causes the calling thread to read the latest values for all
-     * variables from memory, including {@link ShadowEvent} links.</p>
+     * <p>Note: This method is always accessed after a call to a {@link Shadowgraph} method like {@link #getTips()},
+     * which reads a volatile field or a concurrent map. That acts as a memory gate and causes the calling thread to
+     * read the latest values for all variables from memory, including {@link ShadowEvent} links.</p>
      *
      * @param events    the event to find ancestors of
      * @param predicate determines whether or not to add the ancestor to the return list
@@ -326,7 +339,7 @@ public class Shadowgraph implements Clearable {
      */
     @Deprecated(forRemoval = true)
     @NonNull
-    public synchronized Collection<PlatformEvent> findByAncientIndicator(
+    public Collection<PlatformEvent> findByAncientIndicator(
             final long lowerBound, final long upperBound, @NonNull final Predicate<PlatformEvent> predicate) {
         final List<PlatformEvent> result = new ArrayList<>();
         if (lowerBound >= upperBound) {
@@ -404,6 +417,7 @@ public class Shadowgraph implements Clearable {
             }
             oldestUnexpiredIndicator++;
         }
+        publishTips();
     }
 
     /**
@@ -459,7 +473,7 @@ public class Shadowgraph implements Clearable {
      * @throws IllegalArgumentException if {@code otherParentsDescriptors} contains more than one event descriptor
      */
     @Nullable
-    private synchronized ShadowEvent shadow(@NonNull final List<EventDescriptorWrapper> otherParentsDescriptors) {
+    private ShadowEvent shadow(@NonNull final List<EventDescriptorWrapper> otherParentsDescriptors) {
         if (otherParentsDescriptors.isEmpty()) {
             return null;
         }
@@ -468,7 +482,7 @@ public class Shadowgraph implements Clearable {
             throw new IllegalArgumentException("Only one otherParent descriptor is supported");
         }
 
-        return hashToShadowEvent.get(otherParentsDescriptors.getFirst().hash());
+        return shadow(otherParentsDescriptors.getFirst().hash());
     }
 
     /**
@@ -478,12 +492,12 @@ public class Shadowgraph implements Clearable {
      * @return the shadow event that references an event, or null is {@code e} is null
      */
     @Nullable
-    public synchronized ShadowEvent shadow(@Nullable final EventDescriptorWrapper e) {
+    public ShadowEvent shadow(@Nullable final EventDescriptorWrapper e) {
         if (e == null) {
             return null;
         }
 
-        return hashToShadowEvent.get(e.hash());
+        return shadow(e.hash());
     }
 
     /**
@@ -492,7 +506,7 @@ public class Shadowgraph implements Clearable {
      * @param hashes The event hashes to get shadow events for
      * @return the shadow events that reference the events with the given hashes
      */
-    public synchronized List<ShadowEvent> shadows(final List<Hash> hashes) {
+    public List<ShadowEvent> shadows(final List<Hash> hashes) {
         Objects.requireNonNull(hashes);
         final List<ShadowEvent> shadows = new ArrayList<>(hashes.size());
         for (final Hash hash : hashes) {
@@ -508,7 +522,7 @@ public class Shadowgraph implements Clearable {
      * @return the hashgraph event, if there is one in {@code this} shadowgraph, else `null`
      */
     @Nullable
-    public synchronized PlatformEvent hashgraphEvent(@Nullable final Hash h) {
+    public PlatformEvent hashgraphEvent(@Nullable final Hash h) {
         final ShadowEvent shadow = shadow(h);
         if (shadow == null) {
             return null;
@@ -524,8 +538,15 @@ public class Shadowgraph implements Clearable {
      * @return an unmodifiable copy of the tips
      */
     @NonNull
-    public synchronized List<ShadowEvent> getTips() {
-        return new ArrayList<>(tips);
+    public List<ShadowEvent> getTips() {
+        return tipsSnapshot;
+    }
+
+    /**
+     * Publish a new snapshot of the tips for readers. Must be called by the writer after the tips are changed.
+     */
+    private void publishTips() {
+        tipsSnapshot = List.copyOf(tips);
     }
 
     /**
@@ -548,6 +569,7 @@ public class Shadowgraph implements Clearable {
                 final ShadowEvent s = insert(event);
                 tips.add(s);
                 tips.remove(s.getSelfParent());
+                publishTips();
 
                 if (numberOfNodes > 0 && tips.size() > numberOfNodes && tips.size() > tipsBefore) {
                     // It is possible that we have more tips than nodes even if there is no fork.
@@ -600,8 +622,10 @@ public class Shadowgraph implements Clearable {
         return reservation;
     }
 
-    private ShadowEvent shadow(final Hash h) {
-        return hashToShadowEvent.get(h);
+    @Nullable
+    private ShadowEvent shadow(@Nullable final Hash h) {
+        // concurrent maps don't support null keys
+        return h == null ? null : hashToShadowEvent.get(h);
     }
 
     /**
@@ -609,8 +633,8 @@ public class Shadowgraph implements Clearable {
      * @return the event that has the hash provided, or null if none exists
      */
     @Nullable
-    public synchronized PlatformEvent getEvent(@Nullable final Hash hash) {
-        final ShadowEvent shadowEvent = hashToShadowEvent.get(hash);
+    public PlatformEvent getEvent(@Nullable final Hash hash) {
+        final ShadowEvent shadowEvent = shadow(hash);
         return shadowEvent == null ? null : shadowEvent.getEvent();
     }
 
@@ -631,10 +655,7 @@ public class Shadowgraph implements Clearable {
         hashToShadowEvent.put(se.getEventBaseHash(), se);
 
         final long ancientIndicator = event.getAncientIndicator(ancientMode);
-        if (!indicatorToShadowEvent.containsKey(ancientIndicator)) {
-            indicatorToShadowEvent.put(ancientIndicator, new HashSet<>());
-        }
-        indicatorToShadowEvent.get(ancientIndicator).add(se);
+        indicatorToShadowEvent.computeIfAbsent(ancientIndicator, k -> ConcurrentHashMap.newKeySet()).add(se);
 
         return se;
     }
@@ -20,15 +20,18 @@ import static com.swirlds.logging.legacy.LogMarker.SYNC_INFO;
 import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.filterLikelyDuplicates;
 import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.getMyTipsTheyKnow;
 import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.getTheirTipsIHave;
+import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.readEventHashFilter;
 import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.readEventsINeed;
 import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.readMyTipsTheyHave;
 import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.readTheirTipsAndEventWindow;
 import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.sendEventsTheyNeed;
+import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.writeEventHashFilter;
 import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.writeMyTipsAndEventWindow;
 import static com.swirlds.platform.gossip.shadowgraph.SyncUtils.writeTheirTipsIHave;
 
 import com.swirlds.base.time.Time;
 import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.threading.pool.ParallelExecutionException;
 import com.swirlds.common.threading.pool.ParallelExecutor;
@@ -53,6 +56,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -133,6 +137,16 @@ public class ShadowgraphSynchronizer {
      */
     private final AncientMode ancientMode;
 
+    /**
+     * The false positive rate of event filters. Ignored on connections without set reconciliation.
+     */
+    private final double setReconciliationFalsePositiveRate;
+
+    /**
+     * The maximum size of an event filter. Ignored on connections without set reconciliation.
+     */
+    private final int maxSetReconciliationFilterBytes;
+
     /**
      * Constructs a new ShadowgraphSynchronizer.
      *
@@ -171,6 +185,8 @@ public class ShadowgraphSynchronizer {
 
         this.filterLikelyDuplicates = syncConfig.filterLikelyDuplicates();
         this.maximumEventsPerSync = syncConfig.maxSyncEventCount();
+        this.setReconciliationFalsePositiveRate = syncConfig.setReconciliationFalsePositiveRate();
+        this.maxSetReconciliationFilterBytes = syncConfig.maxSetReconciliationFilterBytes();
 
         this.ancientMode = platformContext
                 .getConfiguration()
@@ -260,9 +276,17 @@ public class ShadowgraphSynchronizer {
             final List<ShadowEvent> knownTips = getMyTipsTheyKnow(connection, myTips, theirBooleans);
             eventsTheyHave.addAll(knownTips);
 
-            // create a send list based on the known set
-            sendList = createSendList(
-                    connection.getSelfId(), eventsTheyHave, myWindow, theirTipsAndEventWindow.eventWindow());
+            // find the events the peer may need based on the known set
+            List<PlatformEvent> eventsTheyMayNeed =
+                    findEventsTheyMayNeed(eventsTheyHave, myWindow, theirTipsAndEventWindow.eventWindow());
+
+            if (connection.isSetReconciliationEnabled()) {
+                // Optional step: each peer tells the other which events it already has. Both peers agreed on
+                // this step when the connection was established, so either both or neither of them do it
+                eventsTheyMayNeed = removeEventsTheyHave(connection, eventsTheyMayNeed);
+            }
+
+            sendList = createSendList(connection.getSelfId(), eventsTheyMayNeed);
         }
 
         final SyncConfig syncConfig = platformContext.getConfiguration().getConfigData(SyncConfig.class);
@@ -306,23 +330,20 @@ public class ShadowgraphSynchronizer {
     }
 
     /**
-     * Create a list of events to send to the peer.
+     * Find the events that the peer may need, i.e. events we have that the peer is not known to have.
      *
-     * @param selfId           the id of this node
      * @param knownSet         the set of events that the peer already has (this is incomplete at this stage and is
      *                         added to during this method)
      * @param myEventWindow    the event window of this node
      * @param theirEventWindow the event window of the peer
-     * @return a list of events to send to the peer
+     * @return a list of events the peer may need, in topological order
      */
     @NonNull
-    private List<PlatformEvent> createSendList(
-            @NonNull final NodeId selfId,
+    private List<PlatformEvent> findEventsTheyMayNeed(
             @NonNull final Set<ShadowEvent> knownSet,
             @NonNull final EventWindow myEventWindow,
             @NonNull final EventWindow theirEventWindow) {
 
-        Objects.requireNonNull(selfId);
         Objects.requireNonNull(knownSet);
         Objects.requireNonNull(myEventWindow);
         Objects.requireNonNull(theirEventWindow);
@@ -356,6 +377,66 @@ public class ShadowgraphSynchronizer {
 
         SyncUtils.sort(eventsTheyMayNeed);
 
+        return eventsTheyMayNeed;
+    }
+
+    /**
+     * Exchange event filters with the peer, and remove the events that the peer already has.
+     * <p>
+     * The known set is the same on both sides, so the events we have that the peer may not know about are also the
+     * events the peer may send to us. Each side sends a filter of these events, and doesn't send events that are in
+     * the filter it receives.
+     *
+     * @param connection        the connection to use
+     * @param eventsTheyMayNeed the events the peer may need
+     * @return the events the peer may need, without the events the peer already has
+     * @throws ParallelExecutionException if anything goes wrong while exchanging filters
+     */
+    @NonNull
+    private List<PlatformEvent> removeEventsTheyHave(
+            @NonNull final Connection connection, @NonNull final List<PlatformEvent> eventsTheyMayNeed)
+            throws ParallelExecutionException {
+
+        final List<Hash> myHashes =
+                eventsTheyMayNeed.stream().map(PlatformEvent::getHash).toList();
+        final EventHashFilter myFilter = EventHashFilter.create(
+                myHashes,
+                setReconciliationFalsePositiveRate,
+                ThreadLocalRandom.current().nextLong(),
+                maxSetReconciliationFilterBytes);
+
+        final EventHashFilter theirFilter = readWriteParallel(
+                readEventHashFilter(connection, maxSetReconciliationFilterBytes),
+                writeEventHashFilter(connection, myFilter),
+                connection);
+
+        if (theirFilter == null || theirFilter.isEmpty()) {
+            syncMetrics.recordSetReconciliation(myFilter.sizeInBytes(), 0);
+            return eventsTheyMayNeed;
+        }
+
+        final List<PlatformEvent> eventsTheyDoNotHave = new ArrayList<>(eventsTheyMayNeed.size());
+        for (final PlatformEvent event : eventsTheyMayNeed) {
+            if (!theirFilter.mightContain(event.getHash())) {
+                eventsTheyDoNotHave.add(event);
+            }
+        }
+        syncMetrics.recordSetReconciliation(
+                myFilter.sizeInBytes(), eventsTheyMayNeed.size() - eventsTheyDoNotHave.size());
+        return eventsTheyDoNotHave;
+    }
+
+    /**
+     * Create a list of events to send to the peer.
+     *
+     * @param selfId            the id of this node
+     * @param eventsTheyMayNeed the events the peer may need, in topological order
+     * @return a list of events to send to the peer
+     */
+    @NonNull
+    private List<PlatformEvent> createSendList(
+            @NonNull final NodeId selfId, @NonNull final List<PlatformEvent> eventsTheyMayNeed) {
+
         List<PlatformEvent> sendList;
         if (filterLikelyDuplicates) {
             final long startFilterTime = time.nanoTime();
@@ -180,6 +180,49 @@ public final class SyncUtils {
         };
     }
 
+    /**
+     * Returns a {@link Callable} that writes the filter of events we have that the peer may not know about. Only used
+     * if set reconciliation is enabled.
+     *
+     * @param connection the connection to write to
+     * @param filter     the filter to write
+     * @return A {@link Callable} that executes this part of the sync
+     */
+    public static Callable<Void> writeEventHashFilter(
+            @NonNull final Connection connection, @NonNull final EventHashFilter filter) {
+        return () -> {
+            filter.serialize(connection.getDos());
+            connection.getDos().flush();
+            logger.info(
+                    SYNC_INFO.getMarker(),
+                    "{} sent event filter of {} bytes",
+                    connection::getDescription,
+                    filter::sizeInBytes);
+            return null;
+        };
+    }
+
+    /**
+     * Returns a {@link Callable} that reads the filter of events the peer has that we may not know about. Only used if
+     * set reconciliation is enabled.
+     *
+     * @param connection the connection to read from
+     * @param maxBytes   the maximum size of the filter
+     * @return A {@link Callable} that executes this part of the sync
+     */
+    public static Callable<EventHashFilter> readEventHashFilter(
+            @NonNull final Connection connection, final int maxBytes) {
+        return () -> {
+            final EventHashFilter filter = EventHashFilter.deserialize(connection.getDis(), maxBytes);
+            logger.info(
+                    SYNC_INFO.getMarker(),
+                    "{} received event filter of {} bytes",
+                    connection::getDescription,
+                    filter::sizeInBytes);
+            return filter;
+        };
+    }
+
     /**
      * Send the events the peer needs. The complementary function to
      * {@link #readEventsINeed(Connection, Consumer, int, SyncMetrics, CountDownLatch, IntakeEventCounter, Duration)}.
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression codecs for sync streams. The codec used on a connection is negotiated by the peers when the
+ * connection is established, see {@link SyncCompressionNegotiator}. Codec ids are sent over the network, they
+ * must never be changed or reused.
+ */
+public enum SyncCompression {
+    /**
+     * No compression, data is only buffered.
+     */
+    NONE(0) {
+        @NonNull
+        @Override
+        OutputStream wrapOutputStream(
+                @NonNull final OutputStream out,
+                final int bufferSize,
+                final int level,
+                @Nullable final byte[] dictionary) {
+            return new BufferedOutputStream(out, bufferSize);
+        }
+
+        @NonNull
+        @Override
+        InputStream wrapInputStream(
+                @NonNull final InputStream in, final int bufferSize, @Nullable final byte[] dictionary) {
+            return new BufferedInputStream(in, bufferSize);
+        }
+    },
+    /**
+     * Raw deflate (no zlib header) with a configurable compression level and an optional preset dictionary. With a
+     * dictionary that contains byte sequences common to serialized events, even small writes, such as a single
+     * event, are compressed well.
+     */
+    DEFLATE(1) {
+        @NonNull
+        @Override
+        OutputStream wrapOutputStream(
+                @NonNull final OutputStream out,
+                final int bufferSize,
+                final int level,
+                @Nullable final byte[] dictionary) {
+            final Deflater deflater = new Deflater(level, true);
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            return new DeflaterOutputStream(out, deflater, bufferSize, true);
+        }
+
+        @NonNull
+        @Override
+        InputStream wrapInputStream(
+                @NonNull final InputStream in, final int bufferSize, @Nullable final byte[] dictionary) {
+            final Inflater inflater = new Inflater(true);
+            if (dictionary != null) {
+                // A raw inflater doesn't ask for a dictionary, it must be set before any data is inflated
+                inflater.setDictionary(dictionary);
+            }
+            return new InflaterInputStream(in, inflater, bufferSize);
+        }
+    };
+
+    private final int id;
+
+    SyncCompression(final int id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the codec id, as sent over the network
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Get the codec with the given id.
+     *
+     * @param id the codec id
+     * @return the codec, or null if this node doesn't support a codec with this id
+     */
+    @Nullable
+    public static SyncCompression fromId(final int id) {
+        for (final SyncCompression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wrap a stream, so that data written to the returned stream is compressed and written to the given stream.
+     *
+     * @param out        the stream to write compressed data to
+     * @param bufferSize the buffer size
+     * @param level      the compression level, if supported by the codec
+     * @param dictionary the preset dictionary, or null if no dictionary is used
+     * @return the compressing stream
+     */
+    @NonNull
+    abstract OutputStream wrapOutputStream(
+            @NonNull OutputStream out, int bufferSize, int level, @Nullable byte[] dictionary);
+
+    /**
+     * Wrap a stream, so that data read from the returned stream is read from the given stream and decompressed.
+     *
+     * @param in         the stream to read compressed data from
+     * @param bufferSize the buffer size
+     * @param dictionary the preset dictionary, or null if no dictionary is used
+     * @return the decompressing stream
+     */
+    @NonNull
+    abstract InputStream wrapInputStream(@NonNull InputStream in, int bufferSize, @Nullable byte[] dictionary);
+}
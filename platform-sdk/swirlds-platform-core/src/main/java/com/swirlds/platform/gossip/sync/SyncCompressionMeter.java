@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures compression of a sync output stream: the number of bytes before and after compression, and the time spent
+ * compressing. One stream returned by {@link #meterUncompressed(OutputStream)} is placed above the compressing
+ * stream, and another stream returned by {@link #meterCompressed(OutputStream)} is placed below it. The time spent
+ * writing to the network below the compressing stream is subtracted from the time spent in the compressing stream,
+ * so only the compression time is measured. Data should be buffered above the compressing stream, so the timer is
+ * only called once per buffer.
+ */
+public final class SyncCompressionMeter {
+
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong compressionNanos = new AtomicLong();
+
+    /**
+     * Wrap a compressing stream to measure data before compression.
+     *
+     * @param compressingStream the compressing stream
+     * @return the metered stream
+     */
+    @NonNull
+    public OutputStream meterUncompressed(@NonNull final OutputStream compressingStream) {
+        return new MeteredStream(compressingStream, uncompressedBytes, true);
+    }
+
+    /**
+     * Wrap a stream that compressed data is written to, to measure data after compression.
+     *
+     * @param out the stream compressed data is written to
+     * @return the metered stream
+     */
+    @NonNull
+    public OutputStream meterCompressed(@NonNull final OutputStream out) {
+        return new MeteredStream(out, compressedBytes, false);
+    }
+
+    /**
+     * @return the number of bytes written before compression since the last reset
+     */
+    public long getUncompressedBytes() {
+        return uncompressedBytes.get();
+    }
+
+    /**
+     * @return the number of bytes written after compression since the last reset
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    /**
+     * @return the time spent compressing data since the last reset, in nanoseconds
+     */
+    public long getCompressionNanos() {
+        return Math.max(0, compressionNanos.get());
+    }
+
+    /**
+     * Reset all counters.
+     */
+    public void reset() {
+        uncompressedBytes.set(0);
+        compressedBytes.set(0);
+        compressionNanos.set(0);
+    }
+
+    private final class MeteredStream extends FilterOutputStream {
+
+        private final AtomicLong byteCounter;
+
+        /**
+         * If true, time spent in this stream is added to the compression time, otherwise it's subtracted
+         */
+        private final boolean addTime;
+
+        private MeteredStream(final OutputStream out, final AtomicLong byteCounter, final boolean addTime) {
+            super(out);
+            this.byteCounter = byteCounter;
+            this.addTime = addTime;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            final long start = System.nanoTime();
+            out.write(b);
+            recordTime(start);
+            byteCounter.incrementAndGet();
+        }
+
+        @Override
+        public void write(@NonNull final byte[] b, final int off, final int len) throws IOException {
+            final long start = System.nanoTime();
+            out.write(b, off, len);
+            recordTime(start);
+            byteCounter.addAndGet(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            final long start = System.nanoTime();
+            out.flush();
+            recordTime(start);
+        }
+
+        private void recordTime(final long start) {
+            final long elapsed = System.nanoTime() - start;
+            compressionNanos.addAndGet(addTime ? elapsed : -elapsed);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import static com.swirlds.logging.legacy.LogMarker.NETWORK;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Negotiates sync stream compression and optional sync features on a new connection, before any other data is sent.
+ * Both peers send an offer with the codec id, the dictionary id and the feature flags from their settings, and read
+ * the offer of the other peer. The codec is used if both peers offer the same codec, otherwise data is not
+ * compressed. The dictionary is used if both peers have the same dictionary. An optional feature, such as set
+ * reconciliation, is used only if both peers enable it, so nodes with different feature configurations can still
+ * sync with each other. Both peers make the same decision, so no further messages are needed.
+ *
+ * <p>The offer is small enough to fit into socket buffers, so both peers can send it before reading.
+ */
+public final class SyncCompressionNegotiator {
+
+    private static final Logger logger = LogManager.getLogger(SyncCompressionNegotiator.class);
+
+    /**
+     * Feature flag sent in an offer if set reconciliation is enabled
+     */
+    private static final int SET_RECONCILIATION_FLAG = 1;
+
+    private SyncCompressionNegotiator() {}
+
+    /**
+     * Write an offer to a stream.
+     *
+     * @param out      the stream to write to
+     * @param settings the connection settings of this node
+     * @throws IOException if the offer can't be written
+     */
+    public static void writeOffer(@NonNull final OutputStream out, @NonNull final SyncConnectionSettings settings)
+            throws IOException {
+        // Not closed, the underlying stream is used by the connection
+        final DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(settings.compression().compression().id());
+        dataOut.writeLong(settings.compression().dictionaryId());
+        dataOut.writeInt(settings.setReconciliation() ? SET_RECONCILIATION_FLAG : 0);
+        dataOut.flush();
+    }
+
+    /**
+     * Exchange offers with the peer and agree on connection settings.
+     *
+     * @param in    the raw input stream of the connection
+     * @param out   the raw output stream of the connection
+     * @param local the connection settings of this node
+     * @return the connection settings to use on this connection
+     * @throws IOException if offers can't be sent or received
+     */
+    @NonNull
+    public static SyncConnectionSettings negotiate(
+            @NonNull final InputStream in, @NonNull final OutputStream out, @NonNull final SyncConnectionSettings local)
+            throws IOException {
+        Objects.requireNonNull(in);
+        writeOffer(out, local);
+        // DataInputStream doesn't read ahead, so no data after the offer is consumed here
+        final DataInputStream dataIn = new DataInputStream(in);
+        final int peerCompressionId = dataIn.readInt();
+        final long peerDictionaryId = dataIn.readLong();
+        final int peerFlags = dataIn.readInt();
+
+        final boolean setReconciliation = local.setReconciliation() && (peerFlags & SET_RECONCILIATION_FLAG) != 0;
+        if (local.setReconciliation() && !setReconciliation) {
+            logger.info(
+                    NETWORK.getMarker(), "Peer doesn't support set reconciliation, event filters are not exchanged");
+        }
+        return new SyncConnectionSettings(
+                negotiateCompression(peerCompressionId, peerDictionaryId, local.compression()), setReconciliation);
+    }
+
+    /**
+     * Agree on compression settings, given the offer of the peer.
+     *
+     * @param peerCompressionId the codec id offered by the peer
+     * @param peerDictionaryId  the dictionary id offered by the peer
+     * @param local             the compression settings of this node
+     * @return the compression settings to use on this connection
+     */
+    @NonNull
+    private static SyncCompressionSettings negotiateCompression(
+            final int peerCompressionId, final long peerDictionaryId, @NonNull final SyncCompressionSettings local) {
+        final SyncCompression peerCompression = SyncCompression.fromId(peerCompressionId);
+        if (peerCompression != local.compression()) {
+            if (local.compression() != SyncCompression.NONE) {
+                logger.info(
+                        NETWORK.getMarker(),
+                        "Peer doesn't support sync compression {} (peer codec id {}), data is not compressed",
+                        local.compression(),
+                        peerCompressionId);
+            }
+            return SyncCompressionSettings.NONE;
+        }
+        if (peerDictionaryId != local.dictionaryId()) {
+            if (local.dictionaryId() != 0) {
+                logger.info(
+                        NETWORK.getMarker(), "Peer has a different sync compression dictionary, it's not used");
+            }
+            return local.withoutDictionary();
+        }
+        return local;
+    }
+}
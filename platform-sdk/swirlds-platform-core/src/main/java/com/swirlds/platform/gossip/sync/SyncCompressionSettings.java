@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
+
+import com.swirlds.platform.network.SocketConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Compression settings of sync streams on a single connection.
+ *
+ * @param compression  the compression codec
+ * @param level        the compression level, used by this node when compressing data it sends
+ * @param dictionary   the preset dictionary, or null if no dictionary is used
+ * @param dictionaryId the id of the dictionary, used to check that peers have the same dictionary, or 0 if no
+ *                     dictionary is used
+ */
+public record SyncCompressionSettings(
+        @NonNull SyncCompression compression, int level, @Nullable byte[] dictionary, long dictionaryId) {
+
+    private static final Logger logger = LogManager.getLogger(SyncCompressionSettings.class);
+
+    /**
+     * Deflate only uses up to 32KB of a preset dictionary, the tail of the dictionary is used if it's larger
+     */
+    private static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * No compression
+     */
+    public static final SyncCompressionSettings NONE =
+            new SyncCompressionSettings(SyncCompression.NONE, Deflater.DEFAULT_COMPRESSION, null, 0);
+
+    public SyncCompressionSettings {
+        Objects.requireNonNull(compression);
+    }
+
+    /**
+     * Create compression settings of this node from the configuration. If the configured dictionary file can't be
+     * read, an error is logged, and no dictionary is used.
+     *
+     * @param socketConfig the socket configuration
+     * @return the compression settings
+     */
+    @NonNull
+    public static SyncCompressionSettings create(@NonNull final SocketConfig socketConfig) {
+        final SyncCompression compression =
+                socketConfig.syncCompression() == SyncCompression.NONE && socketConfig.gzipCompression()
+                        ? SyncCompression.DEFLATE
+                        : socketConfig.syncCompression();
+        if (compression == SyncCompression.NONE) {
+            return NONE;
+        }
+        final String dictionaryFile = socketConfig.syncCompressionDictionary();
+        if (dictionaryFile.isBlank()) {
+            return new SyncCompressionSettings(compression, socketConfig.syncCompressionLevel(), null, 0);
+        }
+        try {
+            byte[] dictionary = Files.readAllBytes(Path.of(dictionaryFile));
+            if (dictionary.length > MAX_DICTIONARY_SIZE) {
+                dictionary = Arrays.copyOfRange(dictionary, dictionary.length - MAX_DICTIONARY_SIZE, dictionary.length);
+            }
+            return new SyncCompressionSettings(
+                    compression, socketConfig.syncCompressionLevel(), dictionary, dictionaryId(dictionary));
+        } catch (final IOException e) {
+            logger.error(
+                    EXCEPTION.getMarker(), "Failed to read sync compression dictionary {}", dictionaryFile, e);
+            return new SyncCompressionSettings(compression, socketConfig.syncCompressionLevel(), null, 0);
+        }
+    }
+
+    /**
+     * Compute a dictionary id. Ids of non-empty dictionaries are never 0.
+     *
+     * @param dictionary the dictionary
+     * @return the dictionary id
+     */
+    public static long dictionaryId(@NonNull final byte[] dictionary) {
+        if (dictionary.length == 0) {
+            return 0;
+        }
+        final CRC32C crc = new CRC32C();
+        crc.update(dictionary);
+        return ((long) dictionary.length << 32) | crc.getValue();
+    }
+
+    /**
+     * Get settings with the same codec and level, but without a dictionary.
+     *
+     * @return the settings without a dictionary
+     */
+    @NonNull
+    public SyncCompressionSettings withoutDictionary() {
+        return dictionary == null ? this : new SyncCompressionSettings(compression, level, null, 0);
+    }
+}
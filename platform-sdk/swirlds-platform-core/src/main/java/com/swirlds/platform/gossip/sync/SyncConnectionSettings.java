@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import com.swirlds.config.api.Configuration;
+import com.swirlds.platform.gossip.sync.config.SyncConfig;
+import com.swirlds.platform.network.SocketConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+
+/**
+ * Settings of a single connection, which both peers must agree on before any sync data is sent, see
+ * {@link SyncCompressionNegotiator}.
+ *
+ * @param compression       the compression settings of sync streams
+ * @param setReconciliation if true then peers exchange filters of the events they have during syncs, see
+ *                          {@link SyncConfig#setReconciliation()}
+ */
+public record SyncConnectionSettings(@NonNull SyncCompressionSettings compression, boolean setReconciliation) {
+
+    /**
+     * No compression and no optional sync features
+     */
+    public static final SyncConnectionSettings NONE = new SyncConnectionSettings(SyncCompressionSettings.NONE, false);
+
+    public SyncConnectionSettings {
+        Objects.requireNonNull(compression);
+    }
+
+    /**
+     * Create connection settings of this node from the configuration.
+     *
+     * @param configuration the platform configuration
+     * @return the connection settings
+     */
+    @NonNull
+    public static SyncConnectionSettings create(@NonNull final Configuration configuration) {
+        return new SyncConnectionSettings(
+                SyncCompressionSettings.create(configuration.getConfigData(SocketConfig.class)),
+                configuration.getConfigData(SyncConfig.class).setReconciliation());
+    }
+}
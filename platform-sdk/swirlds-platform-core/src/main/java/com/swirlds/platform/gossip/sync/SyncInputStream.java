@@ -24,12 +24,9 @@ import com.swirlds.common.io.extendable.extensions.CountingStreamExtension;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.platform.network.SocketConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
 
 public class SyncInputStream extends SerializableDataInputStream {
 
@@ -45,22 +42,32 @@ public class SyncInputStream extends SerializableDataInputStream {
 
     public static SyncInputStream createSyncInputStream(
             @NonNull final PlatformContext platformContext, @NonNull final InputStream in, final int bufferSize) {
+        final SyncCompressionSettings compressionSettings = SyncCompressionSettings.create(
+                platformContext.getConfiguration().getConfigData(SocketConfig.class));
+        return createSyncInputStream(in, bufferSize, compressionSettings);
+    }
 
-        final CountingStreamExtension syncCounter = new CountingStreamExtension();
+    /**
+     * Create a sync input stream that decompresses data using the given settings. The settings must match the
+     * settings used by the peer to write the data, see {@link SyncCompressionNegotiator}.
+     *
+     * @param in                  the stream to read from
+     * @param bufferSize          the buffer size
+     * @param compressionSettings the compression settings
+     * @return the sync input stream
+     */
+    public static SyncInputStream createSyncInputStream(
+            @NonNull final InputStream in,
+            final int bufferSize,
+            @NonNull final SyncCompressionSettings compressionSettings) {
 
-        final boolean compress = platformContext
-                .getConfiguration()
-                .getConfigData(SocketConfig.class)
-                .gzipCompression();
+        final CountingStreamExtension syncCounter = new CountingStreamExtension();
 
         final InputStream meteredStream = extendInputStream(in, syncCounter);
 
-        final InputStream wrappedStream;
-        if (compress) {
-            wrappedStream = new InflaterInputStream(meteredStream, new Inflater(true), bufferSize);
-        } else {
-            wrappedStream = new BufferedInputStream(meteredStream, bufferSize);
-        }
+        final InputStream wrappedStream = compressionSettings
+                .compression()
+                .wrapInputStream(meteredStream, bufferSize, compressionSettings.dictionary());
 
         return new SyncInputStream(wrappedStream, syncCounter);
     }
@@ -30,44 +30,75 @@ import java.io.OutputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
 
 public class SyncOutputStream extends SerializableDataOutputStream {
     private final CountingStreamExtension syncByteCounter;
     private final CountingStreamExtension connectionByteCounter;
     private final AtomicReference<Instant> requestSent;
 
+    private final SyncCompressionMeter compressionMeter;
+
     protected SyncOutputStream(
             OutputStream out, CountingStreamExtension syncByteCounter, CountingStreamExtension connectionByteCounter) {
+        this(out, syncByteCounter, connectionByteCounter, new SyncCompressionMeter());
+    }
+
+    protected SyncOutputStream(
+            OutputStream out,
+            CountingStreamExtension syncByteCounter,
+            CountingStreamExtension connectionByteCounter,
+            SyncCompressionMeter compressionMeter) {
         super(out);
         this.syncByteCounter = syncByteCounter;
         this.connectionByteCounter = connectionByteCounter;
+        this.compressionMeter = compressionMeter;
         this.requestSent = new AtomicReference<>(null);
     }
 
     public static SyncOutputStream createSyncOutputStream(
             @NonNull final PlatformContext platformContext, @NonNull final OutputStream out, final int bufferSize) {
+        final SyncCompressionSettings compressionSettings = SyncCompressionSettings.create(
+                platformContext.getConfiguration().getConfigData(SocketConfig.class));
+        return createSyncOutputStream(out, bufferSize, compressionSettings);
+    }
+
+    /**
+     * Create a sync output stream that compresses data using the given settings. The settings must match the settings
+     * used by the peer to read the data, see {@link SyncCompressionNegotiator}.
+     *
+     * @param out                 the stream to write to
+     * @param bufferSize          the buffer size
+     * @param compressionSettings the compression settings
+     * @return the sync output stream
+     */
+    public static SyncOutputStream createSyncOutputStream(
+            @NonNull final OutputStream out,
+            final int bufferSize,
+            @NonNull final SyncCompressionSettings compressionSettings) {
         CountingStreamExtension syncByteCounter = new CountingStreamExtension();
         CountingStreamExtension connectionByteCounter = new CountingStreamExtension();
-
-        final boolean compress = platformContext
-                .getConfiguration()
-                .getConfigData(SocketConfig.class)
-                .gzipCompression();
+        final SyncCompressionMeter compressionMeter = new SyncCompressionMeter();
 
         final OutputStream meteredStream = extendOutputStream(out, connectionByteCounter);
 
+        final SyncCompression compression = compressionSettings.compression();
         final OutputStream wrappedStream;
-        if (compress) {
-            wrappedStream = new DeflaterOutputStream(
-                    meteredStream, new Deflater(Deflater.DEFAULT_COMPRESSION, true), bufferSize, true);
+        if (compression == SyncCompression.NONE) {
+            wrappedStream = compression.wrapOutputStream(
+                    meteredStream, bufferSize, compressionSettings.level(), compressionSettings.dictionary());
         } else {
-            wrappedStream = new BufferedOutputStream(meteredStream, bufferSize);
+            // the data is buffered before it's compressed, so small writes don't reach the compressor one by one
+            final OutputStream compressingStream = compression.wrapOutputStream(
+                    compressionMeter.meterCompressed(meteredStream),
+                    bufferSize,
+                    compressionSettings.level(),
+                    compressionSettings.dictionary());
+            wrappedStream =
+                    new BufferedOutputStream(compressionMeter.meterUncompressed(compressingStream), bufferSize);
         }
 
         // we write the data to the buffer first, for efficiency
-        return new SyncOutputStream(wrappedStream, syncByteCounter, connectionByteCounter);
+        return new SyncOutputStream(wrappedStream, syncByteCounter, connectionByteCounter, compressionMeter);
     }
 
     public CountingStreamExtension getSyncByteCounter() {
@@ -78,6 +109,13 @@ public class SyncOutputStream extends SerializableDataOutputStream {
         return connectionByteCounter;
     }
 
+    /**
+     * @return the meter of data compression on this stream
+     */
+    public SyncCompressionMeter getCompressionMeter() {
+        return compressionMeter;
+    }
+
     /**
      * Write to the {@link SyncOutputStream} the hashes of the tip events from this node's shadow graph
      *
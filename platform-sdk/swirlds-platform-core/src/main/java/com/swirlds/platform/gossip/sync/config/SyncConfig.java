@@ -50,6 +50,17 @@ import java.time.Duration;
  * @param minimumHealthyUnrevokedPermitCount the minimum number of permits that must be unrevoked when the system is in
  *                                           a healthy state. If non-zero, this means that this number of permits is
  *                                           immediately returned as soon as the system becomes healthy.
+ * @param setReconciliation                  if true then during a sync, peers exchange Bloom filters of the events they
+ *                                           have that the other peer may not know about, and don't send events that the
+ *                                           other peer already has. Filters are only exchanged on connections where
+ *                                           both peers have this enabled, which is agreed on when a connection is
+ *                                           established, so it can be enabled on some nodes before others
+ * @param setReconciliationFalsePositiveRate ignored if {@link #setReconciliation} is false. The false positive rate of
+ *                                           the exchanged filters. An event that is a false positive is not sent in
+ *                                           that sync, it is sent in a later sync
+ * @param maxSetReconciliationFilterBytes    ignored if {@link #setReconciliation} is false. The maximum size of a
+ *                                           filter. If a larger filter would be needed, an empty filter is sent and the
+ *                                           peer sends all events it would send without a filter
  */
 @ConfigData("sync")
 public record SyncConfig(
@@ -66,4 +77,7 @@ public record SyncConfig(
         @ConfigProperty(defaultValue = "1s") Duration unhealthyGracePeriod,
         @ConfigProperty(defaultValue = "5") double permitsRevokedPerSecond,
         @ConfigProperty(defaultValue = "0.1") double permitsReturnedPerSecond,
-        @ConfigProperty(defaultValue = "1") int minimumHealthyUnrevokedPermitCount) {}
+        @ConfigProperty(defaultValue = "1") int minimumHealthyUnrevokedPermitCount,
+        @ConfigProperty(defaultValue = "false") boolean setReconciliation,
+        @ConfigProperty(defaultValue = "0.01") double setReconciliationFalsePositiveRate,
+        @ConfigProperty(defaultValue = "1048576") int maxSetReconciliationFilterBytes) {}
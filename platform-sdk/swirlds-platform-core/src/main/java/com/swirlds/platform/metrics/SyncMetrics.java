@@ -30,6 +30,7 @@ import com.swirlds.platform.consensus.EventWindow;
 import com.swirlds.platform.gossip.shadowgraph.ShadowgraphSynchronizer;
 import com.swirlds.platform.gossip.shadowgraph.SyncResult;
 import com.swirlds.platform.gossip.shadowgraph.SyncTiming;
+import com.swirlds.platform.gossip.sync.SyncCompressionMeter;
 import com.swirlds.platform.network.Connection;
 import com.swirlds.platform.stats.AverageAndMax;
 import com.swirlds.platform.stats.AverageAndMaxTimeStat;
@@ -95,6 +96,38 @@ public class SyncMetrics {
             .withDescription("the average time spent filtering events during a sync")
             .withUnit("nanoseconds");
 
+    private static final RunningAverageMetric.Config SYNC_COMPRESSION_RATIO_CONFIG = new RunningAverageMetric.Config(
+                    PLATFORM_CATEGORY, "syncCompressionRatio")
+            .withDescription("the average ratio of uncompressed to compressed bytes sent during a sync")
+            .withFormat(FORMAT_8_1);
+    private final RunningAverageMetric syncCompressionRatio;
+
+    private static final RunningAverageMetric.Config SYNC_COMPRESSION_TIME_CONFIG = new RunningAverageMetric.Config(
+                    PLATFORM_CATEGORY, "syncCompressionTime")
+            .withDescription("the average time spent compressing data sent during a sync")
+            .withUnit("microseconds");
+    private final RunningAverageMetric syncCompressionTime;
+
+    private static final RunningAverageMetric.Config BYTES_PER_SYNC_CONFIG = new RunningAverageMetric.Config(
+                    PLATFORM_CATEGORY, "bytesPerSync")
+            .withDescription("the average number of bytes sent and received during a sync")
+            .withUnit("bytes")
+            .withFormat(FORMAT_10_3);
+    private final RunningAverageMetric bytesPerSync;
+
+    private static final RunningAverageMetric.Config SET_RECONCILIATION_FILTER_BYTES_CONFIG =
+            new RunningAverageMetric.Config(PLATFORM_CATEGORY, "setReconciliationFilterBytes")
+                    .withDescription("the average size of the event filter sent during a sync")
+                    .withUnit("bytes")
+                    .withFormat(FORMAT_10_3);
+    private final RunningAverageMetric setReconciliationFilterBytes;
+
+    private static final RunningAverageMetric.Config SET_RECONCILIATION_SKIPPED_EVENTS_CONFIG =
+            new RunningAverageMetric.Config(PLATFORM_CATEGORY, "setReconciliationSkippedEvents")
+                    .withDescription("the average number of events per sync not sent because the peer already has them")
+                    .withFormat(FORMAT_10_3);
+    private final RunningAverageMetric setReconciliationSkippedEvents;
+
     private static final CountPerSecond.Config DO_NOT_SYNC_PLATFORM_STATUS = new CountPerSecond.Config(
                     PLATFORM_CATEGORY, "doNotSyncPlatformStatus")
             .withUnit("hz")
@@ -171,6 +204,11 @@ public class SyncMetrics {
         outgoingSyncRequestsPerSec = new CountPerSecond(metrics, OUTGOING_SYNC_REQUESTS_CONFIG);
         syncsPerSec = new CountPerSecond(metrics, SYNCS_PER_SECOND_CONFIG);
         syncFilterTime = metrics.getOrCreate(SYNC_FILTER_TIME_CONFIG);
+        syncCompressionRatio = metrics.getOrCreate(SYNC_COMPRESSION_RATIO_CONFIG);
+        syncCompressionTime = metrics.getOrCreate(SYNC_COMPRESSION_TIME_CONFIG);
+        bytesPerSync = metrics.getOrCreate(BYTES_PER_SYNC_CONFIG);
+        setReconciliationFilterBytes = metrics.getOrCreate(SET_RECONCILIATION_FILTER_BYTES_CONFIG);
+        setReconciliationSkippedEvents = metrics.getOrCreate(SET_RECONCILIATION_SKIPPED_EVENTS_CONFIG);
 
         doNoSyncPlatformStatus = new CountPerSecond(metrics, DO_NOT_SYNC_PLATFORM_STATUS);
         doNotSyncCooldown = new CountPerSecond(metrics, DO_NOT_SYNC_COOLDOWN_CONFIG);
@@ -305,6 +343,18 @@ public class SyncMetrics {
 
         // set the bytes/sec speed of the sync currently measured
         avgBytesPerSecSync.update(speed);
+        bytesPerSync.update(conn.getDis().getSyncByteCounter().getCount()
+                + conn.getDos().getSyncByteCounter().getCount());
+
+        // data sent since the previous sync on this connection is accounted to this sync
+        final SyncCompressionMeter compressionMeter = conn.getDos().getCompressionMeter();
+        if (compressionMeter.getCompressedBytes() > 0) {
+            syncCompressionRatio.update(
+                    (double) compressionMeter.getUncompressedBytes() / compressionMeter.getCompressedBytes());
+            syncCompressionTime.update(
+                    compressionMeter.getCompressionNanos() * UnitConstants.NANOSECONDS_TO_MICROSECONDS);
+        }
+        compressionMeter.reset();
     }
 
     /**
@@ -382,6 +432,17 @@ public class SyncMetrics {
         outgoingSyncRequestsPerSec.count();
     }
 
+    /**
+     * Record the outcome of set reconciliation during a sync.
+     *
+     * @param filterBytes   the size of the event filter sent to the peer
+     * @param skippedEvents the number of events not sent because the peer's filter showed it already has them
+     */
+    public void recordSetReconciliation(final int filterBytes, final int skippedEvents) {
+        setReconciliationFilterBytes.update(filterBytes);
+        setReconciliationSkippedEvents.update(skippedEvents);
+    }
+
     /**
      * Record the amount of time spent filtering events during a sync.
      *
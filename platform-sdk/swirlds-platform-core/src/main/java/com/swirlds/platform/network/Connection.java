@@ -105,6 +105,16 @@ public interface Connection {
      */
     boolean isOutbound();
 
+    /**
+     * Whether both peers agreed to exchange filters of the events they have during syncs on this connection, see
+     * {@link com.swirlds.platform.gossip.sync.SyncConnectionSettings#setReconciliation()}.
+     *
+     * @return true if set reconciliation is used on this connection, false otherwise
+     */
+    default boolean isSetReconciliationEnabled() {
+        return false;
+    }
+
     /**
      * @return a string description of this connection
      */
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.network;
+
+/**
+ * Types of threads used to run gossip peer connections: protocol negotiation and protocol execution for every
+ * peer, parallel reads and writes during syncs, and inbound connection handshakes.
+ */
+public enum ConnectionThreadMode {
+    /**
+     * Every peer connection is served by dedicated platform threads. The number of OS threads grows linearly with
+     * the number of peers.
+     */
+    PLATFORM_THREADS,
+    /**
+     * Every peer connection is served by virtual threads. Blocking socket reads and writes on virtual threads
+     * are performed by the JDK using non-blocking NIO channels and a small number of poller threads, so all peer
+     * connections share a small pool of carrier threads.
+     */
+    VIRTUAL_THREADS
+}
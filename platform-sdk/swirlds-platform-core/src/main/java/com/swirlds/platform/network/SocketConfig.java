@@ -18,6 +18,9 @@ package com.swirlds.platform.network;
 
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
+import com.swirlds.config.api.validation.annotation.Max;
+import com.swirlds.config.api.validation.annotation.Min;
+import com.swirlds.platform.gossip.sync.SyncCompression;
 
 /**
  * Configuration for sockets
@@ -34,7 +37,17 @@ import com.swirlds.config.api.ConfigProperty;
  * @param useLoopbackIp              should be set to true when using the internet simulator
  * @param tcpNoDelay                 if true, then Nagel's algorithm is disabled, which helps latency, hurts bandwidth
  *                                   usage
- * @param gzipCompression            whether to use gzip compression over the network
+ * @param gzipCompression            whether to use gzip compression over the network. Same as setting
+ *                                   {@code syncCompression} to {@link SyncCompression#DEFLATE}, kept for
+ *                                   compatibility with existing configuration files
+ * @param syncCompression            the compression codec to offer to peers for sync streams. The codec is only
+ *                                   used on a connection if the peer offers the same codec
+ * @param syncCompressionLevel       the compression level used when compressing sync streams, -1 for the default
+ *                                   level of the codec
+ * @param syncCompressionDictionary  path to a preset compression dictionary file, for example built from recorded
+ *                                   serialized events, or an empty string to not use a dictionary. The dictionary
+ *                                   is only used on a connection if the peer has the same dictionary
+ * @param connectionThreadMode       types of threads to serve peer connections, see {@link ConnectionThreadMode}
  */
 @ConfigData("socket")
 public record SocketConfig(
@@ -45,4 +58,8 @@ public record SocketConfig(
         @ConfigProperty(defaultValue = "5000") int timeoutServerAcceptConnect,
         @ConfigProperty(defaultValue = "false") boolean useLoopbackIp,
         @ConfigProperty(defaultValue = "true") boolean tcpNoDelay,
-        @ConfigProperty(defaultValue = "false") boolean gzipCompression) {}
+        @ConfigProperty(defaultValue = "false") boolean gzipCompression,
+        @ConfigProperty(defaultValue = "NONE") SyncCompression syncCompression,
+        @Min(-1) @Max(9) @ConfigProperty(defaultValue = "-1") int syncCompressionLevel,
+        @ConfigProperty(defaultValue = "") String syncCompressionDictionary,
+        @ConfigProperty(defaultValue = "PLATFORM_THREADS") ConnectionThreadMode connectionThreadMode) {}
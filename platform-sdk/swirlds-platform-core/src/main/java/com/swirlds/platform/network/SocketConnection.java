@@ -50,6 +50,7 @@ public class SocketConnection implements Connection {
     private final boolean outbound;
     private final String description;
     private final Configuration configuration;
+    private final boolean setReconciliation;
 
     /**
      * @param connectionTracker tracks open connections
@@ -70,6 +71,30 @@ public class SocketConnection implements Connection {
             final SyncInputStream dis,
             final SyncOutputStream dos,
             final Configuration configuration) {
+        this(selfId, otherId, connectionTracker, outbound, socket, dis, dos, configuration, false);
+    }
+
+    /**
+     * @param connectionTracker tracks open connections
+     * @param selfId            the ID number of the local member
+     * @param otherId           the ID number of the other member
+     * @param outbound          is the connection outbound
+     * @param socket            the socket connecting the two members over TCP/IP
+     * @param dis               the input stream
+     * @param dos               the output stream
+     * @param configuration     the configuration from the platform
+     * @param setReconciliation whether both members agreed to use set reconciliation on this connection
+     */
+    protected SocketConnection(
+            final NodeId selfId,
+            final NodeId otherId,
+            final ConnectionTracker connectionTracker,
+            final boolean outbound,
+            final Socket socket,
+            final SyncInputStream dis,
+            final SyncOutputStream dos,
+            final Configuration configuration,
+            final boolean setReconciliation) {
         Objects.requireNonNull(socket);
         Objects.requireNonNull(dis);
         Objects.requireNonNull(dos);
@@ -85,6 +110,7 @@ public class SocketConnection implements Connection {
         this.dis = dis;
         this.dos = dos;
         this.configuration = configuration;
+        this.setReconciliation = setReconciliation;
     }
 
     /**
@@ -108,8 +134,34 @@ public class SocketConnection implements Connection {
             final SyncInputStream dis,
             final SyncOutputStream dos,
             final Configuration configuration) {
-        final SocketConnection c =
-                new SocketConnection(selfId, otherId, connectionTracker, outbound, socket, dis, dos, configuration);
+        return create(selfId, otherId, connectionTracker, outbound, socket, dis, dos, configuration, false);
+    }
+
+    /**
+     * Creates a new connection instance
+     *
+     * @param connectionTracker tracks open connections
+     * @param selfId            the ID number of the local member
+     * @param otherId           the ID number of the other member
+     * @param outbound          is the connection outbound
+     * @param socket            the socket connecting the two members over TCP/IP
+     * @param dis               the input stream
+     * @param dos               the output stream
+     * @param configuration     the configuration from the platform
+     * @param setReconciliation whether both members agreed to use set reconciliation on this connection
+     */
+    public static SocketConnection create(
+            final NodeId selfId,
+            final NodeId otherId,
+            final ConnectionTracker connectionTracker,
+            final boolean outbound,
+            final Socket socket,
+            final SyncInputStream dis,
+            final SyncOutputStream dos,
+            final Configuration configuration,
+            final boolean setReconciliation) {
+        final SocketConnection c = new SocketConnection(
+                selfId, otherId, connectionTracker, outbound, socket, dis, dos, configuration, setReconciliation);
         connectionTracker.newConnectionOpened(c);
         return c;
     }
@@ -207,6 +259,11 @@ public class SocketConnection implements Connection {
         return outbound;
     }
 
+    @Override
+    public boolean isSetReconciliationEnabled() {
+        return setReconciliation;
+    }
+
     @Override
     public String getDescription() {
         return description;
@@ -27,6 +27,7 @@ import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -59,12 +60,32 @@ public class ConnectionServer implements InterruptableRunnable {
             final int port,
             final SocketFactory socketFactory,
             final Consumer<Socket> newConnectionHandler) {
+        this(threadManager, port, socketFactory, newConnectionHandler, false);
+    }
+
+    /**
+     * @param threadManager        responsible for managing thread lifecycles
+     * @param port                 the port ot use
+     * @param socketFactory        responsible for creating new sockets
+     * @param newConnectionHandler handles a new connection after it has been created
+     * @param virtualThreads       if true, new connections are handled on virtual threads
+     */
+    public ConnectionServer(
+            final ThreadManager threadManager,
+            final int port,
+            final SocketFactory socketFactory,
+            final Consumer<Socket> newConnectionHandler,
+            final boolean virtualThreads) {
         this.port = port;
         this.newConnectionHandler = newConnectionHandler;
         this.socketFactory = socketFactory;
-        this.incomingConnPool = Executors.newCachedThreadPool(new ThreadConfiguration(threadManager)
+        final ThreadFactory threadFactory = new ThreadConfiguration(threadManager)
                 .setThreadName("sync_server")
-                .buildFactory());
+                .setVirtual(virtualThreads)
+                .buildFactory();
+        this.incomingConnPool = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(threadFactory)
+                : Executors.newCachedThreadPool(threadFactory);
     }
 
     @Override
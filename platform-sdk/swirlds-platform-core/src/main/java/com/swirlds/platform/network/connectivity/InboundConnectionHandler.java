@@ -24,6 +24,8 @@ import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.threading.interrupt.InterruptableConsumer;
 import com.swirlds.common.utility.throttle.RateLimitedLogger;
+import com.swirlds.platform.gossip.sync.SyncCompressionNegotiator;
+import com.swirlds.platform.gossip.sync.SyncConnectionSettings;
 import com.swirlds.platform.gossip.sync.SyncInputStream;
 import com.swirlds.platform.gossip.sync.SyncOutputStream;
 import com.swirlds.platform.network.Connection;
@@ -51,6 +53,7 @@ public class InboundConnectionHandler {
     private final NodeId selfId;
     private final InterruptableConsumer<Connection> newConnectionConsumer;
     private final SocketConfig socketConfig;
+    private final SyncConnectionSettings connectionSettings;
     /** Rate Limited Logger for SocketExceptions */
     private final RateLimitedLogger socketExceptionLogger;
 
@@ -82,6 +85,7 @@ public class InboundConnectionHandler {
         this.time = Objects.requireNonNull(time);
         this.socketExceptionLogger = new RateLimitedLogger(logger, time, Duration.ofMinutes(1));
         this.socketConfig = platformContext.getConfiguration().getConfigData(SocketConfig.class);
+        this.connectionSettings = SyncConnectionSettings.create(platformContext.getConfiguration());
         this.networkPeerIdentifier = networkPeerIdentifier;
     }
 
@@ -106,10 +110,12 @@ public class InboundConnectionHandler {
             }
             final NodeId otherId = connectedPeer.nodeId();
 
+            final SyncConnectionSettings negotiated = SyncCompressionNegotiator.negotiate(
+                    clientSocket.getInputStream(), clientSocket.getOutputStream(), connectionSettings);
             final SyncInputStream sis = SyncInputStream.createSyncInputStream(
-                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize());
+                    clientSocket.getInputStream(), socketConfig.bufferSize(), negotiated.compression());
             final SyncOutputStream sos = SyncOutputStream.createSyncOutputStream(
-                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize());
+                    clientSocket.getOutputStream(), socketConfig.bufferSize(), negotiated.compression());
 
             final SocketConnection sc = SocketConnection.create(
                     selfId,
@@ -119,7 +125,8 @@ public class InboundConnectionHandler {
                     clientSocket,
                     sis,
                     sos,
-                    platformContext.getConfiguration());
+                    platformContext.getConfiguration(),
+                    negotiated.setReconciliation());
             newConnectionConsumer.accept(sc);
         } catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -23,6 +23,8 @@ import static com.swirlds.logging.legacy.LogMarker.TCP_CONNECT_EXCEPTIONS;
 
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.platform.NodeId;
+import com.swirlds.platform.gossip.sync.SyncCompressionNegotiator;
+import com.swirlds.platform.gossip.sync.SyncConnectionSettings;
 import com.swirlds.platform.gossip.sync.SyncInputStream;
 import com.swirlds.platform.gossip.sync.SyncOutputStream;
 import com.swirlds.platform.network.Connection;
@@ -55,6 +57,7 @@ public class OutboundConnectionCreator {
     private final SocketFactory socketFactory;
     private final AddressBook addressBook;
     private final PlatformContext platformContext;
+    private final SyncConnectionSettings connectionSettings;
 
     public OutboundConnectionCreator(
             @NonNull final PlatformContext platformContext,
@@ -68,6 +71,7 @@ public class OutboundConnectionCreator {
         this.socketFactory = Objects.requireNonNull(socketFactory);
         this.addressBook = Objects.requireNonNull(addressBook);
         this.socketConfig = platformContext.getConfiguration().getConfigData(SocketConfig.class);
+        this.connectionSettings = SyncConnectionSettings.create(platformContext.getConfiguration());
     }
 
     /**
@@ -90,10 +94,12 @@ public class OutboundConnectionCreator {
         try {
             clientSocket = socketFactory.createClientSocket(hostname, port);
 
+            final SyncConnectionSettings negotiated = SyncCompressionNegotiator.negotiate(
+                    clientSocket.getInputStream(), clientSocket.getOutputStream(), connectionSettings);
             dos = SyncOutputStream.createSyncOutputStream(
-                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize());
+                    clientSocket.getOutputStream(), socketConfig.bufferSize(), negotiated.compression());
             dis = SyncInputStream.createSyncInputStream(
-                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize());
+                    clientSocket.getInputStream(), socketConfig.bufferSize(), negotiated.compression());
 
             logger.debug(NETWORK.getMarker(), "`connect` : finished, {} connected to {}", selfId, otherId);
 
@@ -105,7 +111,8 @@ public class OutboundConnectionCreator {
                     clientSocket,
                     dis,
                     dos,
-                    platformContext.getConfiguration());
+                    platformContext.getConfiguration(),
+                    negotiated.setReconciliation());
         } catch (final SocketTimeoutException | SocketException e) {
             NetworkUtils.close(clientSocket, dis, dos);
             logger.debug(
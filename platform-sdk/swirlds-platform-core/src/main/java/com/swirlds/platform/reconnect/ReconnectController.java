@@ -19,6 +19,7 @@ package com.swirlds.platform.reconnect;
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
 
+import com.swirlds.common.merkle.synchronization.LearnerSubtreeDispatcher;
 import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
 import com.swirlds.common.threading.BlockingResourceProvider;
 import com.swirlds.common.threading.framework.config.ThreadConfiguration;
@@ -31,6 +32,7 @@ import com.swirlds.platform.state.signed.SignedStateValidator;
 import com.swirlds.platform.system.SystemExitCode;
 import com.swirlds.platform.system.SystemExitUtils;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.Semaphore;
@@ -51,6 +53,10 @@ public class ReconnectController implements Runnable {
     private final AtomicReference<SignedStateValidator> validator = new AtomicReference<>();
     private final ThreadManager threadManager;
     private final Duration minTimeBetweenReconnects;
+    /** the maximum number of helper teachers per reconnect attempt, or 0 if helpers are disabled */
+    private final int maxHelperTeachers;
+    /** distributes subtrees between the learner and helper learners during the current reconnect attempt */
+    private final AtomicReference<LearnerSubtreeDispatcher> subtreeDispatcher = new AtomicReference<>();
 
     /**
      * @param reconnectConfig configuration for reconnect
@@ -69,6 +75,7 @@ public class ReconnectController implements Runnable {
         this.threadRunning = new Semaphore(1);
         this.connectionProvider = new BlockingResourceProvider<>();
         this.minTimeBetweenReconnects = reconnectConfig.minimumTimeBetweenReconnects();
+        this.maxHelperTeachers = reconnectConfig.maxHelperTeachers();
     }
 
     /**
@@ -107,11 +114,14 @@ public class ReconnectController implements Runnable {
     private boolean executeReconnect() throws InterruptedException {
         helper.prepareForReconnect();
 
+        final LearnerSubtreeDispatcher dispatcher =
+                maxHelperTeachers > 0 ? new LearnerSubtreeDispatcher(maxHelperTeachers) : null;
+        subtreeDispatcher.set(dispatcher);
         logger.info(RECONNECT.getMarker(), "waiting for reconnect connection");
         try (final LockedResource<Connection> connection = connectionProvider.waitForResource()) {
             logger.info(RECONNECT.getMarker(), "acquired reconnect connection");
             try (final ReservedSignedState reservedState =
-                    helper.receiveSignedState(connection.getResource(), validator.get())) {
+                    helper.receiveSignedState(connection.getResource(), validator.get(), dispatcher)) {
 
                 if (!helper.loadSignedState(reservedState.get())) {
                     return false;
@@ -120,6 +130,12 @@ public class ReconnectController implements Runnable {
         } catch (final RuntimeException e) {
             logger.info(RECONNECT.getMarker(), "receiving signed state failed", e);
             return false;
+        } finally {
+            subtreeDispatcher.set(null);
+            if (dispatcher != null) {
+                // Make sure no helpers are left waiting for subtrees, if the attempt failed early
+                dispatcher.abort();
+            }
         }
         resumeGossip.run();
         return true;
@@ -151,6 +167,37 @@ public class ReconnectController implements Runnable {
         connectionProvider.releaseProvidePermit();
     }
 
+    /**
+     * Try to acquire a permit to receive subtrees of the state from a helper teacher. Only possible if helper teachers
+     * are enabled, and a reconnect attempt is receiving a state from another peer.
+     *
+     * @return the dispatcher of the current reconnect attempt if the permit has been acquired, otherwise null. The
+     * permit must be released with {@link LearnerSubtreeDispatcher#removeHelper()}, unless the dispatcher is passed to
+     * {@link #provideHelperConnection(Connection, LearnerSubtreeDispatcher)}
+     */
+    @Nullable
+    public LearnerSubtreeDispatcher acquireHelperPermit() {
+        final LearnerSubtreeDispatcher dispatcher = subtreeDispatcher.get();
+        return dispatcher != null && dispatcher.tryAddHelper() ? dispatcher : null;
+    }
+
+    /**
+     * Provides a connection over which a reconnect helper has been already negotiated. This method should only be
+     * called with a dispatcher returned by {@link #acquireHelperPermit()}. This method blocks until there are no more
+     * subtrees to receive, and releases the helper permit.
+     *
+     * @param connection the connection to the helper teacher
+     * @param dispatcher the dispatcher returned by {@link #acquireHelperPermit()}
+     */
+    public void provideHelperConnection(
+            @NonNull final Connection connection, @NonNull final LearnerSubtreeDispatcher dispatcher) {
+        try {
+            helper.receiveSubtrees(connection, dispatcher);
+        } finally {
+            dispatcher.removeHelper();
+        }
+    }
+
     /**
      * Provides a connection over which a reconnect learner has been already negotiated. This method should only be
      * called if {@link #acquireLearnerPermit()} has returned true previously. This method blocks until the reconnect is
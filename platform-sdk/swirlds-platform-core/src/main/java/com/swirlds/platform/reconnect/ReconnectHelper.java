@@ -19,6 +19,7 @@ package com.swirlds.platform.reconnect;
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
 
+import com.swirlds.common.merkle.synchronization.LearnerSubtreeDispatcher;
 import com.swirlds.common.utility.Clearable;
 import com.swirlds.logging.legacy.payload.ReconnectFinishPayload;
 import com.swirlds.logging.legacy.payload.ReconnectLoadFailurePayload;
@@ -29,6 +30,8 @@ import com.swirlds.platform.state.MerkleRoot;
 import com.swirlds.platform.state.signed.ReservedSignedState;
 import com.swirlds.platform.state.signed.SignedState;
 import com.swirlds.platform.state.signed.SignedStateValidator;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
@@ -107,8 +110,31 @@ public class ReconnectHelper {
      */
     public ReservedSignedState receiveSignedState(final Connection conn, final SignedStateValidator validator)
             throws ReconnectException {
+        return receiveSignedState(conn, validator, null);
+    }
+
+    /**
+     * Attempts to receive a new signed state by reconnecting with the specified neighbor, and possibly with helper
+     * teachers.
+     *
+     * @param conn
+     * 		the connection to use for the reconnect attempt
+     * @param validator
+     * 		validates the received state
+     * @param dispatcher
+     * 		distributes subtrees between the learner and helper learners, or null to receive the whole state from the
+     * 		specified neighbor
+     * @return the signed state received
+     * @throws ReconnectException
+     * 		if any error occurs during the reconnect attempt
+     */
+    public ReservedSignedState receiveSignedState(
+            final Connection conn,
+            final SignedStateValidator validator,
+            @Nullable final LearnerSubtreeDispatcher dispatcher)
+            throws ReconnectException {
         try {
-            final ReservedSignedState reservedState = reconnectLearner(conn, validator);
+            final ReservedSignedState reservedState = reconnectLearner(conn, validator, dispatcher);
             reconnectLearnerThrottle.successfulReconnect();
             return reservedState;
         } catch (final RuntimeException e) {
@@ -117,7 +143,8 @@ public class ReconnectHelper {
         }
     }
 
-    private ReservedSignedState reconnectLearner(final Connection conn, final SignedStateValidator validator)
+    private ReservedSignedState reconnectLearner(
+            final Connection conn, final SignedStateValidator validator, final LearnerSubtreeDispatcher dispatcher)
             throws ReconnectException {
 
         logger.info(RECONNECT.getMarker(), () -> new ReconnectStartPayload(
@@ -128,7 +155,7 @@ public class ReconnectHelper {
                         lastCompleteRoundSupplier.getAsLong())
                 .toString());
 
-        final ReconnectLearner reconnect = reconnectLearnerFactory.create(conn, workingStateSupplier.get());
+        final ReconnectLearner reconnect = reconnectLearnerFactory.create(conn, workingStateSupplier.get(), dispatcher);
 
         final ReservedSignedState reservedState = reconnect.execute(validator);
 
@@ -152,6 +179,29 @@ public class ReconnectHelper {
         return reservedState;
     }
 
+    /**
+     * Receives subtrees of the state from a helper teacher, while the rest of the state is received by {@link
+     * #receiveSignedState(Connection, SignedStateValidator, LearnerSubtreeDispatcher)}. Failures are not counted by
+     * the learner throttle here, as a failed helper fails the whole reconnect attempt, which is counted once.
+     *
+     * @param conn       the connection to the helper teacher
+     * @param dispatcher distributes subtrees between the learner and helper learners
+     */
+    public void receiveSubtrees(@NonNull final Connection conn, @NonNull final LearnerSubtreeDispatcher dispatcher) {
+        logger.info(RECONNECT.getMarker(), "Receiving subtrees from helper teacher {}", conn.getOtherId());
+        try {
+            final int subtreesReceived = reconnectLearnerFactory.createSubtreeLearner(conn, dispatcher).execute();
+            logger.info(
+                    RECONNECT.getMarker(),
+                    "Received {} subtrees from helper teacher {}",
+                    subtreesReceived,
+                    conn.getOtherId());
+        } catch (final RuntimeException e) {
+            logger.info(
+                    RECONNECT.getMarker(), "Receiving subtrees from helper teacher {} failed", conn.getOtherId(), e);
+        }
+    }
+
     /**
      * Used to load the state received from the sender.
      *
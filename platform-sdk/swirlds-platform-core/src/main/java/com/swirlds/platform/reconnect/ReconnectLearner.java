@@ -22,6 +22,7 @@ import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.io.streams.MerkleDataInputStream;
 import com.swirlds.common.io.streams.MerkleDataOutputStream;
+import com.swirlds.common.merkle.synchronization.LearnerSubtreeDispatcher;
 import com.swirlds.common.merkle.synchronization.LearningSynchronizer;
 import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
 import com.swirlds.common.threading.manager.ThreadManager;
@@ -38,6 +39,7 @@ import com.swirlds.platform.state.signed.SignedStateValidationData;
 import com.swirlds.platform.state.signed.SignedStateValidator;
 import com.swirlds.platform.system.address.AddressBook;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.net.SocketException;
 import java.time.Duration;
@@ -69,6 +71,12 @@ public class ReconnectLearner {
 
     private final ThreadManager threadManager;
 
+    /**
+     * Distributes subtrees between this learner and helper learners, or null if the state is received from a single
+     * teacher.
+     */
+    private final LearnerSubtreeDispatcher dispatcher;
+
     /**
      * @param threadManager
      * 		responsible for managing thread lifecycles
@@ -91,6 +99,43 @@ public class ReconnectLearner {
             @NonNull final MerkleRoot currentState,
             @NonNull final Duration reconnectSocketTimeout,
             @NonNull final ReconnectMetrics statistics) {
+        this(
+                platformContext,
+                threadManager,
+                connection,
+                addressBook,
+                currentState,
+                reconnectSocketTimeout,
+                statistics,
+                null);
+    }
+
+    /**
+     * @param threadManager
+     * 		responsible for managing thread lifecycles
+     * @param connection
+     * 		the connection to use for the reconnect
+     * @param addressBook
+     * 		the current address book
+     * @param currentState
+     * 		the most recent state from the learner
+     * @param reconnectSocketTimeout
+     * 		the amount of time that should be used for the socket timeout
+     * @param statistics
+     * 		reconnect metrics
+     * @param dispatcher
+     * 		distributes subtrees between this learner and helper learners, or null to receive the whole state from
+     * 		this connection. Must not be null if helper teachers are enabled in the configuration
+     */
+    public ReconnectLearner(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final ThreadManager threadManager,
+            @NonNull final Connection connection,
+            @NonNull final AddressBook addressBook,
+            @NonNull final MerkleRoot currentState,
+            @NonNull final Duration reconnectSocketTimeout,
+            @NonNull final ReconnectMetrics statistics,
+            @Nullable final LearnerSubtreeDispatcher dispatcher) {
 
         currentState.throwIfImmutable("Can not perform reconnect with immutable state");
         currentState.throwIfDestroyed("Can not perform reconnect with destroyed state");
@@ -102,6 +147,7 @@ public class ReconnectLearner {
         this.currentState = Objects.requireNonNull(currentState);
         this.reconnectSocketTimeout = Objects.requireNonNull(reconnectSocketTimeout);
         this.statistics = Objects.requireNonNull(statistics);
+        this.dispatcher = dispatcher;
 
         // Save some of the current state data for validation
         this.stateValidationData = new SignedStateValidationData(currentState.getReadablePlatformState(), addressBook);
@@ -154,6 +200,11 @@ public class ReconnectLearner {
         increaseSocketTimeout();
         ReservedSignedState reservedSignedState = null;
         try {
+            if (dispatcher != null) {
+                // Let the teacher know it's the primary teacher rather than a helper
+                connection.getDos().writeBoolean(false);
+                connection.getDos().flush();
+            }
             receiveSignatures();
             reservedSignedState = reconnect();
             validator.validate(reservedSignedState.get(), addressBook, stateValidationData);
@@ -199,7 +250,8 @@ public class ReconnectLearner {
                 currentState,
                 connection::disconnect,
                 reconnectConfig,
-                platformContext.getMetrics());
+                platformContext.getMetrics(),
+                dispatcher);
         synchronizer.synchronize();
 
         final MerkleRoot state = (MerkleRoot) synchronizer.getRoot();
@@ -232,6 +284,10 @@ public class ReconnectLearner {
     private void receiveSignatures() throws IOException {
         logger.info(RECONNECT.getMarker(), "Receiving signed state signatures");
         sigSet = connection.getDis().readSerializable();
+        if (dispatcher != null) {
+            // Helper teachers are only used if they have a state for the same round
+            dispatcher.setRound(connection.getDis().readLong());
+        }
 
         final StringBuilder sb = new StringBuilder();
         sb.append("Received signatures from nodes ");
@@ -17,12 +17,14 @@
 package com.swirlds.platform.reconnect;
 
 import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.merkle.synchronization.LearnerSubtreeDispatcher;
 import com.swirlds.common.threading.manager.ThreadManager;
 import com.swirlds.platform.metrics.ReconnectMetrics;
 import com.swirlds.platform.network.Connection;
 import com.swirlds.platform.state.MerkleRoot;
 import com.swirlds.platform.system.address.AddressBook;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Duration;
 import java.util.Objects;
 
@@ -64,7 +66,40 @@ public class ReconnectLearnerFactory {
      * @return a new instance
      */
     public ReconnectLearner create(final Connection conn, final MerkleRoot workingState) {
+        return create(conn, workingState, null);
+    }
+
+    /**
+     * Create an instance of {@link ReconnectLearner}, which may receive some subtrees from helper teachers
+     *
+     * @param conn         the connection to use
+     * @param workingState the state to use to perform a delta based reconnect
+     * @param dispatcher   distributes subtrees between the learner and helper learners, or null to receive the whole
+     *                     state from the given connection
+     * @return a new instance
+     */
+    public ReconnectLearner create(
+            final Connection conn, final MerkleRoot workingState, @Nullable final LearnerSubtreeDispatcher dispatcher) {
         return new ReconnectLearner(
-                platformContext, threadManager, conn, addressBook, workingState, reconnectSocketTimeout, statistics);
+                platformContext,
+                threadManager,
+                conn,
+                addressBook,
+                workingState,
+                reconnectSocketTimeout,
+                statistics,
+                dispatcher);
+    }
+
+    /**
+     * Create an instance of {@link ReconnectSubtreeLearner}
+     *
+     * @param conn       the connection to the helper teacher
+     * @param dispatcher distributes subtrees between the primary learner and helper learners
+     * @return a new instance
+     */
+    public ReconnectSubtreeLearner createSubtreeLearner(
+            @NonNull final Connection conn, @NonNull final LearnerSubtreeDispatcher dispatcher) {
+        return new ReconnectSubtreeLearner(platformContext, threadManager, conn, reconnectSocketTimeout, dispatcher);
     }
 }
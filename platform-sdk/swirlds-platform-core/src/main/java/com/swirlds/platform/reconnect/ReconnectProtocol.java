@@ -21,6 +21,7 @@ import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
 
 import com.swirlds.base.time.Time;
 import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.merkle.synchronization.LearnerSubtreeDispatcher;
 import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.threading.manager.ThreadManager;
@@ -57,6 +58,10 @@ public class ReconnectProtocol implements Protocol {
     private final ReconnectController reconnectController;
     private final SignedStateValidator validator;
     private InitiatedBy initiatedBy = InitiatedBy.NO_ONE;
+    /**
+     * The dispatcher of the reconnect attempt this node helps with as a helper learner, if initiated as a helper
+     */
+    private LearnerSubtreeDispatcher helperDispatcher;
     private final ThreadManager threadManager;
     private final FallenBehindManager fallenBehindManager;
 
@@ -153,8 +158,16 @@ public class ReconnectProtocol implements Protocol {
         final boolean acquiredPermit = reconnectController.acquireLearnerPermit();
         if (acquiredPermit) {
             initiatedBy = InitiatedBy.SELF;
+            return true;
+        }
+
+        // if a reconnect is already in progress with another peer, this peer may help by sending some subtrees
+        helperDispatcher = reconnectController.acquireHelperPermit();
+        if (helperDispatcher != null) {
+            initiatedBy = InitiatedBy.HELPER;
+            return true;
         }
-        return acquiredPermit;
+        return false;
     }
 
     /**
@@ -162,7 +175,12 @@ public class ReconnectProtocol implements Protocol {
      */
     @Override
     public void initiateFailed() {
-        reconnectController.cancelLearnerPermit();
+        if (initiatedBy == InitiatedBy.HELPER) {
+            helperDispatcher.removeHelper();
+            helperDispatcher = null;
+        } else {
+            reconnectController.cancelLearnerPermit();
+        }
         initiatedBy = InitiatedBy.NO_ONE;
     }
 
@@ -279,6 +297,7 @@ public class ReconnectProtocol implements Protocol {
             switch (initiatedBy) {
                 case PEER -> teacher(connection);
                 case SELF -> learner(connection);
+                case HELPER -> helperLearner(connection);
                 default -> throw new NetworkProtocolException(
                         "runProtocol() called but it is unclear who the teacher and who the learner is");
             }
@@ -297,6 +316,17 @@ public class ReconnectProtocol implements Protocol {
         reconnectController.provideLearnerConnection(connection);
     }
 
+    /**
+     * Receive subtrees of the state from a helper teacher, while another reconnect is in progress.
+     *
+     * @param connection the connection to use for the reconnect
+     */
+    private void helperLearner(final Connection connection) {
+        final LearnerSubtreeDispatcher dispatcher = helperDispatcher;
+        helperDispatcher = null;
+        reconnectController.provideHelperConnection(connection, dispatcher);
+    }
+
     /**
      * Perform reconnect as the teacher.
      *
@@ -327,6 +357,7 @@ public class ReconnectProtocol implements Protocol {
     private enum InitiatedBy {
         NO_ONE,
         SELF,
+        HELPER,
         PEER
     }
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.reconnect;
+
+import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
+
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.io.streams.MerkleDataInputStream;
+import com.swirlds.common.io.streams.MerkleDataOutputStream;
+import com.swirlds.common.merkle.MerkleNode;
+import com.swirlds.common.merkle.synchronization.LearnerSubtreeDispatcher;
+import com.swirlds.common.merkle.synchronization.LearningSynchronizer;
+import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
+import com.swirlds.common.threading.manager.ThreadManager;
+import com.swirlds.platform.network.Connection;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.Objects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * This class encapsulates reconnect logic for the out of date node which receives subtrees with custom reconnect views
+ * from a helper teacher, while the rest of the state is received from another node by {@link ReconnectLearner}.
+ */
+public class ReconnectSubtreeLearner {
+
+    private static final Logger logger = LogManager.getLogger(ReconnectSubtreeLearner.class);
+
+    private final PlatformContext platformContext;
+    private final ThreadManager threadManager;
+    private final Connection connection;
+    private final Duration reconnectSocketTimeout;
+    private final LearnerSubtreeDispatcher dispatcher;
+
+    /**
+     * After reconnect is finished, restore the socket timeout to the original value.
+     */
+    private int originalSocketTimeout;
+
+    /**
+     * @param platformContext        the platform context
+     * @param threadManager          responsible for managing thread lifecycles
+     * @param connection             the connection to the helper teacher
+     * @param reconnectSocketTimeout the amount of time that should be used for the socket timeout
+     * @param dispatcher             distributes subtrees between the primary learner and helper learners
+     */
+    public ReconnectSubtreeLearner(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final ThreadManager threadManager,
+            @NonNull final Connection connection,
+            @NonNull final Duration reconnectSocketTimeout,
+            @NonNull final LearnerSubtreeDispatcher dispatcher) {
+        this.platformContext = Objects.requireNonNull(platformContext);
+        this.threadManager = Objects.requireNonNull(threadManager);
+        this.connection = Objects.requireNonNull(connection);
+        this.reconnectSocketTimeout = Objects.requireNonNull(reconnectSocketTimeout);
+        this.dispatcher = Objects.requireNonNull(dispatcher);
+    }
+
+    /**
+     * Receive subtrees from the helper teacher until there are no more subtrees left to learn. Failures to learn a
+     * claimed subtree are reported to the dispatcher, so the reconnect attempt fails as a whole.
+     *
+     * @return the number of subtrees received
+     * @throws ReconnectException thrown if I/O related errors occur, or when there is an error in the underlying
+     *                            protocol
+     */
+    public int execute() throws ReconnectException {
+        increaseSocketTimeout();
+        try {
+            // Let the teacher know it's a helper, and which round it should have a state for
+            connection.getDos().writeBoolean(true);
+            connection.getDos().writeLong(dispatcher.getRound());
+            connection.getDos().flush();
+            if (!connection.getDis().readBoolean()) {
+                logger.info(
+                        RECONNECT.getMarker(),
+                        "Node {} has no state for round {}, not receiving subtrees from it",
+                        connection.getOtherId(),
+                        dispatcher.getRound());
+                ReconnectUtils.endReconnectHandshake(connection);
+                return 0;
+            }
+
+            int subtreesReceived = 0;
+            int index;
+            while ((index = dispatcher.claimForHelper(connection::disconnect)) >= 0) {
+                Throwable failure = null;
+                try {
+                    receiveSubtree(dispatcher.getSubtree(index));
+                    subtreesReceived++;
+                } catch (final Exception e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    dispatcher.subtreeFinished(index, failure);
+                }
+            }
+            connection.getDos().writeBoolean(false);
+            connection.getDos().flush();
+            ReconnectUtils.endReconnectHandshake(connection);
+            return subtreesReceived;
+        } catch (final IOException e) {
+            throw new ReconnectException(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReconnectException("interrupted while receiving subtrees", e);
+        } finally {
+            resetSocketTimeout();
+        }
+    }
+
+    /**
+     * Request a subtree from the helper teacher, and receive it.
+     *
+     * @param root the root of the subtree, already attached to the state being received
+     */
+    private void receiveSubtree(final MerkleNode root) throws IOException, InterruptedException {
+        logger.info(
+                RECONNECT.getMarker(),
+                "Receiving subtree with route {} from helper teacher {}",
+                root.getRoute(),
+                connection.getOtherId());
+        connection.getDos().writeBoolean(true);
+        ReconnectUtils.writeRoute(connection, root.getRoute());
+        connection.getDos().flush();
+
+        final ReconnectConfig reconnectConfig =
+                platformContext.getConfiguration().getConfigData(ReconnectConfig.class);
+        final LearningSynchronizer synchronizer = new LearningSynchronizer(
+                threadManager,
+                new MerkleDataInputStream(connection.getDis()),
+                new MerkleDataOutputStream(connection.getDos()),
+                root,
+                connection::disconnect,
+                reconnectConfig,
+                platformContext.getMetrics());
+        synchronizer.synchronizeSubtree();
+    }
+
+    /**
+     * @throws ReconnectException thrown when there is an error in the underlying protocol
+     */
+    private void increaseSocketTimeout() throws ReconnectException {
+        try {
+            originalSocketTimeout = connection.getTimeout();
+            connection.setTimeout(reconnectSocketTimeout.toMillis());
+        } catch (final SocketException e) {
+            throw new ReconnectException(e);
+        }
+    }
+
+    /**
+     * @throws ReconnectException thrown when there is an error in the underlying protocol
+     */
+    private void resetSocketTimeout() throws ReconnectException {
+        if (!connection.connected()) {
+            return;
+        }
+        try {
+            connection.setTimeout(originalSocketTimeout);
+        } catch (final SocketException e) {
+            throw new ReconnectException(e);
+        }
+    }
+}
@@ -23,8 +23,12 @@ import com.swirlds.base.time.Time;
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.io.streams.MerkleDataInputStream;
 import com.swirlds.common.io.streams.MerkleDataOutputStream;
+import com.swirlds.common.merkle.MerkleNode;
+import com.swirlds.common.merkle.route.MerkleRoute;
 import com.swirlds.common.merkle.synchronization.TeachingSynchronizer;
 import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
+import com.swirlds.common.merkle.synchronization.task.TeacherSubtree;
+import com.swirlds.common.merkle.synchronization.views.CustomReconnectRoot;
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.threading.manager.ThreadManager;
 import com.swirlds.config.api.Configuration;
@@ -164,8 +168,14 @@ public class ReconnectTeacher {
         increaseSocketTimeout();
 
         try {
-            sendSignatures(signedState);
-            reconnect(signedState);
+            final boolean multiTeacher = configuration.getConfigData(ReconnectConfig.class).maxHelperTeachers() > 0;
+            // In multi-teacher mode, the learner tells whether this node is its primary teacher or a helper
+            if (multiTeacher && connection.getDis().readBoolean()) {
+                teachSubtrees(signedState);
+            } else {
+                sendSignatures(signedState, multiTeacher);
+                reconnect(signedState, multiTeacher);
+            }
             ReconnectUtils.endReconnectHandshake(connection);
         } catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -210,9 +220,12 @@ public class ReconnectTeacher {
     /**
      * Copy the signed state from this node to the other node.
      *
+     * @param signedState  the state to send
+     * @param multiTeacher if true, the learner may receive some subtrees from helper teachers
      * @throws InterruptedException thrown if the current thread is interrupted
      */
-    private void reconnect(final SignedState signedState) throws InterruptedException, IOException {
+    private void reconnect(final SignedState signedState, final boolean multiTeacher)
+            throws InterruptedException, IOException {
         logger.info(RECONNECT.getMarker(), "Starting synchronization in the role of the sender.");
         statistics.incrementSenderStartTimes();
 
@@ -221,14 +234,14 @@ public class ReconnectTeacher {
 
         final ReconnectConfig reconnectConfig = configuration.getConfigData(ReconnectConfig.class);
         final TeachingSynchronizer synchronizer = new TeachingSynchronizer(
-                platformContext.getConfiguration(),
                 time,
                 threadManager,
                 new MerkleDataInputStream(connection.getDis()),
                 new MerkleDataOutputStream(connection.getDos()),
-                signedState.getState(),
+                new TeacherSubtree(platformContext.getConfiguration(), signedState.getState()),
                 connection::disconnect,
-                reconnectConfig);
+                reconnectConfig,
+                multiTeacher);
 
         synchronizer.synchronize();
         connection.getDos().flush();
@@ -237,12 +250,63 @@ public class ReconnectTeacher {
         logger.info(RECONNECT.getMarker(), "Finished synchronization in the role of the sender.");
     }
 
+    /**
+     * Copy subtrees requested by the learner, as a helper teacher. The learner receives the rest of the state from
+     * another teacher, so subtrees are only sent if the state of this node is for the same round.
+     *
+     * @param signedState the state to send subtrees from
+     * @throws InterruptedException thrown if the current thread is interrupted
+     * @throws IOException          thrown when any I/O related errors occur
+     */
+    private void teachSubtrees(final SignedState signedState) throws InterruptedException, IOException {
+        final long learnerRound = connection.getDis().readLong();
+        final boolean sameRound = learnerRound == signedState.getRound();
+        connection.getDos().writeBoolean(sameRound);
+        connection.getDos().flush();
+        if (!sameRound) {
+            logger.info(
+                    RECONNECT.getMarker(),
+                    "Not helping node {} to reconnect, it receives a state for round {}, this node has round {}",
+                    otherId,
+                    learnerRound,
+                    signedState.getRound());
+            return;
+        }
+
+        statistics.incrementSenderStartTimes();
+        final ReconnectConfig reconnectConfig = configuration.getConfigData(ReconnectConfig.class);
+        while (connection.getDis().readBoolean()) {
+            final MerkleRoute route = ReconnectUtils.readRoute(connection);
+            final MerkleNode root = signedState.getState().getNodeAtRoute(route);
+            if (root == null || !root.hasCustomReconnectView()) {
+                throw new ReconnectException("No subtree with a custom reconnect view at route " + route);
+            }
+            logger.info(RECONNECT.getMarker(), "Sending subtree with route {} as a helper teacher", route);
+
+            final TeachingSynchronizer synchronizer = new TeachingSynchronizer(
+                    time,
+                    threadManager,
+                    new MerkleDataInputStream(connection.getDis()),
+                    new MerkleDataOutputStream(connection.getDos()),
+                    new TeacherSubtree(root, ((CustomReconnectRoot<?, ?>) root).buildTeacherView(reconnectConfig)),
+                    connection::disconnect,
+                    reconnectConfig,
+                    false);
+            synchronizer.synchronize();
+            connection.getDos().flush();
+        }
+        statistics.incrementSenderEndTimes();
+    }
+
     /**
      * Copy the signatures on the signed state from this node to the other node.
      *
+     * @param signedState  the state to send signatures of
+     * @param multiTeacher if true, the round of the state is sent as well, so the learner can find helper teachers
+     *                     with the same state
      * @throws IOException thrown when any I/O related errors occur
      */
-    private void sendSignatures(final SignedState signedState) throws IOException {
+    private void sendSignatures(final SignedState signedState, final boolean multiTeacher) throws IOException {
         final StringBuilder sb = new StringBuilder();
         sb.append("Sending signatures from nodes ");
         formattedList(sb, signedState.getSigSet().iterator());
@@ -255,6 +319,9 @@ public class ReconnectTeacher {
 
         logger.info(RECONNECT.getMarker(), sb);
         connection.getDos().writeSerializable(signedState.getSigSet(), true);
+        if (multiTeacher) {
+            connection.getDos().writeLong(signedState.getRound());
+        }
         connection.getDos().flush();
     }
 }
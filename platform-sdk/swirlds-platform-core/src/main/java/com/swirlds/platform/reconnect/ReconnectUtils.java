@@ -19,11 +19,15 @@ package com.swirlds.platform.reconnect;
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 
 import com.swirlds.common.merkle.crypto.MerkleCryptoFactory;
+import com.swirlds.common.merkle.route.MerkleRoute;
+import com.swirlds.common.merkle.route.MerkleRouteFactory;
 import com.swirlds.logging.legacy.payload.ReconnectFailurePayload;
 import com.swirlds.platform.network.Connection;
 import com.swirlds.platform.state.MerkleRoot;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -57,6 +61,31 @@ public final class ReconnectUtils {
         }
     }
 
+    /**
+     * Send a route of a subtree to be received from a helper teacher
+     *
+     * @param connection the connection to send on
+     * @param route      the route to send
+     * @throws IOException if the connection breaks or times out
+     */
+    static void writeRoute(@NonNull final Connection connection, @NonNull final MerkleRoute route) throws IOException {
+        final List<Integer> steps = new ArrayList<>(route.size());
+        route.forEach(steps::add);
+        connection.getDos().writeIntList(steps);
+    }
+
+    /**
+     * Receive a route of a subtree to send to a learner as a helper teacher
+     *
+     * @param connection the connection to receive on
+     * @return the route received
+     * @throws IOException if the connection breaks, times out, or the route is too long
+     */
+    @NonNull
+    static MerkleRoute readRoute(@NonNull final Connection connection) throws IOException {
+        return MerkleRouteFactory.buildRoute(connection.getDis().readIntList(MerkleRoute.MAX_ROUTE_LENGTH));
+    }
+
     /**
      * Hash the working state to prepare for reconnect
      */
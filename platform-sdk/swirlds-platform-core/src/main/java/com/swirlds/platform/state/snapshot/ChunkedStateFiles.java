@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.state.snapshot;
+
+import static com.swirlds.common.io.utility.FileUtils.throwIfFileExists;
+import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticThreadManager;
+import static com.swirlds.logging.legacy.LogMarker.STATE_TO_DISK;
+import static com.swirlds.platform.state.snapshot.SignedStateFileUtils.MAX_MERKLE_NODES_IN_STATE;
+
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.io.ExternalSelfSerializable;
+import com.swirlds.common.io.streams.MerkleDataInputStream;
+import com.swirlds.common.io.streams.MerkleDataOutputStream;
+import com.swirlds.common.merkle.MerkleNode;
+import com.swirlds.common.threading.framework.config.ThreadConfiguration;
+import com.swirlds.platform.state.MerkleRoot;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Utility methods for writing and reading the merkle tree of a signed state as separate chunk files, one per child of
+ * the state root. Children of the root, such as the states of individual services under
+ * {@link com.swirlds.platform.state.MerkleStateRoot}, are independent subtrees, so they are serialized and
+ * deserialized in parallel. Every chunk file is protected by a CRC32C checksum, which is stored in the signed state
+ * file along with the root node, and may be compressed.
+ */
+final class ChunkedStateFiles {
+
+    private static final Logger logger = LogManager.getLogger(ChunkedStateFiles.class);
+
+    /**
+     * The name of a chunk file, by the index of the root child stored in it
+     */
+    private static final String CHUNK_FILE_NAME_FORMAT = "SignedState-chunk-%d.swh";
+
+    private ChunkedStateFiles() {}
+
+    /**
+     * Check if a state can be written in chunks. States with custom root serialization can't be split.
+     *
+     * @param state the state to check
+     * @return true if the state can be written in chunks
+     */
+    static boolean canBeChunked(@NonNull final MerkleRoot state) {
+        return !(state instanceof ExternalSelfSerializable);
+    }
+
+    /**
+     * Get the path of a chunk file.
+     *
+     * @param directory  the signed state directory
+     * @param childIndex the index of the root child stored in the chunk
+     * @return the chunk file path
+     */
+    @NonNull
+    static Path getChunkFile(@NonNull final Path directory, final int childIndex) {
+        return directory.resolve(CHUNK_FILE_NAME_FORMAT.formatted(childIndex));
+    }
+
+    /**
+     * Write the children of the state root to chunk files in parallel, and then write the root node along with the
+     * chunk checksums to the signed state file stream.
+     *
+     * @param out       the signed state file stream
+     * @param directory the signed state directory, chunk files and external node data are written here
+     * @param state     the state to write
+     * @param threads   the number of threads to write chunks
+     * @param compress  whether chunk files should be compressed
+     * @throws IOException if any chunk can't be written
+     */
+    static void writeChunkedTree(
+            @NonNull final MerkleDataOutputStream out,
+            @NonNull final Path directory,
+            @NonNull final MerkleRoot state,
+            final int threads,
+            final boolean compress)
+            throws IOException {
+        final int childCount = state.getNumberOfChildren();
+        final List<Future<Long>> checksums = new ArrayList<>(childCount);
+        final long start = System.currentTimeMillis();
+        try (final ExecutorService executor = createExecutor("state-chunk-writer", threads)) {
+            for (int i = 0; i < childCount; i++) {
+                final int childIndex = i;
+                final MerkleNode child = state.getChild(childIndex);
+                checksums.add(
+                        child == null
+                                ? null
+                                : executor.submit(() -> writeChunk(directory, childIndex, child, compress)));
+            }
+            out.writeLong(state.getClassId());
+            out.writeInt(state.getVersion());
+            out.writeInt(childCount);
+            out.writeBoolean(compress);
+            for (final Future<Long> checksum : checksums) {
+                out.writeBoolean(checksum != null);
+                if (checksum != null) {
+                    out.writeLong(getResult(checksum, "write"));
+                }
+            }
+        }
+        logger.info(
+                STATE_TO_DISK.getMarker(),
+                "Wrote {} state chunks using {} threads in {} ms",
+                childCount,
+                threads,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Read the root node and chunk checksums from the signed state file stream, and then read the children of the
+     * root from chunk files in parallel. Every chunk is checked against its checksum.
+     *
+     * @param in        the signed state file stream
+     * @param directory the signed state directory, chunk files and external node data are read from here
+     * @param threads   the number of threads to read chunks
+     * @return the state
+     * @throws IOException if any chunk can't be read, or doesn't match its checksum
+     */
+    @NonNull
+    static MerkleRoot readChunkedTree(
+            @NonNull final MerkleDataInputStream in, @NonNull final Path directory, final int threads)
+            throws IOException {
+        final long classId = in.readLong();
+        final int version = in.readInt();
+        final int childCount = in.readInt();
+        final boolean compressed = in.readBoolean();
+
+        final MerkleNode node = ConstructableRegistry.getInstance().createObject(classId);
+        if (!(node instanceof MerkleRoot root)) {
+            throw new IOException("Class ID %d is not a state root".formatted(classId));
+        }
+        if (version < root.getMinimumSupportedVersion() || version > root.getVersion()) {
+            throw new IOException("Unsupported version %d of state root %s".formatted(version, root.getClass()));
+        }
+        if (childCount < root.getMinimumChildCount() || childCount > root.getMaximumChildCount()) {
+            throw new IOException("Illegal child count %d of state root %s".formatted(childCount, root.getClass()));
+        }
+
+        final List<Future<MerkleNode>> futures = new ArrayList<>(childCount);
+        final List<MerkleNode> children = new ArrayList<>(childCount);
+        final long start = System.currentTimeMillis();
+        try (final ExecutorService executor = createExecutor("state-chunk-reader", threads)) {
+            for (int i = 0; i < childCount; i++) {
+                final int childIndex = i;
+                if (in.readBoolean()) {
+                    final long checksum = in.readLong();
+                    futures.add(executor.submit(() -> readChunk(directory, childIndex, compressed, checksum)));
+                } else {
+                    futures.add(null);
+                }
+            }
+            for (final Future<MerkleNode> future : futures) {
+                children.add(future == null ? null : getResult(future, "read"));
+            }
+        } catch (final IOException | RuntimeException e) {
+            // Children that have been read must be released, or their resources are leaked
+            for (final Future<MerkleNode> future : futures) {
+                releaseChunk(future);
+            }
+            throw e;
+        }
+        logger.info(
+                STATE_TO_DISK.getMarker(),
+                "Read {} state chunks using {} threads in {} ms",
+                childCount,
+                threads,
+                System.currentTimeMillis() - start);
+
+        // Children are initialized and migrated when read, the same is done for the root here
+        if (childCount > 0) {
+            root.addDeserializedChildren(children, version);
+        }
+        root.rebuild();
+        final MerkleNode migratedRoot = root.migrate(version);
+        if (migratedRoot != root) {
+            root.release();
+        }
+        return (MerkleRoot) migratedRoot;
+    }
+
+    /**
+     * Write a subtree to a chunk file, and make sure it's flushed to disk before returning.
+     *
+     * @return the checksum of the chunk file
+     */
+    private static long writeChunk(
+            @NonNull final Path directory,
+            final int childIndex,
+            @NonNull final MerkleNode subtree,
+            final boolean compress)
+            throws IOException {
+        final Path file = getChunkFile(directory, childIndex);
+        throwIfFileExists(file);
+
+        final CRC32C checksum = new CRC32C();
+        final Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        try (final FileOutputStream fileOut = new FileOutputStream(file.toFile());
+                final CheckedOutputStream checkedOut =
+                        new CheckedOutputStream(new BufferedOutputStream(fileOut), checksum);
+                final DeflaterOutputStream deflaterOut =
+                        deflater == null ? null : new DeflaterOutputStream(checkedOut, deflater);
+                final MerkleDataOutputStream out =
+                        new MerkleDataOutputStream(deflaterOut == null ? checkedOut : deflaterOut)) {
+
+            out.writeMerkleTree(directory, subtree);
+
+            out.flush();
+            if (deflaterOut != null) {
+                deflaterOut.finish();
+            }
+            checkedOut.flush();
+            // make sure the data is actually written to disk
+            fileOut.getFD().sync();
+            return checksum.getValue();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Read a subtree from a chunk file, and check the file against its checksum.
+     *
+     * @return the subtree
+     */
+    @Nullable
+    private static MerkleNode readChunk(
+            @NonNull final Path directory, final int childIndex, final boolean compressed, final long expectedChecksum)
+            throws IOException {
+        final Path file = getChunkFile(directory, childIndex);
+        final CRC32C checksum = new CRC32C();
+        try (final CheckedInputStream checkedIn =
+                        new CheckedInputStream(new BufferedInputStream(new FileInputStream(file.toFile())), checksum);
+                final MerkleDataInputStream in =
+                        new MerkleDataInputStream(compressed ? new InflaterInputStream(checkedIn) : checkedIn)) {
+
+            final MerkleNode subtree = in.readMerkleTree(directory, MAX_MERKLE_NODES_IN_STATE);
+            // The checksum covers the whole file, including any bytes not consumed by the deserializer
+            checkedIn.transferTo(OutputStream.nullOutputStream());
+            if (checksum.getValue() != expectedChecksum) {
+                if (subtree != null) {
+                    subtree.release();
+                }
+                throw new IOException("Checksum mismatch in state chunk file " + file);
+            }
+            return subtree;
+        }
+    }
+
+    /**
+     * Release a chunk that has been read, if any, after another chunk failed to be read.
+     */
+    private static void releaseChunk(@Nullable final Future<MerkleNode> future) {
+        if (future == null || !future.isDone() || future.isCancelled()) {
+            return;
+        }
+        try {
+            final MerkleNode subtree = future.get();
+            if (subtree != null && !subtree.isDestroyed()) {
+                subtree.release();
+            }
+        } catch (final ExecutionException e) {
+            // this chunk failed as well, nothing to release
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Wait for a chunk to be written or read, rethrowing any failure as an {@link IOException}.
+     */
+    private static <T> T getResult(@NonNull final Future<T> future, @NonNull final String operation)
+            throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a state chunk " + operation);
+        } catch (final ExecutionException e) {
+            throw new IOException("Failed to " + operation + " a state chunk", e.getCause());
+        }
+    }
+
+    /**
+     * Create an executor for chunk tasks. Chunk threads are platform threads, as they mostly do blocking file IO and
+     * CPU bound serialization.
+     */
+    @NonNull
+    private static ExecutorService createExecutor(@NonNull final String threadName, final int threads) {
+        return Executors.newFixedThreadPool(
+                threads,
+                new ThreadConfiguration(getStaticThreadManager())
+                        .setComponent("state")
+                        .setThreadName(threadName)
+                        .buildFactory());
+    }
+}
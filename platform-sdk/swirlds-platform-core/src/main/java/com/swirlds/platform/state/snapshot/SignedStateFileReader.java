@@ -17,6 +17,7 @@
 package com.swirlds.platform.state.snapshot;
 
 import static com.swirlds.common.io.streams.StreamDebugUtils.deserializeAndDebugOnFailure;
+import static com.swirlds.platform.state.snapshot.SignedStateFileUtils.CHUNKED_FILE_VERSION;
 import static com.swirlds.platform.state.snapshot.SignedStateFileUtils.VERSIONED_FILE_BYTE;
 import static java.nio.file.Files.exists;
 
@@ -27,6 +28,7 @@ import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.streams.MerkleDataInputStream;
 import com.swirlds.common.platform.NodeId;
+import com.swirlds.platform.config.StateConfig;
 import com.swirlds.platform.crypto.CryptoStatic;
 import com.swirlds.platform.state.MerkleRoot;
 import com.swirlds.platform.state.signed.SigSet;
@@ -67,7 +69,8 @@ public final class SignedStateFileReader {
 
     /**
      * Reads a SignedState from disk using the provided snapshot reader function. If the reader throws
-     * an exception, it is propagated by this method to the caller.
+     * an exception, it is propagated by this method to the caller. If the state was written in chunks, the
+     * chunks are read in parallel instead, and the snapshot reader function is not used.
      *
      * @param platformContext               the platform context
      * @param stateFile                     the file to read from
@@ -93,12 +96,14 @@ public final class SignedStateFileReader {
         final StateFileData data = deserializeAndDebugOnFailure(
                 () -> new BufferedInputStream(new FileInputStream(stateFile.toFile())),
                 (final MerkleDataInputStream in) -> {
-                    readAndCheckVersion(in);
+                    final int fileVersion = readAndCheckVersion(in);
 
                     final Path directory = stateFile.getParent();
 
                     try {
-                        final MerkleRoot state = snapshotStateReader.apply(in, directory);
+                        final MerkleRoot state = fileVersion == CHUNKED_FILE_VERSION
+                                ? ChunkedStateFiles.readChunkedTree(in, directory, getChunkThreads(platformContext))
+                                : snapshotStateReader.apply(in, directory);
                         final Hash hash = in.readSerializable();
                         final SigSet sigSet = in.readSerializable();
                         return new StateFileData(state, hash, sigSet);
@@ -139,19 +144,36 @@ public final class SignedStateFileReader {
         }
     }
 
+    /**
+     * Get the number of threads to read state chunks. Chunked states may be read by nodes that don't write
+     * chunked states themselves, in this case all available processors are used.
+     *
+     * @param platformContext the platform context
+     * @return the number of threads
+     */
+    private static int getChunkThreads(@NonNull final PlatformContext platformContext) {
+        final int threads = platformContext
+                .getConfiguration()
+                .getConfigData(StateConfig.class)
+                .stateChunkThreads();
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
     /**
      * Read the version from a signed state file and check it
      *
      * @param in the stream to read from
+     * @return the file version
      * @throws IOException if the version is invalid
      */
-    private static void readAndCheckVersion(@NonNull final MerkleDataInputStream in) throws IOException {
+    private static int readAndCheckVersion(@NonNull final MerkleDataInputStream in) throws IOException {
         final byte versionByte = in.readByte();
         if (versionByte != VERSIONED_FILE_BYTE) {
             throw new IOException("File is not versioned -- data corrupted or is an unsupported legacy state");
         }
 
-        in.readInt(); // file version
+        final int fileVersion = in.readInt();
         in.readProtocolVersion();
+        return fileVersion;
     }
 }
@@ -49,6 +49,11 @@ public final class SignedStateFileUtils {
      */
     public static final int FILE_VERSION = 1;
 
+    /**
+     * The version of the signed state file, which refers to separate chunk files with the merkle tree of the state
+     */
+    public static final int CHUNKED_FILE_VERSION = 2;
+
     public static final int MAX_MERKLE_NODES_IN_STATE = Integer.MAX_VALUE;
 
     private SignedStateFileUtils() {}
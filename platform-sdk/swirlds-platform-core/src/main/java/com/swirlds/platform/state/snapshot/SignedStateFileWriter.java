@@ -22,6 +22,7 @@ import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 import static com.swirlds.logging.legacy.LogMarker.STATE_TO_DISK;
 import static com.swirlds.platform.config.internal.PlatformConfigUtils.writeSettingsUsed;
 import static com.swirlds.platform.event.preconsensus.BestEffortPcesFileCopy.copyPcesFilesRetryOnFailure;
+import static com.swirlds.platform.state.snapshot.SignedStateFileUtils.CHUNKED_FILE_VERSION;
 import static com.swirlds.platform.state.snapshot.SignedStateFileUtils.CURRENT_ADDRESS_BOOK_FILE_NAME;
 import static com.swirlds.platform.state.snapshot.SignedStateFileUtils.FILE_VERSION;
 import static com.swirlds.platform.state.snapshot.SignedStateFileUtils.HASH_INFO_FILE_NAME;
@@ -125,6 +126,31 @@ public final class SignedStateFileWriter {
         out.writeSerializable(signedState.getSigSet(), true);
     }
 
+    /**
+     * Write a {@link SignedState} to a stream, with the children of the state root written to separate chunk files in
+     * parallel.
+     *
+     * @param out         the stream to write to
+     * @param directory   the directory to write to
+     * @param signedState the signed state to write
+     * @param threads     the number of threads to write chunks
+     * @param compress    whether chunk files should be compressed
+     */
+    private static void writeChunkedStateFileToStream(
+            final MerkleDataOutputStream out,
+            final Path directory,
+            final SignedState signedState,
+            final int threads,
+            final boolean compress)
+            throws IOException {
+        out.write(VERSIONED_FILE_BYTE);
+        out.writeInt(CHUNKED_FILE_VERSION);
+        out.writeProtocolVersion();
+        ChunkedStateFiles.writeChunkedTree(out, directory, signedState.getState(), threads, compress);
+        out.writeSerializable(signedState.getState().getHash(), true);
+        out.writeSerializable(signedState.getSigSet(), true);
+    }
+
     /**
      * Write the signed state file.
      *
@@ -136,6 +162,34 @@ public final class SignedStateFileWriter {
                 directory.resolve(SIGNED_STATE_FILE_NAME), out -> writeStateFileToStream(out, directory, signedState));
     }
 
+    /**
+     * Write the signed state file. If {@link StateConfig#stateChunkThreads()} is positive, the children of the state
+     * root are written to separate chunk files in parallel.
+     *
+     * @param platformContext the platform context
+     * @param directory       the directory to write to
+     * @param signedState     the signed state to write
+     */
+    public static void writeStateFile(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final Path directory,
+            @NonNull final SignedState signedState)
+            throws IOException {
+        final StateConfig stateConfig = platformContext.getConfiguration().getConfigData(StateConfig.class);
+        if (stateConfig.stateChunkThreads() <= 0 || !ChunkedStateFiles.canBeChunked(signedState.getState())) {
+            writeStateFile(directory, signedState);
+            return;
+        }
+        writeAndFlush(
+                directory.resolve(SIGNED_STATE_FILE_NAME),
+                out -> writeChunkedStateFileToStream(
+                        out,
+                        directory,
+                        signedState,
+                        stateConfig.stateChunkThreads(),
+                        stateConfig.compressStateChunks()));
+    }
+
     /**
      * Write all files that belong in the signed state directory into a directory.
      *
@@ -154,7 +208,7 @@ public final class SignedStateFileWriter {
         Objects.requireNonNull(directory);
         Objects.requireNonNull(signedState);
 
-        writeStateFile(directory, signedState);
+        writeStateFile(platformContext, directory, signedState);
         writeHashInfoFile(platformContext, directory, signedState.getState());
         writeMetadataFile(selfId, directory, signedState);
         writeEmergencyRecoveryFile(directory, signedState);
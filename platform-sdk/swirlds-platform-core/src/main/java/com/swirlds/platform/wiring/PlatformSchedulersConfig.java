@@ -22,7 +22,9 @@ import com.swirlds.config.api.ConfigProperty;
 import java.time.Duration;
 
 /**
- * Contains configuration values for the platform schedulers.
+ * Contains configuration values for the platform schedulers. Components that mostly block on I/O, such as the state
+ * snapshot manager or the preconsensus event writer, may be configured with the {@code SEQUENTIAL_VIRTUAL_THREAD}
+ * scheduler type to run them on virtual threads.
  *
  * @param eventHasherUnhandledCapacity         number of unhandled tasks allowed in the event hasher scheduler
  * @param internalEventValidator               configuration for the internal event validator scheduler
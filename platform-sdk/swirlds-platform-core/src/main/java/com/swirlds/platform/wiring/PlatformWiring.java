@@ -756,13 +756,15 @@ public class PlatformWiring {
                             roundDurabilityBufferWiring.getInputWire(
                                     RoundDurabilityBuffer::setLatestDurableSequenceNumber),
                             INJECT);
-            model.buildHeartbeatWire(platformContext
-                            .getConfiguration()
-                            .getConfigData(PcesConfig.class)
-                            .roundDurabilityBufferHeartbeatPeriod())
+            final PcesConfig pcesConfig = platformContext.getConfiguration().getConfigData(PcesConfig.class);
+            model.buildHeartbeatWire(pcesConfig.roundDurabilityBufferHeartbeatPeriod())
                     .solderTo(
                             roundDurabilityBufferWiring.getInputWire(RoundDurabilityBuffer::checkForStaleRounds),
                             OFFER);
+            if (pcesConfig.groupCommit()) {
+                model.buildHeartbeatWire(pcesConfig.groupCommitMaxDelay())
+                        .solderTo(pcesWriterWiring.getInputWire(PcesWriter::flushPendingRequests), OFFER);
+            }
             stateSnapshotManagerWiring
                     .getTransformedOutput(StateSnapshotManager::extractOldestMinimumGenerationOnDisk)
                     .solderTo(pcesWriterWiring.getInputWire(PcesWriter::setMinimumAncientIdentifierToStore), INJECT);
@@ -24,11 +24,13 @@ import static com.swirlds.platform.state.snapshot.SignedStateFileUtils.SIGNED_ST
 import static com.swirlds.platform.state.snapshot.SignedStateFileWriter.writeHashInfoFile;
 import static com.swirlds.platform.state.snapshot.SignedStateFileWriter.writeSignedStateToDisk;
 import static com.swirlds.platform.state.snapshot.SignedStateFileWriter.writeStateFile;
+import static com.swirlds.platform.test.fixtures.state.FakeMerkleStateLifecycles.FAKE_MERKLE_STATE_LIFECYCLES;
 import static java.nio.file.Files.exists;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.hedera.hapi.node.base.SemanticVersion;
@@ -36,6 +38,7 @@ import com.swirlds.common.config.StateCommonConfig_;
 import com.swirlds.common.constructable.ConstructableRegistry;
 import com.swirlds.common.constructable.ConstructableRegistryException;
 import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.crypto.DigestType;
 import com.swirlds.common.io.utility.LegacyTemporaryFileBuilder;
 import com.swirlds.common.merkle.crypto.MerkleCryptoFactory;
 import com.swirlds.common.merkle.utility.MerkleTreeVisualizer;
@@ -44,8 +47,17 @@ import com.swirlds.common.test.fixtures.RandomUtils;
 import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
 import com.swirlds.config.api.Configuration;
 import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.merkledb.MerkleDb;
+import com.swirlds.merkledb.MerkleDbDataSourceBuilder;
+import com.swirlds.merkledb.MerkleDbTableConfig;
 import com.swirlds.platform.config.StateConfig;
+import com.swirlds.platform.config.StateConfig_;
+import com.swirlds.platform.reconnect.TestKey;
+import com.swirlds.platform.reconnect.TestKeySerializer;
+import com.swirlds.platform.reconnect.TestValue;
+import com.swirlds.platform.reconnect.TestValueSerializer;
 import com.swirlds.platform.state.MerkleRoot;
+import com.swirlds.platform.state.MerkleStateRoot;
 import com.swirlds.platform.state.signed.SignedState;
 import com.swirlds.platform.state.snapshot.DeserializedSignedState;
 import com.swirlds.platform.state.snapshot.SignedStateFileUtils;
@@ -53,15 +65,22 @@ import com.swirlds.platform.state.snapshot.StateToDiskReason;
 import com.swirlds.platform.system.BasicSoftwareVersion;
 import com.swirlds.platform.test.fixtures.state.FakeMerkleStateLifecycles;
 import com.swirlds.platform.test.fixtures.state.RandomSignedStateGenerator;
+import com.swirlds.virtualmap.VirtualMap;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 @DisplayName("SignedState Read/Write Test")
 class SignedStateFileReadWriteTest {
@@ -82,6 +101,8 @@ class SignedStateFileReadWriteTest {
         registry.registerConstructables("com.swirlds.common");
         registry.registerConstructables("com.swirlds.platform");
         registry.registerConstructables("com.swirlds.state");
+        registry.registerConstructables("com.swirlds.merkledb");
+        registry.registerConstructables("com.swirlds.virtualmap");
         FakeMerkleStateLifecycles.registerMerkleStateRootClassIds();
     }
 
@@ -144,6 +165,93 @@ class SignedStateFileReadWriteTest {
         assertNotSame(signedState, deserializedSignedState.reservedSignedState(), "state should be a different object");
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Write Then Read Chunked State File Test")
+    void writeThenReadChunkedStateFileTest(final boolean compress) throws IOException {
+        final PlatformContext platformContext = chunkedPlatformContext(compress);
+        final Path stateFile = testDirectory.resolve(SIGNED_STATE_FILE_NAME);
+
+        writeStateFile(platformContext, testDirectory, signedState);
+        assertTrue(exists(stateFile), "signed state file should be present");
+        assertTrue(exists(testDirectory.resolve("SignedState-chunk-0.swh")), "chunk file should be present");
+
+        final DeserializedSignedState deserializedSignedState =
+                readStateFile(platformContext, stateFile, SignedStateFileUtils::readState);
+        MerkleCryptoFactory.getInstance()
+                .digestTreeSync(
+                        deserializedSignedState.reservedSignedState().get().getState());
+
+        assertEquals(signedState.getState().getHash(), deserializedSignedState.originalHash(), "hash should match");
+        assertEquals(
+                signedState.getState().getHash(),
+                deserializedSignedState.reservedSignedState().get().getState().getHash(),
+                "hash should match");
+    }
+
+    @Test
+    @DisplayName("Write Then Read Chunked State With Virtual Maps Test")
+    void writeThenReadChunkedStateWithVirtualMapsTest() throws IOException {
+        final PlatformContext platformContext = chunkedPlatformContext(false);
+        final Path stateFile = testDirectory.resolve(SIGNED_STATE_FILE_NAME);
+        MerkleDb.setDefaultPath(testDirectory.resolve("merkledb-original"));
+
+        final MerkleStateRoot root = new MerkleStateRoot(
+                FAKE_MERKLE_STATE_LIFECYCLES, version -> new BasicSoftwareVersion(version.major()));
+        final VirtualMap<TestKey, TestValue> firstMap = createVirtualMap("First");
+        firstMap.put(new TestKey('a'), new TestValue("APPLE"));
+        firstMap.put(new TestKey('b'), new TestValue("BANANA"));
+        final VirtualMap<TestKey, TestValue> secondMap = createVirtualMap("Second");
+        secondMap.put(new TestKey('a'), new TestValue("AARDVARK"));
+        root.setChild(0, firstMap);
+        root.setChild(1, secondMap);
+        final SignedState virtualMapState = new RandomSignedStateGenerator().setState(root).build();
+        // Virtual maps are only written when immutable, the same as in a state that is saved by the platform
+        final MerkleStateRoot mutableState = root.copy();
+
+        DeserializedSignedState deserializedSignedState = null;
+        try {
+            writeStateFile(platformContext, testDirectory, virtualMapState);
+            assertTrue(exists(testDirectory.resolve("SignedState-chunk-0.swh")), "first map chunk should be present");
+            assertTrue(exists(testDirectory.resolve("SignedState-chunk-1.swh")), "second map chunk should be present");
+
+            // Both maps are restored in parallel into a fresh database
+            MerkleDb.setDefaultPath(testDirectory.resolve("merkledb-restored"));
+            deserializedSignedState = readStateFile(platformContext, stateFile, SignedStateFileUtils::readState);
+            final MerkleRoot restoredState = deserializedSignedState.reservedSignedState().get().getState();
+            MerkleCryptoFactory.getInstance().digestTreeSync(restoredState);
+
+            assertEquals(root.getHash(), deserializedSignedState.originalHash(), "hash should match");
+            assertEquals(root.getHash(), restoredState.getHash(), "hash should match");
+            final VirtualMap<TestKey, TestValue> restoredFirstMap = restoredState.getChild(0);
+            final VirtualMap<TestKey, TestValue> restoredSecondMap = restoredState.getChild(1);
+            assertEquals(new TestValue("BANANA"), restoredFirstMap.get(new TestKey('b')), "value should be restored");
+            assertEquals(
+                    new TestValue("AARDVARK"), restoredSecondMap.get(new TestKey('a')), "value should be restored");
+        } finally {
+            if (deserializedSignedState != null) {
+                deserializedSignedState.reservedSignedState().close();
+            }
+            mutableState.release();
+            MerkleDb.resetDefaultInstancePath();
+        }
+    }
+
+    @Test
+    @DisplayName("Corrupted Chunk File Test")
+    void corruptedChunkFileTest() throws IOException {
+        final PlatformContext platformContext = chunkedPlatformContext(false);
+        final Path stateFile = testDirectory.resolve(SIGNED_STATE_FILE_NAME);
+
+        writeStateFile(platformContext, testDirectory, signedState);
+        Files.write(testDirectory.resolve("SignedState-chunk-0.swh"), new byte[] {1}, StandardOpenOption.APPEND);
+
+        assertThrows(
+                IOException.class,
+                () -> readStateFile(platformContext, stateFile, SignedStateFileUtils::readState),
+                "a chunk that doesn't match its checksum should not be read");
+    }
+
     @Test
     @DisplayName("writeSavedStateToDisk() Test")
     void writeSavedStateToDiskTest() throws IOException {
@@ -171,6 +279,80 @@ class SignedStateFileReadWriteTest {
         assertTrue(exists(addressBookFile), "address book file should exist");
     }
 
+    @Test
+    @DisplayName("Saved States With Index Snapshot Deltas Test")
+    void savedStatesWithIndexSnapshotDeltasTest() throws IOException {
+        final Configuration configuration = new TestConfigBuilder()
+                .withValue("merkleDb.indexSnapshotMaxDeltas", 5)
+                .getOrCreateConfig();
+        final PlatformContext platformContext = TestPlatformContextBuilder.create()
+                .withConfiguration(configuration)
+                .build();
+        MerkleDb.setDefaultPath(testDirectory.resolve("merkledb-original"));
+
+        final MerkleStateRoot root = new MerkleStateRoot(
+                FAKE_MERKLE_STATE_LIFECYCLES, version -> new BasicSoftwareVersion(version.major()));
+        final VirtualMap<TestKey, TestValue> map = createVirtualMap("Map");
+        map.put(new TestKey('a'), new TestValue("APPLE"));
+        root.setChild(0, map);
+        final SignedState firstState = new RandomSignedStateGenerator().setState(root).build();
+        final MerkleStateRoot secondRoot = root.copy();
+        final VirtualMap<TestKey, TestValue> secondMap = secondRoot.getChild(0);
+        secondMap.put(new TestKey('b'), new TestValue("BANANA"));
+        final SignedState secondState = new RandomSignedStateGenerator().setState(secondRoot).build();
+        final MerkleStateRoot mutableState = secondRoot.copy();
+
+        DeserializedSignedState deserializedSignedState = null;
+        try {
+            // Saved states are written to temporary directories, which are then moved
+            final Path firstDirectory = testDirectory.resolve("state1");
+            writeSignedStateToDisk(
+                    platformContext, new NodeId(0), firstDirectory, firstState, StateToDiskReason.PERIODIC_SNAPSHOT);
+            final Path secondDirectory = testDirectory.resolve("state2");
+            writeSignedStateToDisk(
+                    platformContext, new NodeId(0), secondDirectory, secondState, StateToDiskReason.PERIODIC_SNAPSHOT);
+
+            assertTrue(findFiles(firstDirectory, ".delta1").isEmpty(), "the first index snapshots should be full");
+            assertFalse(findFiles(secondDirectory, ".delta1").isEmpty(), "index deltas should be written");
+
+            MerkleDb.setDefaultPath(testDirectory.resolve("merkledb-restored"));
+            deserializedSignedState = readStateFile(
+                    platformContext, secondDirectory.resolve(SIGNED_STATE_FILE_NAME), SignedStateFileUtils::readState);
+            final MerkleRoot restoredState = deserializedSignedState.reservedSignedState().get().getState();
+            final VirtualMap<TestKey, TestValue> restoredMap = restoredState.getChild(0);
+            assertEquals(new TestValue("APPLE"), restoredMap.get(new TestKey('a')), "value should be restored");
+            assertEquals(new TestValue("BANANA"), restoredMap.get(new TestKey('b')), "value should be restored");
+        } finally {
+            if (deserializedSignedState != null) {
+                deserializedSignedState.reservedSignedState().close();
+            }
+            mutableState.release();
+            MerkleDb.resetDefaultInstancePath();
+        }
+    }
+
+    private static List<Path> findFiles(final Path directory, final String suffix) throws IOException {
+        try (final Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).toList();
+        }
+    }
+
+    private static PlatformContext chunkedPlatformContext(final boolean compress) {
+        final Configuration configuration = new TestConfigBuilder()
+                .withValue(StateConfig_.STATE_CHUNK_THREADS, 2)
+                .withValue(StateConfig_.COMPRESS_STATE_CHUNKS, compress)
+                .getOrCreateConfig();
+        return TestPlatformContextBuilder.create()
+                .withConfiguration(configuration)
+                .build();
+    }
+
+    private static VirtualMap<TestKey, TestValue> createVirtualMap(final String label) {
+        final MerkleDbTableConfig tableConfig = new MerkleDbTableConfig((short) 1, DigestType.SHA_384);
+        return new VirtualMap<>(
+                label, new TestKeySerializer(), new TestValueSerializer(), new MerkleDbDataSourceBuilder(tableConfig));
+    }
+
     private Configuration changeConfigAndConfigHolder(String directory) {
         return new TestConfigBuilder()
                 .withValue(StateCommonConfig_.SAVED_STATE_DIRECTORY, directory)
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import static com.swirlds.common.test.fixtures.RandomUtils.getRandomPrintSeed;
+import static com.swirlds.common.test.fixtures.RandomUtils.randomHash;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EventHashFilterTests {
+
+    private static final int MAX_BYTES = 1024 * 1024;
+
+    private static List<Hash> randomHashes(final Random random, final int count) {
+        final List<Hash> hashes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hashes.add(randomHash(random));
+        }
+        return hashes;
+    }
+
+    private static int countFalsePositives(final EventHashFilter filter, final List<Hash> notAdded) {
+        int falsePositives = 0;
+        for (final Hash hash : notAdded) {
+            if (filter.mightContain(hash)) {
+                falsePositives++;
+            }
+        }
+        return falsePositives;
+    }
+
+    @Test
+    @DisplayName("Added hashes are always found, others are found at about the configured rate")
+    void falsePositiveRate() {
+        final Random random = getRandomPrintSeed();
+        final List<Hash> added = randomHashes(random, 1000);
+        final List<Hash> notAdded = randomHashes(random, 10_000);
+
+        final EventHashFilter filter = EventHashFilter.create(added, 0.01, random.nextLong(), MAX_BYTES);
+        assertFalse(filter.isEmpty());
+        for (final Hash hash : added) {
+            assertTrue(filter.mightContain(hash), "a filter must never miss a hash that was added");
+        }
+        final int falsePositives = countFalsePositives(filter, notAdded);
+        assertTrue(falsePositives < 300, "too many false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Filters with different salts have different false positives")
+    void differentSalts() {
+        final Random random = getRandomPrintSeed();
+        final List<Hash> added = randomHashes(random, 100);
+        final List<Hash> notAdded = randomHashes(random, 10_000);
+
+        final EventHashFilter filter1 = EventHashFilter.create(added, 0.1, 1, MAX_BYTES);
+        final EventHashFilter filter2 = EventHashFilter.create(added, 0.1, 2, MAX_BYTES);
+        int inBoth = 0;
+        for (final Hash hash : notAdded) {
+            if (filter1.mightContain(hash) && filter2.mightContain(hash)) {
+                inBoth++;
+            }
+        }
+        assertTrue(inBoth < countFalsePositives(filter1, notAdded) / 2, "false positives should not repeat");
+    }
+
+    @Test
+    @DisplayName("Empty and oversized filters")
+    void emptyFilters() {
+        final Random random = getRandomPrintSeed();
+        assertSame(EventHashFilter.EMPTY, EventHashFilter.create(List.of(), 0.01, 0, MAX_BYTES));
+        assertSame(EventHashFilter.EMPTY, EventHashFilter.create(randomHashes(random, 1000), 0.01, 0, 100));
+        assertEquals(0, EventHashFilter.EMPTY.sizeInBytes());
+        assertFalse(EventHashFilter.EMPTY.mightContain(randomHash(random)));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EventHashFilter.create(randomHashes(random, 10), 0, 0, MAX_BYTES));
+    }
+
+    @Test
+    @DisplayName("Serialize and deserialize")
+    void serialization() throws IOException {
+        final Random random = getRandomPrintSeed();
+        final List<Hash> added = randomHashes(random, 500);
+        final List<Hash> notAdded = randomHashes(random, 5000);
+        final EventHashFilter filter = EventHashFilter.create(added, 0.05, random.nextLong(), MAX_BYTES);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final SerializableDataOutputStream out = new SerializableDataOutputStream(bytes);
+        filter.serialize(out);
+        EventHashFilter.EMPTY.serialize(out);
+        out.flush();
+
+        final SerializableDataInputStream in =
+                new SerializableDataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        final EventHashFilter copy = EventHashFilter.deserialize(in, MAX_BYTES);
+        assertTrue(EventHashFilter.deserialize(in, MAX_BYTES).isEmpty());
+
+        assertEquals(filter.sizeInBytes(), copy.sizeInBytes());
+        for (final Hash hash : added) {
+            assertTrue(copy.mightContain(hash));
+        }
+        assertEquals(countFalsePositives(filter, notAdded), countFalsePositives(copy, notAdded));
+
+        // a peer must not be able to make us allocate more than the limit
+        final SerializableDataInputStream tooLarge =
+                new SerializableDataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThrows(IOException.class, () -> EventHashFilter.deserialize(tooLarge, filter.sizeInBytes() - 1));
+    }
+
+    @Test
+    @DisplayName("Filters without hash functions are rejected")
+    void noHashFunctions() throws IOException {
+        // a filter with bits but no hash functions would contain every hash, and suppress all event sends
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final SerializableDataOutputStream out = new SerializableDataOutputStream(bytes);
+        out.writeLong(0);
+        out.writeInt(0);
+        out.writeLongArray(new long[] {-1L, -1L});
+        out.flush();
+
+        final SerializableDataInputStream in =
+                new SerializableDataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThrows(IOException.class, () -> EventHashFilter.deserialize(in, MAX_BYTES));
+    }
+}
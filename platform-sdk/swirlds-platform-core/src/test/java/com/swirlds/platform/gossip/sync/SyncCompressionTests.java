@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SyncCompressionTests {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private static final byte[] DICTIONARY =
+            "event hash signature transaction creator generation birth round".getBytes(StandardCharsets.UTF_8);
+
+    private static final SyncCompressionSettings DEFLATE_WITH_DICTIONARY = new SyncCompressionSettings(
+            SyncCompression.DEFLATE, Deflater.BEST_SPEED, DICTIONARY, SyncCompressionSettings.dictionaryId(DICTIONARY));
+
+    @Test
+    @DisplayName("Data written with every codec is read back")
+    void writeRead() throws IOException {
+        final SyncCompressionSettings deflate =
+                new SyncCompressionSettings(SyncCompression.DEFLATE, Deflater.DEFAULT_COMPRESSION, null, 0);
+        for (final SyncCompressionSettings settings :
+                new SyncCompressionSettings[] {SyncCompressionSettings.NONE, deflate, DEFLATE_WITH_DICTIONARY}) {
+            final Random random = new Random(42);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final SyncOutputStream out = SyncOutputStream.createSyncOutputStream(bytes, BUFFER_SIZE, settings);
+            for (int i = 0; i < 1000; i++) {
+                out.write(DICTIONARY);
+                out.writeLong(random.nextLong());
+            }
+            out.flush();
+
+            final SyncInputStream in = SyncInputStream.createSyncInputStream(
+                    new ByteArrayInputStream(bytes.toByteArray()), BUFFER_SIZE, settings);
+            final Random expected = new Random(42);
+            for (int i = 0; i < 1000; i++) {
+                assertArrayEquals(DICTIONARY, in.readNBytes(DICTIONARY.length), "Wrong data read");
+                assertEquals(expected.nextLong(), in.readLong(), "Wrong data read");
+            }
+
+            final SyncCompressionMeter meter = out.getCompressionMeter();
+            if (settings.compression() == SyncCompression.NONE) {
+                assertEquals(0, meter.getCompressedBytes(), "Uncompressed data must not be metered");
+            } else {
+                assertEquals(
+                        1000L * (DICTIONARY.length + Long.BYTES),
+                        meter.getUncompressedBytes(),
+                        "Wrong number of uncompressed bytes");
+                assertEquals(bytes.size(), meter.getCompressedBytes(), "Wrong number of compressed bytes");
+                assertTrue(meter.getCompressedBytes() < meter.getUncompressedBytes(), "Data must be compressed");
+                meter.reset();
+                assertEquals(0, meter.getUncompressedBytes(), "Meter must be reset");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Peers agree on compression settings")
+    void negotiate() throws IOException {
+        final SyncCompressionSettings otherDictionary = new SyncCompressionSettings(
+                SyncCompression.DEFLATE, Deflater.BEST_COMPRESSION, new byte[] {1, 2, 3}, 3);
+
+        assertSame(
+                DEFLATE_WITH_DICTIONARY,
+                negotiate(DEFLATE_WITH_DICTIONARY, DEFLATE_WITH_DICTIONARY),
+                "Same codec and dictionary must be used");
+        final SyncCompressionSettings withoutDictionary = negotiate(DEFLATE_WITH_DICTIONARY, otherDictionary);
+        assertEquals(SyncCompression.DEFLATE, withoutDictionary.compression(), "Same codec must be used");
+        assertNull(withoutDictionary.dictionary(), "Different dictionaries must not be used");
+        assertEquals(Deflater.BEST_SPEED, withoutDictionary.level(), "Local compression level must be used");
+        assertSame(
+                SyncCompressionSettings.NONE,
+                negotiate(DEFLATE_WITH_DICTIONARY, SyncCompressionSettings.NONE),
+                "Data must not be compressed if the peer doesn't offer the same codec");
+        assertSame(
+                SyncCompressionSettings.NONE,
+                negotiate(SyncCompressionSettings.NONE, DEFLATE_WITH_DICTIONARY),
+                "Data must not be compressed if the peer doesn't offer the same codec");
+        assertNull(SyncCompression.fromId(-1), "Unknown codec ids must not be resolved");
+        assertNotEquals(
+                SyncCompressionSettings.dictionaryId(new byte[] {1, 2}),
+                SyncCompressionSettings.dictionaryId(new byte[] {2, 1}),
+                "Different dictionaries must have different ids");
+    }
+
+    @Test
+    @DisplayName("Set reconciliation is used only if both peers enable it")
+    void negotiateSetReconciliation() throws IOException {
+        final SyncConnectionSettings enabled = new SyncConnectionSettings(DEFLATE_WITH_DICTIONARY, true);
+        final SyncConnectionSettings disabled = new SyncConnectionSettings(DEFLATE_WITH_DICTIONARY, false);
+        assertTrue(negotiate(enabled, enabled).setReconciliation(), "Both peers enable set reconciliation");
+        assertFalse(negotiate(enabled, disabled).setReconciliation(), "The peer doesn't enable set reconciliation");
+        assertFalse(negotiate(disabled, enabled).setReconciliation(), "This node doesn't enable set reconciliation");
+        assertFalse(negotiate(disabled, disabled).setReconciliation(), "No peer enables set reconciliation");
+        assertSame(
+                DEFLATE_WITH_DICTIONARY,
+                negotiate(enabled, disabled).compression(),
+                "Compression must not depend on other features");
+    }
+
+    private static SyncCompressionSettings negotiate(
+            final SyncCompressionSettings local, final SyncCompressionSettings peer) throws IOException {
+        return negotiate(new SyncConnectionSettings(local, false), new SyncConnectionSettings(peer, false))
+                .compression();
+    }
+
+    private static SyncConnectionSettings negotiate(
+            final SyncConnectionSettings local, final SyncConnectionSettings peer) throws IOException {
+        final ByteArrayOutputStream peerOffer = new ByteArrayOutputStream();
+        SyncCompressionNegotiator.writeOffer(peerOffer, peer);
+        // data sent by the peer after the offer must not be consumed
+        peerOffer.write(42);
+        final ByteArrayInputStream in = new ByteArrayInputStream(peerOffer.toByteArray());
+        final ByteArrayOutputStream localOffer = new ByteArrayOutputStream();
+
+        final SyncConnectionSettings negotiated = SyncCompressionNegotiator.negotiate(in, localOffer, local);
+
+        assertEquals(42, in.read(), "Data after the offer must not be read");
+        assertEquals(peerOffer.size() - 1, localOffer.size(), "Offer must be sent to the peer");
+        return negotiated;
+    }
+}
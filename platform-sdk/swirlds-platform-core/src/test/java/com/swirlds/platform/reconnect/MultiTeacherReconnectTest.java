@@ -0,0 +1,358 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.swirlds.platform.reconnect;
+
+import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticThreadManager;
+import static com.swirlds.platform.test.fixtures.state.FakeMerkleStateLifecycles.FAKE_MERKLE_STATE_LIFECYCLES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.swirlds.base.time.Time;
+import com.swirlds.common.constructable.ClassConstructorPair;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.merkle.MerkleNode;
+import com.swirlds.common.merkle.synchronization.LearnerSubtreeDispatcher;
+import com.swirlds.common.merkle.synchronization.config.ReconnectConfig_;
+import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationException;
+import com.swirlds.common.platform.NodeId;
+import com.swirlds.common.test.fixtures.merkle.util.PairedStreams;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.merkledb.MerkleDb;
+import com.swirlds.merkledb.MerkleDbDataSourceBuilder;
+import com.swirlds.merkledb.MerkleDbTableConfig;
+import com.swirlds.platform.metrics.ReconnectMetrics;
+import com.swirlds.platform.state.MerkleRoot;
+import com.swirlds.platform.state.MerkleStateRoot;
+import com.swirlds.platform.state.signed.ReservedSignedState;
+import com.swirlds.platform.state.signed.SignedState;
+import com.swirlds.platform.state.signed.SignedStateValidator;
+import com.swirlds.platform.system.BasicSoftwareVersion;
+import com.swirlds.platform.system.address.Address;
+import com.swirlds.platform.system.address.AddressBook;
+import com.swirlds.platform.test.fixtures.state.FakeMerkleStateLifecycles;
+import com.swirlds.platform.test.fixtures.state.RandomSignedStateGenerator;
+import com.swirlds.virtualmap.VirtualMap;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Reconnects a learner from a primary teacher and a helper teacher, each over its own pair of streams. Subtrees with
+ * custom reconnect views, virtual maps in these tests, may be received from either teacher.
+ */
+final class MultiTeacherReconnectTest {
+
+    private static final Duration RECONNECT_SOCKET_TIMEOUT = Duration.of(1_000, ChronoUnit.MILLIS);
+
+    private static final long ROUND = 100;
+
+    private static final int MAP_COUNT = 3;
+
+    private static final int KEY_COUNT = 20;
+
+    private final Configuration configuration = new TestConfigBuilder()
+            .withValue(ReconnectConfig_.MAX_HELPER_TEACHERS, 1)
+            .getOrCreateConfig();
+
+    private final PlatformContext platformContext = TestPlatformContextBuilder.create()
+            .withConfiguration(configuration)
+            .build();
+
+    private final ReconnectMetrics reconnectMetrics = mock(ReconnectMetrics.class);
+
+    @TempDir
+    Path testDirectory;
+
+    @BeforeAll
+    static void setUp() throws ConstructableRegistryException {
+        final ConstructableRegistry registry = ConstructableRegistry.getInstance();
+        registry.registerConstructables("com.swirlds.common");
+        registry.registerConstructables("com.swirlds.merkledb");
+        registry.registerConstructables("com.swirlds.virtualmap");
+        registry.registerConstructables("com.swirlds.platform.state");
+        registry.registerConstructables("com.swirlds.platform.state.signed");
+        registry.registerConstructables("com.swirlds.platform.system");
+        registry.registerConstructable(new ClassConstructorPair(TestKey.class, TestKey::new));
+        registry.registerConstructable(new ClassConstructorPair(TestValue.class, TestValue::new));
+        registry.registerConstructable(new ClassConstructorPair(TestKeySerializer.class, TestKeySerializer::new));
+        registry.registerConstructable(new ClassConstructorPair(TestValueSerializer.class, TestValueSerializer::new));
+        FakeMerkleStateLifecycles.registerMerkleStateRootClassIds();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MerkleDb.resetDefaultInstancePath();
+    }
+
+    @Test
+    @DisplayName("Subtrees claimed by a helper are received from the helper teacher")
+    void subtreesAreSplitBetweenTeachers() throws Exception {
+        final SignedState teacherState = buildSignedState("teacher", ROUND, true);
+        final SignedState helperState = buildSignedState("helper", ROUND, true);
+        final HelperFirstDispatcher dispatcher = new HelperFirstDispatcher();
+
+        final ReconnectResult result = reconnect(teacherState, helperState, dispatcher);
+
+        assertNull(result.helperFailure(), "the helper learner should not fail");
+        assertTrue(result.helperSubtrees() > 0, "some subtrees should be received from the helper teacher");
+        try (final ReservedSignedState receivedState = result.receivedState()) {
+            checkReceivedState(teacherState, receivedState.get().getState());
+        }
+    }
+
+    @Test
+    @DisplayName("A helper with a state for another round is not used")
+    void helperWithAnotherRoundIsSkipped() throws Exception {
+        final SignedState teacherState = buildSignedState("teacher", ROUND, true);
+        final SignedState helperState = buildSignedState("helper", ROUND + 1, true);
+        final LearnerSubtreeDispatcher dispatcher = new LearnerSubtreeDispatcher(1);
+
+        final ReconnectResult result = reconnect(teacherState, helperState, dispatcher);
+
+        assertNull(result.helperFailure(), "the helper learner should not fail");
+        assertEquals(0, result.helperSubtrees(), "no subtrees should be received from the helper teacher");
+        try (final ReservedSignedState receivedState = result.receivedState()) {
+            checkReceivedState(teacherState, receivedState.get().getState());
+        }
+    }
+
+    @Test
+    @DisplayName("A failure of the helper fails the reconnect")
+    void helperFailureFailsReconnect() throws Exception {
+        final SignedState teacherState = buildSignedState("teacher", ROUND, true);
+        // The helper has a state for the same round, but without the requested subtrees
+        final SignedState helperState = buildSignedState("helper", ROUND, false);
+        final HelperFirstDispatcher dispatcher = new HelperFirstDispatcher();
+
+        final ReconnectResult result = reconnect(teacherState, helperState, dispatcher);
+
+        assertNull(result.receivedState(), "the state should not be received");
+        assertInstanceOf(
+                MerkleSynchronizationException.class,
+                result.learnerFailure(),
+                "the primary learner should fail because of the helper");
+        assertNotNull(result.helperFailure(), "the helper learner should fail");
+    }
+
+    /**
+     * The outcome of a reconnect. Either the received state or the learner failure is set.
+     */
+    private record ReconnectResult(
+            ReservedSignedState receivedState, Throwable learnerFailure, int helperSubtrees, Throwable helperFailure) {}
+
+    /**
+     * Reconnect a learner from a primary teacher and a helper teacher, with a learner state of the same shape as the
+     * teacher state, but different virtual map contents.
+     */
+    private ReconnectResult reconnect(
+            final SignedState teacherState, final SignedState helperState, final LearnerSubtreeDispatcher dispatcher)
+            throws IOException, InterruptedException {
+        final SignedState learnerState = buildSignedState("learner", ROUND - 10, true);
+        // Teacher states are immutable, as they are when held by the platform
+        final List<MerkleNode> mutableCopies = List.of(teacherState.getState().copy(), helperState.getState().copy());
+
+        final AtomicInteger helperSubtrees = new AtomicInteger();
+        final AtomicReference<Throwable> helperFailure = new AtomicReference<>();
+        ReservedSignedState receivedState = null;
+        Throwable learnerFailure = null;
+        try (final PairedStreams primaryStreams = new PairedStreams();
+                final PairedStreams helperStreams = new PairedStreams()) {
+
+            final Thread primaryTeacherThread = startTeacher(teacherState, primaryStreams);
+            final Thread helperTeacherThread = startTeacher(helperState, helperStreams);
+
+            final ReconnectSubtreeLearner helperLearner = new ReconnectSubtreeLearner(
+                    platformContext,
+                    getStaticThreadManager(),
+                    new DummyConnection(
+                            platformContext, helperStreams.getLearnerInput(), helperStreams.getLearnerOutput()),
+                    RECONNECT_SOCKET_TIMEOUT,
+                    dispatcher);
+            final Thread helperLearnerThread = new Thread(() -> {
+                try {
+                    // Helpers are only registered once the round of the state is known
+                    while (dispatcher.getRound() == LearnerSubtreeDispatcher.UNKNOWN_ROUND) {
+                        Thread.sleep(1);
+                    }
+                    if (dispatcher.tryAddHelper()) {
+                        try {
+                            helperSubtrees.set(helperLearner.execute());
+                        } finally {
+                            dispatcher.removeHelper();
+                        }
+                    }
+                } catch (final Exception e) {
+                    helperFailure.set(e);
+                }
+            });
+            helperLearnerThread.start();
+
+            final ReconnectLearner learner = new ReconnectLearner(
+                    platformContext,
+                    getStaticThreadManager(),
+                    new DummyConnection(
+                            platformContext, primaryStreams.getLearnerInput(), primaryStreams.getLearnerOutput()),
+                    buildAddressBook(5),
+                    learnerState.getState(),
+                    RECONNECT_SOCKET_TIMEOUT,
+                    reconnectMetrics,
+                    dispatcher);
+            try {
+                receivedState = learner.execute(mock(SignedStateValidator.class));
+            } catch (final Exception e) {
+                learnerFailure = e;
+                // The platform disconnects from the primary teacher when the learner fails
+                primaryStreams.disconnect();
+            }
+
+            helperLearnerThread.join();
+            helperTeacherThread.join();
+            primaryTeacherThread.join();
+        } finally {
+            mutableCopies.forEach(MerkleNode::release);
+        }
+        return new ReconnectResult(receivedState, learnerFailure, helperSubtrees.get(), helperFailure.get());
+    }
+
+    /**
+     * Start a teacher in a new thread. If the teacher fails, it disconnects from the learner, as the platform does.
+     */
+    private Thread startTeacher(final SignedState signedState, final PairedStreams streams) {
+        final ReconnectTeacher teacher = new ReconnectTeacher(
+                platformContext,
+                Time.getCurrent(),
+                getStaticThreadManager(),
+                new DummyConnection(platformContext, streams.getTeacherInput(), streams.getTeacherOutput()),
+                RECONNECT_SOCKET_TIMEOUT,
+                new NodeId(0),
+                new NodeId(3),
+                signedState.getRound(),
+                reconnectMetrics,
+                configuration);
+        final Thread thread = new Thread(() -> {
+            try {
+                teacher.execute(signedState);
+            } catch (final Exception e) {
+                streams.disconnect();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Build a signed state, optionally with virtual maps as the first children of the state root. Every state is
+     * stored in its own database, like on different nodes.
+     */
+    private SignedState buildSignedState(final String name, final long round, final boolean withMaps) {
+        MerkleDb.setDefaultPath(testDirectory.resolve(name));
+        final MerkleStateRoot root = new MerkleStateRoot(
+                FAKE_MERKLE_STATE_LIFECYCLES, version -> new BasicSoftwareVersion(version.major()));
+        if (withMaps) {
+            final MerkleDbTableConfig tableConfig = new MerkleDbTableConfig((short) 1, DigestType.SHA_384);
+            for (int i = 0; i < MAP_COUNT; i++) {
+                final VirtualMap<TestKey, TestValue> map = new VirtualMap<>(
+                        "Map" + i,
+                        new TestKeySerializer(),
+                        new TestValueSerializer(),
+                        new MerkleDbDataSourceBuilder(tableConfig));
+                // The learner has values that differ from the teachers' ones
+                final String prefix = name.equals("learner") ? "old" : "new";
+                for (int key = 0; key < KEY_COUNT; key++) {
+                    map.put(new TestKey(key), new TestValue(prefix + i + "-" + key));
+                }
+                root.setChild(i, map);
+            }
+        }
+        // The same seed is used for all states, so their platform states match
+        return new RandomSignedStateGenerator(0).setState(root).setRound(round).build();
+    }
+
+    private static void checkReceivedState(final SignedState teacherState, final MerkleRoot receivedState) {
+        assertEquals(teacherState.getState().getHash(), receivedState.getHash(), "state hash should match");
+        for (int i = 0; i < MAP_COUNT; i++) {
+            final VirtualMap<TestKey, TestValue> map = receivedState.getChild(i);
+            for (int key = 0; key < KEY_COUNT; key++) {
+                assertEquals(new TestValue("new" + i + "-" + key), map.get(new TestKey(key)), "value should match");
+            }
+        }
+    }
+
+    private static AddressBook buildAddressBook(final int numAddresses) {
+        final PublicKey publicKey = mock(PublicKey.class);
+        final List<Address> addresses = new ArrayList<>();
+        for (int i = 0; i < numAddresses; i++) {
+            final Address address = mock(Address.class);
+            when(address.getSigPublicKey()).thenReturn(publicKey);
+            when(address.getNodeId()).thenReturn(new NodeId(i));
+            addresses.add(address);
+        }
+        return new AddressBook(addresses);
+    }
+
+    /**
+     * A dispatcher that makes the primary learner wait for the helper to claim a subtree, once subtrees are
+     * published. Otherwise, the primary learner may receive all subtrees before the helper claims any.
+     */
+    private static final class HelperFirstDispatcher extends LearnerSubtreeDispatcher {
+
+        private final CountDownLatch helperClaimed = new CountDownLatch(1);
+
+        HelperFirstDispatcher() {
+            super(1);
+        }
+
+        @Override
+        public void publish(final List<MerkleNode> subtrees) {
+            super.publish(subtrees);
+            try {
+                helperClaimed.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public int claimForHelper(final Runnable breakConnection) throws InterruptedException {
+            final int index = super.claimForHelper(breakConnection);
+            helperClaimed.countDown();
+            return index;
+        }
+    }
+}
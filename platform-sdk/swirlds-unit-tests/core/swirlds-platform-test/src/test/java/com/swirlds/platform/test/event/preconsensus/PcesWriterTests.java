@@ -802,4 +802,60 @@ class PcesWriterTests {
         assertEquals(
                 8, writer.writeEvent(events.get(8)), "Flush requests for later sequences numbers should be maintained");
     }
+
+    @ParameterizedTest
+    @MethodSource("buildArguments")
+    @DisplayName("Group commit test")
+    void groupCommitTest(@NonNull final AncientMode ancientMode) throws IOException {
+        final Randotron r = Randotron.create();
+        // Every call to the fake time advances it by 1ms, so every flush takes 1ms
+        final Configuration configuration = new TestConfigBuilder()
+                .withValue(PcesConfig_.DATABASE_DIRECTORY, testDirectory)
+                .withValue(FileSystemManagerConfig_.ROOT_PATH, testDirectory)
+                .withValue(PcesConfig_.GROUP_COMMIT, true)
+                .withValue(PcesConfig_.GROUP_COMMIT_MAX_DELAY, "1s")
+                .withValue(EventConfig_.USE_BIRTH_ROUND_ANCIENT_THRESHOLD, ancientMode == BIRTH_ROUND_THRESHOLD)
+                .getOrCreateConfig();
+        final FakeTime time = new FakeTime(Duration.ofMillis(1));
+        final PlatformContext platformContext = TestPlatformContextBuilder.create()
+                .withConfiguration(configuration)
+                .withTime(time)
+                .build();
+        final PcesFileManager fileManager =
+                new PcesFileManager(platformContext, new PcesFileTracker(ancientMode), selfId, 0);
+        final PcesWriter writer = new DefaultPcesWriter(platformContext, fileManager);
+
+        writer.beginStreamingNewEvents();
+
+        final List<PlatformEvent> events = new ArrayList<>();
+        for (long i = 0; i < 5; i++) {
+            final PlatformEvent event = new TestingEventBuilder(r).build();
+            event.setStreamSequenceNumber(i);
+            events.add(event);
+        }
+
+        assertNull(writer.submitFlushRequest(0L), "No event has been written to flush");
+        assertEquals(
+                0,
+                writer.writeEvent(events.get(0)),
+                "The first flush should not be delayed, there is no flush latency estimate yet");
+
+        assertNull(writer.writeEvent(events.get(1)), "No flush has been requested");
+        assertNull(
+                writer.submitFlushRequest(1L),
+                "The flush should be delayed until the request has waited longer than a flush takes");
+        assertEquals(
+                2,
+                writer.writeEvent(events.get(2)),
+                "A delayed flush should also make durable events written while the flush was delayed");
+
+        assertNull(writer.writeEvent(events.get(3)), "No flush has been requested");
+        assertNull(writer.submitFlushRequest(3L), "The flush should be delayed");
+        time.tick(Duration.ofMillis(10));
+        assertEquals(
+                3, writer.flushPendingRequests(time.now()), "The heartbeat should flush once the delay has elapsed");
+        assertNull(writer.flushPendingRequests(time.now()), "There are no pending flush requests");
+
+        writer.closeCurrentMutableFile();
+    }
 }
@@ -30,6 +30,8 @@ import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
 import com.swirlds.config.api.Configuration;
 import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.platform.gossip.sync.SyncCompressionNegotiator;
+import com.swirlds.platform.gossip.sync.SyncConnectionSettings;
 import com.swirlds.platform.network.ByteConstants;
 import com.swirlds.platform.network.Connection;
 import com.swirlds.platform.network.ConnectionTracker;
@@ -83,6 +85,8 @@ class OutboundConnectionCreatorTest {
                 .close();
 
         final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        // the peer's connection offer is sent before any other data
+        SyncCompressionNegotiator.writeOffer(byteOut, SyncConnectionSettings.NONE);
         final SerializableDataOutputStream out = new SerializableDataOutputStream(byteOut);
         out.writeInt(ByteConstants.COMM_CONNECT);
         out.close();
@@ -162,6 +166,8 @@ class OutboundConnectionCreatorTest {
                 .close();
 
         final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        // the peer's connection offer is sent before any other data
+        SyncCompressionNegotiator.writeOffer(byteOut, SyncConnectionSettings.NONE);
         final SerializableDataOutputStream out = new SerializableDataOutputStream(byteOut);
         out.writeInt(ByteConstants.COMM_CONNECT);
         out.close();
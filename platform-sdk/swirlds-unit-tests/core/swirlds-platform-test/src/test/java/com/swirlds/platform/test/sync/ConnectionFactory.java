@@ -18,8 +18,14 @@ package com.swirlds.platform.test.sync;
 
 import com.swirlds.base.utility.Pair;
 import com.swirlds.common.platform.NodeId;
+import com.swirlds.platform.gossip.sync.SyncCompressionNegotiator;
+import com.swirlds.platform.gossip.sync.SyncCompressionSettings;
+import com.swirlds.platform.gossip.sync.SyncConnectionSettings;
 import com.swirlds.platform.network.Connection;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.net.InetSocketAddress;
@@ -51,6 +57,53 @@ public interface ConnectionFactory {
         return Pair.of(callerConnection, listenerConnection);
     }
 
+    /**
+     * Creates a new pair of {@link Connection} instances. Set reconciliation is used on the connections if both nodes
+     * enable it, as agreed by {@link SyncCompressionNegotiator} on network connections.
+     */
+    static Pair<Connection, Connection> createLocalConnections(
+            final NodeId nodeA, final NodeId nodeB, final boolean setReconciliationA, final boolean setReconciliationB)
+            throws IOException {
+        final SyncConnectionSettings settingsA =
+                new SyncConnectionSettings(SyncCompressionSettings.NONE, setReconciliationA);
+        final SyncConnectionSettings settingsB =
+                new SyncConnectionSettings(SyncCompressionSettings.NONE, setReconciliationB);
+
+        final PipedInputStream inputStreamA = new PipedInputStream();
+        final PipedOutputStream outputStreamB = new PipedOutputStream(inputStreamA);
+        final PipedInputStream inputStreamB = new PipedInputStream();
+        final PipedOutputStream outputStreamA = new PipedOutputStream(inputStreamB);
+
+        final LocalConnection callerConnection = new LocalConnection(
+                nodeA,
+                nodeB,
+                inputStreamA,
+                outputStreamA,
+                DEFAULT_CONNECTION_BUFFER_SIZE,
+                true,
+                negotiate(settingsA, settingsB).setReconciliation());
+        final LocalConnection listenerConnection = new LocalConnection(
+                nodeB,
+                nodeA,
+                inputStreamB,
+                outputStreamB,
+                DEFAULT_CONNECTION_BUFFER_SIZE,
+                false,
+                negotiate(settingsB, settingsA).setReconciliation());
+        return Pair.of(callerConnection, listenerConnection);
+    }
+
+    /**
+     * Negotiates connection settings of a node, given the offer of its peer.
+     */
+    private static SyncConnectionSettings negotiate(
+            final SyncConnectionSettings local, final SyncConnectionSettings peer) throws IOException {
+        final ByteArrayOutputStream peerOffer = new ByteArrayOutputStream();
+        SyncCompressionNegotiator.writeOffer(peerOffer, peer);
+        return SyncCompressionNegotiator.negotiate(
+                new ByteArrayInputStream(peerOffer.toByteArray()), OutputStream.nullOutputStream(), local);
+    }
+
     static Pair<Connection, Connection> createSocketConnections(final NodeId nodeA, final NodeId nodeB)
             throws IOException {
         final int bufferSize = 128;
@@ -37,6 +37,7 @@ public class LocalConnection implements Connection {
     private final NodeId selfId;
     private final NodeId otherId;
     private final boolean outbound;
+    private final boolean setReconciliation;
     private boolean connected = true;
 
     // Current test usage of this utility class is incompatible with gzip compression.
@@ -53,11 +54,23 @@ public class LocalConnection implements Connection {
             final OutputStream out,
             final int bufferSize,
             final boolean outbound) {
+        this(selfId, otherId, in, out, bufferSize, outbound, false);
+    }
+
+    public LocalConnection(
+            final NodeId selfId,
+            final NodeId otherId,
+            final InputStream in,
+            final OutputStream out,
+            final int bufferSize,
+            final boolean outbound,
+            final boolean setReconciliation) {
         this.selfId = selfId;
         this.otherId = otherId;
         dis = SyncInputStream.createSyncInputStream(platformContext, in, bufferSize);
         dos = SyncOutputStream.createSyncOutputStream(platformContext, out, bufferSize);
         this.outbound = outbound;
+        this.setReconciliation = setReconciliation;
     }
 
     @Override
@@ -128,6 +141,11 @@ public class LocalConnection implements Connection {
         return outbound;
     }
 
+    @Override
+    public boolean isSetReconciliationEnabled() {
+        return setReconciliation;
+    }
+
     @Override
     public String getDescription() {
         return generateDescription();
@@ -55,6 +55,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -604,6 +606,51 @@ class ShadowgraphTest {
         }
     }
 
+    @Test
+    @DisplayName("Readers see consistent tips while events are added")
+    void testConcurrentReadsWhileAdding() throws InterruptedException {
+        initShadowgraph(RandomUtils.getRandomPrintSeed(), 100, 4);
+
+        final int tipsSize = shadowgraph.getTips().size();
+        final List<ShadowEvent> tipsBefore = shadowgraph.getTips();
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final AtomicReference<Throwable> readerError = new AtomicReference<>();
+
+        final Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    final List<ShadowEvent> tips = shadowgraph.getTips();
+                    // tips are published after a new tip is added and its self parent is removed
+                    assertEquals(tipsSize, tips.size(), "There are no forks, the number of tips should not change");
+                    for (final ShadowEvent tip : tips) {
+                        assertFalse(tips.contains(tip.getSelfParent()), "A self parent must not be a tip");
+                        assertEquals(
+                                tip,
+                                shadowgraph.shadow(tip.getEvent().getDescriptor()),
+                                "Tips must be in the shadowgraph");
+                    }
+                    shadowgraph.findAncestors(tips, e -> true);
+                }
+            } catch (final Throwable t) {
+                readerError.set(t);
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < 1000; i++) {
+            final EventImpl newTip = emitter.emitEvent();
+            assertDoesNotThrow(
+                    () -> shadowgraph.addEvent(newTip.getBaseEvent()),
+                    "The new tip should be added to the shadow graph.");
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(readerError.get(), "Reader failed: " + readerError.get());
+        assertEquals(tipsSize, tipsBefore.size(), "Tips returned earlier must not be affected by new events");
+        assertNotEquals(tipsBefore, shadowgraph.getTips(), "Tips should have changed");
+    }
+
     @Test
     void testHashgraphEventWithNullHash() {
         initShadowgraph(RandomUtils.getRandomPrintSeed(), 100, 4);
@@ -1139,4 +1139,54 @@ public class SyncTests {
         SyncValidator.assertOnlyRequiredEventsTransferred(executor.getCaller(), executor.getListener(), ancientMode);
         SyncValidator.assertStreamsEmpty(executor.getCaller(), executor.getListener());
     }
+
+    /**
+     * Tests a sync between a node with set reconciliation enabled and a node with it disabled. Event filters must not
+     * be exchanged, and the sync must work as without set reconciliation.
+     */
+    @ParameterizedTest
+    @MethodSource("fourNodeGraphParams")
+    void setReconciliationEnabledOnOneNode(final SyncTestParams params) throws Exception {
+        final SyncTestExecutor executor = new SyncTestExecutor(params);
+        executor.setConnectionFactory(
+                (nodeA, nodeB) -> ConnectionFactory.createLocalConnections(nodeA, nodeB, true, false));
+        executor.setGraphCustomization((caller, listener) -> {
+            caller.setSaveGeneratedEvents(true);
+            listener.setSaveGeneratedEvents(true);
+        });
+
+        executor.execute();
+
+        assertFalse(
+                executor.getCaller().getConnection().isSetReconciliationEnabled(),
+                "Set reconciliation must not be used if the peer doesn't enable it");
+        assertFalse(
+                executor.getListener().getConnection().isSetReconciliationEnabled(),
+                "Set reconciliation must not be used if this node doesn't enable it");
+        SyncValidator.assertOnlyRequiredEventsTransferred(
+                executor.getCaller(), executor.getListener(), params.getAncientMode());
+        SyncValidator.assertStreamsEmpty(executor.getCaller(), executor.getListener());
+    }
+
+    /**
+     * Tests a sync between two nodes with set reconciliation enabled. Event filters are exchanged, and both nodes
+     * must read exactly what the other node writes.
+     */
+    @ParameterizedTest
+    @MethodSource("fourNodeGraphParams")
+    void setReconciliationEnabledOnBothNodes(final SyncTestParams params) throws Exception {
+        final SyncTestExecutor executor = new SyncTestExecutor(params);
+        executor.setConnectionFactory(
+                (nodeA, nodeB) -> ConnectionFactory.createLocalConnections(nodeA, nodeB, true, true));
+
+        executor.execute();
+
+        assertTrue(
+                executor.getCaller().getConnection().isSetReconciliationEnabled(),
+                "Set reconciliation must be used if both nodes enable it");
+        assertTrue(
+                executor.getListener().getConnection().isSetReconciliationEnabled(),
+                "Set reconciliation must be used if both nodes enable it");
+        SyncValidator.assertStreamsEmpty(executor.getCaller(), executor.getListener());
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache; // NOSONAR: Needed to benchmark internal classes
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link VirtualNodeCache} path indices. Every benchmark group models a single
+ * handle thread reading from the cache, while several hashing threads put hashes to it.
+ * <p>
+ * The "index" group compares {@link ConcurrentHashMap} with boxed keys against
+ * {@link ConcurrentLongObjectHashMap} directly, the "cache" group measures
+ * {@link VirtualNodeCache#putHash(long, Hash)} and {@link VirtualNodeCache#lookupHashByPath(long, boolean)}.
+ * To compare allocation rates, run with the GC profiler, e.g. {@code -prof gc}, and check
+ * {@code gc.alloc.rate.norm} results.
+ */
+@State(Scope.Group)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class PathIndexBench {
+
+    /** Number of distinct paths every hashing thread puts in a round */
+    private static final int PATHS_PER_THREAD = 1 << 18;
+
+    /** Number of hashing threads in every benchmark group */
+    private static final int HASHING_THREADS = 4;
+
+    private static final Hash HASH = new Hash();
+
+    /**
+     * Common interface for both index implementations in the "index" benchmark group.
+     */
+    private interface PathIndex {
+        Object get(long path);
+
+        void put(long path, Object value);
+    }
+
+    @Param({"ConcurrentHashMap", "ConcurrentLongObjectHashMap"})
+    public String indexType;
+
+    private PathIndex index;
+
+    private VirtualNodeCache<TestKey, TestValue> cache;
+
+    /**
+     * Per-thread state. Hashing threads never put the same path concurrently, so every thread
+     * gets its own range of paths.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+        private long firstPath;
+
+        private long next;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            firstPath = (long) (THREAD_COUNTER.getAndIncrement() % HASHING_THREADS) * PATHS_PER_THREAD;
+        }
+
+        long nextPutPath() {
+            return firstPath + (next++ % PATHS_PER_THREAD);
+        }
+
+        static long nextLookupPath() {
+            return ThreadLocalRandom.current().nextLong((long) HASHING_THREADS * PATHS_PER_THREAD);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        if ("ConcurrentHashMap".equals(indexType)) {
+            final Map<Long, Object> map = new ConcurrentHashMap<>();
+            index = new PathIndex() {
+                @Override
+                public Object get(final long path) {
+                    return map.get(path);
+                }
+
+                @Override
+                public void put(final long path, final Object value) {
+                    map.compute(path, (k, v) -> value);
+                }
+            };
+        } else {
+            final ConcurrentLongObjectHashMap<Object> map = new ConcurrentLongObjectHashMap<>();
+            index = new PathIndex() {
+                @Override
+                public Object get(final long path) {
+                    return map.get(path);
+                }
+
+                @Override
+                public void put(final long path, final Object value) {
+                    map.compute(path, (k, v) -> value);
+                }
+            };
+        }
+        // The first cache copy becomes immutable for leaves and mutable for hashes, just like
+        // a round being hashed
+        cache = new VirtualNodeCache<>();
+        cache.copy();
+    }
+
+    @Benchmark
+    @Group("index")
+    @GroupThreads(1)
+    public Object indexGet() {
+        return index.get(ThreadState.nextLookupPath());
+    }
+
+    @Benchmark
+    @Group("index")
+    @GroupThreads(HASHING_THREADS)
+    public void indexPut(final ThreadState state) {
+        index.put(state.nextPutPath(), HASH);
+    }
+
+    @Benchmark
+    @Group("cache")
+    @GroupThreads(1)
+    public Hash lookupHashByPath() {
+        return cache.lookupHashByPath(ThreadState.nextLookupPath(), false);
+    }
+
+    @Benchmark
+    @Group("cache")
+    @GroupThreads(HASHING_THREADS)
+    public void putHash(final ThreadState state) {
+        cache.putHash(state.nextPutPath(), HASH);
+    }
+}
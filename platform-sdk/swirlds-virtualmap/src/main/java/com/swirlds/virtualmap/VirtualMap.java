@@ -45,6 +45,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -516,4 +517,15 @@ public final class VirtualMap<K extends VirtualKey, V extends VirtualValue> exte
     public void warm(final K key) {
         root.warm(key);
     }
+
+    /**
+     * Warms multiple keys at once, for example, all keys to be accessed in a round. Unlike
+     * {@link #warm(VirtualKey)} called for every key, leaf records for all keys are loaded from the
+     * data source in a single batch, so the data source can sort and coalesce disk reads and run
+     * them in parallel.
+     *  @param keys keys of the leaves to warm
+     */
+    public void warm(final Collection<K> keys) {
+        root.warm(keys);
+    }
 }
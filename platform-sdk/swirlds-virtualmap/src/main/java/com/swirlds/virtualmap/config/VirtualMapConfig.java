@@ -87,6 +87,11 @@ import java.time.Duration;
  * 		increase the amount of time required to make a fast copy by this amount of time.
  * @param maximumFlushThrottlePeriod
  * 		The maximum amount of time that any virtual map fast copy will be delayed due to a flush backlog.
+ * @param incrementalLeafHashBatchSize
+ *      If greater than zero, leaves put to a mutable virtual map copy are hashed in the background, in batches
+ *      of this size, while the copy is still being modified. When the copy is hashed, precomputed leaf hashes
+ *      are reused, and only the remaining leaves and internal nodes are hashed. If zero, all leaves are hashed
+ *      when the copy is hashed.
  */
 @ConfigData("virtualMap")
 public record VirtualMapConfig(
@@ -109,7 +114,8 @@ public record VirtualMapConfig(
         @ConfigProperty(defaultValue = "2000000000") long familyThrottleThreshold,
         @ConfigProperty(defaultValue = "10000") int preferredFlushQueueSize,
         @ConfigProperty(defaultValue = "200ms") Duration flushThrottleStepSize,
-        @ConfigProperty(defaultValue = "5s") Duration maximumFlushThrottlePeriod) {
+        @ConfigProperty(defaultValue = "5s") Duration maximumFlushThrottlePeriod,
+        @Min(0) @ConfigProperty(defaultValue = "0") int incrementalLeafHashBatchSize) {
 
     private static final double UNIT_FRACTION_PERCENT = 100.0;
 
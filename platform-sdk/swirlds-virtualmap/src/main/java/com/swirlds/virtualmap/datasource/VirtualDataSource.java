@@ -26,6 +26,8 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -149,6 +151,30 @@ public interface VirtualDataSource {
     @Nullable
     VirtualLeafBytes loadLeafRecord(final long path) throws IOException;
 
+    /**
+     * Load virtual record bytes for multiple leaf nodes by keys. The returned list has the same size
+     * as the list of keys, for every key the list contains its leaf record, or {@code null} if no
+     * record was stored for the key.
+     *
+     * <p>This method is a batch version of {@link #loadLeafRecord(Bytes, int)}. Data sources may
+     * load all the records in parallel, or in the order that is more efficient for the underlying
+     * storage than the order of the keys. The default implementation loads the records one by one.
+     *
+     * @param keys the key bytes for leaves
+     * @param keyHashCodes the key hash codes, in the same order as the keys
+     * @return the leaves' records, in the same order as the keys
+     * @throws IOException if there was a problem reading leaf records
+     */
+    @NonNull
+    default List<VirtualLeafBytes> loadLeafRecords(@NonNull final List<Bytes> keys, @NonNull final int[] keyHashCodes)
+            throws IOException {
+        final VirtualLeafBytes[] records = new VirtualLeafBytes[keys.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = loadLeafRecord(keys.get(i), keyHashCodes[i]);
+        }
+        return Arrays.asList(records);
+    }
+
     /**
      * Find the path of the given key.
      *
@@ -177,6 +203,28 @@ public interface VirtualDataSource {
     @Nullable
     Hash loadHash(final long path) throws IOException;
 
+    /**
+     * Load virtual node hashes for multiple paths. The returned array has the same length as the
+     * array of paths, for every path the array contains its hash, or {@code null} if no hash was
+     * stored for the path.
+     *
+     * <p>This method is a batch version of {@link #loadHash(long)}. Data sources may load all the
+     * hashes in parallel, or in the order that is more efficient for the underlying storage than the
+     * order of the paths. The default implementation loads the hashes one by one.
+     *
+     * @param paths virtual node paths
+     * @return the nodes' hashes, in the same order as the paths
+     * @throws IOException if there was a problem loading hashes from data source
+     */
+    @NonNull
+    default Hash[] loadHashes(@NonNull final long[] paths) throws IOException {
+        final Hash[] hashes = new Hash[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            hashes[i] = loadHash(paths[i]);
+        }
+        return hashes;
+    }
+
     /**
      * Load a virtual node hash by path and, if found, write it to the specified output stream. This
      * method helps avoid (de)serialization overhead during reconnects on the teacher side. Instead of
@@ -0,0 +1,381 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A concurrent hash map with primitive {@code long} keys, optimized for use by the {@link VirtualNodeCache}
+ * path indices.
+ * <p>
+ * Unlike {@link java.util.concurrent.ConcurrentHashMap ConcurrentHashMap&lt;Long, V&gt;}, this map doesn't box
+ * keys and doesn't allocate a node per entry. Keys and values are stored in two parallel arrays using open
+ * addressing with linear probing. Removed entries are marked with a tombstone, tombstones are dropped when a
+ * table is rehashed.
+ * <p>
+ * The map is split into a fixed number of segments, every segment has its own table and its own
+ * {@link StampedLock}. Writes ({@link #put(long, Object)}, {@link #compute(long, Remapping)}) take the segment
+ * write lock. Reads ({@link #get(long)}) are optimistic: a table is scanned without any locks, and the
+ * result is only used if no writes to the segment happened in the meantime. Otherwise, the lookup is
+ * repeated under the segment read lock. Since writes to different segments never contend, and most reads
+ * never take any locks, the map scales well with the number of hashing threads.
+ * <p>
+ * Null values aren't supported. Remapping functions and consumers passed to this map must not access the
+ * map itself, as segment locks aren't reentrant.
+ *
+ * @param <V>
+ * 		the value type
+ */
+final class ConcurrentLongObjectHashMap<V> {
+
+    /**
+     * A marker for removed entries. A tombstone slot doesn't stop lookups, unlike an empty slot.
+     */
+    private static final Object TOMBSTONE = new Object();
+
+    /**
+     * The default number of segments. Should be large enough to make lock contention between
+     * hashing threads unlikely.
+     */
+    private static final int DEFAULT_SEGMENT_COUNT = 64;
+
+    /**
+     * Initial and minimum table capacity of a single segment.
+     */
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    /**
+     * A function to compute a new value for a key, similar to {@link java.util.function.BiFunction},
+     * but with a primitive key.
+     *
+     * @param <V>
+     * 		the value type
+     */
+    @FunctionalInterface
+    interface Remapping<V> {
+        /**
+         * Computes a new value for the given key.
+         *
+         * @param key
+         * 		the key
+         * @param value
+         * 		the current value, or null if there is no value for the key
+         * @return the new value, or null to remove the key from the map
+         */
+        V apply(long key, V value);
+    }
+
+    /**
+     * An action to call for every key / value pair in the map.
+     *
+     * @param <V>
+     * 		the value type
+     * @param <E>
+     * 		the type of exception the action may throw
+     */
+    @FunctionalInterface
+    interface EntryConsumer<V, E extends Exception> {
+        void accept(long key, V value) throws E;
+    }
+
+    /**
+     * Segment tables. Keys and values are in two separate arrays, so the table is a single object
+     * to make sure readers always see both arrays from the same table.
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final Object[] values;
+
+        private Table(final int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+
+        /** Current table, guarded by {@link #lock} */
+        private Table table = new Table(MIN_SEGMENT_CAPACITY);
+
+        /** Number of entries in this segment, guarded by {@link #lock} */
+        private int size = 0;
+
+        /** Number of non-empty slots, both entries and tombstones, guarded by {@link #lock} */
+        private int used = 0;
+    }
+
+    private final Segment[] segments;
+
+    /**
+     * Segment index is computed from the highest bits of key hashes, while slot indices within
+     * segment tables are computed from the lowest bits.
+     */
+    private final int segmentShift;
+
+    private final int segmentMask;
+
+    /**
+     * Create a new {@link ConcurrentLongObjectHashMap} with the default number of segments.
+     */
+    ConcurrentLongObjectHashMap() {
+        this(DEFAULT_SEGMENT_COUNT);
+    }
+
+    /**
+     * Create a new {@link ConcurrentLongObjectHashMap} with the given number of segments.
+     *
+     * @param segmentCount
+     * 		the number of segments, rounded up to the next power of two
+     * @throws IllegalArgumentException
+     * 		if the number of segments is not positive or too large
+     */
+    ConcurrentLongObjectHashMap(final int segmentCount) {
+        if (segmentCount <= 0 || segmentCount > (1 << 16)) {
+            throw new IllegalArgumentException("Invalid segment count: " + segmentCount);
+        }
+        final int count = (segmentCount == 1) ? 1 : Integer.highestOneBit(segmentCount - 1) << 1;
+        final int segmentBits = Integer.numberOfTrailingZeros(count);
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+        segmentShift = Long.SIZE - segmentBits;
+        segmentMask = count - 1;
+    }
+
+    /**
+     * Murmur3 64-bit finalizer. Paths are sequential numbers, they must be spread well
+     * across segments and table slots.
+     */
+    private static long hash(final long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private Segment segmentFor(final long hash) {
+        // If there is a single segment, the shift is 64 (same as 0), but the mask is 0
+        return segments[(int) (hash >>> segmentShift) & segmentMask];
+    }
+
+    /**
+     * Finds the slot for the given key in the given table.
+     *
+     * @return the slot index, or -1 if the key is not in the table
+     */
+    private static int find(final Table table, final long key, final long hash) {
+        final long[] keys = table.keys;
+        final Object[] values = table.values;
+        final int mask = values.length - 1;
+        int i = (int) hash & mask;
+        // The number of iterations is limited, as the table may be modified concurrently during
+        // optimistic reads
+        for (int n = 0; n <= mask; n++) {
+            final Object value = values[i];
+            if (value == null) {
+                return -1;
+            }
+            if ((value != TOMBSTONE) && (keys[i] == key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the value for the given key.
+     *
+     * @param key
+     * 		the key
+     * @return the value, or null if the map doesn't contain the key
+     */
+    @SuppressWarnings("unchecked")
+    V get(final long key) {
+        final long hash = hash(key);
+        final Segment segment = segmentFor(hash);
+        final StampedLock lock = segment.lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            final Table table = segment.table;
+            final int i = find(table, key, hash);
+            final Object value = (i >= 0) ? table.values[i] : null;
+            if (lock.validate(stamp)) {
+                return (V) value;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            final Table table = segment.table;
+            final int i = find(table, key, hash);
+            return (i >= 0) ? (V) table.values[i] : null;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Associate the given value with the given key.
+     *
+     * @param key
+     * 		the key
+     * @param value
+     * 		the value, cannot be null
+     */
+    void put(final long key, final V value) {
+        Objects.requireNonNull(value);
+        compute(key, (k, v) -> value);
+    }
+
+    /**
+     * Computes a new value for the given key. The remapping function is called under the segment
+     * write lock, the whole method is performed atomically.
+     *
+     * @param key
+     * 		the key
+     * @param remapping
+     * 		the function to compute the new value. If it returns null, the key is removed from the map
+     * @return the new value, or null if the key was removed or not added
+     */
+    @SuppressWarnings("unchecked")
+    V compute(final long key, final Remapping<V> remapping) {
+        final long hash = hash(key);
+        final Segment segment = segmentFor(hash);
+        final StampedLock lock = segment.lock;
+        final long stamp = lock.writeLock();
+        try {
+            Table table = segment.table;
+            final int existing = find(table, key, hash);
+            final V oldValue = (existing >= 0) ? (V) table.values[existing] : null;
+            final V newValue = remapping.apply(key, oldValue);
+            if (existing >= 0) {
+                if (newValue == null) {
+                    table.values[existing] = TOMBSTONE;
+                    segment.size--;
+                } else {
+                    table.values[existing] = newValue;
+                }
+                return newValue;
+            }
+            if (newValue == null) {
+                return null;
+            }
+            if ((segment.used + 1) * 3L > table.values.length * 2L) {
+                table = rehash(segment);
+            }
+            final Object[] values = table.values;
+            final int mask = values.length - 1;
+            int i = (int) hash & mask;
+            while ((values[i] != null) && (values[i] != TOMBSTONE)) {
+                i = (i + 1) & mask;
+            }
+            if (values[i] == null) {
+                segment.used++;
+            }
+            table.keys[i] = key;
+            values[i] = newValue;
+            segment.size++;
+            return newValue;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies all entries of the segment to a new table. The new table is large enough to be
+     * at most one third full. Must be called under the segment write lock.
+     */
+    private static Table rehash(final Segment segment) {
+        final Table oldTable = segment.table;
+        int capacity = MIN_SEGMENT_CAPACITY;
+        while ((segment.size + 1) * 3L > capacity) {
+            capacity <<= 1;
+        }
+        final Table newTable = new Table(capacity);
+        final int mask = capacity - 1;
+        for (int j = 0; j < oldTable.values.length; j++) {
+            final Object value = oldTable.values[j];
+            if ((value != null) && (value != TOMBSTONE)) {
+                final long key = oldTable.keys[j];
+                int i = (int) hash(key) & mask;
+                while (newTable.values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                newTable.keys[i] = key;
+                newTable.values[i] = value;
+            }
+        }
+        segment.table = newTable;
+        segment.used = segment.size;
+        return newTable;
+    }
+
+    /**
+     * Get the number of entries in the map. If the map is modified concurrently, the result
+     * is not guaranteed to be exact.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        int size = 0;
+        for (final Segment segment : segments) {
+            final long stamp = segment.lock.readLock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Calls the given action for every entry in the map. Segments are traversed one at a time,
+     * each of them under its read lock. Entries added or removed concurrently may or may not be
+     * visited.
+     *
+     * @param action
+     * 		the action to call, must not modify this map
+     * @param <E>
+     * 		the type of exception the action may throw
+     * @throws E
+     * 		if the action throws
+     */
+    @SuppressWarnings("unchecked")
+    <E extends Exception> void forEach(final EntryConsumer<V, E> action) throws E {
+        for (final Segment segment : segments) {
+            final long stamp = segment.lock.readLock();
+            try {
+                final Table table = segment.table;
+                for (int i = 0; i < table.values.length; i++) {
+                    final Object value = table.values[i];
+                    if ((value != null) && (value != TOMBSTONE)) {
+                        action.accept(table.keys[i], (V) value);
+                    }
+                }
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+    }
+}
@@ -216,14 +216,14 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * <p>
      * <strong>ONE PER CHAIN OF CACHES</strong>.
      */
-    private final Map<Long, Mutation<Long, K>> pathToDirtyLeafIndex;
+    private final ConcurrentLongObjectHashMap<Mutation<Long, K>> pathToDirtyLeafIndex;
 
     /**
      * A shared index of paths to internals, via {@link Mutation}s. Works the same as {@link #keyToDirtyLeafIndex}.
      * <p>
      * <strong>ONE PER CHAIN OF CACHES</strong>.
      */
-    private final Map<Long, Mutation<Long, Hash>> pathToDirtyHashIndex;
+    private final ConcurrentLongObjectHashMap<Mutation<Long, Hash>> pathToDirtyHashIndex;
 
     /**
      * Whether this instance is released. A released cache is often the last in the
@@ -318,8 +318,8 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      */
     public VirtualNodeCache() {
         this.keyToDirtyLeafIndex = new ConcurrentHashMap<>();
-        this.pathToDirtyLeafIndex = new ConcurrentHashMap<>();
-        this.pathToDirtyHashIndex = new ConcurrentHashMap<>();
+        this.pathToDirtyLeafIndex = new ConcurrentLongObjectHashMap<>();
+        this.pathToDirtyHashIndex = new ConcurrentLongObjectHashMap<>();
         this.releaseLock = new ReentrantLock();
         this.lastReleased = new AtomicLong(-1L);
     }
@@ -1164,7 +1164,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
     private <V1> void updatePaths(
             final V1 value,
             final long path,
-            final Map<Long, Mutation<Long, V1>> index,
+            final ConcurrentLongObjectHashMap<Mutation<Long, V1>> index,
             final ConcurrentArray<Mutation<Long, V1>> dirtyPaths) {
         index.compute(path, (key, mutation) -> {
             // If there is no mutation or the mutation isn't for this version, then we need to create a new mutation.
@@ -1284,19 +1284,47 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
     private static <K, V> void purge(final ConcurrentArray<Mutation<K, V>> array, final Map<K, Mutation<K, V>> index) {
         array.parallelTraverse(
                 getCleaningPool(),
-                element -> index.compute(element.key, (key, mutation) -> {
-                    if (mutation == null || element.equals(mutation)) {
-                        // Already removed for a more recent mutation
-                        return null;
-                    }
-                    for (Mutation<K, V> m = mutation; m.next != null; m = m.next) {
-                        if (element.equals(m.next)) {
-                            m.next = null;
-                            break;
-                        }
-                    }
-                    return mutation;
-                }));
+                element -> index.compute(element.key, (key, mutation) -> purgeMutation(element, mutation)));
+    }
+
+    /**
+     * Called by one of the purge threads to purge entries from a path index that no longer have a referent
+     * for the mutation list. This can be called concurrently.
+     *
+     * @param index
+     * 		The path index to look through for entries to purge
+     * @param <V>
+     * 		The value type referenced by the mutation list
+     */
+    private static <V> void purge(
+            final ConcurrentArray<Mutation<Long, V>> array,
+            final ConcurrentLongObjectHashMap<Mutation<Long, V>> index) {
+        array.parallelTraverse(
+                getCleaningPool(),
+                element -> index.compute(element.key, (path, mutation) -> purgeMutation(element, mutation)));
+    }
+
+    /**
+     * Removes the given mutation from the given mutation list.
+     *
+     * @param element
+     * 		The mutation to remove
+     * @param mutation
+     * 		The head of the mutation list, can be null
+     * @return The new head of the mutation list, or null if the list is empty
+     */
+    private static <K, V> Mutation<K, V> purgeMutation(final Mutation<K, V> element, final Mutation<K, V> mutation) {
+        if (mutation == null || element.equals(mutation)) {
+            // Already removed for a more recent mutation
+            return null;
+        }
+        for (Mutation<K, V> m = mutation; m.next != null; m = m.next) {
+            if (element.equals(m.next)) {
+                m.next = null;
+                break;
+            }
+        }
+        return mutation;
     }
 
     /**
@@ -1358,19 +1386,55 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         final long accepted = fastCopyVersion.get();
         final long rejected = lastReleased.get();
         for (final Map.Entry<K2, Mutation<K2, L2>> entry : src.entrySet()) {
-            Mutation<K2, L2> mutation = entry.getValue();
-
-            while (mutation != null && mutation.version > accepted) {
-                mutation = mutation.next;
+            final Mutation<K2, L2> mutation = snapshotMutation(entry.getValue(), accepted, rejected);
+            if (mutation != null) {
+                dst.put(entry.getKey(), mutation);
+                array.add(mutation);
             }
+        }
+    }
 
-            if (mutation == null || mutation.version <= rejected) {
-                continue;
+    /**
+     * Copies the mutations from path index {@code src} into path index {@code dst}. Works the
+     * same way as {@link #setMapSnapshotAndArray(Map, Map, ConcurrentArray)}.
+     *
+     * @param src
+     * 		Path index that contains the original mutations
+     * @param dst
+     * 		Path index that acts as the destination of mutations
+     * @param <L2>
+     * 		Value type
+     */
+    private <L2> void setMapSnapshotAndArray(
+            final ConcurrentLongObjectHashMap<Mutation<Long, L2>> src,
+            final ConcurrentLongObjectHashMap<Mutation<Long, L2>> dst,
+            final ConcurrentArray<Mutation<Long, L2>> array) {
+        final long accepted = fastCopyVersion.get();
+        final long rejected = lastReleased.get();
+        src.forEach((path, head) -> {
+            final Mutation<Long, L2> mutation = snapshotMutation(head, accepted, rejected);
+            if (mutation != null) {
+                dst.put(path, mutation);
+                array.add(mutation);
             }
+        });
+    }
 
-            dst.put(entry.getKey(), mutation);
-            array.add(mutation);
+    /**
+     * Finds the latest mutation in the given mutation list with version less than or equal to
+     * {@code accepted}.
+     *
+     * @return The mutation, or null if there is no such mutation, or it's not newer than {@code rejected}
+     */
+    private static <K2, L2> Mutation<K2, L2> snapshotMutation(
+            Mutation<K2, L2> mutation, final long accepted, final long rejected) {
+        while (mutation != null && mutation.version > accepted) {
+            mutation = mutation.next;
         }
+        if (mutation == null || mutation.version <= rejected) {
+            return null;
+        }
+        return mutation;
     }
 
     /**
@@ -1384,12 +1448,12 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		If something fails.
      */
     private void serializePathToDirtyHashIndex(
-            final Map<Long, Mutation<Long, Hash>> map, final SerializableDataOutputStream out) throws IOException {
+            final ConcurrentLongObjectHashMap<Mutation<Long, Hash>> map, final SerializableDataOutputStream out)
+            throws IOException {
         assert snapshot.get() : "Only snapshots can be serialized";
         out.writeInt(map.size());
-        for (final Map.Entry<Long, Mutation<Long, Hash>> entry : map.entrySet()) {
-            out.writeLong(entry.getKey());
-            final Mutation<Long, Hash> mutation = entry.getValue();
+        map.forEach((path, mutation) -> {
+            out.writeLong(path);
             assert mutation != null : "Mutations cannot be null in a snapshot";
             assert mutation.version <= this.fastCopyVersion.get()
                     : "Trying to serialize pathToDirtyInternalIndex with a version ahead";
@@ -1398,7 +1462,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
             if (!mutation.isDeleted()) {
                 out.writeSerializable(mutation.value, true);
             }
-        }
+        });
     }
 
     /**
@@ -1412,7 +1476,9 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		In case of trouble.
      */
     private void deserializePathToDirtyHashIndex(
-            final Map<Long, Mutation<Long, Hash>> map, final SerializableDataInputStream in, final int version)
+            final ConcurrentLongObjectHashMap<Mutation<Long, Hash>> map,
+            final SerializableDataInputStream in,
+            final int version)
             throws IOException {
         final int sizeOfMap = in.readInt();
         for (int index = 0; index < sizeOfMap; index++) {
@@ -1445,12 +1511,12 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		If something fails.
      */
     private void serializePathToDirtyLeafIndex(
-            final Map<Long, Mutation<Long, K>> map, final SerializableDataOutputStream out) throws IOException {
+            final ConcurrentLongObjectHashMap<Mutation<Long, K>> map, final SerializableDataOutputStream out)
+            throws IOException {
         assert snapshot.get() : "Only snapshots can be serialized";
         out.writeInt(map.size());
-        for (final Map.Entry<Long, Mutation<Long, K>> entry : map.entrySet()) {
-            out.writeLong(entry.getKey());
-            final Mutation<Long, K> mutation = entry.getValue();
+        map.forEach((path, mutation) -> {
+            out.writeLong(path);
             assert mutation != null : "Mutations cannot be null in a snapshot";
             assert mutation.version <= this.fastCopyVersion.get()
                     : "Trying to serialize pathToDirtyLeafIndex with a version ahead";
@@ -1458,7 +1524,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
             out.writeSerializable(mutation.value, true);
             out.writeLong(mutation.version);
             out.writeBoolean(mutation.isDeleted());
-        }
+        });
     }
 
     /**
@@ -1472,10 +1538,11 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		In case of trouble.
      */
     private void deserializePathToDirtyLeafIndex(
-            final Map<Long, Mutation<Long, K>> map, final SerializableDataInputStream in) throws IOException {
+            final ConcurrentLongObjectHashMap<Mutation<Long, K>> map, final SerializableDataInputStream in)
+            throws IOException {
         final int sizeOfMap = in.readInt();
         for (int index = 0; index < sizeOfMap; index++) {
-            final Long path = in.readLong();
+            final long path = in.readLong();
             final K key = in.readSerializable();
             final long mutationVersion = in.readLong();
             final boolean deleted = in.readBoolean();
@@ -1639,11 +1706,13 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
                 .append("\n");
         //noinspection unchecked
         builder.append(toDebugStringIndex(
-                        "pathToDirtyLeafIndex", (Map<Object, Mutation>) (Object) pathToDirtyLeafIndex))
+                        "pathToDirtyLeafIndex",
+                        (ConcurrentLongObjectHashMap<Mutation>) (Object) pathToDirtyLeafIndex))
                 .append("\n");
         //noinspection unchecked
         builder.append(toDebugStringIndex(
-                        "pathToDirtyHashIndex", (Map<Object, Mutation>) (Object) pathToDirtyHashIndex))
+                        "pathToDirtyHashIndex",
+                        (ConcurrentLongObjectHashMap<Mutation>) (Object) pathToDirtyHashIndex))
                 .append("\n");
         //noinspection unchecked
         builder.append(toDebugStringArray("dirtyLeaves", (ConcurrentArray<Mutation>) (Object) dirtyLeaves));
@@ -1681,27 +1750,41 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         final StringBuilder builder = new StringBuilder();
         builder.append(indexName).append(":\n");
 
-        index.forEach((key, mutation) -> {
-            builder.append("\t").append(key).append(":==> ");
-            while (mutation != null) {
-                builder.append("[")
-                        .append(mutation.key)
-                        .append(",")
-                        .append(mutation.value)
-                        .append(",")
-                        .append(mutation.isDeleted() ? "D," : "")
-                        .append("V")
-                        .append(mutation.version)
-                        .append(mutation.version == this.fastCopyVersion.get() ? "*" : "")
-                        .append("]->");
-                mutation = mutation.next;
-            }
-            builder.append("\n");
-        });
+        index.forEach((key, mutation) -> toDebugStringMutations(builder, key, mutation));
+
+        return builder.toString();
+    }
+
+    private String toDebugStringIndex(
+            final String indexName,
+            @SuppressWarnings("rawtypes") final ConcurrentLongObjectHashMap<Mutation> index) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(indexName).append(":\n");
+
+        index.forEach((path, mutation) -> toDebugStringMutations(builder, path, mutation));
 
         return builder.toString();
     }
 
+    private void toDebugStringMutations(
+            final StringBuilder builder, final Object key, @SuppressWarnings("rawtypes") Mutation mutation) {
+        builder.append("\t").append(key).append(":==> ");
+        while (mutation != null) {
+            builder.append("[")
+                    .append(mutation.key)
+                    .append(",")
+                    .append(mutation.value)
+                    .append(",")
+                    .append(mutation.isDeleted() ? "D," : "")
+                    .append("V")
+                    .append(mutation.version)
+                    .append(mutation.version == this.fastCopyVersion.get() ? "*" : "")
+                    .append("]->");
+            mutation = mutation.next;
+        }
+        builder.append("\n");
+    }
+
     private String toDebugStringArray(
             final String name, @SuppressWarnings("rawtypes") final ConcurrentArray<Mutation> arr) {
         final StringBuilder builder = new StringBuilder();
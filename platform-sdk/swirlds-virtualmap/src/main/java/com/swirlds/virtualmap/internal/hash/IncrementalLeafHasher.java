@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.hash;
+
+import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
+
+import com.swirlds.common.crypto.Cryptography;
+import com.swirlds.common.crypto.CryptographyHolder;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.virtualmap.VirtualKey;
+import com.swirlds.virtualmap.VirtualValue;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Computes leaf hashes of a mutable virtual map copy in the background, while the copy is still being
+ * modified. When the copy is hashed by {@link VirtualHasher}, precomputed leaf hashes are provided to the
+ * hasher via {@link #getLeafHash(VirtualLeafRecord)}, so the hasher only needs to hash the leaves that
+ * haven't been hashed yet, and internal nodes.
+ *
+ * <p>A leaf record may still change after it's put to the virtual node cache: it may be moved to a
+ * different path, or its value may be replaced. Every time a leaf is changed, {@link
+ * #leafChanged(VirtualLeafRecord)} must be called. A precomputed hash is only used, if the leaf path and
+ * value haven't changed since then. Leaf values returned for modification may be changed in place at any
+ * time before the copy is made immutable, such leaves must be reported using {@link
+ * #leafModifiable(VirtualLeafRecord)}, and they are never hashed in the background. Values put to the map
+ * must not be changed in place after they are put.
+ *
+ * <p>Leaves are hashed in batches using the shared hashing pool. All methods except {@link
+ * #getLeafHash(VirtualLeafRecord)} must only be called on the thread that modifies the copy.
+ *
+ * @param <K> the {@link VirtualKey} type
+ * @param <V> the {@link VirtualValue} type
+ */
+public final class IncrementalLeafHasher<K extends VirtualKey, V extends VirtualValue> {
+
+    private static final Logger logger = LogManager.getLogger(IncrementalLeafHasher.class);
+
+    /**
+     * A snapshot of a changed leaf. Leaf path and value are captured when the leaf is changed, the
+     * precomputed hash, if any, is a hash of this path and value.
+     */
+    private static final class LeafSnapshot<K extends VirtualKey, V extends VirtualValue> {
+
+        private final VirtualLeafRecord<K, V> leaf;
+
+        private final long path;
+
+        private final V value;
+
+        private final boolean modifiable;
+
+        private volatile Hash hash;
+
+        private LeafSnapshot(final VirtualLeafRecord<K, V> leaf, final boolean modifiable) {
+            this.leaf = leaf;
+            this.path = leaf.getPath();
+            this.value = leaf.getValue();
+            this.modifiable = modifiable;
+        }
+
+        private boolean matches(final VirtualLeafRecord<K, V> leaf) {
+            return !modifiable && (this.leaf == leaf) && (path == leaf.getPath()) && (value == leaf.getValue());
+        }
+    }
+
+    /** Number of leaves to hash in a single background task. If zero, no leaves are hashed in the background */
+    private final int batchSize;
+
+    /** The latest snapshots of all leaves changed in this copy, by key */
+    private final Map<K, LeafSnapshot<K, V>> snapshots = new ConcurrentHashMap<>();
+
+    /** Leaves to hash in the next background task */
+    private List<LeafSnapshot<K, V>> batch;
+
+    /** Once set, no more leaves are hashed in the background */
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new incremental leaf hasher.
+     *
+     * @param batchSize number of leaves to hash in a single background task. If zero, leaves aren't hashed
+     *                  in the background, and {@link #getLeafHash(VirtualLeafRecord)} always returns null
+     */
+    public IncrementalLeafHasher(final int batchSize) {
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("Batch size must not be negative");
+        }
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Indicates whether leaves are hashed in the background.
+     *
+     * @return true if leaves are hashed in the background, false otherwise
+     */
+    public boolean isEnabled() {
+        return batchSize > 0;
+    }
+
+    /**
+     * Notifies this hasher that a leaf is put to the cache, or its path or value is changed. If the leaf
+     * was previously reported as modifiable, it stays modifiable and is not hashed in the background.
+     *
+     * @param leaf the changed leaf
+     */
+    public void leafChanged(@NonNull final VirtualLeafRecord<K, V> leaf) {
+        if (!isEnabled() || closed) {
+            return;
+        }
+        final LeafSnapshot<K, V> previous = snapshots.get(leaf.getKey());
+        final boolean modifiable = (previous != null) && (previous.leaf == leaf) && previous.modifiable;
+        final LeafSnapshot<K, V> snapshot = new LeafSnapshot<>(leaf, modifiable);
+        snapshots.put(leaf.getKey(), snapshot);
+        if (!modifiable) {
+            batch.add(snapshot);
+            if (batch.size() >= batchSize) {
+                final List<LeafSnapshot<K, V>> toHash = batch;
+                batch = new ArrayList<>(batchSize);
+                VirtualHasher.getHashingPool().execute(() -> hashLeaves(toHash));
+            }
+        }
+    }
+
+    /**
+     * Notifies this hasher that a leaf value is returned for modification. The leaf is not hashed in
+     * the background, as its value may be changed at any moment.
+     *
+     * @param leaf the leaf returned for modification
+     */
+    public void leafModifiable(@NonNull final VirtualLeafRecord<K, V> leaf) {
+        if (!isEnabled() || closed) {
+            return;
+        }
+        snapshots.put(leaf.getKey(), new LeafSnapshot<>(leaf, true));
+    }
+
+    /**
+     * Returns a precomputed hash of the given leaf, if the leaf has been hashed in the background and
+     * hasn't changed since then.
+     *
+     * @param leaf the leaf
+     * @return the leaf hash, or null if the leaf needs to be hashed
+     */
+    @Nullable
+    public Hash getLeafHash(@NonNull final VirtualLeafRecord<K, V> leaf) {
+        final LeafSnapshot<K, V> snapshot = snapshots.get(leaf.getKey());
+        return ((snapshot != null) && snapshot.matches(leaf)) ? snapshot.hash : null;
+    }
+
+    /**
+     * Stops background hashing and releases all leaf snapshots. Must be called after the copy is hashed.
+     */
+    public void close() {
+        closed = true;
+        snapshots.clear();
+        batch = new ArrayList<>(0);
+    }
+
+    private void hashLeaves(final List<LeafSnapshot<K, V>> toHash) {
+        try {
+            final Cryptography cryptography = CryptographyHolder.get();
+            for (final LeafSnapshot<K, V> snapshot : toHash) {
+                if (closed) {
+                    return;
+                }
+                final K key = snapshot.leaf.getKey();
+                if (snapshots.get(key) != snapshot) {
+                    // The leaf has changed again, the newer snapshot will be hashed instead
+                    continue;
+                }
+                // Hash the snapshot rather than the leaf, the leaf may be moved to a different path
+                // while it's being hashed
+                snapshot.hash = cryptography.digestSync(new VirtualLeafRecord<>(snapshot.path, key, snapshot.value));
+            }
+        } catch (final RuntimeException e) {
+            // Not fatal, leaves that are not hashed here will be hashed when the copy is hashed
+            logger.error(EXCEPTION.getMarker(), "Failed to hash leaves in the background", e);
+        }
+    }
+}
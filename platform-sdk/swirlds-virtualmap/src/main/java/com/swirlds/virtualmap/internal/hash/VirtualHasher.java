@@ -40,6 +40,7 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.LongFunction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -74,6 +75,12 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
      */
     private LongFunction<Hash> hashReader;
 
+    /**
+     * A function to look up precomputed leaf hashes during hashing. May be null. If the function
+     * returns null for a leaf, the leaf is hashed by the hasher.
+     */
+    private Function<VirtualLeafRecord<K, V>, Hash> leafHashReader;
+
     /**
      * A listener to notify about hashing events. This listener is stored in a class field to
      * avoid passing it as an arg to every hashing task.
@@ -99,7 +106,7 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
 
     private static volatile ForkJoinPool hashingPool = null;
 
-    private static ForkJoinPool getHashingPool() {
+    static ForkJoinPool getHashingPool() {
         ForkJoinPool pool = hashingPool;
         if (pool == null) {
             synchronized (VirtualHasher.class) {
@@ -216,7 +223,8 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
             try {
                 final Hash hash;
                 if (leaf != null) {
-                    hash = cryptography.digestSync(leaf);
+                    final Hash precomputed = (leafHashReader != null) ? leafHashReader.apply(leaf) : null;
+                    hash = (precomputed != null) ? precomputed : cryptography.digestSync(leaf);
                     listener.onLeafHashed(leaf);
                     listener.onNodeHashed(path, hash);
                 } else {
@@ -282,6 +290,36 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
             final Iterator<VirtualLeafRecord<K, V>> sortedDirtyLeaves,
             final long firstLeafPath,
             final long lastLeafPath,
+            final VirtualHashListener<K, V> listener) {
+        return hash(hashReader, null, sortedDirtyLeaves, firstLeafPath, lastLeafPath, listener);
+    }
+
+    /**
+     * Hash the given dirty leaves and the minimal subset of the tree necessary to produce a single root hash.
+     * Leaf hashes that have already been computed, e.g. by {@link IncrementalLeafHasher}, are provided by
+     * the given leaf hash reader and are not recalculated.
+     *
+     * @param hashReader
+     * 		Return a {@link Hash} by path. Used when this method needs to look up clean nodes.
+     * @param leafHashReader
+     * 		Return a precomputed {@link Hash} of a dirty leaf, or null if the leaf needs to be hashed.
+     * 		May be null, in this case all dirty leaves are hashed
+     * @param sortedDirtyLeaves
+     * 		A stream of dirty leaves sorted in <strong>ASCENDING PATH ORDER</strong>
+     * @param firstLeafPath
+     * 		The firstLeafPath of the tree that is being hashed
+     * @param lastLeafPath
+     * 		The lastLeafPath of the tree that is being hashed
+     * @param listener
+     * 		Hashing listener. May be null
+     * @return The hash of the root of the tree
+     */
+    public Hash hash(
+            final LongFunction<Hash> hashReader,
+            final Function<VirtualLeafRecord<K, V>, Hash> leafHashReader,
+            final Iterator<VirtualLeafRecord<K, V>> sortedDirtyLeaves,
+            final long firstLeafPath,
+            final long lastLeafPath,
             VirtualHashListener<K, V> listener) {
 
         // If the first or last leaf path are invalid, then there is nothing to hash.
@@ -302,6 +340,7 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         }
 
         this.hashReader = hashReader;
+        this.leafHashReader = leafHashReader;
         this.listener = listener;
         this.cryptography = CryptographyHolder.get();
         final Hash NULL_HASH = cryptography.getNullHash();
@@ -511,6 +550,7 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         listener.onHashingCompleted();
 
         this.hashReader = null;
+        this.leafHashReader = null;
         this.listener = null;
 
         return resultTask.ins[0];
@@ -38,6 +38,7 @@ import static com.swirlds.virtualmap.internal.merkle.VirtualMapState.MAX_LABEL_L
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.crypto.DigestType;
 import com.swirlds.common.crypto.Hash;
@@ -72,6 +73,7 @@ import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
 import com.swirlds.virtualmap.internal.RecordAccessor;
 import com.swirlds.virtualmap.internal.VirtualStateAccessor;
 import com.swirlds.virtualmap.internal.cache.VirtualNodeCache;
+import com.swirlds.virtualmap.internal.hash.IncrementalLeafHasher;
 import com.swirlds.virtualmap.internal.hash.VirtualHashListener;
 import com.swirlds.virtualmap.internal.hash.VirtualHasher;
 import com.swirlds.virtualmap.internal.pipeline.VirtualPipeline;
@@ -95,6 +97,10 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
@@ -255,6 +261,13 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
      */
     private final VirtualHasher<K, V> hasher;
 
+    /**
+     * Hashes leaves of this copy in the background, while the copy is mutable. Every copy has its own
+     * instance. Precomputed leaf hashes are used, when this copy is hashed in {@link #computeHash()}.
+     */
+    private final IncrementalLeafHasher<K, V> incrementalLeafHasher =
+            new IncrementalLeafHasher<>(config.incrementalLeafHashBatchSize());
+
     /**
      * The {@link VirtualPipeline}, shared across all copies of a given {@link VirtualRootNode}, maintains the
      * lifecycle of the nodes, making sure they are merged or flushed or hashed in order and according to the
@@ -841,7 +854,11 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         try {
             final VirtualLeafRecord<K, V> rec = records.findLeafRecord(key, true);
             statistics.countUpdatedEntities();
-            return rec == null ? null : rec.getValue();
+            if (rec == null) {
+                return null;
+            }
+            incrementalLeafHasher.leafModifiable(rec);
+            return rec.getValue();
         } finally {
             assert currentModifyingThreadRef.compareAndSet(Thread.currentThread(), null);
         }
@@ -892,6 +909,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
 
             final VirtualLeafRecord<K, V> leaf = new VirtualLeafRecord<>(path, key, value);
             cache.putLeaf(leaf);
+            incrementalLeafHasher.leafChanged(leaf);
             statistics.countUpdatedEntities();
         } finally {
             assert currentModifyingThreadRef.compareAndSet(Thread.currentThread(), null);
@@ -966,6 +984,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
                 cache.clearLeafPath(lastLeafPath);
                 lastLeaf.setPath(leafToDeletePath);
                 cache.putLeaf(lastLeaf);
+                incrementalLeafHasher.leafChanged(lastLeaf);
                 // NOTE: at this point, if leafToDelete was in the cache at some "path" index, it isn't anymore!
                 // The lastLeaf has taken its place in the path index.
             }
@@ -989,6 +1008,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
                     // To fix it, mark it as dirty explicitly
                     final VirtualLeafRecord<K, V> leaf = records.findLeafRecord(1, true);
                     cache.putLeaf(leaf);
+                    incrementalLeafHasher.leafChanged(leaf);
                 }
             } else {
                 final long lastLeafSibling = getSiblingPath(lastLeafPath);
@@ -998,6 +1018,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
                 cache.deleteHash(lastLeafParent);
                 sibling.setPath(lastLeafParent);
                 cache.putLeaf(sibling);
+                incrementalLeafHasher.leafChanged(sibling);
 
                 // Update the first & last leaf paths
                 state.setFirstLeafPath(lastLeafParent); // replaced by the sibling, it is now first
@@ -1362,13 +1383,16 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
                 cache.putHash(path, hash);
             }
         };
+        // Leaves hashed in the background while this copy was mutable are not hashed again
         Hash virtualHash = hasher.hash(
                 records::findHash,
+                incrementalLeafHasher.isEnabled() ? incrementalLeafHasher::getLeafHash : null,
                 cache.dirtyLeavesForHash(state.getFirstLeafPath(), state.getLastLeafPath())
                         .iterator(),
                 state.getFirstLeafPath(),
                 state.getLastLeafPath(),
                 hashListener);
+        incrementalLeafHasher.close();
 
         if (virtualHash == null) {
             final Hash rootHash = (state.size() == 0) ? null : records.findHash(0);
@@ -1653,6 +1677,32 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         records.findLeafRecord(key, false);
     }
 
+    /**
+     * Loads leaf records for multiple keys at once. Keys found in the node cache are skipped, all
+     * other keys are loaded from the data source with a single {@link
+     * VirtualDataSource#loadLeafRecords(List, int[])} call, so the data source can load them in the
+     * most efficient order and in parallel. Loaded records aren't put to the node cache.
+     * @param keys keys to the leaf nodes
+     */
+    public void warm(final Collection<K> keys) {
+        final List<Bytes> keysToLoad = new ArrayList<>(keys.size());
+        final int[] keyHashCodes = new int[keys.size()];
+        for (final K key : keys) {
+            if (cache.lookupLeafByKey(key, false) == null) {
+                keyHashCodes[keysToLoad.size()] = key.hashCode();
+                keysToLoad.add(keySerializer.toBytes(key));
+            }
+        }
+        if (keysToLoad.isEmpty()) {
+            return;
+        }
+        try {
+            dataSource.loadLeafRecords(keysToLoad, Arrays.copyOf(keyHashCodes, keysToLoad.size()));
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read leaf records from the data source by keys", e);
+        }
+    }
+
     ////////////////////////
 
     /**
@@ -1730,6 +1780,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
             cache.clearLeafPath(firstLeafPath);
             oldLeaf.setPath(getLeftChildPath(firstLeafPath));
             cache.putLeaf(oldLeaf);
+            incrementalLeafHasher.leafChanged(oldLeaf);
 
             // Create a new internal node that is in the position of the old leaf and attach it to the parent
             // on the left side. Put the new item on the right side of the new parent.
@@ -1743,6 +1794,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
 
         final VirtualLeafRecord<K, V> newLeaf = new VirtualLeafRecord<>(leafPath, key, value);
         cache.putLeaf(newLeaf);
+        incrementalLeafHasher.leafChanged(newLeaf);
     }
 
     /**
@@ -1762,6 +1814,7 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         final VirtualLeafRecord<K, V> rec = records.findLeafRecord(key, true);
         if (rec != null) {
             rec.setValue(value);
+            incrementalLeafHasher.leafChanged(rec);
             return true;
         }
 
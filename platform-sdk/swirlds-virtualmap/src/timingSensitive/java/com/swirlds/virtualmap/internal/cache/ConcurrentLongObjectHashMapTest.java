@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLongObjectHashMapTest {
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("The segment count must be positive")
+    void invalidSegmentCount() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectHashMap<String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectHashMap<String>(-1));
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Put, get, and remove with compute")
+    void putGetRemove() {
+        final ConcurrentLongObjectHashMap<String> map = new ConcurrentLongObjectHashMap<>(1);
+        assertNull(map.get(1), "Empty map should not contain anything");
+        map.put(1, "one");
+        map.put(-1, "minus one");
+        map.put(Long.MIN_VALUE, "min");
+        assertEquals("one", map.get(1), "Wrong value");
+        assertEquals("minus one", map.get(-1), "Wrong value");
+        assertEquals("min", map.get(Long.MIN_VALUE), "Wrong value");
+        assertNull(map.get(0), "Zero key was never added");
+        assertEquals(3, map.size(), "Wrong size");
+
+        assertEquals("uno", map.compute(1, (k, v) -> "one".equals(v) ? "uno" : null), "Wrong computed value");
+        assertEquals("uno", map.get(1), "Wrong value");
+        assertNull(map.compute(1, (k, v) -> null), "Removed value should be null");
+        assertNull(map.get(1), "Removed key should not be found");
+        assertNull(map.compute(2, (k, v) -> null), "Absent key should not be added");
+        assertEquals(2, map.size(), "Wrong size");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Many puts and removes match a HashMap")
+    void matchesHashMap() {
+        final ConcurrentLongObjectHashMap<Long> map = new ConcurrentLongObjectHashMap<>(4);
+        final Map<Long, Long> expected = new HashMap<>();
+        // Add many entries to force rehashing, then remove most of them to create tombstones,
+        // then add them again
+        for (long i = 0; i < 100_000; i++) {
+            map.put(i, i * 2);
+            expected.put(i, i * 2);
+        }
+        for (long i = 0; i < 100_000; i++) {
+            if (i % 10 != 0) {
+                map.compute(i, (k, v) -> null);
+                expected.remove(i);
+            }
+        }
+        for (long i = 50_000; i < 150_000; i++) {
+            final long path = i;
+            map.compute(i, (k, v) -> v == null ? path : v + 1);
+            expected.merge(i, i, (a, b) -> a + 1);
+        }
+        assertEquals(expected.size(), map.size(), "Wrong size");
+        for (long i = -10; i < 160_000; i++) {
+            assertEquals(expected.get(i), map.get(i), "Wrong value for key " + i);
+        }
+        final Map<Long, Long> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated, "All entries must be iterated");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Concurrent writers and readers")
+    void concurrentWritersAndReaders() throws Exception {
+        final ConcurrentLongObjectHashMap<Long> map = new ConcurrentLongObjectHashMap<>();
+        final int writerCount = 4;
+        final int keysPerWriter = 100_000;
+        // Stable keys are never modified, readers must always see them
+        for (long i = 0; i < 1000; i++) {
+            map.put(-1 - i, i);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(writerCount + 2);
+        try {
+            final AtomicBoolean done = new AtomicBoolean(false);
+            final List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        for (long i = 0; i < 1000; i++) {
+                            assertEquals(i, map.get(-1 - i), "Stable key must always be found");
+                        }
+                    }
+                }));
+            }
+            final List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < writerCount; w++) {
+                final long base = (long) w * keysPerWriter;
+                writers.add(executor.submit(() -> {
+                    for (long i = base; i < base + keysPerWriter; i++) {
+                        map.put(i, i);
+                    }
+                    for (long i = base; i < base + keysPerWriter; i += 2) {
+                        map.compute(i, (k, v) -> null);
+                    }
+                }));
+            }
+            for (final Future<?> writer : writers) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+            done.set(true);
+            for (final Future<?> reader : readers) {
+                reader.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1000 + writerCount * keysPerWriter / 2, map.size(), "Wrong size");
+        for (long i = 0; i < (long) writerCount * keysPerWriter; i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get(i), "Removed key should not be found");
+            } else {
+                assertEquals(i, map.get(i), "Wrong value");
+            }
+        }
+        assertNull(map.get(Long.MAX_VALUE), "Key was never added");
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.hash;
+
+import static com.swirlds.common.test.fixtures.AssertionUtils.assertEventuallyTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.test.fixtures.junit.tags.TestComponentTags;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+class IncrementalLeafHasherTest extends VirtualHasherTestBase {
+
+    private static final Duration WAIT_TIME = Duration.ofSeconds(10);
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Leaves are not hashed if disabled")
+    void disabled() {
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalLeafHasher<>(-1));
+        final IncrementalLeafHasher<TestKey, TestValue> leafHasher = new IncrementalLeafHasher<>(0);
+        assertFalse(leafHasher.isEnabled(), "Incremental hashing must be disabled");
+        final VirtualLeafRecord<TestKey, TestValue> leaf = leaf(1);
+        leafHasher.leafChanged(leaf);
+        assertNull(leafHasher.getLeafHash(leaf), "Leaves must not be hashed");
+    }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Changed leaves are hashed in the background")
+    void changedLeavesAreHashed() {
+        final IncrementalLeafHasher<TestKey, TestValue> leafHasher = new IncrementalLeafHasher<>(1);
+        final VirtualLeafRecord<TestKey, TestValue> leaf = leaf(1);
+        leafHasher.leafChanged(leaf);
+        assertEventuallyTrue(
+                () -> leafHasher.getLeafHash(leaf) != null, WAIT_TIME, "The leaf must be hashed in the background");
+        assertEquals(CRYPTO.digestSync(leaf), leafHasher.getLeafHash(leaf), "Wrong leaf hash");
+
+        // The leaf is moved, the precomputed hash must not be used
+        leaf.setPath(2);
+        assertNull(leafHasher.getLeafHash(leaf), "The leaf is changed, the hash must not be used");
+        leafHasher.leafChanged(leaf);
+        assertEventuallyTrue(
+                () -> leafHasher.getLeafHash(leaf) != null, WAIT_TIME, "The leaf must be hashed in the background");
+        assertEquals(CRYPTO.digestSync(leaf), leafHasher.getLeafHash(leaf), "Wrong leaf hash");
+
+        // The value is replaced, the precomputed hash must not be used
+        leaf.setValue(new TestValue("Changed"));
+        assertNull(leafHasher.getLeafHash(leaf), "The leaf is changed, the hash must not be used");
+
+        leafHasher.close();
+        assertNull(leafHasher.getLeafHash(leaf), "No hashes must be available after close");
+    }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Modifiable leaves are not hashed in the background")
+    void modifiableLeavesAreNotHashed() {
+        final IncrementalLeafHasher<TestKey, TestValue> leafHasher = new IncrementalLeafHasher<>(1);
+        final VirtualLeafRecord<TestKey, TestValue> modifiable = leaf(1);
+        leafHasher.leafModifiable(modifiable);
+        // Even if a modifiable leaf is moved, it's still modifiable
+        modifiable.setPath(3);
+        leafHasher.leafChanged(modifiable);
+        final VirtualLeafRecord<TestKey, TestValue> leaf = leaf(2);
+        leafHasher.leafChanged(leaf);
+        assertEventuallyTrue(
+                () -> leafHasher.getLeafHash(leaf) != null, WAIT_TIME, "The leaf must be hashed in the background");
+        assertNull(leafHasher.getLeafHash(modifiable), "Modifiable leaves must not be hashed");
+
+        // A new leaf record for the same key is not modifiable
+        final VirtualLeafRecord<TestKey, TestValue> replaced = leaf(1);
+        leafHasher.leafChanged(replaced);
+        assertEventuallyTrue(
+                () -> leafHasher.getLeafHash(replaced) != null,
+                WAIT_TIME,
+                "The leaf must be hashed in the background");
+    }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Precomputed leaf hashes produce the same root hash")
+    void precomputedLeafHashes() {
+        final long firstLeafPath = 1023;
+        final long lastLeafPath = 2046;
+        final TestDataSource ds = new TestDataSource(firstLeafPath, lastLeafPath);
+        final Hash expected = hashTree(ds);
+        final List<VirtualLeafRecord<TestKey, TestValue>> leaves =
+                invalidateNodes(ds, LongStream.range(firstLeafPath, lastLeafPath).filter(p -> p % 3 == 0).boxed());
+
+        final IncrementalLeafHasher<TestKey, TestValue> leafHasher = new IncrementalLeafHasher<>(16);
+        leaves.forEach(leafHasher::leafChanged);
+        // The last batch is not full, leaves from that batch are hashed by the virtual hasher
+        assertEventuallyTrue(
+                () -> leafHasher.getLeafHash(leaves.get(0)) != null,
+                WAIT_TIME,
+                "Leaves must be hashed in the background");
+
+        final VirtualHasher<TestKey, TestValue> hasher = new VirtualHasher<>();
+        final Hash rootHash = hasher.hash(
+                ds::loadHash, leafHasher::getLeafHash, leaves.iterator(), firstLeafPath, lastLeafPath, null);
+        assertEquals(expected, rootHash, "Hash value does not match expected");
+    }
+
+    private static VirtualLeafRecord<TestKey, TestValue> leaf(final long path) {
+        return new VirtualLeafRecord<>(path, new TestKey(path), new TestValue("Value: " + path));
+    }
+}